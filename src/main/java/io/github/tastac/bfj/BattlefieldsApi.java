@@ -1,11 +1,21 @@
 package io.github.tastac.bfj;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import io.github.tastac.bfj.components.*;
+import io.github.tastac.bfj.flow.BattlefieldsFlow;
+import io.github.tastac.bfj.index.BattlefieldsIndex;
+import io.github.tastac.bfj.index.BattlefieldsIndexKey;
+import io.github.tastac.bfj.monitor.BattlefieldsServerMonitor;
+import io.github.tastac.bfj.resilience.BattlefieldsPriority;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>A wrapper of the online Battlefields API. Requests for specific data can be made through this.</p>
@@ -27,7 +37,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void request(Consumer<JsonArray> handler, BattlefieldsApiTable table, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.get(table, queries)));
+        this.request(table, queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -51,6 +61,52 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     JsonArray get(BattlefieldsApiTable table, String... queries);
 
+    /**
+     * <p>Publishes the specified information from the API one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param table   The table to query
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<JsonElement> publish(BattlefieldsApiTable table, String... queries);
+
+    /**
+     * <p>Fetches the rows that match the specified query from the API.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param handler The handler that will receive the result
+     * @param query   The query to search with
+     * @param <T>     The type of row to fetch
+     */
+    default <T> void request(Consumer<T[]> handler, BFQuery<T> query)
+    {
+        this.request(query).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches the rows that match the specified query from the API.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param query The query to search with
+     * @param <T>   The type of row to fetch
+     * @return The value that will exist at some point in the future
+     */
+    default <T> CompletableFuture<T[]> request(BFQuery<T> query)
+    {
+        return CompletableFuture.supplyAsync(() -> this.get(query), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches the rows that match the specified query from the API.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param query The query to search with
+     * @param <T>   The type of row to fetch
+     * @return The rows or an empty array if the API request failed
+     */
+    <T> T[] get(BFQuery<T> query);
+
     /**
      * <p>Fetches the list of servers from the API.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -59,7 +115,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestServerList(Consumer<String[]> handler)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getServerList()));
+        this.requestServerList().thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -89,7 +145,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestServerStatus(Consumer<BFServer[]> handler)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getServerStatus()));
+        this.requestServerStatus().thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -120,7 +176,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestServerInfo(Consumer<BFServerInfo> handler, String ip)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getServerInfo(ip)));
+        this.requestServerInfo(ip).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -144,6 +200,50 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFServerInfo getServerInfo(String ip);
 
+    /**
+     * <p>Fetches the server information of several servers. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param ips     The ips to request data for
+     * @param handler The handler that will receive the result
+     */
+    default void requestServerInfos(Consumer<BFServerInfo[]> handler, String... ips)
+    {
+        this.requestServerInfos(ips).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches the server information of several servers. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param ips The ips to request data for
+     * @return The value that will exist at some point in the future
+     */
+    default CompletableFuture<BFServerInfo[]> requestServerInfos(String... ips)
+    {
+        return CompletableFuture.supplyAsync(() -> this.getServerInfos(ips), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches the server information of several servers. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param ips The ips to request data for
+     * @return The information about each server in the same order as the ips. Servers that did not respond are <code>null</code>
+     */
+    BFServerInfo[] getServerInfos(String... ips);
+
+    /**
+     * <p>Creates a monitor that polls the status and information of every official server and posts an event for each change.</p>
+     * <p>Polling slows down while nothing changes and speeds back up as soon as something does. The monitor must be started with {@link BattlefieldsServerMonitor#start()} and is closed when this API is shut down.</p>
+     *
+     * @param minimumInterval The shortest time to wait between polls
+     * @param maximumInterval The longest time to wait between polls
+     * @param unit            The unit of both intervals
+     * @return A new monitor that has not been started
+     */
+    BattlefieldsServerMonitor createServerMonitor(long minimumInterval, long maximumInterval, TimeUnit unit);
+
     /**
      * <p>Fetches information about kills with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -153,7 +253,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestKills(Consumer<BFKill[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getKills(queries)));
+        this.requestKills(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -177,6 +277,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFKill[] getKills(String... queries);
 
+    /**
+     * <p>Publishes information about kills with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFKill> publishKills(String... queries);
+
     /**
      * <p>Fetches information about wins with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -186,7 +295,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestWins(Consumer<BFWin[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getWins(queries)));
+        this.requestWins(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -210,6 +319,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFWin[] getWins(String... queries);
 
+    /**
+     * <p>Publishes information about wins with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFWin> publishWins(String... queries);
+
     /**
      * <p>Fetches information about players with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -219,7 +337,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestPlayers(Consumer<BFPlayer[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getPlayers(queries)));
+        this.requestPlayers(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -243,6 +361,81 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFPlayer[] getPlayers(String... queries);
 
+    /**
+     * <p>Publishes information about players with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFPlayer> publishPlayers(String... queries);
+
+    /**
+     * <p>Fetches several players by their ids. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param ids     The ids of the players to request
+     * @param handler The handler that will receive the result
+     */
+    default void requestPlayersByIds(Consumer<BFPlayer[]> handler, int... ids)
+    {
+        this.requestPlayersByIds(ids).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches several players by their ids. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param ids The ids of the players to request
+     * @return The value that will exist at some point in the future
+     */
+    default CompletableFuture<BFPlayer[]> requestPlayersByIds(int... ids)
+    {
+        return CompletableFuture.supplyAsync(() -> this.getPlayersByIds(ids), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches several players by their ids. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param ids The ids of the players to request
+     * @return The players in the same order as the ids. Players that could not be found are <code>null</code>
+     */
+    BFPlayer[] getPlayersByIds(int... ids);
+
+    /**
+     * <p>Fetches several players by their UUIDs. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param uuids   The UUIDs of the players to request
+     * @param handler The handler that will receive the result
+     */
+    default void requestPlayersByUuids(Consumer<BFPlayer[]> handler, Collection<String> uuids)
+    {
+        this.requestPlayersByUuids(uuids).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches several players by their UUIDs. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param uuids The UUIDs of the players to request
+     * @return The value that will exist at some point in the future
+     */
+    default CompletableFuture<BFPlayer[]> requestPlayersByUuids(Collection<String> uuids)
+    {
+        return CompletableFuture.supplyAsync(() -> this.getPlayersByUuids(uuids), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches several players by their UUIDs. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param uuids The UUIDs of the players to request
+     * @return The players in the same order as the UUIDs. Players that could not be found are <code>null</code>
+     */
+    BFPlayer[] getPlayersByUuids(Collection<String> uuids);
+
     /**
      * <p>Fetches information about matches with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -252,7 +445,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestMatches(Consumer<BFMatch[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getMatches(queries)));
+        this.requestMatches(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -276,6 +469,48 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFMatch[] getMatches(String... queries);
 
+    /**
+     * <p>Publishes information about matches with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFMatch> publishMatches(String... queries);
+
+    /**
+     * <p>Fetches several matches by their ids. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param ids     The ids of the matches to request
+     * @param handler The handler that will receive the result
+     */
+    default void requestMatchesByIds(Consumer<BFMatch[]> handler, int... ids)
+    {
+        this.requestMatchesByIds(ids).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches several matches by their ids. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param ids The ids of the matches to request
+     * @return The value that will exist at some point in the future
+     */
+    default CompletableFuture<BFMatch[]> requestMatchesByIds(int... ids)
+    {
+        return CompletableFuture.supplyAsync(() -> this.getMatchesByIds(ids), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches several matches by their ids. Cached entries are used where possible and the rest are requested concurrently.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param ids The ids of the matches to request
+     * @return The matches in the same order as the ids. Matches that could not be found are <code>null</code>
+     */
+    BFMatch[] getMatchesByIds(int... ids);
+
     /**
      * <p>Fetches information about accessories players own with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -285,7 +520,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestOwnedAccessories(Consumer<BFOwnedAccessory[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getOwnedAccessories(queries)));
+        this.requestOwnedAccessories(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -309,6 +544,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFOwnedAccessory[] getOwnedAccessories(String... queries);
 
+    /**
+     * <p>Publishes information about owned accessories with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFOwnedAccessory> publishOwnedAccessories(String... queries);
+
     /**
      * <p>Fetches information all accessories that exist with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -318,7 +562,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestAccessories(Consumer<BFAccessory[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getAccessories(queries)));
+        this.requestAccessories(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -342,6 +586,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFAccessory[] getAccessories(String... queries);
 
+    /**
+     * <p>Publishes information about accessories with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFAccessory> publishAccessories(String... queries);
+
     /**
      * <p>Fetches information all accessory types that exist with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -351,7 +604,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestAccessoryTypes(Consumer<BFAccessoryType[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getAccessoryTypes(queries)));
+        this.requestAccessoryTypes(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -375,6 +628,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFAccessoryType[] getAccessoryTypes(String... queries);
 
+    /**
+     * <p>Publishes information about accessory types with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFAccessoryType> publishAccessoryTypes(String... queries);
+
     /**
      * <p>Fetches information about weapons with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -384,7 +646,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestWeapons(Consumer<BFWeapon[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getWeapons(queries)));
+        this.requestWeapons(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -408,6 +670,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFWeapon[] getWeapons(String... queries);
 
+    /**
+     * <p>Publishes information about weapons with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFWeapon> publishWeapons(String... queries);
+
     /**
      * <p>Fetches information all weapon stats that have been collected exist with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -417,7 +688,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestWeaponStats(Consumer<BFWeaponStats[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getWeaponStats(queries)));
+        this.requestWeaponStats(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -441,6 +712,24 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFWeaponStats[] getWeaponStats(String... queries);
 
+    /**
+     * <p>Streams information about each player's use of each weapon in each match with the specified queries.</p>
+     * <p>The table is fetched one page at a time as the stream is consumed, and the next page is fetched in the background while the current one is processed.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A stream of the weapon statistics. Consuming the stream throws a {@link CompletionException} if a page cannot be fetched
+     */
+    Stream<BFWeaponStats> streamWeaponStats(String... queries);
+
+    /**
+     * <p>Publishes information about each player's use of each weapon in each match with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFWeaponStats> publishWeaponStats(String... queries);
+
     /**
      * <p>Fetches information players that participated in each match with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -450,7 +739,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestMatchParticipants(Consumer<BFMatchParticipant[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getMatchParticipants(queries)));
+        this.requestMatchParticipants(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -474,6 +763,24 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFMatchParticipant[] getMatchParticipants(String... queries);
 
+    /**
+     * <p>Streams information about each player in each match with the specified queries.</p>
+     * <p>The table is fetched one page at a time as the stream is consumed, and the next page is fetched in the background while the current one is processed.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A stream of the participants. Consuming the stream throws a {@link CompletionException} if a page cannot be fetched
+     */
+    Stream<BFMatchParticipant> streamMatchParticipants(String... queries);
+
+    /**
+     * <p>Publishes information about match participants with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFMatchParticipant> publishMatchParticipants(String... queries);
+
     /**
      * <p>Fetches information about each kill in each match with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -483,7 +790,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestMatchKills(Consumer<BFKillInfo[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getMatchKills(queries)));
+        this.requestMatchKills(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -507,6 +814,57 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFKillInfo[] getMatchKills(String... queries);
 
+    /**
+     * <p>Streams information about each kill in each match with the specified queries.</p>
+     * <p>The table is fetched one page at a time as the stream is consumed, and the next page is fetched in the background while the current one is processed.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A stream of the kill information. Consuming the stream throws a {@link CompletionException} if a page cannot be fetched
+     */
+    Stream<BFKillInfo> streamMatchKills(String... queries);
+
+    /**
+     * <p>Publishes information about the kills in each match with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFKillInfo> publishMatchKills(String... queries);
+
+    /**
+     * <p>Fetches information about each kill in each match with the specified queries as a single columnar batch.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @param handler The handler that will receive the result
+     */
+    default void requestMatchKillsBatch(Consumer<BFKillInfoBatch> handler, String... queries)
+    {
+        this.requestMatchKillsBatch(queries).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches information about each kill in each match with the specified queries as a single columnar batch.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return The value that will exist at some point in the future
+     */
+    default CompletableFuture<BFKillInfoBatch> requestMatchKillsBatch(String... queries)
+    {
+        return CompletableFuture.supplyAsync(() -> this.getMatchKillsBatch(queries), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches information about each kill in each match with the specified queries as a single columnar batch.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return The kill information or an empty batch if the API request failed
+     */
+    BFKillInfoBatch getMatchKillsBatch(String... queries);
+
     /**
      * <p>Fetches information about emotes players own with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -516,7 +874,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestOwnedEmotes(Consumer<BFOwnedEmote[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getOwnedEmotes(queries)));
+        this.requestOwnedEmotes(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -540,6 +898,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFOwnedEmote[] getOwnedEmotes(String... queries);
 
+    /**
+     * <p>Publishes information about owned emotes with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFOwnedEmote> publishOwnedEmotes(String... queries);
+
     /**
      * <p>Fetches information all emotes that exist with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -549,7 +916,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestEmotes(Consumer<BFEmote[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getEmotes(queries)));
+        this.requestEmotes(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -573,6 +940,15 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFEmote[] getEmotes(String... queries);
 
+    /**
+     * <p>Publishes information about emotes with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFEmote> publishEmotes(String... queries);
+
     /**
      * <p>Fetches information about each player and their linked discord id with the specified queries.</p>
      * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
@@ -582,7 +958,7 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     default void requestLinkedDiscord(Consumer<BFLinkedDiscord[]> handler, String... queries)
     {
-        this.getExecutor().execute(() -> handler.accept(this.getLinkedDiscord(queries)));
+        this.requestLinkedDiscord(queries).thenAcceptAsync(handler, this.getExecutor());
     }
 
     /**
@@ -606,6 +982,61 @@ public interface BattlefieldsApi extends AutoCloseable
      */
     BFLinkedDiscord[] getLinkedDiscord(String... queries);
 
+    /**
+     * <p>Publishes information about linked discord accounts with the specified queries one row at a time.</p>
+     * <p>The table is fetched one page at a time, and the next page is only requested once the subscriber has asked for more rows than are left in the current one.</p>
+     *
+     * @param queries The filter to use when searching for data
+     * @return A publisher of the rows. Subscribers receive an error if an API request fails
+     */
+    BattlefieldsFlow.Publisher<BFLinkedDiscord> publishLinkedDiscord(String... queries);
+
+    /**
+     * <p>Fetches every row of the table the specified column is part of and indexes them by that column.</p>
+     * <p>This method is asynchronous and will call the provided handler when the value is received.</p>
+     *
+     * @param key     The column to index rows by
+     * @param handler The handler that will receive the result
+     * @param <T>     The type of row in the table
+     */
+    default <T> void requestIndex(BattlefieldsIndexKey<T> key, Consumer<BattlefieldsIndex<T>> handler)
+    {
+        this.requestIndex(key).thenAcceptAsync(handler, this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches every row of the table the specified column is part of and indexes them by that column.</p>
+     * <p>This method is asynchronous and the received value is indicated to exist at some point in the future.</p>
+     *
+     * @param key The column to index rows by
+     * @param <T> The type of row in the table
+     * @return The value that will exist at some point in the future
+     */
+    default <T> CompletableFuture<BattlefieldsIndex<T>> requestIndex(BattlefieldsIndexKey<T> key)
+    {
+        return CompletableFuture.supplyAsync(() -> this.getIndex(key), this.getExecutor());
+    }
+
+    /**
+     * <p>Fetches every row of the table the specified column is part of and indexes them by that column.</p>
+     * <p>The rows are fetched like any other request for the whole table, so they come from the cache or replica where possible. The index is only rebuilt once the table has changed, so repeated lookups are answered locally.</p>
+     * <p>This method is not asynchronous and will block code execution until the value has been received.</p>
+     *
+     * @param key The column to index rows by
+     * @param <T> The type of row in the table
+     * @return The index or an empty index if the API request failed
+     */
+    <T> BattlefieldsIndex<T> getIndex(BattlefieldsIndexKey<T> key);
+
+    /**
+     * <p>Creates a view of this API that tags every request it makes with the specified priority.</p>
+     * <p>Priorities only matter once a rate limit has been set through {@link BattlefieldsApiBuilder#setRateLimit(double, int)}. The view shares the cache, rate limit and executor of this API, so shutting down the view shuts down this API as well.</p>
+     *
+     * @param priority The priority to send requests with
+     * @return A view of this API that sends requests with the specified priority
+     */
+    BattlefieldsApi withPriority(BattlefieldsPriority priority);
+
     /**
      * @return The executor used to make API requests asynchronously
      */
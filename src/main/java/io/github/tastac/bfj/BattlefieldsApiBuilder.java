@@ -1,7 +1,30 @@
 package io.github.tastac.bfj;
 
+import io.github.tastac.bfj.cache.BattlefieldsCache;
+import io.github.tastac.bfj.cache.BattlefieldsCachePolicy;
+import io.github.tastac.bfj.cache.BattlefieldsDiskCache;
+import io.github.tastac.bfj.cache.CacheWeigher;
+import io.github.tastac.bfj.resilience.BattlefieldsBulkhead;
+import io.github.tastac.bfj.resilience.BattlefieldsCircuitBreaker;
+import io.github.tastac.bfj.resilience.BattlefieldsHedger;
+import io.github.tastac.bfj.resilience.BattlefieldsRateLimiter;
+import io.github.tastac.bfj.resilience.BattlefieldsRetryPolicy;
+import io.github.tastac.bfj.transport.BattlefieldsHttpTransport;
+import io.github.tastac.bfj.transport.BattlefieldsNioTransport;
+import io.github.tastac.bfj.transport.BattlefieldsServerInfoProvider;
+import io.github.tastac.bfj.transport.BattlefieldsServerListPing;
+import io.github.tastac.bfj.transport.BattlefieldsTransport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -12,23 +35,81 @@ import java.util.function.Consumer;
  */
 public class BattlefieldsApiBuilder
 {
+    private static final int DISK_CACHE_SEGMENTS = 8;
+
     private ExecutorService executor;
+    private boolean virtualThreads;
+    private BattlefieldsTransport transport;
+    private boolean nonBlockingTransport;
+    private BattlefieldsServerInfoProvider serverInfoProvider;
     private Consumer<Exception> exceptionConsumer;
     private long shutdownTimeout;
     private TimeUnit shutdownTimeoutUnit;
     private long cacheTime;
     private TimeUnit cacheTimeUnit;
     private boolean cacheErrors;
+    private boolean staleWhileRevalidate;
+    private double refreshAhead;
+    private int pageSize;
+    private int bulkConcurrency;
+    private BattlefieldsRetryPolicy retryPolicy;
+    private int circuitBreakerThreshold;
+    private long circuitBreakerOpenTime;
+    private int bulkheadMaxConcurrent;
+    private int bulkheadMaxQueued;
+    private double hedgingPercentile;
+    private long hedgingMinimumDelay;
+    private double hedgingBudget;
+    private double rateLimit;
+    private int rateLimitBurst;
+    private long connectTimeout;
+    private long readTimeout;
+    private long cacheMaximumWeight;
+    private CacheWeigher cacheWeigher;
+    private Path diskCacheDirectory;
+    private long diskCacheMaximumSize;
+    private final Map<BattlefieldsApiTable, BattlefieldsCachePolicy> tablePolicies;
+    private final Map<BattlefieldsApiEndpoint, BattlefieldsCachePolicy> endpointPolicies;
+    private final Set<BattlefieldsApiTable> replicatedTables;
+    private long replicaResyncTime;
 
     public BattlefieldsApiBuilder()
     {
         this.executor = null;
+        this.virtualThreads = false;
+        this.transport = null;
+        this.nonBlockingTransport = false;
+        this.serverInfoProvider = null;
         this.exceptionConsumer = Exception::printStackTrace;
         this.shutdownTimeout = 30;
         this.shutdownTimeoutUnit = TimeUnit.SECONDS;
         this.cacheTime = 5;
         this.cacheTimeUnit = TimeUnit.MINUTES;
         this.cacheErrors = true;
+        this.staleWhileRevalidate = false;
+        this.refreshAhead = 0;
+        this.pageSize = 1000;
+        this.bulkConcurrency = 16;
+        this.retryPolicy = BattlefieldsRetryPolicy.NONE;
+        this.circuitBreakerThreshold = 0;
+        this.circuitBreakerOpenTime = 30000;
+        this.bulkheadMaxConcurrent = 0;
+        this.bulkheadMaxQueued = Integer.MAX_VALUE;
+        this.hedgingPercentile = 0.95;
+        this.hedgingMinimumDelay = 0;
+        this.hedgingBudget = 0;
+        this.rateLimit = 0;
+        this.rateLimitBurst = 1;
+        this.connectTimeout = 10000;
+        this.readTimeout = 30000;
+        this.cacheMaximumWeight = BattlefieldsCache.UNBOUNDED;
+        this.cacheWeigher = CacheWeigher.SINGLETON;
+        this.diskCacheDirectory = null;
+        this.diskCacheMaximumSize = 0;
+        this.tablePolicies = new EnumMap<>(BattlefieldsApiTable.class);
+        this.endpointPolicies = new EnumMap<>(BattlefieldsApiEndpoint.class);
+        this.replicatedTables = EnumSet.noneOf(BattlefieldsApiTable.class);
+        this.replicaResyncTime = 3600000;
     }
 
     /**
@@ -42,6 +123,52 @@ public class BattlefieldsApiBuilder
         return this;
     }
 
+    /**
+     * Sets whether or not every request should run on its own virtual thread instead of a fixed pool of platform threads.
+     * Virtual threads are only available on Java 21 and newer, so older versions always use the fixed pool. Ignored if an executor has been set.
+     *
+     * @param virtualThreads Whether or not to use virtual threads
+     */
+    public BattlefieldsApiBuilder setVirtualThreads(boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Sets the transport that will be used to make HTTP requests. Defaults to a {@link BattlefieldsHttpTransport}.
+     *
+     * @param transport The new transport to use
+     */
+    public BattlefieldsApiBuilder setTransport(BattlefieldsTransport transport)
+    {
+        this.transport = transport;
+        return this;
+    }
+
+    /**
+     * Sets whether or not the default transport should be a {@link BattlefieldsNioTransport}, which keeps requests made through the <code>request</code> methods from occupying a thread while waiting for a response. Ignored if a transport has been set.
+     *
+     * @param nonBlockingTransport Whether or not to use the non-blocking transport
+     */
+    public BattlefieldsApiBuilder setNonBlockingTransport(boolean nonBlockingTransport)
+    {
+        this.nonBlockingTransport = nonBlockingTransport;
+        return this;
+    }
+
+    /**
+     * Sets the provider that will be used to look up server information. Defaults to requesting it from {@link BFJ#BF_SERVER_INFO_URL}.
+     * A {@link BattlefieldsServerListPing} asks each server directly instead, which avoids the delay and rate limits of that service.
+     *
+     * @param serverInfoProvider The new provider to use or <code>null</code> to use {@link BFJ#BF_SERVER_INFO_URL}
+     */
+    public BattlefieldsApiBuilder setServerInfoProvider(BattlefieldsServerInfoProvider serverInfoProvider)
+    {
+        this.serverInfoProvider = serverInfoProvider;
+        return this;
+    }
+
     /**
      * Sets the handler to be used when an exception is thrown by the {@link BattlefieldsApi}.
      *
@@ -69,7 +196,7 @@ public class BattlefieldsApiBuilder
     }
 
     /**
-     * Sets the amount of time data is cached for. <code>0</code> will disable caching.
+     * Sets the amount of time data is cached for. <code>0</code> will disable caching. Tables and endpoints with their own {@link BattlefieldsCachePolicy} ignore this.
      *
      * @param cacheTime The time to cache data
      * @param timeUnit  The unit cacheTime is provided in
@@ -94,11 +221,326 @@ public class BattlefieldsApiBuilder
         return this;
     }
 
+    /**
+     * Sets the policy used to cache data from the specified table instead of the default cache time.
+     *
+     * @param table  The table to set the policy of
+     * @param policy The policy to use or <code>null</code> to use the default cache time
+     */
+    public BattlefieldsApiBuilder setCachePolicy(BattlefieldsApiTable table, BattlefieldsCachePolicy policy)
+    {
+        if (policy != null)
+            this.tablePolicies.put(table, policy);
+        else
+            this.tablePolicies.remove(table);
+        return this;
+    }
+
+    /**
+     * Sets the policy used to cache data from the specified endpoint instead of the default cache time.
+     *
+     * @param endpoint The endpoint to set the policy of
+     * @param policy   The policy to use or <code>null</code> to use the default cache time
+     */
+    public BattlefieldsApiBuilder setCachePolicy(BattlefieldsApiEndpoint endpoint, BattlefieldsCachePolicy policy)
+    {
+        if (policy != null)
+            this.endpointPolicies.put(endpoint, policy);
+        else
+            this.endpointPolicies.remove(endpoint);
+        return this;
+    }
+
+    /**
+     * <p>Sets the tables that should be kept as a local replica.</p>
+     * <p>Requesting a replicated table without any queries only fetches the rows past the end of the replica, paging by offset, and merges them into the replica instead of downloading the entire table again.
+     * Only tables where every row has an id can be replicated.</p>
+     * <p>Since only new rows are fetched, rows that are changed or removed after they were replicated stay stale until the next full resync. See {@link #setReplicaResyncTime(long, TimeUnit)}.</p>
+     *
+     * @param tables The tables to replicate
+     */
+    public BattlefieldsApiBuilder setReplicatedTables(BattlefieldsApiTable... tables)
+    {
+        this.replicatedTables.clear();
+        this.replicatedTables.addAll(Arrays.asList(tables));
+        return this;
+    }
+
+    /**
+     * <p>Sets how often a replicated table is downloaded again in full. The rows downloaded replace the replica, so rows that were changed or removed since they were replicated are brought up to date.</p>
+     * <p>The first request for a replicated table is always a full download. <code>0</code> will resync the whole table on every request, which only makes sense for tables where rows change often.</p>
+     *
+     * @param resyncTime The time after a full download when the next request downloads the whole table again
+     * @param timeUnit   The unit resyncTime is provided in
+     */
+    public BattlefieldsApiBuilder setReplicaResyncTime(long resyncTime, TimeUnit timeUnit)
+    {
+        if (resyncTime < 0)
+            throw new IllegalArgumentException("Resync Time must be at least 0");
+        this.replicaResyncTime = timeUnit.toMillis(resyncTime);
+        return this;
+    }
+
+    /**
+     * Sets whether or not expired data should be returned immediately while it is refreshed in the background.
+     *
+     * @param staleWhileRevalidate Whether or not to serve stale data while it is revalidated
+     */
+    public BattlefieldsApiBuilder setStaleWhileRevalidate(boolean staleWhileRevalidate)
+    {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        return this;
+    }
+
+    /**
+     * Sets how far into the cache time data should be refreshed in the background before it expires. <code>0</code> will disable refreshing ahead.
+     *
+     * @param refreshAhead The fraction of the cache time after which a request triggers a refresh, for example <code>0.8</code>
+     */
+    public BattlefieldsApiBuilder setRefreshAhead(double refreshAhead)
+    {
+        if (refreshAhead < 0 || refreshAhead >= 1)
+            throw new IllegalArgumentException("Refresh Ahead must be at least 0 and less than 1");
+        this.refreshAhead = refreshAhead;
+        return this;
+    }
+
+    /**
+     * Sets the amount of rows fetched in each request when a table is streamed.
+     *
+     * @param pageSize The maximum amount of rows in each page
+     */
+    public BattlefieldsApiBuilder setPageSize(int pageSize)
+    {
+        if (pageSize < 1)
+            throw new IllegalArgumentException("Page Size must be at least 1");
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of requests a single bulk lookup such as {@link BattlefieldsApi#getPlayersByIds(int...)} can have in flight at once.
+     *
+     * @param bulkConcurrency The maximum amount of concurrent requests for each bulk lookup
+     */
+    public BattlefieldsApiBuilder setBulkConcurrency(int bulkConcurrency)
+    {
+        if (bulkConcurrency < 1)
+            throw new IllegalArgumentException("Bulk Concurrency must be at least 1");
+        this.bulkConcurrency = bulkConcurrency;
+        return this;
+    }
+
+    /**
+     * Sets the policy used to retry failed requests before they are reported and cached as errors. Defaults to {@link BattlefieldsRetryPolicy#NONE}, so failed requests are not retried.
+     * <code>new BattlefieldsRetryPolicy.Builder().create()</code> retries up to 3 attempts with exponential backoff and jitter.
+     *
+     * @param retryPolicy The new retry policy or <code>null</code> to never retry
+     */
+    public BattlefieldsApiBuilder setRetryPolicy(BattlefieldsRetryPolicy retryPolicy)
+    {
+        this.retryPolicy = retryPolicy != null ? retryPolicy : BattlefieldsRetryPolicy.NONE;
+        return this;
+    }
+
+    /**
+     * Sets when the circuit breaker of each table and endpoint opens. While open, requests fail immediately and the last cached value is returned if there is one. Circuit breakers are disabled by default.
+     *
+     * @param failureThreshold The amount of failures in a row that open a breaker. <code>0</code> will disable circuit breakers
+     * @param openTime         The time a breaker stays open before a trial request is let through
+     * @param timeUnit         The unit openTime is provided in
+     */
+    public BattlefieldsApiBuilder setCircuitBreaker(int failureThreshold, long openTime, TimeUnit timeUnit)
+    {
+        if (failureThreshold < 0)
+            throw new IllegalArgumentException("Failure Threshold must be at least 0");
+        if (openTime < 0)
+            throw new IllegalArgumentException("Open Time must be at least 0");
+        this.circuitBreakerThreshold = failureThreshold;
+        this.circuitBreakerOpenTime = timeUnit.toMillis(openTime);
+        return this;
+    }
+
+    /**
+     * Sets the amount of requests each table and endpoint can have in flight at once. Requests over the limit wait for a permit without occupying a thread. Bulkheads are disabled by default.
+     *
+     * @param maxConcurrent The maximum amount of requests in flight to a single table or endpoint. <code>0</code> will disable bulkheads
+     * @param maxQueued     The maximum amount of requests waiting for a permit before new requests are rejected
+     */
+    public BattlefieldsApiBuilder setBulkhead(int maxConcurrent, int maxQueued)
+    {
+        if (maxConcurrent < 0)
+            throw new IllegalArgumentException("Max Concurrent must be at least 0");
+        if (maxQueued < 0)
+            throw new IllegalArgumentException("Max Queued must be at least 0");
+        this.bulkheadMaxConcurrent = maxConcurrent;
+        this.bulkheadMaxQueued = maxQueued;
+        return this;
+    }
+
+    /**
+     * <p>Sets when slow requests are hedged by sending an identical request to the same table or endpoint. Whichever response arrives first is used and the other request is cancelled.</p>
+     * <p>The delay before hedging is the specified percentile of the recent latencies of that table or endpoint, so only the slowest requests are hedged. Requests are sent from the threads of the executor, including those made by blocking calls, which only wait for and parse the response that arrives first. With a blocking transport each request in flight holds one of those threads, so the executor should have enough threads for the hedges as well. If none are free, the waiting thread sends the request itself and it cannot be hedged.</p>
+     *
+     * @param percentile   The percentile of recent latencies after which a request is hedged, for example <code>0.95</code>
+     * @param minimumDelay The shortest time to wait before hedging a request
+     * @param timeUnit     The unit minimumDelay is provided in
+     * @param budget       The largest fraction of extra requests hedging can add, for example <code>0.05</code>. <code>0</code> will disable hedging
+     */
+    public BattlefieldsApiBuilder setHedging(double percentile, long minimumDelay, TimeUnit timeUnit, double budget)
+    {
+        if (!(percentile > 0 && percentile < 1))
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        if (minimumDelay < 0)
+            throw new IllegalArgumentException("Minimum Delay must be at least 0");
+        if (!(budget >= 0 && budget <= 1))
+            throw new IllegalArgumentException("Budget must be between 0 and 1");
+        this.hedgingPercentile = percentile;
+        this.hedgingMinimumDelay = timeUnit.toMillis(minimumDelay);
+        this.hedgingBudget = budget;
+        return this;
+    }
+
+    /**
+     * <p>Sets the rate requests are sent to the API at. Requests over the limit wait without occupying a thread and are handed out by {@link io.github.tastac.bfj.resilience.BattlefieldsPriority}, so views created through {@link BattlefieldsApi#withPriority(io.github.tastac.bfj.resilience.BattlefieldsPriority)} can keep background work from delaying interactive requests.</p>
+     * <p>Every request counts towards the limit, including retries and each page of a streamed table. Cached responses do not.</p>
+     *
+     * @param requestsPerSecond The amount of requests that can be sent each second. <code>0</code> will disable rate limiting
+     * @param burst             The maximum amount of requests that can be sent at once after being idle
+     */
+    public BattlefieldsApiBuilder setRateLimit(double requestsPerSecond, int burst)
+    {
+        if (!(requestsPerSecond >= 0))
+            throw new IllegalArgumentException("Requests Per Second must be at least 0");
+        if (burst < 1)
+            throw new IllegalArgumentException("Burst must be at least 1");
+        this.rateLimit = requestsPerSecond;
+        this.rateLimitBurst = burst;
+        return this;
+    }
+
+    /**
+     * Sets the timeouts of the default transport. Transports set through {@link #setTransport(BattlefieldsTransport)} use their own timeouts.
+     *
+     * @param connectTimeout The time to wait for a connection to be established
+     * @param readTimeout    The time a request can go without receiving any data before it fails
+     * @param timeUnit       The unit connectTimeout and readTimeout are provided in
+     */
+    public BattlefieldsApiBuilder setTimeouts(long connectTimeout, long readTimeout, TimeUnit timeUnit)
+    {
+        if (connectTimeout < 1)
+            throw new IllegalArgumentException("Connect Timeout must be at least 1");
+        if (readTimeout < 1)
+            throw new IllegalArgumentException("Read Timeout must be at least 1");
+        this.connectTimeout = timeUnit.toMillis(connectTimeout);
+        this.readTimeout = timeUnit.toMillis(readTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of responses that can be cached at once. Responses that are used the least are evicted first. Defaults to no limit.
+     *
+     * @param maximumSize The maximum amount of cache entries
+     */
+    public BattlefieldsApiBuilder setCacheMaximumSize(long maximumSize)
+    {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("Cache Maximum Size must be at least 1");
+        this.cacheMaximumWeight = maximumSize;
+        this.cacheWeigher = CacheWeigher.SINGLETON;
+        return this;
+    }
+
+    /**
+     * Sets the maximum total weight of responses that can be cached at once. Responses that are used the least are evicted first. Defaults to no limit.
+     *
+     * @param maximumWeight The maximum total weight of all cache entries
+     * @param weigher       The weigher to determine how heavy each entry is. {@link CacheWeigher#ESTIMATED_BYTES} can be used to limit the estimated memory use
+     */
+    public BattlefieldsApiBuilder setCacheMaximumWeight(long maximumWeight, CacheWeigher weigher)
+    {
+        if (maximumWeight < 1)
+            throw new IllegalArgumentException("Cache Maximum Weight must be at least 1");
+        this.cacheMaximumWeight = maximumWeight;
+        this.cacheWeigher = weigher;
+        return this;
+    }
+
+    /**
+     * Sets the directory responses are persisted to so they survive restarts. Responses are still only used while their cache time has not passed.
+     *
+     * @param directory   The directory to store the cache in or <code>null</code> to disable the disk cache
+     * @param maximumSize The maximum amount of bytes the cache can take up on disk
+     */
+    public BattlefieldsApiBuilder setDiskCache(Path directory, long maximumSize)
+    {
+        if (directory != null && maximumSize < DISK_CACHE_SEGMENTS)
+            throw new IllegalArgumentException("Disk Cache Maximum Size must be at least " + DISK_CACHE_SEGMENTS);
+        if (directory != null && maximumSize / DISK_CACHE_SEGMENTS > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Disk Cache Maximum Size must be at most " + (long) Integer.MAX_VALUE * DISK_CACHE_SEGMENTS);
+        this.diskCacheDirectory = directory;
+        this.diskCacheMaximumSize = maximumSize;
+        return this;
+    }
+
+    private ExecutorService createExecutor()
+    {
+        if (this.virtualThreads)
+        {
+            try
+            {
+                // Looked up at runtime so the library can still be built for and run on Java 8
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "Battlefields API Worker-", 0L);
+                ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+            }
+            catch (ReflectiveOperationException ignored)
+            {
+                // Virtual threads are not supported by this version of Java
+            }
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> new Thread(task, "Battlefields API Worker"));
+    }
+
+    private BattlefieldsTransport createTransport()
+    {
+        if (this.nonBlockingTransport)
+        {
+            try
+            {
+                return new BattlefieldsNioTransport(BattlefieldsHttpTransport.USER_AGENT, Integer.getInteger("http.maxConnections", 5), this.connectTimeout, this.readTimeout, TimeUnit.MILLISECONDS, BattlefieldsNioTransport.DEFAULT_MAX_RESPONSE_SIZE, this.exceptionConsumer);
+            }
+            catch (IOException e)
+            {
+                this.exceptionConsumer.accept(e);
+            }
+        }
+        return new BattlefieldsHttpTransport(BattlefieldsHttpTransport.USER_AGENT, Integer.getInteger("http.maxConnections", 5), this.connectTimeout, this.readTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private BattlefieldsDiskCache createDiskCache()
+    {
+        if (this.diskCacheDirectory == null)
+            return null;
+        try
+        {
+            return new BattlefieldsDiskCache(this.diskCacheDirectory, this.diskCacheMaximumSize / DISK_CACHE_SEGMENTS, DISK_CACHE_SEGMENTS);
+        }
+        catch (IOException e)
+        {
+            // The API still works without the disk cache, it just starts cold
+            this.exceptionConsumer.accept(e);
+            return null;
+        }
+    }
+
     /**
      * @return Builds a new standard {@link BattlefieldsApi} with the provided parameters
      */
     public BattlefieldsApi create()
     {
-        return new BattlefieldsApiImpl(this.executor != null ? this.executor : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> new Thread(task, "Battlefields API Worker")), this.exceptionConsumer, this.shutdownTimeout, this.shutdownTimeoutUnit, this.cacheTime, this.cacheTimeUnit, this.cacheErrors);
+        return new BattlefieldsApiImpl(this.executor != null ? this.executor : this.createExecutor(), this.transport != null ? this.transport : this.createTransport(), this.serverInfoProvider, this.exceptionConsumer, this.shutdownTimeout, this.shutdownTimeoutUnit, this.cacheTime, this.cacheTimeUnit, this.cacheErrors, this.staleWhileRevalidate, this.refreshAhead, this.pageSize, this.bulkConcurrency, this.retryPolicy, this.circuitBreakerThreshold > 0 ? name -> new BattlefieldsCircuitBreaker(name, this.circuitBreakerThreshold, this.circuitBreakerOpenTime, TimeUnit.MILLISECONDS) : null, this.bulkheadMaxConcurrent > 0 ? name -> new BattlefieldsBulkhead(name, this.bulkheadMaxConcurrent, this.bulkheadMaxQueued) : null, this.hedgingBudget > 0 ? name -> new BattlefieldsHedger(name, this.hedgingPercentile, this.hedgingMinimumDelay, TimeUnit.MILLISECONDS, this.hedgingBudget) : null, this.rateLimit > 0 ? scheduler -> new BattlefieldsRateLimiter(this.rateLimit, this.rateLimitBurst, scheduler) : null, new BattlefieldsCache(this.cacheMaximumWeight, this.cacheWeigher), this.createDiskCache(), this.tablePolicies, this.endpointPolicies, this.replicatedTables, this.replicaResyncTime);
     }
 }
@@ -0,0 +1,28 @@
+package io.github.tastac.bfj;
+
+/**
+ * <p>All the endpoints apart from the {@link BattlefieldsApiTable tables} that can be requested through the Battlefields API.</p>
+ *
+ * @author Ocelot
+ */
+public enum BattlefieldsApiEndpoint
+{
+    SERVER_LIST("server_list"),
+    SERVER_STATUS("server_status"),
+    SERVER_INFO("server_info");
+
+    private final String endpoint;
+
+    BattlefieldsApiEndpoint(String endpoint)
+    {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return The name of this endpoint
+     */
+    public String getEndpoint()
+    {
+        return endpoint;
+    }
+}
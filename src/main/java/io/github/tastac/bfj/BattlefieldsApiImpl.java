@@ -1,24 +1,68 @@
 package io.github.tastac.bfj;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.github.tastac.bfj.cache.BattlefieldsCache;
+import io.github.tastac.bfj.cache.BattlefieldsCachePolicy;
+import io.github.tastac.bfj.cache.BattlefieldsDiskCache;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
+import io.github.tastac.bfj.cache.CacheWeigher;
 import io.github.tastac.bfj.components.*;
+import io.github.tastac.bfj.flow.BattlefieldsFlow;
+import io.github.tastac.bfj.index.BattlefieldsIndex;
+import io.github.tastac.bfj.index.BattlefieldsIndexKey;
+import io.github.tastac.bfj.monitor.BattlefieldsServerMonitor;
+import io.github.tastac.bfj.resilience.BattlefieldsBulkhead;
+import io.github.tastac.bfj.resilience.BattlefieldsCircuitBreaker;
+import io.github.tastac.bfj.resilience.BattlefieldsHedger;
+import io.github.tastac.bfj.resilience.BattlefieldsPriority;
+import io.github.tastac.bfj.resilience.BattlefieldsRateLimiter;
+import io.github.tastac.bfj.resilience.BattlefieldsRejectedException;
+import io.github.tastac.bfj.resilience.BattlefieldsRetryPolicy;
+import io.github.tastac.bfj.sync.BattlefieldsReplica;
+import io.github.tastac.bfj.transport.BattlefieldsServerInfoProvider;
+import io.github.tastac.bfj.transport.BattlefieldsTransport;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.lang.reflect.Array;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>Internal implementation of {@link BattlefieldsApi}.</p>
@@ -27,43 +71,110 @@ import java.util.function.Supplier;
  */
 public class BattlefieldsApiImpl implements BattlefieldsApi
 {
-    private static final Gson GSON = new GsonBuilder().registerTypeAdapter(BFServerInfo.class, new BFServerInfo.Deserializer()).create();
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11";
+    private static final Comparator<String[]> QUERY_ORDER = Comparator.<String[], String>comparing(query -> query[0]).thenComparing(query -> query[1]);
 
     private final ExecutorService requestPool;
+    private final BattlefieldsTransport transport;
+    private final BattlefieldsServerInfoProvider serverInfoProvider;
     private final Consumer<Exception> exceptionConsumer;
     private final long shutdownTimeout;
     private final TimeUnit shutdownTimeoutUnit;
-    private final long cacheTime;
-    private final TimeUnit cacheTimeUnit;
-    private final boolean cacheErrors;
-    private final Map<String, Long> timeStamps;
-    private final Map<String, Object> cache;
-    private final Map<String, Long> errorCache;
+    private final boolean staleWhileRevalidate;
+    private final double refreshAhead;
+    private final int pageSize;
+    private final int bulkConcurrency;
+    private final BattlefieldsRetryPolicy retryPolicy;
+    private final ScheduledExecutorService scheduler;
+    private final BattlefieldsRateLimiter rateLimiter;
+    private final BattlefieldsPriority priority;
+    private final BattlefieldsInterner interner;
+    private final Gson gson;
+    private final BattlefieldsCache cache;
+    private final BattlefieldsDiskCache diskCache;
+    private final Map<BattlefieldsApiTable, CacheRegion> tableRegions;
+    private final Map<BattlefieldsApiEndpoint, CacheRegion> endpointRegions;
+    private final Map<BattlefieldsApiTable, BattlefieldsReplica<?>> replicas;
+    private final long replicaResyncTime;
+    private final Map<String, CompletableFuture<Object>> requests;
+    private final Map<BattlefieldsIndexKey<?>, IndexEntry<?>> indexes;
+    private final Set<BattlefieldsServerMonitor> monitors;
 
-    public BattlefieldsApiImpl(ExecutorService requestPool, Consumer<Exception> exceptionConsumer, long shutdownTimeout, TimeUnit shutdownTimeoutUnit, long cacheTime, TimeUnit cacheTimeUnit, boolean cacheErrors)
+    public BattlefieldsApiImpl(ExecutorService requestPool, BattlefieldsTransport transport, BattlefieldsServerInfoProvider serverInfoProvider, Consumer<Exception> exceptionConsumer, long shutdownTimeout, TimeUnit shutdownTimeoutUnit, long cacheTime, TimeUnit cacheTimeUnit, boolean cacheErrors, boolean staleWhileRevalidate, double refreshAhead, int pageSize, int bulkConcurrency, BattlefieldsRetryPolicy retryPolicy, Function<String, BattlefieldsCircuitBreaker> circuitBreakerFactory, Function<String, BattlefieldsBulkhead> bulkheadFactory, Function<String, BattlefieldsHedger> hedgerFactory, Function<ScheduledExecutorService, BattlefieldsRateLimiter> rateLimiterFactory, BattlefieldsCache cache, BattlefieldsDiskCache diskCache, Map<BattlefieldsApiTable, BattlefieldsCachePolicy> tablePolicies, Map<BattlefieldsApiEndpoint, BattlefieldsCachePolicy> endpointPolicies, Set<BattlefieldsApiTable> replicatedTables, long replicaResyncTime)
     {
         this.requestPool = requestPool;
+        this.transport = transport;
+        this.serverInfoProvider = serverInfoProvider;
         this.exceptionConsumer = exceptionConsumer;
         this.shutdownTimeout = shutdownTimeout;
         this.shutdownTimeoutUnit = shutdownTimeoutUnit;
-        this.cacheTime = cacheTime;
-        this.cacheTimeUnit = cacheTimeUnit;
-        this.cacheErrors = cacheErrors;
-        this.timeStamps = new ConcurrentHashMap<>();
-        this.cache = new ConcurrentHashMap<>();
-        this.errorCache = new ConcurrentHashMap<>();
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.refreshAhead = refreshAhead;
+        this.pageSize = pageSize;
+        this.bulkConcurrency = bulkConcurrency;
+        this.retryPolicy = retryPolicy;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Battlefields API Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rateLimiter = rateLimiterFactory != null ? rateLimiterFactory.apply(this.scheduler) : null;
+        this.priority = BattlefieldsPriority.INTERACTIVE;
+        this.interner = new BattlefieldsInterner();
+        this.gson = createGson(this.interner);
+        this.cache = cache;
+        this.diskCache = diskCache;
+        this.tableRegions = new EnumMap<>(BattlefieldsApiTable.class);
+        this.endpointRegions = new EnumMap<>(BattlefieldsApiEndpoint.class);
+
+        BattlefieldsCachePolicy defaultPolicy = new BattlefieldsCachePolicy(cacheTime, cacheErrors ? cacheTime : 0, cacheTimeUnit, 0);
+        for (BattlefieldsApiTable table : BattlefieldsApiTable.values())
+            this.tableRegions.put(table, new CacheRegion(table.getTable(), cache, tablePolicies.getOrDefault(table, defaultPolicy), circuitBreakerFactory, bulkheadFactory, hedgerFactory));
+        for (BattlefieldsApiEndpoint endpoint : BattlefieldsApiEndpoint.values())
+            this.endpointRegions.put(endpoint, new CacheRegion(endpoint.getEndpoint(), cache, endpointPolicies.getOrDefault(endpoint, defaultPolicy), circuitBreakerFactory, bulkheadFactory, hedgerFactory));
+
+        this.replicas = new EnumMap<>(BattlefieldsApiTable.class);
+        for (BattlefieldsApiTable table : replicatedTables)
+            this.replicas.put(table, createReplica(table));
+        this.replicaResyncTime = replicaResyncTime;
+        this.requests = new ConcurrentHashMap<>();
+        this.indexes = new ConcurrentHashMap<>();
+        this.monitors = ConcurrentHashMap.newKeySet();
     }
 
-    private static byte[] requestRaw(String url) throws URISyntaxException, IOException
+    private BattlefieldsApiImpl(BattlefieldsApiImpl parent, BattlefieldsPriority priority)
     {
-        HttpURLConnection connection = (HttpURLConnection) new URI(url).toURL().openConnection();
-        connection.addRequestProperty("User-Agent", USER_AGENT);
-        try (InputStream stream = connection.getInputStream())
-        {
-            if (connection.getResponseCode() != 200)
-                throw new IOException("Failed to connect to '" + url + "'. " + connection.getResponseCode() + " " + connection.getResponseMessage());
+        this.requestPool = parent.requestPool;
+        this.transport = parent.transport;
+        this.serverInfoProvider = parent.serverInfoProvider;
+        this.exceptionConsumer = parent.exceptionConsumer;
+        this.shutdownTimeout = parent.shutdownTimeout;
+        this.shutdownTimeoutUnit = parent.shutdownTimeoutUnit;
+        this.staleWhileRevalidate = parent.staleWhileRevalidate;
+        this.refreshAhead = parent.refreshAhead;
+        this.pageSize = parent.pageSize;
+        this.bulkConcurrency = parent.bulkConcurrency;
+        this.retryPolicy = parent.retryPolicy;
+        this.scheduler = parent.scheduler;
+        this.rateLimiter = parent.rateLimiter;
+        this.priority = priority;
+        this.interner = parent.interner;
+        this.gson = parent.gson;
+        this.cache = parent.cache;
+        this.diskCache = parent.diskCache;
+        this.tableRegions = parent.tableRegions;
+        this.endpointRegions = parent.endpointRegions;
+        this.replicas = parent.replicas;
+        this.replicaResyncTime = parent.replicaResyncTime;
+        this.requests = parent.requests;
+        this.indexes = parent.indexes;
+        this.monitors = parent.monitors;
+    }
 
+    private byte[] requestRaw(String url) throws IOException
+    {
+        try (InputStream stream = this.transport.open(url))
+        {
             ByteArrayOutputStream buffer = new ByteArrayOutputStream();
             int count;
             byte[] data = new byte[4096];
@@ -73,36 +184,119 @@ public class BattlefieldsApiImpl implements BattlefieldsApi
             }
             return buffer.toByteArray();
         }
-        finally
-        {
-            if (connection.getResponseCode() != 200 && connection.getErrorStream() != null)
-                connection.getErrorStream().close();
-        }
     }
 
-    private static JsonElement request(String url) throws URISyntaxException, IOException
+    private static Gson createGson(BattlefieldsInterner interner)
+    {
+        return new GsonBuilder()
+                .registerTypeAdapter(BFServer.class, new BFServer.Adapter().nullSafe())
+                .registerTypeAdapter(BFServerInfo.class, new BFServerInfo.Adapter().nullSafe())
+                .registerTypeAdapter(BFKill.class, new BFKill.Adapter(interner).nullSafe())
+                .registerTypeAdapter(BFWin.class, new BFWin.Adapter(interner).nullSafe())
+                .registerTypeAdapter(BFPlayer.class, new BFPlayer.Adapter(interner).nullSafe())
+                .registerTypeAdapter(BFMatch.class, new BFMatch.Adapter().nullSafe())
+                .registerTypeAdapter(BFOwnedAccessory.class, new BFOwnedAccessory.Adapter(interner).nullSafe())
+                .registerTypeAdapter(BFAccessory.class, new BFAccessory.Adapter().nullSafe())
+                .registerTypeAdapter(BFAccessoryType.class, new BFAccessoryType.Adapter().nullSafe())
+                .registerTypeAdapter(BFWeapon.class, new BFWeapon.Adapter().nullSafe())
+                .registerTypeAdapter(BFWeaponStats.class, new BFWeaponStats.Adapter().nullSafe())
+                .registerTypeAdapter(BFMatchParticipant.class, new BFMatchParticipant.Adapter().nullSafe())
+                .registerTypeAdapter(BFKillInfo.class, new BFKillInfo.Adapter().nullSafe())
+                .registerTypeAdapter(BFKillInfoBatch.class, new BFKillInfoBatch.Adapter().nullSafe())
+                .registerTypeAdapter(BFOwnedEmote.class, new BFOwnedEmote.Adapter(interner).nullSafe())
+                .registerTypeAdapter(BFEmote.class, new BFEmote.Adapter().nullSafe())
+                .registerTypeAdapter(BFLinkedDiscord.class, new BFLinkedDiscord.Adapter(interner).nullSafe())
+                .create();
+    }
+
+    private static JsonReader createReader(InputStream stream)
+    {
+        JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private <T> T read(InputStream stream, Class<T> type) throws IOException
     {
-        HttpURLConnection connection = (HttpURLConnection) new URI(url).toURL().openConnection();
-        connection.addRequestProperty("User-Agent", USER_AGENT);
-        try (InputStream stream = connection.getInputStream())
+        try (JsonReader reader = createReader(stream))
         {
-            if (connection.getResponseCode() != 200)
-                throw new IOException("Failed to connect to '" + url + "'. " + connection.getResponseCode() + " " + connection.getResponseMessage());
-            return new JsonParser().parse(new InputStreamReader(stream));
+            return this.gson.getAdapter(type).read(reader);
         }
-        finally
+    }
+
+    private <T> T readDetail(String url, InputStream stream, Class<T> type) throws IOException, JsonParseException
+    {
+        try (JsonReader reader = createReader(stream))
         {
-            if (connection.getResponseCode() != 200 && connection.getErrorStream() != null)
-                connection.getErrorStream().close();
+            boolean status = false;
+            T detail = null;
+            String message = null;
+
+            // The detail is read as soon as it is found so the response only has to be walked once
+            reader.beginObject();
+            while (reader.hasNext())
+            {
+                switch (reader.nextName())
+                {
+                    case "status":
+                        status = reader.peek() == JsonToken.STRING ? Boolean.parseBoolean(reader.nextString()) : reader.nextBoolean();
+                        break;
+                    case "detail":
+                        if (reader.peek() == JsonToken.BEGIN_ARRAY)
+                            detail = this.gson.getAdapter(type).read(reader);
+                        else if (reader.peek() == JsonToken.STRING)
+                            message = reader.nextString();
+                        else
+                            reader.skipValue();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+
+            if (!status)
+                throw new IOException("Failed to connect to Battlefields API: " + message);
+            if (detail == null)
+                throw new JsonParseException("Expected detail array from '" + url + "'");
+            return detail;
         }
     }
 
-    private static JsonArray requestDetail(String url) throws URISyntaxException, IOException, JsonParseException
+    private <T> T request(String url, Class<T> type) throws IOException
+    {
+        return read(this.transport.open(url), type);
+    }
+
+    private <T> T requestDetail(String url, Class<T> type) throws IOException, JsonParseException
+    {
+        return readDetail(url, this.transport.open(url), type);
+    }
+
+    private static BattlefieldsReplica<?> createReplica(BattlefieldsApiTable table)
     {
-        JsonObject requestObject = request(url).getAsJsonObject();
-        if (!requestObject.get("status").getAsBoolean())
-            throw new IOException("Failed to connect to Battlefields API: " + requestObject.get("detail").getAsString());
-        return requestObject.get("detail").getAsJsonArray();
+        switch (table)
+        {
+            case PLAYERS:
+                return new BattlefieldsReplica<>(table, BFPlayer::getId, BFPlayer[]::new);
+            case MATCHES:
+                return new BattlefieldsReplica<>(table, BFMatch::getId, BFMatch[]::new);
+            case ACCESSORIES:
+                return new BattlefieldsReplica<>(table, BFAccessory::getId, BFAccessory[]::new);
+            case ACCESSORY_TYPES:
+                return new BattlefieldsReplica<>(table, BFAccessoryType::getId, BFAccessoryType[]::new);
+            case WEAPONS:
+                return new BattlefieldsReplica<>(table, BFWeapon::getId, BFWeapon[]::new);
+            case WEAPON_STATS:
+                return new BattlefieldsReplica<>(table, BFWeaponStats::getId, BFWeaponStats[]::new);
+            case MATCH_KILLS:
+                return new BattlefieldsReplica<>(table, BFKillInfo::getId, BFKillInfo[]::new);
+            case EMOTES:
+                return new BattlefieldsReplica<>(table, BFEmote::getId, BFEmote[]::new);
+            default:
+                throw new IllegalArgumentException("Table '" + table.getTable() + "' has no row ids and cannot be replicated");
+        }
     }
 
     private static String getRequestUrl(BattlefieldsApiTable table, String query)
@@ -114,447 +308,1989 @@ public class BattlefieldsApiImpl implements BattlefieldsApi
     {
         if (queries.length == 0)
             return "";
-        StringBuilder builder = new StringBuilder();
-        for (String query : queries)
+        String[][] encoded = new String[queries.length][];
+        for (int i = 0; i < queries.length; i++)
         {
-            String[] splitQuery = query.split("=", 2);
-            if (splitQuery.length != 2)
+            String query = queries[i];
+            int split = query.indexOf('=');
+            if (split < 0)
                 throw new IOException("Invalid query: " + query);
-            builder.append("&");
-            builder.append(URLEncoder.encode(splitQuery[0], StandardCharsets.UTF_8.toString()));
-            builder.append("=");
-            builder.append(URLEncoder.encode(splitQuery[1], StandardCharsets.UTF_8.toString()));
+            encoded[i] = new String[]{URLEncoder.encode(query.substring(0, split), StandardCharsets.UTF_8.toString()), URLEncoder.encode(query.substring(split + 1), StandardCharsets.UTF_8.toString())};
         }
+
+        // Sorting makes the cache key the same no matter what order the queries were passed in, and matches the order a BFQuery uses
+        if (encoded.length > 1)
+            Arrays.sort(encoded, QUERY_ORDER);
+        StringBuilder builder = new StringBuilder();
+        for (String[] query : encoded)
+            builder.append('&').append(query[0]).append('=').append(query[1]);
         return builder.toString();
     }
 
-    private boolean isCacheValid(String field)
+    private <T> Fetcher<T> createFetcher(String url, Class<T> type, boolean detail)
     {
-        if (this.cacheTime <= 0)
-            return false;
-        if (!this.timeStamps.containsKey(field) && (!this.cacheErrors || !this.errorCache.containsKey(field)))
-            return false;
-        long timeStamp = this.timeStamps.containsKey(field) ? this.timeStamps.get(field) : this.errorCache.get(field);
-        return System.currentTimeMillis() - timeStamp < TimeUnit.MILLISECONDS.convert(this.cacheTime, this.cacheTimeUnit);
+        return new UrlFetcher<>(url, type, detail);
+    }
+
+    private Fetcher<BFServerInfo> createServerInfoFetcher(String ip)
+    {
+        return this.serverInfoProvider != null ? new ServerInfoFetcher(ip) : this.createFetcher(BFJ.BF_SERVER_INFO_URL + ip, BFServerInfo.class, false);
     }
 
     @SuppressWarnings("unchecked")
-    private <T> T retrieve(String field, Fetcher<T> fetcher, Supplier<T> defaultValue)
+    private <T> Fetcher<T[]> createFetcher(BattlefieldsApiTable table, String query, Class<T[]> type)
     {
-        if (this.isCacheValid(field))
-        {
-            if (this.cache.containsKey(field))
-            {
-                try
-                {
-                    return (T) this.cache.get(field);
-                }
-                catch (Exception e)
-                {
-                    this.exceptionConsumer.accept(e);
-                    this.timeStamps.remove(field);
-                    this.cache.remove(field);
-                }
-            }
-            else
-            {
-                return defaultValue.get();
-            }
-        }
+        BattlefieldsReplica<T> replica = (BattlefieldsReplica<T>) this.replicas.get(table);
+        if (replica != null && query.isEmpty())
+            return new ReplicaFetcher<>(replica, type);
+        return this.createFetcher(getRequestUrl(table, query), type, true);
+    }
 
-        try
-        {
-            T value = fetcher.fetch();
-            if (this.cacheTime > 0)
-            {
-                this.timeStamps.put(field, System.currentTimeMillis());
-                this.cache.put(field, value);
-            }
-            return value;
-        }
-        catch (Exception e)
-        {
-            this.exceptionConsumer.accept(e);
-            if (this.cacheTime > 0 && this.cacheErrors)
-                this.errorCache.put(field, System.currentTimeMillis());
-            return defaultValue.get();
-        }
+    private <T> Fetcher<T[]> createSyncFetcher(BattlefieldsReplica<T> replica, Class<T[]> type, int offset)
+    {
+        return this.createFetcher(getRequestUrl(replica.getTable(), "&limit=" + this.pageSize + "&offset=" + offset), type, true);
     }
 
-    @Override
-    public void clearCache()
+    private <T> boolean mergeSyncPage(BattlefieldsReplica<T> replica, T[] page)
     {
-        this.timeStamps.clear();
-        this.cache.clear();
-        this.errorCache.clear();
+        // The API cannot filter by id, so a page that adds no rows past the last id means it has nothing new to offer, even if the page is full
+        int lastId = replica.getLastId();
+        return replica.merge(page) > 0 && replica.getLastId() > lastId && page.length >= this.pageSize;
     }
 
-    @Override
-    public JsonArray get(BattlefieldsApiTable table, String... queries)
+    private boolean isResyncDue(BattlefieldsReplica<?> replica)
+    {
+        return System.currentTimeMillis() - replica.getReplaceTime() >= this.replicaResyncTime;
+    }
+
+    private <T> T[] sync(BattlefieldsReplica<T> replica, Class<T[]> type) throws Exception
     {
+        CacheRegion region = this.tableRegions.get(replica.getTable());
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("custom-" + query, () -> requestDetail(getRequestUrl(table, query)), () -> null);
+            if (this.isResyncDue(replica))
+            {
+                replica.replace(new PagedFetcher<>(replica.getTable(), "", type).fetch());
+                return replica.getRows();
+            }
+
+            // Only the rows past the end of the replica are requested, which assumes rows are returned in the order they were added. Changed rows are picked up by the next full resync
+            int offset = replica.size();
+            T[] page;
+            do
+            {
+                page = this.fetchWithRetry(region, this.createSyncFetcher(replica, type, offset));
+                offset += page.length;
+            } while (this.mergeSyncPage(replica, page));
         }
         catch (Exception e)
         {
+            if (replica.size() == 0)
+                throw e;
             this.exceptionConsumer.accept(e);
-            return null;
         }
+        return replica.getRows();
     }
 
-    @Override
-    public String[] getServerList()
+    private <T> CompletableFuture<T[]> syncAsync(BattlefieldsReplica<T> replica, Class<T[]> type, Executor opener, Executor executor)
     {
-        try
+        CompletableFuture<T[]> sync = this.isResyncDue(replica) ? new PagedFetcher<>(replica.getTable(), "", type).fetchAsync(opener, executor).thenApply(rows ->
         {
-            return this.retrieve("server_list", () -> GSON.fromJson(request(BFJ.BF_SERVER_LIST_URL), String[].class), () -> new String[0]);
-        }
-        catch (Exception e)
+            replica.replace(rows);
+            return replica.getRows();
+        }) : this.syncPageAsync(this.tableRegions.get(replica.getTable()), replica, type, replica.size(), opener, executor);
+        return sync.handle((rows, t) ->
         {
-            this.exceptionConsumer.accept(e);
-            return null;
-        }
+            if (t == null)
+                return rows;
+            if (replica.size() == 0)
+                throw t instanceof CompletionException ? (CompletionException) t : new CompletionException(t);
+            this.exceptionConsumer.accept(unwrap(t));
+            return replica.getRows();
+        });
     }
 
-    @Override
-    public BFServer[] getServerStatus()
+    private <T> CompletableFuture<T[]> syncPageAsync(CacheRegion region, BattlefieldsReplica<T> replica, Class<T[]> type, int offset, Executor opener, Executor executor)
     {
-        try
-        {
-            return this.retrieve("server_status", () ->
-            {
-                JsonArray jsonArray = requestDetail(BFJ.BF_SERVER_STATUS_URL);
-                BFServer[] servers = new BFServer[jsonArray.size()];
-                for (int i = 0; i < servers.length; i++)
-                {
-                    JsonObject jsonObject = jsonArray.get(i).getAsJsonObject();
-                    Set<Map.Entry<String, JsonElement>> entries = jsonObject.entrySet();
-                    if (entries.size() != 1)
-                        throw new IllegalArgumentException("Expected a single entry: " + jsonObject);
-                    Map.Entry<String, JsonElement> entry = entries.iterator().next();
-                    servers[i] = new BFServer(entry.getKey(), entry.getValue().getAsString());
-                }
-                return servers;
-            }, () -> new BFServer[0]);
-        }
-        catch (Exception e)
+        return this.fetchWithRetryAsync(region, this.createSyncFetcher(replica, type, offset), opener, executor).thenCompose(page -> this.mergeSyncPage(replica, page) ? this.syncPageAsync(region, replica, type, offset + page.length, opener, executor) : CompletableFuture.completedFuture(replica.getRows()));
+    }
+
+    private static void forwardCancellation(CompletableFuture<?> from, CompletableFuture<?> to)
+    {
+        from.whenComplete((value, t) ->
         {
-            this.exceptionConsumer.accept(e);
-            return null;
-        }
+            if (from.isCancelled())
+                to.cancel(false);
+        });
     }
 
-//    @Override
-//    public JsonObject getCosmeticModel(String modelName)
-//    {
-//        try
-//        {
-//            return this.retrieve("cosmetic_model-" + modelName, () -> new JsonParser().parse(new String(requestRaw(BFJ.BF_COSMETIC_URL + "model/" + modelName + ".json"))).getAsJsonObject(), () -> null);
-//        }
-//        catch (Exception e)
-//        {
-//            this.exceptionConsumer.accept(e);
-//            return null;
-//        }
-//    }
-//
-//    @Override
-//    public String getCosmeticModelHash(String modelName)
-//    {
-//        if (this.isCacheValid("cosmetic_model_hash-" + modelName))
-//            return null;
-//        try
-//        {
-//            return new String(requestRaw(BFJ.BF_COSMETIC_URL + "model/" + modelName + ".json.md5"));
-//        }
-//        catch (Exception e)
-//        {
-//            this.exceptionConsumer.accept(e);
-//            if (this.cacheTime > 0 && this.cacheErrors)
-//                this.errorCache.put("cosmetic_model_hash-" + modelName, System.currentTimeMillis());
-//            return null;
-//        }
-//    }
-//
-//    @Override
-//    public byte[] getCosmeticTexture(String textureName)
-//    {
-//        try
-//        {
-//            return this.retrieve("cosmetic_texture-" + textureName, () -> requestRaw(BFJ.BF_COSMETIC_URL + "texture/" + textureName + ".png"), () -> null);
-//        }
-//        catch (Exception e)
-//        {
-//            this.exceptionConsumer.accept(e);
-//            return null;
-//        }
-//    }
-//
-//    @Override
-//    public String getCosmeticTextureHash(String textureName)
-//    {
-//        if (this.isCacheValid("cosmetic_texture_hash-" + textureName))
-//            return null;
-//        try
-//        {
-//            return new String(requestRaw(BFJ.BF_COSMETIC_URL + "texture/" + textureName + ".png.md5"));
-//        }
-//        catch (Exception e)
-//        {
-//            this.exceptionConsumer.accept(e);
-//            if (this.cacheTime > 0 && this.cacheErrors)
-//                this.errorCache.put("cosmetic_texture_hash-" + textureName, System.currentTimeMillis());
-//            return null;
-//        }
-//    }
+    private static Exception unwrap(Throwable t)
+    {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
 
-//    @Override
-//    public String getServerStatus()
-//    {
-//        return this.retrieve("server_status", () -> requestDetail(BFJ.BF_SERVER_STATUS_URL).get(0).getAsJsonObject().get(BFJ.BF_SERVER_HOSTNAME).getAsString(), () -> "red");
-//    }
+    private CompletableFuture<Void> acquireRateLimit()
+    {
+        return this.rateLimiter != null ? this.rateLimiter.acquire(this.priority) : CompletableFuture.completedFuture(null);
+    }
 
-    @Override
-    public BFServerInfo getServerInfo(String ip)
+    private void awaitRateLimit()
     {
         try
         {
-            return this.retrieve("server_info-" + ip, () -> GSON.fromJson(request(BFJ.BF_SERVER_INFO_URL + ip), BFServerInfo.class), () -> null);
+            this.acquireRateLimit().join();
         }
-        catch (Exception e)
+        catch (CompletionException e)
         {
-            this.exceptionConsumer.accept(e);
-            return null;
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         }
     }
 
-    @Override
-    public BFKill[] getKills(String... queries)
+    private <T> Stream<T> stream(BattlefieldsApiTable table, Class<T[]> type, String... queries)
     {
         try
         {
             String query = resolveQueries(queries);
-            return this.retrieve("kills-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.KILLS, query)), BFKill[].class), () -> new BFKill[0]);
+            CacheRegion region = this.tableRegions.get(table);
+            PageIterator<T> iterator = new PageIterator<>(this.requestPool, this.pageSize, (offset, limit) -> this.fetchWithRetry(region, this.createFetcher(getRequestUrl(table, query + "&limit=" + limit + "&offset=" + offset), type, true)));
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFKill[0];
+            return Stream.empty();
         }
     }
 
-    @Override
-    public BFWin[] getWins(String... queries)
+    private <T> BattlefieldsFlow.Publisher<T> publish(BattlefieldsApiTable table, Class<T[]> type, String... queries)
     {
-        try
-        {
-            String query = resolveQueries(queries);
-            return this.retrieve("wins-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.WINS, query)), BFWin[].class), () -> new BFWin[0]);
-        }
-        catch (Exception e)
-        {
-            this.exceptionConsumer.accept(e);
-            return new BFWin[0];
-        }
+        // Queries are resolved for each page so an invalid query is reported to the subscriber instead of the exception consumer
+        CacheRegion region = this.tableRegions.get(table);
+        return new RowPublisher<>(this.requestPool, this.pageSize, (offset, limit) -> this.fetchWithRetryAsync(region, this.createFetcher(getRequestUrl(table, resolveQueries(queries) + "&limit=" + limit + "&offset=" + offset), type, true), this.requestPool));
     }
 
-    @Override
-    public BFPlayer[] getPlayers(String... queries)
+    private long getCacheAge(BattlefieldsCache.Entry entry)
     {
-        try
+        return System.currentTimeMillis() - entry.getTimeStamp();
+    }
+
+    private boolean isCacheValid(CacheRegion region, BattlefieldsCache.Entry entry)
+    {
+        if (entry == null)
+            return false;
+        return this.getCacheAge(entry) < (entry.isError() ? region.errorCacheTime : region.cacheTime);
+    }
+
+    private boolean shouldRefreshAhead(CacheRegion region, BattlefieldsCache.Entry entry)
+    {
+        return this.refreshAhead > 0 && !entry.isError() && this.getCacheAge(entry) >= region.cacheTime * this.refreshAhead;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getCached(BattlefieldsCache.Entry entry, Supplier<T> defaultValue)
+    {
+        return entry.isError() ? defaultValue.get() : (T) entry.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T retrieve(CacheRegion region, String field, Class<T> type, Fetcher<T> fetcher, Supplier<T> defaultValue)
+    {
+        BattlefieldsCache.Entry entry = region.cache.get(field);
+        boolean valid = this.isCacheValid(region, entry);
+        if (valid || (this.staleWhileRevalidate && region.cacheTime > 0 && entry != null && !entry.isError()))
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("players-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.PLAYERS, query)), BFPlayer[].class), () -> new BFPlayer[0]);
+            try
+            {
+                T value = this.getCached(entry, defaultValue);
+                if (!valid || this.shouldRefreshAhead(region, entry))
+                    this.refreshAsync(region, field, type, fetcher);
+                return value;
+            }
+            catch (Exception e)
+            {
+                this.exceptionConsumer.accept(e);
+                region.cache.remove(field);
+            }
         }
-        catch (Exception e)
+
+        // Only a single request is made for each field at a time, all other callers wait for that result
+        CompletableFuture<Object> request = new CompletableFuture<>();
+        CompletableFuture<Object> existingRequest = this.requests.putIfAbsent(field, request);
+        if (existingRequest != null)
         {
-            this.exceptionConsumer.accept(e);
-            return new BFPlayer[0];
+            try
+            {
+                return (T) existingRequest.join();
+            }
+            catch (CompletionException | CancellationException e)
+            {
+                return defaultValue.get();
+            }
+        }
+
+        // The previous request may have finished between checking the cache and claiming this one
+        entry = region.cache.get(field);
+        if (!this.isCacheValid(region, entry))
+            entry = this.readDiskCache(region, field, type);
+        if (this.isCacheValid(region, entry))
+        {
+            T value = this.getCached(entry, defaultValue);
+            request.complete(value);
+            this.requests.remove(field, request);
+            return value;
         }
+
+        return this.fetch(region, field, type, fetcher, defaultValue, request);
     }
 
-    @Override
-    public BFMatch[] getMatches(String... queries)
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> retrieveAsync(CacheRegion region, String field, Class<T> type, Fetcher<T> fetcher, Supplier<T> defaultValue, Executor executor)
     {
-        try
+        BattlefieldsCache.Entry entry = region.cache.get(field);
+        boolean valid = this.isCacheValid(region, entry);
+        if (valid || (this.staleWhileRevalidate && region.cacheTime > 0 && entry != null && !entry.isError()))
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("matches-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.MATCHES, query)), BFMatch[].class), () -> new BFMatch[0]);
+            try
+            {
+                T value = this.getCached(entry, defaultValue);
+                if (!valid || this.shouldRefreshAhead(region, entry))
+                    this.refreshAsync(region, field, type, fetcher);
+                return CompletableFuture.completedFuture(value);
+            }
+            catch (Exception e)
+            {
+                this.exceptionConsumer.accept(e);
+                region.cache.remove(field);
+            }
         }
-        catch (Exception e)
+
+        CompletableFuture<Object> request = new CompletableFuture<>();
+        CompletableFuture<Object> existingRequest = this.requests.putIfAbsent(field, request);
+        if (existingRequest != null)
+            return existingRequest.handle((value, t) -> t == null ? (T) value : defaultValue.get());
+
+        entry = region.cache.get(field);
+        if (!this.isCacheValid(region, entry))
+            entry = this.readDiskCache(region, field, type);
+        if (this.isCacheValid(region, entry))
         {
-            this.exceptionConsumer.accept(e);
-            return new BFMatch[0];
+            T value = this.getCached(entry, defaultValue);
+            request.complete(value);
+            this.requests.remove(field, request);
+            return CompletableFuture.completedFuture(value);
         }
+
+        return this.fetchAsync(region, field, type, fetcher, defaultValue, request, executor);
     }
 
-    @Override
-    public BFOwnedAccessory[] getOwnedAccessories(String... queries)
+    private <T> T fetch(CacheRegion region, String field, Class<T> type, Fetcher<T> fetcher, Supplier<T> defaultValue, CompletableFuture<Object> request)
     {
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("owned_accessories-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.OWNED_ACCESSORIES, query)), BFOwnedAccessory[].class), () -> new BFOwnedAccessory[0]);
+            T value = this.fetchWithRetry(region, fetcher);
+            this.onFetched(region, field, type, value, request);
+            return value;
         }
         catch (Exception e)
         {
-            this.exceptionConsumer.accept(e);
-            return new BFOwnedAccessory[0];
+            BattlefieldsCache.Entry stale = this.getStaleEntry(region, field, type, e);
+            if (stale != null)
+                return this.onStale(field, stale, request);
+            this.onFailed(region, field, type, e, request);
+            return defaultValue.get();
         }
     }
 
-    @Override
-    public BFAccessory[] getAccessories(String... queries)
+    private <T> CompletableFuture<T> fetchAsync(CacheRegion region, String field, Class<T> type, Fetcher<T> fetcher, Supplier<T> defaultValue, CompletableFuture<Object> request, Executor executor)
+    {
+        return this.fetchWithRetryAsync(region, fetcher, executor).handle((value, t) ->
+        {
+            if (t == null)
+            {
+                this.onFetched(region, field, type, value, request);
+                return value;
+            }
+            Exception e = unwrap(t);
+            BattlefieldsCache.Entry stale = this.getStaleEntry(region, field, type, e);
+            if (stale != null)
+                return this.onStale(field, stale, request);
+            this.onFailed(region, field, type, e, request);
+            return defaultValue.get();
+        });
+    }
+
+    private <T> T fetchGuarded(CacheRegion region, Fetcher<T> fetcher) throws Exception
     {
+        this.awaitRateLimit();
+        if (region.bulkhead != null)
+        {
+            try
+            {
+                region.bulkhead.acquire().join();
+            }
+            catch (CompletionException e)
+            {
+                throw unwrap(e);
+            }
+        }
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("accessories-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.ACCESSORIES, query)), BFAccessory[].class), () -> new BFAccessory[0]);
+            if (region.circuitBreaker != null)
+                region.circuitBreaker.acquire();
+            try
+            {
+                T value = fetcher.fetch();
+                if (region.circuitBreaker != null)
+                    region.circuitBreaker.onResult(null);
+                return value;
+            }
+            catch (Exception e)
+            {
+                if (region.circuitBreaker != null)
+                    region.circuitBreaker.onResult(e);
+                throw e;
+            }
         }
-        catch (Exception e)
+        finally
+        {
+            if (region.bulkhead != null)
+                region.bulkhead.release();
+        }
+    }
+
+    private <T> CompletableFuture<T> fetchGuardedAsync(CacheRegion region, Fetcher<T> fetcher, Executor opener, Executor executor)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Requests waiting on the rate limiter or bulkhead do not hold a thread, they are started by whichever task hands out the token or permit
+        CompletableFuture<Void> permit = this.acquireRateLimit().thenCompose(unused -> region.bulkhead != null ? region.bulkhead.acquire() : CompletableFuture.completedFuture(null));
+        permit.whenComplete((unused, permitError) ->
+        {
+            if (permitError != null)
+            {
+                result.completeExceptionally(unwrap(permitError));
+                return;
+            }
+
+            // A request that was cancelled while it waited, such as a hedge that lost, gives its permit straight back
+            if (result.isDone())
+            {
+                if (region.bulkhead != null)
+                    region.bulkhead.release();
+                return;
+            }
+
+            try
+            {
+                if (region.circuitBreaker != null)
+                    region.circuitBreaker.acquire();
+            }
+            catch (BattlefieldsRejectedException e)
+            {
+                if (region.bulkhead != null)
+                    region.bulkhead.release();
+                result.completeExceptionally(e);
+                return;
+            }
+
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try
+            {
+                future = fetcher.fetchAsync(opener, executor);
+            }
+            catch (Exception e)
+            {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, t) ->
+            {
+                if (region.circuitBreaker != null)
+                    region.circuitBreaker.onResult(t != null ? unwrap(t) : null);
+                if (region.bulkhead != null)
+                    region.bulkhead.release();
+                if (t != null)
+                {
+                    result.completeExceptionally(unwrap(t));
+                    return;
+                }
+                if (region.hedger != null)
+                    region.hedger.recordLatency(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                result.complete(value);
+            });
+            forwardCancellation(result, future);
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> fetchHedgedAsync(CacheRegion region, Fetcher<T> fetcher, Executor opener, Executor executor)
+    {
+        BattlefieldsHedger hedger = region.hedger;
+        if (hedger == null || !fetcher.isHedgeable())
+            return this.fetchGuardedAsync(region, fetcher, opener, executor);
+
+        long delay = hedger.onRequest();
+        HedgedRequest<T> request = new HedgedRequest<>();
+        request.add(this.fetchGuardedAsync(region, fetcher, opener, executor));
+        if (delay >= 0)
+        {
+            try
+            {
+                ScheduledFuture<?> hedge = this.scheduler.schedule(() ->
+                {
+                    if (!request.result.isDone() && hedger.tryHedge())
+                        request.add(this.fetchGuardedAsync(region, fetcher, opener, executor));
+                }, delay, TimeUnit.MILLISECONDS);
+                request.result.whenComplete((value, t) -> hedge.cancel(false));
+            }
+            catch (RejectedExecutionException ignored)
+            {
+                // The API is shutting down, so the request simply is not hedged
+            }
+        }
+        return request.result;
+    }
+
+    private <T> T fetchWithRetry(CacheRegion region, Fetcher<T> fetcher) throws Exception
+    {
+        if (fetcher.isGuarded())
+            return fetcher.fetch();
+        if (region.hedger != null && fetcher.isHedgeable())
+            return this.fetchHedged(region, fetcher);
+
+        long start = System.currentTimeMillis();
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                return this.fetchGuarded(region, fetcher);
+            }
+            catch (Exception e)
+            {
+                long delay = this.retryPolicy.getRetryDelay(attempt, e, System.currentTimeMillis() - start);
+                if (delay < 0)
+                    throw e;
+                try
+                {
+                    Thread.sleep(delay);
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private <T> T fetchHedged(CacheRegion region, Fetcher<T> fetcher) throws Exception
+    {
+        // A hedge can only race the first request if neither blocks this thread, so requests are sent from the request pool and only parsed here once they arrive
+        CallingThreadExecutor executor = new CallingThreadExecutor();
+        long claimDelay = Math.max(0, region.hedger.getDelay());
+        try
+        {
+            CompletableFuture<T> future = this.fetchWithRetryAsync(region, fetcher, task -> executor.share(task, claimDelay), executor);
+            executor.runUntilDone(future);
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            throw unwrap(e);
+        }
+        finally
+        {
+            executor.close();
+        }
+    }
+
+    private <T> CompletableFuture<T> fetchWithRetryAsync(CacheRegion region, Fetcher<T> fetcher, Executor executor)
+    {
+        return this.fetchWithRetryAsync(region, fetcher, executor, executor);
+    }
+
+    private <T> CompletableFuture<T> fetchWithRetryAsync(CacheRegion region, Fetcher<T> fetcher, Executor opener, Executor executor)
+    {
+        if (fetcher.isGuarded())
+            return fetcher.fetchAsync(opener, executor);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        this.attemptAsync(region, fetcher, opener, executor, result, 1, System.currentTimeMillis());
+        return result;
+    }
+
+    private <T> void attemptAsync(CacheRegion region, Fetcher<T> fetcher, Executor opener, Executor executor, CompletableFuture<T> result, int attempt, long start)
+    {
+        this.fetchHedgedAsync(region, fetcher, opener, executor).whenComplete((value, t) ->
+        {
+            if (t == null)
+            {
+                result.complete(value);
+                return;
+            }
+
+            Exception e = unwrap(t);
+            long delay = this.retryPolicy.getRetryDelay(attempt, e, System.currentTimeMillis() - start);
+            if (delay < 0)
+            {
+                result.completeExceptionally(e);
+                return;
+            }
+            try
+            {
+                // The scheduler only starts the next attempt, the request itself still completes on the executor
+                this.scheduler.schedule(() -> this.attemptAsync(region, fetcher, opener, executor, result, attempt + 1, start), delay, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException rejected)
+            {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private <T> void onFetched(CacheRegion region, String field, Class<T> type, T value, CompletableFuture<Object> request)
+    {
+        try
+        {
+            if (region.cacheTime > 0)
+            {
+                BattlefieldsCache.Entry entry = new BattlefieldsCache.Entry(value, System.currentTimeMillis(), false);
+                region.cache.put(field, entry);
+                this.writeDiskCache(field, type, entry);
+            }
+            request.complete(value);
+        }
+        finally
+        {
+            this.requests.remove(field, request);
+        }
+    }
+
+    private BattlefieldsCache.Entry getStaleEntry(CacheRegion region, String field, Class<?> type, Exception e)
+    {
+        if (!(e instanceof BattlefieldsRejectedException))
+            return null;
+        BattlefieldsCache.Entry entry = region.cache.get(field);
+        if (entry != null && entry.getValue() != null)
+            return entry;
+        entry = this.readDiskCache(region, field, type, true);
+        return entry != null && !entry.isError() ? entry : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T onStale(String field, BattlefieldsCache.Entry entry, CompletableFuture<Object> request)
+    {
+        // The endpoint is being protected, so the last known value is served in place of an error
+        try
+        {
+            request.complete(entry.getValue());
+            return (T) entry.getValue();
+        }
+        finally
+        {
+            this.requests.remove(field, request);
+        }
+    }
+
+    private <T> void onFailed(CacheRegion region, String field, Class<T> type, Exception e, CompletableFuture<Object> request)
+    {
+        try
         {
             this.exceptionConsumer.accept(e);
-            return new BFAccessory[0];
+            // Rejected requests never reached the server, so they say nothing about the data and are not cached
+            if (region.errorCacheTime > 0 && !(e instanceof BattlefieldsRejectedException))
+            {
+                // The last good value is kept alongside the error so it can still be served while a circuit breaker is open
+                BattlefieldsCache.Entry previous = region.cache.get(field);
+                BattlefieldsCache.Entry entry = new BattlefieldsCache.Entry(previous != null ? previous.getValue() : null, System.currentTimeMillis(), true);
+                region.cache.put(field, entry);
+                this.writeDiskCache(field, type, entry);
+            }
+            request.completeExceptionally(e);
+        }
+        finally
+        {
+            this.requests.remove(field, request);
         }
     }
 
-    @Override
-    public BFAccessoryType[] getAccessoryTypes(String... queries)
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> revalidateAsync(CacheRegion region, String field, Class<T> type, Fetcher<T> fetcher, Supplier<T> defaultValue, long maxAge)
+    {
+        // Ignores the cache time of the region so callers can decide for themselves how old a value they will accept
+        BattlefieldsCache.Entry entry = region.cache.get(field);
+        if (entry != null && !entry.isError() && this.getCacheAge(entry) < maxAge)
+            return CompletableFuture.completedFuture((T) entry.getValue());
+
+        CompletableFuture<Object> request = new CompletableFuture<>();
+        CompletableFuture<Object> existingRequest = this.requests.putIfAbsent(field, request);
+        if (existingRequest != null)
+            return existingRequest.handle((value, t) -> t == null ? (T) value : defaultValue.get());
+        return this.fetchAsync(region, field, type, fetcher, defaultValue, request, this.requestPool);
+    }
+
+    private <T> void refreshAsync(CacheRegion region, String field, Class<T> type, Fetcher<T> fetcher)
+    {
+        CompletableFuture<Object> request = new CompletableFuture<>();
+        if (this.requests.putIfAbsent(field, request) != null)
+            return;
+        this.fetchAsync(region, field, type, fetcher, () -> null, request, this.requestPool);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> requestRow(BattlefieldsApiTable table, Class<T[]> type, String queryString, Executor executor)
     {
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("accessory_types-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.ACCESSORY_TYPES, query)), BFAccessoryType[].class), () -> new BFAccessoryType[0]);
+            String query = resolveQueries(new String[]{queryString});
+            return this.retrieveAsync(this.tableRegions.get(table), table.getTable() + "-" + query, type, this.createFetcher(table, query, type), () -> (T[]) Array.newInstance(type.getComponentType(), 0), executor).thenApply(rows -> rows != null && rows.length > 0 ? rows[0] : null);
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFAccessoryType[0];
+            return CompletableFuture.completedFuture(null);
         }
     }
 
-    @Override
-    public BFWeapon[] getWeapons(String... queries)
+    private <K, V> CompletableFuture<V[]> requestAll(K[] keys, Function<K, CompletableFuture<V>> request, IntFunction<V[]> arrayFactory)
     {
+        return new BulkRequest<>(keys, request, arrayFactory.apply(keys.length), this.bulkConcurrency).start();
+    }
+
+    private <T> T await(Function<Executor, CompletableFuture<T>> request, Supplier<T> defaultValue)
+    {
+        // Responses are parsed on the waiting thread so a blocking call made from the request pool can never wait on itself
+        CallingThreadExecutor executor = new CallingThreadExecutor();
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("weapons-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.WEAPONS, query)), BFWeapon[].class), () -> new BFWeapon[0]);
+            CompletableFuture<T> future = request.apply(executor);
+            executor.runUntilDone(future);
+            return future.join();
         }
-        catch (Exception e)
+        catch (InterruptedException e)
         {
+            Thread.currentThread().interrupt();
             this.exceptionConsumer.accept(e);
-            return new BFWeapon[0];
+            return defaultValue.get();
+        }
+        finally
+        {
+            executor.close();
         }
     }
 
-    @Override
-    public BFWeaponStats[] getWeaponStats(String... queries)
+    private BattlefieldsCache.Entry readDiskCache(CacheRegion region, String field, Class<?> type)
     {
+        return this.readDiskCache(region, field, type, false);
+    }
+
+    private BattlefieldsCache.Entry readDiskCache(CacheRegion region, String field, Class<?> type, boolean allowExpired)
+    {
+        if (this.diskCache == null)
+            return null;
+
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("weapon_stats-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.WEAPON_STATS, query)), BFWeaponStats[].class), () -> new BFWeaponStats[0]);
+            BattlefieldsCache.Entry entry = this.diskCache.get(field);
+            if (allowExpired ? entry == null : !this.isCacheValid(region, entry))
+                return null;
+
+            // Entries loaded from disk keep their original time stamp so they expire when they would have in memory
+            Object value = entry.isError() ? null : this.gson.getAdapter(type).fromJson(new InputStreamReader(new ByteArrayInputStream((byte[]) entry.getValue()), StandardCharsets.UTF_8));
+            BattlefieldsCache.Entry loaded = new BattlefieldsCache.Entry(value, entry.getTimeStamp(), entry.isError());
+            region.cache.put(field, loaded);
+            return loaded;
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFWeaponStats[0];
+            return null;
         }
     }
 
-    @Override
-    public BFMatchParticipant[] getMatchParticipants(String... queries)
+    private void writeDiskCache(String field, Class<?> type, BattlefieldsCache.Entry entry)
     {
+        if (this.diskCache == null)
+            return;
+
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("match_participants-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.MATCH_PARTICIPANTS, query)), BFMatchParticipant[].class), () -> new BFMatchParticipant[0]);
+            byte[] payload = entry.isError() ? new byte[0] : this.gson.toJson(entry.getValue(), type).getBytes(StandardCharsets.UTF_8);
+            this.diskCache.put(field, entry.getTimeStamp(), entry.isError(), payload);
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFMatchParticipant[0];
         }
     }
 
     @Override
-    public BFKillInfo[] getMatchKills(String... queries)
+    public void clearCache()
+    {
+        this.cache.clear();
+        for (CacheRegion region : this.tableRegions.values())
+            region.cache.clear();
+        for (CacheRegion region : this.endpointRegions.values())
+            region.cache.clear();
+        for (BattlefieldsReplica<?> replica : this.replicas.values())
+            replica.clear();
+        this.indexes.clear();
+        if (this.diskCache != null)
+        {
+            try
+            {
+                this.diskCache.clear();
+            }
+            catch (IOException e)
+            {
+                this.exceptionConsumer.accept(e);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<JsonArray> request(BattlefieldsApiTable table, String... queries)
     {
         try
         {
             String query = resolveQueries(queries);
-            return this.retrieve("match_kills-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.MATCH_KILLS, query)), BFKillInfo[].class), () -> new BFKillInfo[0]);
+            return this.retrieveAsync(this.tableRegions.get(table), "custom-" + table.getTable() + query, JsonArray.class, this.createFetcher(getRequestUrl(table, query), JsonArray.class, true), () -> null, this.requestPool);
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFKillInfo[0];
+            return CompletableFuture.completedFuture(null);
         }
     }
 
     @Override
-    public BFOwnedEmote[] getOwnedEmotes(String... queries)
+    public JsonArray get(BattlefieldsApiTable table, String... queries)
     {
         try
         {
             String query = resolveQueries(queries);
-            return this.retrieve("owned_emotes-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.OWNED_EMOTES, query)), BFOwnedEmote[].class), () -> new BFOwnedEmote[0]);
+            return this.retrieve(this.tableRegions.get(table), "custom-" + table.getTable() + query, JsonArray.class, this.createFetcher(getRequestUrl(table, query), JsonArray.class, true), () -> null);
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFOwnedEmote[0];
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T[] getCandidates(BFQuery<T> query, T[] rows)
+    {
+        // An index already built over the rows narrows them down to a single key before the rest of the conditions are checked
+        T[] candidates = rows;
+        for (Map.Entry<BattlefieldsIndexKey<?>, IndexEntry<?>> entry : this.indexes.entrySet())
+        {
+            if (entry.getValue().rows != rows)
+                continue;
+            for (BFQuery.Condition<T> condition : query.getConditions())
+            {
+                if (condition.getOperator() != BFQuery.Operator.EQUALS || !(condition.getValue() instanceof Integer) || !condition.getColumn().getName().equals(entry.getKey().getColumn()))
+                    continue;
+                BattlefieldsIndex<T> index = (BattlefieldsIndex<T>) entry.getValue().index;
+                int key = (Integer) condition.getValue();
+                if (index.count(key) < candidates.length)
+                    candidates = index.get(key);
+            }
+        }
+        return candidates;
+    }
+
+    private String getQueryField(BattlefieldsApiTable table, String query)
+    {
+        // A replica is cached under the same key as the rest of the table, while every other query is cached under its own key since only it is known to hold every row
+        return query.isEmpty() && this.replicas.containsKey(table) ? table.getTable() + "-" : "query-" + table.getTable() + query;
+    }
+
+    private <T> Fetcher<T[]> createQueryFetcher(BattlefieldsApiTable table, String query, Class<T[]> type)
+    {
+        return query.isEmpty() && this.replicas.containsKey(table) ? this.createFetcher(table, query, type) : new PagedFetcher<>(table, query, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T[] getBroaderRows(BFQuery<T> query)
+    {
+        // Any broader query that is still cached holds every row of this one, so the smallest is filtered instead of making a request
+        CacheRegion region = this.tableRegions.get(query.getTable());
+        T[] rows = null;
+        for (String broaderQuery : query.getBroaderQueries())
+        {
+            BattlefieldsCache.Entry entry = region.cache.get(this.getQueryField(query.getTable(), broaderQuery));
+            if (!this.isCacheValid(region, entry) || entry.isError() || !query.getType().isInstance(entry.getValue()))
+                continue;
+            T[] value = (T[]) entry.getValue();
+            if (rows == null || value.length < rows.length)
+                rows = value;
         }
+        return rows;
     }
 
     @Override
-    public BFEmote[] getEmotes(String... queries)
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T[]> request(BFQuery<T> query)
+    {
+        BattlefieldsApiTable table = query.getTable();
+        Class<T[]> type = query.getType();
+        T[] broaderRows = this.getBroaderRows(query);
+        if (broaderRows != null)
+            return CompletableFuture.completedFuture(query.filterAll(this.getCandidates(query, broaderRows)));
+
+        // Conditions the API cannot check are left out of the request, so queries that only differ by them share a cache entry. Point queries on a replicated table are sent to the API instead of syncing the whole table
+        String remoteQuery = query.getRemoteQuery();
+        return this.retrieveAsync(this.tableRegions.get(table), this.getQueryField(table, remoteQuery), type, this.createQueryFetcher(table, remoteQuery, type), () -> (T[]) Array.newInstance(type.getComponentType(), 0), this.requestPool).thenApply(query::filter);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] get(BFQuery<T> query)
     {
+        BattlefieldsApiTable table = query.getTable();
+        Class<T[]> type = query.getType();
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("emotes-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.EMOTES, query)), BFEmote[].class), () -> new BFEmote[0]);
+            T[] broaderRows = this.getBroaderRows(query);
+            if (broaderRows != null)
+                return query.filterAll(this.getCandidates(query, broaderRows));
+
+            String remoteQuery = query.getRemoteQuery();
+            return query.filter(this.retrieve(this.tableRegions.get(table), this.getQueryField(table, remoteQuery), type, this.createQueryFetcher(table, remoteQuery, type), () -> (T[]) Array.newInstance(type.getComponentType(), 0)));
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFEmote[0];
+            return (T[]) Array.newInstance(type.getComponentType(), 0);
         }
     }
 
     @Override
-    public BFLinkedDiscord[] getLinkedDiscord(String... queries)
+    public BattlefieldsFlow.Publisher<JsonElement> publish(BattlefieldsApiTable table, String... queries)
+    {
+        return this.publish(table, JsonElement[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<String[]> requestServerList()
     {
         try
         {
-            String query = resolveQueries(queries);
-            return this.retrieve("linked_discord-" + query, () -> GSON.fromJson(requestDetail(getRequestUrl(BattlefieldsApiTable.LINKED_DISCORD, query)), BFLinkedDiscord[].class), () -> new BFLinkedDiscord[0]);
+            return this.retrieveAsync(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_LIST), "server_list", String[].class, this.createFetcher(BFJ.BF_SERVER_LIST_URL, String[].class, false), () -> new String[0], this.requestPool);
         }
         catch (Exception e)
         {
             this.exceptionConsumer.accept(e);
-            return new BFLinkedDiscord[0];
+            return CompletableFuture.completedFuture(null);
         }
     }
 
     @Override
-    public ExecutorService getExecutor()
+    public String[] getServerList()
     {
-        return requestPool;
+        try
+        {
+            return this.retrieve(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_LIST), "server_list", String[].class, this.createFetcher(BFJ.BF_SERVER_LIST_URL, String[].class, false), () -> new String[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return null;
+        }
     }
 
     @Override
-    public boolean shutdown() throws InterruptedException
+    public CompletableFuture<BFServer[]> requestServerStatus()
     {
-        this.requestPool.shutdown();
-        return this.requestPool.awaitTermination(this.shutdownTimeout, this.shutdownTimeoutUnit);
+        try
+        {
+            return this.retrieveAsync(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_STATUS), "server_status", BFServer[].class, this.createFetcher(BFJ.BF_SERVER_STATUS_URL, BFServer[].class, true), () -> new BFServer[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(null);
+        }
     }
 
-    /**
-     * Fetches data from a server.
+    @Override
+    public BFServer[] getServerStatus()
+    {
+        try
+        {
+            return this.retrieve(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_STATUS), "server_status", BFServer[].class, this.createFetcher(BFJ.BF_SERVER_STATUS_URL, BFServer[].class, true), () -> new BFServer[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return null;
+        }
+    }
+
+//    @Override
+//    public JsonObject getCosmeticModel(String modelName)
+//    {
+//        try
+//        {
+//            return this.retrieve("cosmetic_model-" + modelName, () -> new JsonParser().parse(new String(requestRaw(BFJ.BF_COSMETIC_URL + "model/" + modelName + ".json"))).getAsJsonObject(), () -> null);
+//        }
+//        catch (Exception e)
+//        {
+//            this.exceptionConsumer.accept(e);
+//            return null;
+//        }
+//    }
+//
+//    @Override
+//    public String getCosmeticModelHash(String modelName)
+//    {
+//        if (this.isCacheValid("cosmetic_model_hash-" + modelName))
+//            return null;
+//        try
+//        {
+//            return new String(requestRaw(BFJ.BF_COSMETIC_URL + "model/" + modelName + ".json.md5"));
+//        }
+//        catch (Exception e)
+//        {
+//            this.exceptionConsumer.accept(e);
+//            if (this.cacheTime > 0 && this.cacheErrors)
+//                this.errorCache.put("cosmetic_model_hash-" + modelName, System.currentTimeMillis());
+//            return null;
+//        }
+//    }
+//
+//    @Override
+//    public byte[] getCosmeticTexture(String textureName)
+//    {
+//        try
+//        {
+//            return this.retrieve("cosmetic_texture-" + textureName, () -> requestRaw(BFJ.BF_COSMETIC_URL + "texture/" + textureName + ".png"), () -> null);
+//        }
+//        catch (Exception e)
+//        {
+//            this.exceptionConsumer.accept(e);
+//            return null;
+//        }
+//    }
+//
+//    @Override
+//    public String getCosmeticTextureHash(String textureName)
+//    {
+//        if (this.isCacheValid("cosmetic_texture_hash-" + textureName))
+//            return null;
+//        try
+//        {
+//            return new String(requestRaw(BFJ.BF_COSMETIC_URL + "texture/" + textureName + ".png.md5"));
+//        }
+//        catch (Exception e)
+//        {
+//            this.exceptionConsumer.accept(e);
+//            if (this.cacheTime > 0 && this.cacheErrors)
+//                this.errorCache.put("cosmetic_texture_hash-" + textureName, System.currentTimeMillis());
+//            return null;
+//        }
+//    }
+
+//    @Override
+//    public String getServerStatus()
+//    {
+//        return this.retrieve("server_status", () -> requestDetail(BFJ.BF_SERVER_STATUS_URL).get(0).getAsJsonObject().get(BFJ.BF_SERVER_HOSTNAME).getAsString(), () -> "red");
+//    }
+
+    @Override
+    public CompletableFuture<BFServerInfo> requestServerInfo(String ip)
+    {
+        try
+        {
+            return this.retrieveAsync(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_INFO), "server_info-" + ip, BFServerInfo.class, this.createServerInfoFetcher(ip), () -> null, this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public BFServerInfo getServerInfo(String ip)
+    {
+        try
+        {
+            return this.retrieve(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_INFO), "server_info-" + ip, BFServerInfo.class, this.createServerInfoFetcher(ip), () -> null);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<BFServerInfo[]> requestServerInfos(String... ips)
+    {
+        return this.requestServerInfos(ips, this.requestPool);
+    }
+
+    @Override
+    public BFServerInfo[] getServerInfos(String... ips)
+    {
+        return this.await(executor -> this.requestServerInfos(ips, executor), () -> new BFServerInfo[ips.length]);
+    }
+
+    private CompletableFuture<BFServerInfo[]> requestServerInfos(String[] ips, Executor executor)
+    {
+        return this.requestAll(ips, ip -> this.retrieveAsync(this.endpointRegions.get(BattlefieldsApiEndpoint.SERVER_INFO), "server_info-" + ip, BFServerInfo.class, this.createServerInfoFetcher(ip), () -> null, executor), BFServerInfo[]::new);
+    }
+
+    @Override
+    public CompletableFuture<BFKill[]> requestKills(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.KILLS), "kills-" + query, BFKill[].class, this.createFetcher(BattlefieldsApiTable.KILLS, query, BFKill[].class), () -> new BFKill[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFKill[0]);
+        }
+    }
+
+    @Override
+    public BFKill[] getKills(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.KILLS), "kills-" + query, BFKill[].class, this.createFetcher(BattlefieldsApiTable.KILLS, query, BFKill[].class), () -> new BFKill[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFKill[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFKill> publishKills(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.KILLS, BFKill[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFWin[]> requestWins(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.WINS), "wins-" + query, BFWin[].class, this.createFetcher(BattlefieldsApiTable.WINS, query, BFWin[].class), () -> new BFWin[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFWin[0]);
+        }
+    }
+
+    @Override
+    public BFWin[] getWins(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.WINS), "wins-" + query, BFWin[].class, this.createFetcher(BattlefieldsApiTable.WINS, query, BFWin[].class), () -> new BFWin[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFWin[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFWin> publishWins(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.WINS, BFWin[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFPlayer[]> requestPlayers(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.PLAYERS), "players-" + query, BFPlayer[].class, this.createFetcher(BattlefieldsApiTable.PLAYERS, query, BFPlayer[].class), () -> new BFPlayer[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFPlayer[0]);
+        }
+    }
+
+    @Override
+    public BFPlayer[] getPlayers(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.PLAYERS), "players-" + query, BFPlayer[].class, this.createFetcher(BattlefieldsApiTable.PLAYERS, query, BFPlayer[].class), () -> new BFPlayer[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFPlayer[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFPlayer> publishPlayers(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.PLAYERS, BFPlayer[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFPlayer[]> requestPlayersByIds(int... ids)
+    {
+        return this.requestPlayersByIds(ids, this.requestPool);
+    }
+
+    @Override
+    public BFPlayer[] getPlayersByIds(int... ids)
+    {
+        return this.await(executor -> this.requestPlayersByIds(ids, executor), () -> new BFPlayer[ids.length]);
+    }
+
+    private CompletableFuture<BFPlayer[]> requestPlayersByIds(int[] ids, Executor executor)
+    {
+        return this.requestAll(Arrays.stream(ids).boxed().toArray(Integer[]::new), id -> this.requestRow(BattlefieldsApiTable.PLAYERS, BFPlayer[].class, "id=" + id, executor), BFPlayer[]::new);
+    }
+
+    @Override
+    public CompletableFuture<BFPlayer[]> requestPlayersByUuids(Collection<String> uuids)
+    {
+        return this.requestPlayersByUuids(uuids, this.requestPool);
+    }
+
+    @Override
+    public BFPlayer[] getPlayersByUuids(Collection<String> uuids)
+    {
+        return this.await(executor -> this.requestPlayersByUuids(uuids, executor), () -> new BFPlayer[uuids.size()]);
+    }
+
+    private CompletableFuture<BFPlayer[]> requestPlayersByUuids(Collection<String> uuids, Executor executor)
+    {
+        return this.requestAll(uuids.toArray(new String[0]), uuid -> this.requestRow(BattlefieldsApiTable.PLAYERS, BFPlayer[].class, "uuid=" + uuid, executor), BFPlayer[]::new);
+    }
+
+    @Override
+    public CompletableFuture<BFMatch[]> requestMatches(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.MATCHES), "matches-" + query, BFMatch[].class, this.createFetcher(BattlefieldsApiTable.MATCHES, query, BFMatch[].class), () -> new BFMatch[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFMatch[0]);
+        }
+    }
+
+    @Override
+    public BFMatch[] getMatches(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.MATCHES), "matches-" + query, BFMatch[].class, this.createFetcher(BattlefieldsApiTable.MATCHES, query, BFMatch[].class), () -> new BFMatch[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFMatch[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFMatch> publishMatches(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.MATCHES, BFMatch[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFMatch[]> requestMatchesByIds(int... ids)
+    {
+        return this.requestMatchesByIds(ids, this.requestPool);
+    }
+
+    @Override
+    public BFMatch[] getMatchesByIds(int... ids)
+    {
+        return this.await(executor -> this.requestMatchesByIds(ids, executor), () -> new BFMatch[ids.length]);
+    }
+
+    private CompletableFuture<BFMatch[]> requestMatchesByIds(int[] ids, Executor executor)
+    {
+        return this.requestAll(Arrays.stream(ids).boxed().toArray(Integer[]::new), id -> this.requestRow(BattlefieldsApiTable.MATCHES, BFMatch[].class, "id=" + id, executor), BFMatch[]::new);
+    }
+
+    @Override
+    public CompletableFuture<BFOwnedAccessory[]> requestOwnedAccessories(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.OWNED_ACCESSORIES), "owned_accessories-" + query, BFOwnedAccessory[].class, this.createFetcher(BattlefieldsApiTable.OWNED_ACCESSORIES, query, BFOwnedAccessory[].class), () -> new BFOwnedAccessory[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFOwnedAccessory[0]);
+        }
+    }
+
+    @Override
+    public BFOwnedAccessory[] getOwnedAccessories(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.OWNED_ACCESSORIES), "owned_accessories-" + query, BFOwnedAccessory[].class, this.createFetcher(BattlefieldsApiTable.OWNED_ACCESSORIES, query, BFOwnedAccessory[].class), () -> new BFOwnedAccessory[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFOwnedAccessory[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFOwnedAccessory> publishOwnedAccessories(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.OWNED_ACCESSORIES, BFOwnedAccessory[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFAccessory[]> requestAccessories(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.ACCESSORIES), "accessories-" + query, BFAccessory[].class, this.createFetcher(BattlefieldsApiTable.ACCESSORIES, query, BFAccessory[].class), () -> new BFAccessory[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFAccessory[0]);
+        }
+    }
+
+    @Override
+    public BFAccessory[] getAccessories(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.ACCESSORIES), "accessories-" + query, BFAccessory[].class, this.createFetcher(BattlefieldsApiTable.ACCESSORIES, query, BFAccessory[].class), () -> new BFAccessory[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFAccessory[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFAccessory> publishAccessories(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.ACCESSORIES, BFAccessory[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFAccessoryType[]> requestAccessoryTypes(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.ACCESSORY_TYPES), "accessory_types-" + query, BFAccessoryType[].class, this.createFetcher(BattlefieldsApiTable.ACCESSORY_TYPES, query, BFAccessoryType[].class), () -> new BFAccessoryType[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFAccessoryType[0]);
+        }
+    }
+
+    @Override
+    public BFAccessoryType[] getAccessoryTypes(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.ACCESSORY_TYPES), "accessory_types-" + query, BFAccessoryType[].class, this.createFetcher(BattlefieldsApiTable.ACCESSORY_TYPES, query, BFAccessoryType[].class), () -> new BFAccessoryType[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFAccessoryType[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFAccessoryType> publishAccessoryTypes(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.ACCESSORY_TYPES, BFAccessoryType[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFWeapon[]> requestWeapons(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.WEAPONS), "weapons-" + query, BFWeapon[].class, this.createFetcher(BattlefieldsApiTable.WEAPONS, query, BFWeapon[].class), () -> new BFWeapon[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFWeapon[0]);
+        }
+    }
+
+    @Override
+    public BFWeapon[] getWeapons(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.WEAPONS), "weapons-" + query, BFWeapon[].class, this.createFetcher(BattlefieldsApiTable.WEAPONS, query, BFWeapon[].class), () -> new BFWeapon[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFWeapon[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFWeapon> publishWeapons(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.WEAPONS, BFWeapon[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFWeaponStats[]> requestWeaponStats(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.WEAPON_STATS), "weapon_stats-" + query, BFWeaponStats[].class, this.createFetcher(BattlefieldsApiTable.WEAPON_STATS, query, BFWeaponStats[].class), () -> new BFWeaponStats[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFWeaponStats[0]);
+        }
+    }
+
+    @Override
+    public BFWeaponStats[] getWeaponStats(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.WEAPON_STATS), "weapon_stats-" + query, BFWeaponStats[].class, this.createFetcher(BattlefieldsApiTable.WEAPON_STATS, query, BFWeaponStats[].class), () -> new BFWeaponStats[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFWeaponStats[0];
+        }
+    }
+
+    @Override
+    public Stream<BFWeaponStats> streamWeaponStats(String... queries)
+    {
+        return this.stream(BattlefieldsApiTable.WEAPON_STATS, BFWeaponStats[].class, queries);
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFWeaponStats> publishWeaponStats(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.WEAPON_STATS, BFWeaponStats[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFMatchParticipant[]> requestMatchParticipants(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.MATCH_PARTICIPANTS), "match_participants-" + query, BFMatchParticipant[].class, this.createFetcher(BattlefieldsApiTable.MATCH_PARTICIPANTS, query, BFMatchParticipant[].class), () -> new BFMatchParticipant[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFMatchParticipant[0]);
+        }
+    }
+
+    @Override
+    public BFMatchParticipant[] getMatchParticipants(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.MATCH_PARTICIPANTS), "match_participants-" + query, BFMatchParticipant[].class, this.createFetcher(BattlefieldsApiTable.MATCH_PARTICIPANTS, query, BFMatchParticipant[].class), () -> new BFMatchParticipant[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFMatchParticipant[0];
+        }
+    }
+
+    @Override
+    public Stream<BFMatchParticipant> streamMatchParticipants(String... queries)
+    {
+        return this.stream(BattlefieldsApiTable.MATCH_PARTICIPANTS, BFMatchParticipant[].class, queries);
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFMatchParticipant> publishMatchParticipants(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.MATCH_PARTICIPANTS, BFMatchParticipant[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFKillInfo[]> requestMatchKills(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.MATCH_KILLS), "match_kills-" + query, BFKillInfo[].class, this.createFetcher(BattlefieldsApiTable.MATCH_KILLS, query, BFKillInfo[].class), () -> new BFKillInfo[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFKillInfo[0]);
+        }
+    }
+
+    @Override
+    public BFKillInfo[] getMatchKills(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.MATCH_KILLS), "match_kills-" + query, BFKillInfo[].class, this.createFetcher(BattlefieldsApiTable.MATCH_KILLS, query, BFKillInfo[].class), () -> new BFKillInfo[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFKillInfo[0];
+        }
+    }
+
+    @Override
+    public Stream<BFKillInfo> streamMatchKills(String... queries)
+    {
+        return this.stream(BattlefieldsApiTable.MATCH_KILLS, BFKillInfo[].class, queries);
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFKillInfo> publishMatchKills(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.MATCH_KILLS, BFKillInfo[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFKillInfoBatch> requestMatchKillsBatch(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.MATCH_KILLS), "match_kills_batch-" + query, BFKillInfoBatch.class, this.createFetcher(getRequestUrl(BattlefieldsApiTable.MATCH_KILLS, query), BFKillInfoBatch.class, true), () -> BFKillInfoBatch.EMPTY, this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(BFKillInfoBatch.EMPTY);
+        }
+    }
+
+    @Override
+    public BFKillInfoBatch getMatchKillsBatch(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.MATCH_KILLS), "match_kills_batch-" + query, BFKillInfoBatch.class, this.createFetcher(getRequestUrl(BattlefieldsApiTable.MATCH_KILLS, query), BFKillInfoBatch.class, true), () -> BFKillInfoBatch.EMPTY);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return BFKillInfoBatch.EMPTY;
+        }
+    }
+
+    @Override
+    public CompletableFuture<BFOwnedEmote[]> requestOwnedEmotes(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.OWNED_EMOTES), "owned_emotes-" + query, BFOwnedEmote[].class, this.createFetcher(BattlefieldsApiTable.OWNED_EMOTES, query, BFOwnedEmote[].class), () -> new BFOwnedEmote[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFOwnedEmote[0]);
+        }
+    }
+
+    @Override
+    public BFOwnedEmote[] getOwnedEmotes(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.OWNED_EMOTES), "owned_emotes-" + query, BFOwnedEmote[].class, this.createFetcher(BattlefieldsApiTable.OWNED_EMOTES, query, BFOwnedEmote[].class), () -> new BFOwnedEmote[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFOwnedEmote[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFOwnedEmote> publishOwnedEmotes(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.OWNED_EMOTES, BFOwnedEmote[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFEmote[]> requestEmotes(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.EMOTES), "emotes-" + query, BFEmote[].class, this.createFetcher(BattlefieldsApiTable.EMOTES, query, BFEmote[].class), () -> new BFEmote[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFEmote[0]);
+        }
+    }
+
+    @Override
+    public BFEmote[] getEmotes(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.EMOTES), "emotes-" + query, BFEmote[].class, this.createFetcher(BattlefieldsApiTable.EMOTES, query, BFEmote[].class), () -> new BFEmote[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFEmote[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFEmote> publishEmotes(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.EMOTES, BFEmote[].class, queries);
+    }
+
+    @Override
+    public CompletableFuture<BFLinkedDiscord[]> requestLinkedDiscord(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieveAsync(this.tableRegions.get(BattlefieldsApiTable.LINKED_DISCORD), "linked_discord-" + query, BFLinkedDiscord[].class, this.createFetcher(BattlefieldsApiTable.LINKED_DISCORD, query, BFLinkedDiscord[].class), () -> new BFLinkedDiscord[0], this.requestPool);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return CompletableFuture.completedFuture(new BFLinkedDiscord[0]);
+        }
+    }
+
+    @Override
+    public BFLinkedDiscord[] getLinkedDiscord(String... queries)
+    {
+        try
+        {
+            String query = resolveQueries(queries);
+            return this.retrieve(this.tableRegions.get(BattlefieldsApiTable.LINKED_DISCORD), "linked_discord-" + query, BFLinkedDiscord[].class, this.createFetcher(BattlefieldsApiTable.LINKED_DISCORD, query, BFLinkedDiscord[].class), () -> new BFLinkedDiscord[0]);
+        }
+        catch (Exception e)
+        {
+            this.exceptionConsumer.accept(e);
+            return new BFLinkedDiscord[0];
+        }
+    }
+
+    @Override
+    public BattlefieldsFlow.Publisher<BFLinkedDiscord> publishLinkedDiscord(String... queries)
+    {
+        return this.publish(BattlefieldsApiTable.LINKED_DISCORD, BFLinkedDiscord[].class, queries);
+    }
+
+    @Override
+    public BattlefieldsServerMonitor createServerMonitor(long minimumInterval, long maximumInterval, TimeUnit unit)
+    {
+        BattlefieldsServerMonitor monitor = new BattlefieldsServerMonitor(new BattlefieldsServerMonitor.Source()
+        {
+            @Override
+            public CompletableFuture<BFServer[]> requestServerStatus(long maxAge)
+            {
+                return revalidateAsync(endpointRegions.get(BattlefieldsApiEndpoint.SERVER_STATUS), "server_status", BFServer[].class, createFetcher(BFJ.BF_SERVER_STATUS_URL, BFServer[].class, true), () -> null, maxAge);
+            }
+
+            @Override
+            public CompletableFuture<BFServerInfo> requestServerInfo(String ip, long maxAge)
+            {
+                return revalidateAsync(endpointRegions.get(BattlefieldsApiEndpoint.SERVER_INFO), "server_info-" + ip, BFServerInfo.class, createServerInfoFetcher(ip), () -> null, maxAge);
+            }
+        }, this.exceptionConsumer, minimumInterval, maximumInterval, unit);
+        this.monitors.add(monitor);
+        return monitor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> BattlefieldsIndex<T> index(BattlefieldsIndexKey<T> key, T[] rows)
+    {
+        // Cached and replicated tables hand out the same array until the table changes, so the index is only rebuilt once it does
+        IndexEntry<T> entry = (IndexEntry<T>) this.indexes.get(key);
+        if (entry != null && entry.rows == rows)
+            return entry.index;
+
+        BattlefieldsIndex<T> index = key.build(rows);
+        this.indexes.put(key, new IndexEntry<>(rows, index));
+        return index;
+    }
+
+    @Override
+    public <T> CompletableFuture<BattlefieldsIndex<T>> requestIndex(BattlefieldsIndexKey<T> key)
+    {
+        return key.fetchAsync(this).thenApplyAsync(rows -> this.index(key, rows), this.requestPool);
+    }
+
+    @Override
+    public <T> BattlefieldsIndex<T> getIndex(BattlefieldsIndexKey<T> key)
+    {
+        return this.index(key, key.fetch(this));
+    }
+
+    @Override
+    public BattlefieldsApi withPriority(BattlefieldsPriority priority)
+    {
+        return priority == this.priority ? this : new BattlefieldsApiImpl(this, priority);
+    }
+
+    @Override
+    public ExecutorService getExecutor()
+    {
+        return requestPool;
+    }
+
+    @Override
+    public boolean shutdown() throws InterruptedException
+    {
+        this.monitors.forEach(BattlefieldsServerMonitor::close);
+        this.monitors.clear();
+        this.scheduler.shutdown();
+        this.requestPool.shutdown();
+        try
+        {
+            return this.requestPool.awaitTermination(this.shutdownTimeout, this.shutdownTimeoutUnit);
+        }
+        finally
+        {
+            this.transport.close();
+            if (this.serverInfoProvider != null)
+                this.serverInfoProvider.close();
+            if (this.diskCache != null)
+            {
+                try
+                {
+                    this.diskCache.close();
+                }
+                catch (IOException e)
+                {
+                    this.exceptionConsumer.accept(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Requests many keys at once while keeping a bounded amount of requests in flight, storing each result at the index of its key.</p>
+     *
+     * @param <K> The type of key to request
+     * @param <V> The type of result for each key
+     * @author Ocelot
+     */
+    private static class BulkRequest<K, V>
+    {
+        private final K[] keys;
+        private final Function<K, CompletableFuture<V>> request;
+        private final V[] results;
+        private final int maxInFlight;
+        private final AtomicInteger next;
+        private final AtomicInteger inFlight;
+        private final AtomicInteger completed;
+        private final AtomicInteger launching;
+        private final CompletableFuture<V[]> result;
+
+        private BulkRequest(K[] keys, Function<K, CompletableFuture<V>> request, V[] results, int maxInFlight)
+        {
+            this.keys = keys;
+            this.request = request;
+            this.results = results;
+            this.maxInFlight = maxInFlight;
+            this.next = new AtomicInteger();
+            this.inFlight = new AtomicInteger();
+            this.completed = new AtomicInteger();
+            this.launching = new AtomicInteger();
+            this.result = new CompletableFuture<>();
+        }
+
+        private CompletableFuture<V[]> start()
+        {
+            if (this.keys.length == 0)
+                this.result.complete(this.results);
+            else
+                this.launch();
+            return this.result;
+        }
+
+        private void launch()
+        {
+            // Only one thread launches at a time, and cache hits that complete immediately loop here instead of recursing
+            if (this.launching.getAndIncrement() != 0)
+                return;
+            do
+            {
+                while (this.inFlight.get() < this.maxInFlight && this.next.get() < this.keys.length)
+                {
+                    int index = this.next.getAndIncrement();
+                    this.inFlight.incrementAndGet();
+                    CompletableFuture<V> future;
+                    try
+                    {
+                        future = this.request.apply(this.keys[index]);
+                    }
+                    catch (Exception e)
+                    {
+                        future = CompletableFuture.completedFuture(null);
+                    }
+                    future.whenComplete((value, t) ->
+                    {
+                        this.results[index] = t == null ? value : null;
+                        this.inFlight.decrementAndGet();
+                        if (this.completed.incrementAndGet() == this.keys.length)
+                            this.result.complete(this.results);
+                        else
+                            this.launch();
+                    });
+                }
+            } while (this.launching.decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * <p>Runs tasks on a thread that is waiting for a result. Any tasks submitted after it stops waiting are passed on to the request pool.</p>
+     *
+     * @author Ocelot
+     */
+    private class CallingThreadExecutor implements Executor
+    {
+        private final BlockingQueue<Runnable> tasks;
+        private boolean closed;
+
+        private CallingThreadExecutor()
+        {
+            this.tasks = new LinkedBlockingQueue<>();
+            this.closed = false;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task)
+        {
+            if (this.closed)
+                requestPool.execute(task);
+            else
+                this.tasks.add(task);
+        }
+
+        /**
+         * Runs a task on the request pool. If the pool has not started it once the delay has passed, the waiting thread runs it instead, so a busy pool can never leave it waiting forever.
+         *
+         * @param task  The task to run
+         * @param delay The time in milliseconds to give the request pool before the waiting thread claims the task
+         */
+        private void share(Runnable task, long delay)
+        {
+            AtomicBoolean claimed = new AtomicBoolean();
+            Runnable claim = () ->
+            {
+                if (claimed.compareAndSet(false, true))
+                    task.run();
+            };
+            try
+            {
+                requestPool.execute(claim);
+                scheduler.schedule(() -> this.execute(claim), delay, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e)
+            {
+                this.execute(claim);
+            }
+        }
+
+        private void runUntilDone(CompletableFuture<?> future) throws InterruptedException
+        {
+            future.whenComplete((value, t) -> this.tasks.add(() ->
+            {
+            }));
+            while (!future.isDone())
+                this.tasks.take().run();
+        }
+
+        private synchronized void close()
+        {
+            this.closed = true;
+            Runnable task;
+            while ((task = this.tasks.poll()) != null)
+            {
+                try
+                {
+                    requestPool.execute(task);
+                }
+                catch (RejectedExecutionException e)
+                {
+                    task.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Races the copies of a hedged request. The first copy to succeed completes the result and cancels the others, and the result only fails once every copy has failed.</p>
+     *
+     * @param <T> The type of data requested
+     * @author Ocelot
+     */
+    private static class HedgedRequest<T>
+    {
+        private final CompletableFuture<T> result;
+        private final List<CompletableFuture<T>> attempts;
+        private int pending;
+
+        private HedgedRequest()
+        {
+            this.result = new CompletableFuture<>();
+            this.attempts = new ArrayList<>(2);
+            this.pending = 0;
+            this.result.whenComplete((value, t) -> this.cancelAll());
+        }
+
+        private void add(CompletableFuture<T> attempt)
+        {
+            synchronized (this)
+            {
+                this.attempts.add(attempt);
+                this.pending++;
+            }
+            attempt.whenComplete((value, t) ->
+            {
+                if (t == null)
+                {
+                    this.result.complete(value);
+                    return;
+                }
+
+                boolean last;
+                synchronized (this)
+                {
+                    last = --this.pending == 0;
+                }
+                if (last)
+                    this.result.completeExceptionally(unwrap(t));
+            });
+            // The result may have completed while the attempt was being added
+            if (this.result.isDone())
+                attempt.cancel(false);
+        }
+
+        private void cancelAll()
+        {
+            List<CompletableFuture<T>> attempts;
+            synchronized (this)
+            {
+                attempts = new ArrayList<>(this.attempts);
+            }
+            for (CompletableFuture<T> attempt : attempts)
+                attempt.cancel(false);
+        }
+    }
+
+    /**
+     * <p>An index along with the rows it was built from.</p>
+     *
+     * @param <T> The type of row in the index
+     * @author Ocelot
+     */
+    private static class IndexEntry<T>
+    {
+        private final T[] rows;
+        private final BattlefieldsIndex<T> index;
+
+        private IndexEntry(T[] rows, BattlefieldsIndex<T> index)
+        {
+            this.rows = rows;
+            this.index = index;
+        }
+    }
+
+    /**
+     * <p>The cache and policy used for a single table or endpoint.</p>
+     *
+     * @author Ocelot
+     */
+    private static class CacheRegion
+    {
+        private final BattlefieldsCache cache;
+        private final long cacheTime;
+        private final long errorCacheTime;
+        private final BattlefieldsCircuitBreaker circuitBreaker;
+        private final BattlefieldsBulkhead bulkhead;
+        private final BattlefieldsHedger hedger;
+
+        private CacheRegion(String name, BattlefieldsCache sharedCache, BattlefieldsCachePolicy policy, Function<String, BattlefieldsCircuitBreaker> circuitBreakerFactory, Function<String, BattlefieldsBulkhead> bulkheadFactory, Function<String, BattlefieldsHedger> hedgerFactory)
+        {
+            this.cache = policy.getMaximumSize() > 0 ? new BattlefieldsCache(policy.getMaximumSize(), CacheWeigher.SINGLETON) : sharedCache;
+            this.cacheTime = policy.getCacheTime();
+            this.errorCacheTime = policy.getErrorCacheTime();
+            this.circuitBreaker = circuitBreakerFactory != null ? circuitBreakerFactory.apply(name) : null;
+            this.bulkhead = bulkheadFactory != null ? bulkheadFactory.apply(name) : null;
+            this.hedger = hedgerFactory != null ? hedgerFactory.apply(name) : null;
+        }
+    }
+
+    /**
+     * Fetches data from a server.
      *
      * @param <T> The type of data to fetch
      * @author Ocelot
@@ -566,5 +2302,274 @@ public class BattlefieldsApiImpl implements BattlefieldsApi
          * @throws Exception If the data could not be read for any reason
          */
         T fetch() throws Exception;
+
+        /**
+         * @param opener   The executor to send the request on
+         * @param executor The executor to parse the response on
+         * @return A future that completes with the data read or completes exceptionally if the data could not be read
+         */
+        CompletableFuture<T> fetchAsync(Executor opener, Executor executor);
+
+        /**
+         * @return Whether or not a second copy of this fetch can safely run at the same time
+         */
+        default boolean isHedgeable()
+        {
+            return true;
+        }
+
+        /**
+         * @return Whether or not this fetch already applies the retry policy, circuit breaker and bulkhead to each request it makes
+         */
+        default boolean isGuarded()
+        {
+            return false;
+        }
+    }
+
+    /**
+     * <p>Fetches every row of a table query one page at a time, so the result is known to be complete even if the API limits how many rows a single request returns.</p>
+     *
+     * @param <T> The type of row to fetch
+     * @author Ocelot
+     */
+    private class PagedFetcher<T> implements Fetcher<T[]>
+    {
+        private final BattlefieldsApiTable table;
+        private final String query;
+        private final Class<T[]> type;
+        private final CacheRegion region;
+
+        private PagedFetcher(BattlefieldsApiTable table, String query, Class<T[]> type)
+        {
+            this.table = table;
+            this.query = query;
+            this.type = type;
+            this.region = tableRegions.get(table);
+        }
+
+        private Fetcher<T[]> createPageFetcher(int offset)
+        {
+            return createFetcher(getRequestUrl(this.table, this.query + "&limit=" + pageSize + "&offset=" + offset), this.type, true);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T[] concat(List<T[]> pages, int size)
+        {
+            if (pages.size() == 1)
+                return pages.get(0);
+            T[] rows = (T[]) Array.newInstance(this.type.getComponentType(), size);
+            int offset = 0;
+            for (T[] page : pages)
+            {
+                System.arraycopy(page, 0, rows, offset, page.length);
+                offset += page.length;
+            }
+            return rows;
+        }
+
+        @Override
+        public T[] fetch() throws Exception
+        {
+            List<T[]> pages = new ArrayList<>();
+            int size = 0;
+            T[] page;
+            // A page larger than requested means the API ignored the limit and returned every row
+            do
+            {
+                page = fetchWithRetry(this.region, this.createPageFetcher(size));
+                pages.add(page);
+                size += page.length;
+            } while (page.length == pageSize);
+            return this.concat(pages, size);
+        }
+
+        @Override
+        public CompletableFuture<T[]> fetchAsync(Executor opener, Executor executor)
+        {
+            return this.fetchAsync(opener, executor, new ArrayList<>(), 0);
+        }
+
+        private CompletableFuture<T[]> fetchAsync(Executor opener, Executor executor, List<T[]> pages, int offset)
+        {
+            return fetchWithRetryAsync(this.region, this.createPageFetcher(offset), opener, executor).thenCompose(page ->
+            {
+                pages.add(page);
+                int size = offset + page.length;
+                return page.length == pageSize ? this.fetchAsync(opener, executor, pages, size) : CompletableFuture.completedFuture(this.concat(pages, size));
+            });
+        }
+
+        @Override
+        public boolean isGuarded()
+        {
+            // Each page is retried on its own so a failure late in a query does not request every page again
+            return true;
+        }
+    }
+
+    /**
+     * <p>Fetches and parses the response from a single url.</p>
+     *
+     * @param <T> The type of data to fetch
+     * @author Ocelot
+     */
+    private class UrlFetcher<T> implements Fetcher<T>
+    {
+        private final String url;
+        private final Class<T> type;
+        private final boolean detail;
+
+        private UrlFetcher(String url, Class<T> type, boolean detail)
+        {
+            this.url = url;
+            this.type = type;
+            this.detail = detail;
+        }
+
+        private T read(InputStream stream) throws IOException
+        {
+            return this.detail ? readDetail(this.url, stream, this.type) : BattlefieldsApiImpl.this.read(stream, this.type);
+        }
+
+        @Override
+        public T fetch() throws Exception
+        {
+            return this.read(transport.open(this.url));
+        }
+
+        private void read(InputStream stream, CompletableFuture<T> result)
+        {
+            // A response that nobody is waiting for anymore is only closed
+            if (result.isDone())
+            {
+                try
+                {
+                    stream.close();
+                }
+                catch (IOException ignored)
+                {
+                }
+                return;
+            }
+            try
+            {
+                result.complete(this.read(stream));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public CompletableFuture<T> fetchAsync(Executor opener, Executor executor)
+        {
+            // The response is parsed on the executor once the transport has received it
+            CompletableFuture<InputStream> open = transport.openAsync(this.url, opener);
+            CompletableFuture<T> result = new CompletableFuture<>();
+            open.whenComplete((stream, t) ->
+            {
+                if (t != null)
+                {
+                    result.completeExceptionally(unwrap(t));
+                    return;
+                }
+                if (opener == executor)
+                {
+                    this.read(stream, result);
+                    return;
+                }
+                try
+                {
+                    executor.execute(() -> this.read(stream, result));
+                }
+                catch (RejectedExecutionException e)
+                {
+                    this.read(stream, result);
+                }
+            });
+            forwardCancellation(result, open);
+            return result;
+        }
+    }
+
+    /**
+     * <p>Fetches the information of a single server from the server info provider.</p>
+     *
+     * @author Ocelot
+     */
+    private class ServerInfoFetcher implements Fetcher<BFServerInfo>
+    {
+        private final String ip;
+
+        private ServerInfoFetcher(String ip)
+        {
+            this.ip = ip;
+        }
+
+        @Override
+        public BFServerInfo fetch() throws Exception
+        {
+            try
+            {
+                return serverInfoProvider.requestServerInfo(this.ip, Runnable::run).join();
+            }
+            catch (CompletionException e)
+            {
+                throw unwrap(e);
+            }
+        }
+
+        @Override
+        public CompletableFuture<BFServerInfo> fetchAsync(Executor opener, Executor executor)
+        {
+            // The provider parses the status as it arrives, so there is nothing left to do on the executor
+            return serverInfoProvider.requestServerInfo(this.ip, opener);
+        }
+    }
+
+    /**
+     * <p>Fetches every row of a replicated table by syncing the replica.</p>
+     *
+     * @param <T> The type of row in the table
+     * @author Ocelot
+     */
+    private class ReplicaFetcher<T> implements Fetcher<T[]>
+    {
+        private final BattlefieldsReplica<T> replica;
+        private final Class<T[]> type;
+
+        private ReplicaFetcher(BattlefieldsReplica<T> replica, Class<T[]> type)
+        {
+            this.replica = replica;
+            this.type = type;
+        }
+
+        @Override
+        public T[] fetch() throws Exception
+        {
+            return sync(this.replica, this.type);
+        }
+
+        @Override
+        public CompletableFuture<T[]> fetchAsync(Executor opener, Executor executor)
+        {
+            return syncAsync(this.replica, this.type, opener, executor);
+        }
+
+        @Override
+        public boolean isHedgeable()
+        {
+            // Two syncs at once would both merge the same page into the replica
+            return false;
+        }
+
+        @Override
+        public boolean isGuarded()
+        {
+            // Each page is retried on its own so a failure late in a sync does not request every page again
+            return true;
+        }
     }
 }
@@ -0,0 +1,162 @@
+package io.github.tastac.bfj;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Iterates over a table one page at a time, fetching the next page in the background while the current one is being read.</p>
+ * <p>If a page cannot be fetched, {@link #hasNext()} throws a {@link CompletionException} caused by the failure instead of ending early, so a partial table is never mistaken for a complete one.</p>
+ *
+ * @param <T> The type of row in the table
+ * @author Ocelot
+ */
+class PageIterator<T> implements Iterator<T>, AutoCloseable
+{
+    private final Executor executor;
+    private final int pageSize;
+    private final PageFetcher<T> fetcher;
+    private T[] page;
+    private int index;
+    private int offset;
+    private boolean lastPage;
+    private Prefetch nextPage;
+
+    PageIterator(Executor executor, int pageSize, PageFetcher<T> fetcher)
+    {
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.fetcher = fetcher;
+        this.page = null;
+        this.index = 0;
+        this.offset = 0;
+        this.lastPage = false;
+        this.nextPage = null;
+    }
+
+    private void loadNextPage()
+    {
+        Prefetch prefetch = this.nextPage != null ? this.nextPage : new Prefetch(this.offset);
+        this.nextPage = null;
+        try
+        {
+            this.page = prefetch.get();
+        }
+        catch (CompletionException e)
+        {
+            this.close();
+            throw e;
+        }
+        this.index = 0;
+        this.offset += this.pageSize;
+        this.lastPage = this.page == null || this.page.length < this.pageSize;
+
+        if (!this.lastPage)
+        {
+            this.nextPage = new Prefetch(this.offset);
+            try
+            {
+                this.executor.execute(this.nextPage);
+            }
+            catch (RejectedExecutionException ignored)
+            {
+                // The page will be fetched when it is needed instead
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        while (this.page == null || this.index >= this.page.length)
+        {
+            if (this.lastPage)
+                return false;
+            this.loadNextPage();
+        }
+        return true;
+    }
+
+    @Override
+    public T next()
+    {
+        if (!this.hasNext())
+            throw new NoSuchElementException();
+        return this.page[this.index++];
+    }
+
+    @Override
+    public void close()
+    {
+        this.lastPage = true;
+        this.page = null;
+        if (this.nextPage != null)
+        {
+            // Claims the prefetch so it is never run if it has not already started
+            this.nextPage.started.set(true);
+            this.nextPage = null;
+        }
+    }
+
+    /**
+     * <p>A single page that is either fetched in the background or by the thread that needs it, whichever gets to it first.</p>
+     * <p>The consumer never waits on a task that is still queued behind a busy pool, so a stream consumed on a thread of that pool cannot deadlock.</p>
+     *
+     * @author Ocelot
+     */
+    private class Prefetch implements Runnable
+    {
+        private final int offset;
+        private final AtomicBoolean started;
+        private final CompletableFuture<T[]> result;
+
+        private Prefetch(int offset)
+        {
+            this.offset = offset;
+            this.started = new AtomicBoolean();
+            this.result = new CompletableFuture<>();
+        }
+
+        @Override
+        public void run()
+        {
+            if (!this.started.compareAndSet(false, true))
+                return;
+            try
+            {
+                this.result.complete(fetcher.fetch(this.offset, pageSize));
+            }
+            catch (Throwable t)
+            {
+                this.result.completeExceptionally(t);
+            }
+        }
+
+        private T[] get()
+        {
+            this.run();
+            return this.result.join();
+        }
+    }
+
+    /**
+     * Fetches a single page of a table.
+     *
+     * @param <T> The type of row in the table
+     * @author Ocelot
+     */
+    interface PageFetcher<T>
+    {
+        /**
+         * @param offset The index of the first row to fetch
+         * @param limit  The maximum amount of rows to fetch
+         * @return The rows fetched or <code>null</code> if there are no more rows
+         * @throws Exception If the page could not be read for any reason
+         */
+        T[] fetch(int offset, int limit) throws Exception;
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.flow.BattlefieldsFlow;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Publishes the rows of a table to each subscriber one page at a time, only requesting the next page once the subscriber has asked for more rows than are left in the current one.</p>
+ * <p>Each page is read into memory and its response is closed before any row is delivered, so a subscriber that stops requesting rows never holds a connection open. Rows are delivered on the executor so the subscriber is never blocked by the API, and no thread is held while a page is being fetched.</p>
+ *
+ * @param <T> The type of row in the table
+ * @author Ocelot
+ */
+class RowPublisher<T> implements BattlefieldsFlow.Publisher<T>
+{
+    private final Executor executor;
+    private final int pageSize;
+    private final PageFetcher<T> fetcher;
+
+    RowPublisher(Executor executor, int pageSize, PageFetcher<T> fetcher)
+    {
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.fetcher = fetcher;
+    }
+
+    @Override
+    public void subscribe(BattlefieldsFlow.Subscriber<? super T> subscriber)
+    {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new RowSubscription(subscriber));
+    }
+
+    /**
+     * <p>Tracks the demand of a single subscriber. Signals are only ever sent from one drain at a time, so they never overlap.</p>
+     *
+     * @author Ocelot
+     */
+    private class RowSubscription implements BattlefieldsFlow.Subscription, Runnable
+    {
+        private final BattlefieldsFlow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested;
+        private final AtomicInteger pending;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private CompletableFuture<T[]> nextPage;
+        private T[] page;
+        private int index;
+        private int offset;
+        private boolean lastPage;
+        private boolean done;
+
+        private RowSubscription(BattlefieldsFlow.Subscriber<? super T> subscriber)
+        {
+            this.subscriber = subscriber;
+            this.requested = new AtomicLong();
+            this.pending = new AtomicInteger();
+            this.cancelled = false;
+            this.error = null;
+            this.nextPage = null;
+            this.page = null;
+            this.index = 0;
+            this.offset = 0;
+            this.lastPage = false;
+            this.done = false;
+        }
+
+        private void schedule()
+        {
+            if (this.pending.getAndIncrement() != 0)
+                return;
+            try
+            {
+                executor.execute(this);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // Nothing else can drain while pending is held, so the failure can be signalled here
+                this.error = e;
+                this.run();
+            }
+        }
+
+        @Override
+        public void request(long n)
+        {
+            if (n <= 0)
+            {
+                this.error = new IllegalArgumentException("Requested amount must be at least 1");
+            }
+            else
+            {
+                long current;
+                do
+                {
+                    current = this.requested.get();
+                    if (current == Long.MAX_VALUE)
+                        break;
+                }
+                while (!this.requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            this.schedule();
+        }
+
+        @Override
+        public void cancel()
+        {
+            this.cancelled = true;
+            this.schedule();
+        }
+
+        @Override
+        public void run()
+        {
+            int missed = 1;
+            do
+            {
+                this.drain();
+                missed = this.pending.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+
+        private void terminate()
+        {
+            this.done = true;
+            this.page = null;
+            if (this.nextPage != null)
+            {
+                this.nextPage.cancel(false);
+                this.nextPage = null;
+            }
+        }
+
+        private CompletableFuture<T[]> fetch()
+        {
+            try
+            {
+                return fetcher.fetch(this.offset, pageSize);
+            }
+            catch (Exception e)
+            {
+                CompletableFuture<T[]> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+
+        private boolean loadNextPage()
+        {
+            if (this.nextPage == null)
+            {
+                // The drain that receives the page is scheduled when it arrives, so no thread waits for it
+                this.nextPage = this.fetch();
+                this.nextPage.whenComplete((rows, t) -> this.schedule());
+            }
+            if (!this.nextPage.isDone())
+                return false;
+
+            CompletableFuture<T[]> nextPage = this.nextPage;
+            this.nextPage = null;
+            this.page = nextPage.join();
+            this.index = 0;
+            this.offset += pageSize;
+            this.lastPage = this.page == null || this.page.length < pageSize;
+            return true;
+        }
+
+        private void drain()
+        {
+            if (this.done)
+                return;
+            if (this.cancelled)
+            {
+                this.terminate();
+                return;
+            }
+            if (this.error != null)
+            {
+                this.terminate();
+                this.subscriber.onError(this.error);
+                return;
+            }
+
+            try
+            {
+                long requested = this.requested.get();
+                long emitted = 0;
+                while (emitted < requested)
+                {
+                    if (this.cancelled)
+                    {
+                        this.terminate();
+                        return;
+                    }
+                    if (this.page == null || this.index >= this.page.length)
+                    {
+                        if (this.lastPage)
+                        {
+                            this.terminate();
+                            this.subscriber.onComplete();
+                            return;
+                        }
+                        if (!this.loadNextPage())
+                            break;
+                        continue;
+                    }
+                    this.subscriber.onNext(this.page[this.index++]);
+                    emitted++;
+                }
+                if (requested != Long.MAX_VALUE)
+                    this.requested.addAndGet(-emitted);
+            }
+            catch (CompletionException e)
+            {
+                this.terminate();
+                if (!this.cancelled)
+                    this.subscriber.onError(e.getCause() != null ? e.getCause() : e);
+            }
+            catch (Throwable t)
+            {
+                this.terminate();
+                if (!this.cancelled)
+                    this.subscriber.onError(t);
+            }
+        }
+    }
+
+    /**
+     * Fetches a single page of a table.
+     *
+     * @param <T> The type of row in the table
+     * @author Ocelot
+     */
+    interface PageFetcher<T>
+    {
+        /**
+         * @param offset The index of the first row to fetch
+         * @param limit  The maximum amount of rows to fetch
+         * @return A future for the rows fetched or <code>null</code> if there are no more rows. Completes exceptionally if the page could not be read for any reason
+         * @throws Exception If the page could not be requested
+         */
+        CompletableFuture<T[]> fetch(int offset, int limit) throws Exception;
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.tastac.bfj.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>A bounded cache of API responses using the W-TinyLFU eviction policy.</p>
+ * <p>New entries are first placed into a small LRU admission window. Once they leave the window they have to compete against the least recently used entry of the main space,
+ * and only the one that has been accessed more often recently according to a {@link FrequencySketch} is kept. The main space is split into a probation and a protected segment so entries that are hit again are harder to evict.</p>
+ * <p>A cache with a maximum weight of {@link #UNBOUNDED} never evicts anything and does not track access frequencies.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsCache
+{
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long maximumWeight;
+    private final long maximumWindowWeight;
+    private final long maximumProtectedWeight;
+    private final CacheWeigher weigher;
+    private final Map<String, Node> nodes;
+    private final FrequencySketch sketch;
+    private final NodeQueue window;
+    private final NodeQueue probation;
+    private final NodeQueue protectedQueue;
+
+    public BattlefieldsCache(long maximumWeight, CacheWeigher weigher)
+    {
+        if (maximumWeight < 1)
+            throw new IllegalArgumentException("Maximum weight must be at least 1");
+        this.maximumWeight = maximumWeight;
+        this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+        this.maximumProtectedWeight = (long) ((maximumWeight - this.maximumWindowWeight) * 0.8);
+        this.weigher = weigher;
+        this.nodes = new HashMap<>();
+        this.sketch = maximumWeight == UNBOUNDED ? null : new FrequencySketch(weigher == CacheWeigher.SINGLETON ? maximumWeight : maximumWeight / 1024);
+        this.window = new NodeQueue();
+        this.probation = new NodeQueue();
+        this.protectedQueue = new NodeQueue();
+    }
+
+    private NodeQueue getQueue(Node node)
+    {
+        switch (node.queue)
+        {
+            case WINDOW:
+                return this.window;
+            case PROBATION:
+                return this.probation;
+            default:
+                return this.protectedQueue;
+        }
+    }
+
+    private void recordAccess(String key)
+    {
+        if (this.sketch != null)
+            this.sketch.increment(key);
+    }
+
+    private void onHit(Node node)
+    {
+        this.recordAccess(node.key);
+        if (node.queue == PROBATION)
+        {
+            // Entries that are hit while on probation are promoted and the protected segment is trimmed back into probation
+            this.probation.remove(node);
+            node.queue = PROTECTED;
+            this.protectedQueue.addLast(node);
+            while (this.protectedQueue.weight > this.maximumProtectedWeight && this.protectedQueue.first() != node)
+            {
+                Node demoted = this.protectedQueue.first();
+                this.protectedQueue.remove(demoted);
+                demoted.queue = PROBATION;
+                this.probation.addLast(demoted);
+            }
+        }
+        else
+        {
+            this.getQueue(node).moveToLast(node);
+        }
+    }
+
+    private void evict()
+    {
+        while (this.window.weight > this.maximumWindowWeight && this.window.first() != null)
+        {
+            Node candidate = this.window.first();
+            this.window.remove(candidate);
+            candidate.queue = PROBATION;
+            this.probation.addLast(candidate);
+        }
+
+        while (this.window.weight + this.probation.weight + this.protectedQueue.weight > this.maximumWeight)
+        {
+            NodeQueue queue = this.probation.first() != null ? this.probation : this.protectedQueue.first() != null ? this.protectedQueue : this.window;
+            Node victim = queue.first();
+            Node candidate = queue.last();
+            if (victim == null)
+                return;
+
+            // The newest entry only gets admitted if it has been used more than the entry it would replace
+            if (candidate != victim && candidate.weight <= this.maximumWeight && this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key))
+            {
+                this.removeNode(victim);
+            }
+            else
+            {
+                this.removeNode(candidate);
+            }
+        }
+    }
+
+    private void removeNode(Node node)
+    {
+        this.getQueue(node).remove(node);
+        this.nodes.remove(node.key);
+    }
+
+    /**
+     * Retrieves the entry stored under the specified key.
+     *
+     * @param key The key to get the entry of
+     * @return The entry stored or <code>null</code> if there is no entry for that key
+     */
+    public synchronized Entry get(String key)
+    {
+        Node node = this.nodes.get(key);
+        if (node == null)
+        {
+            this.recordAccess(key);
+            return null;
+        }
+        this.onHit(node);
+        return node.entry;
+    }
+
+    /**
+     * Stores a new entry under the specified key, replacing any previous entry.
+     *
+     * @param key   The key to store the entry under
+     * @param entry The entry to store
+     */
+    public synchronized void put(String key, Entry entry)
+    {
+        int weight = this.weigher.weigh(key, entry.getValue());
+        if (weight < 0)
+            throw new IllegalStateException("Weight of '" + key + "' must be at least 0");
+
+        Node node = this.nodes.get(key);
+        if (node != null)
+        {
+            NodeQueue queue = this.getQueue(node);
+            queue.weight += weight - node.weight;
+            node.weight = weight;
+            node.entry = entry;
+            this.onHit(node);
+        }
+        else
+        {
+            node = new Node(key, entry, weight);
+            this.nodes.put(key, node);
+            this.window.addLast(node);
+            this.recordAccess(key);
+        }
+        this.evict();
+    }
+
+    /**
+     * Removes the entry stored under the specified key.
+     *
+     * @param key The key to remove
+     */
+    public synchronized void remove(String key)
+    {
+        Node node = this.nodes.get(key);
+        if (node != null)
+            this.removeNode(node);
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public synchronized void clear()
+    {
+        this.nodes.clear();
+        this.window.clear();
+        this.probation.clear();
+        this.protectedQueue.clear();
+    }
+
+    /**
+     * @return The amount of entries currently stored
+     */
+    public synchronized int size()
+    {
+        return this.nodes.size();
+    }
+
+    /**
+     * @return The total weight of all entries currently stored
+     */
+    public synchronized long weight()
+    {
+        return this.window.weight + this.probation.weight + this.protectedQueue.weight;
+    }
+
+    /**
+     * <p>A single value in the cache and the time it was written.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Entry
+    {
+        private final Object value;
+        private final long timeStamp;
+        private final boolean error;
+
+        public Entry(Object value, long timeStamp, boolean error)
+        {
+            this.value = value;
+            this.timeStamp = timeStamp;
+            this.error = error;
+        }
+
+        /**
+         * @return The cached value or <code>null</code> if this entry is an error
+         */
+        public Object getValue()
+        {
+            return value;
+        }
+
+        /**
+         * @return The time in milliseconds this entry was written
+         */
+        public long getTimeStamp()
+        {
+            return timeStamp;
+        }
+
+        /**
+         * @return Whether or not this entry records a failed request instead of a value
+         */
+        public boolean isError()
+        {
+            return error;
+        }
+    }
+
+    private static class Node
+    {
+        private final String key;
+        private Entry entry;
+        private int weight;
+        private int queue;
+        private Node previous;
+        private Node next;
+
+        private Node(String key, Entry entry, int weight)
+        {
+            this.key = key;
+            this.entry = entry;
+            this.weight = weight;
+            this.queue = WINDOW;
+        }
+    }
+
+    private static class NodeQueue
+    {
+        private Node head;
+        private Node tail;
+        private long weight;
+
+        private Node first()
+        {
+            return this.head;
+        }
+
+        private Node last()
+        {
+            return this.tail;
+        }
+
+        private void addLast(Node node)
+        {
+            node.previous = this.tail;
+            node.next = null;
+            if (this.tail != null)
+                this.tail.next = node;
+            else
+                this.head = node;
+            this.tail = node;
+            this.weight += node.weight;
+        }
+
+        private void remove(Node node)
+        {
+            if (node.previous != null)
+                node.previous.next = node.next;
+            else
+                this.head = node.next;
+            if (node.next != null)
+                node.next.previous = node.previous;
+            else
+                this.tail = node.previous;
+            node.previous = null;
+            node.next = null;
+            this.weight -= node.weight;
+        }
+
+        private void moveToLast(Node node)
+        {
+            if (this.tail != node)
+            {
+                this.remove(node);
+                this.addLast(node);
+            }
+        }
+
+        private void clear()
+        {
+            this.head = null;
+            this.tail = null;
+            this.weight = 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.tastac.bfj.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Determines how long responses from a single table or endpoint are cached for and how many of them can be cached at once.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsCachePolicy
+{
+    private final long cacheTime;
+    private final long errorCacheTime;
+    private final long maximumSize;
+
+    /**
+     * Creates a policy that caches errors for as long as data and shares the cache of the API.
+     *
+     * @param cacheTime The time to cache data. <code>0</code> will disable caching
+     * @param timeUnit  The unit cacheTime is provided in
+     */
+    public BattlefieldsCachePolicy(long cacheTime, TimeUnit timeUnit)
+    {
+        this(cacheTime, cacheTime, timeUnit, 0);
+    }
+
+    /**
+     * Creates a new policy.
+     *
+     * @param cacheTime      The time to cache data. <code>0</code> will disable caching
+     * @param errorCacheTime The time to cache failed requests for. <code>0</code> will disable caching errors
+     * @param timeUnit       The unit cacheTime and errorCacheTime are provided in
+     * @param maximumSize    The maximum amount of responses to cache. <code>0</code> will share the cache of the API instead of using a separate one
+     */
+    public BattlefieldsCachePolicy(long cacheTime, long errorCacheTime, TimeUnit timeUnit, long maximumSize)
+    {
+        if (cacheTime < 0)
+            throw new IllegalArgumentException("Cache Time must be at least 0");
+        if (errorCacheTime < 0)
+            throw new IllegalArgumentException("Error Cache Time must be at least 0");
+        if (maximumSize < 0)
+            throw new IllegalArgumentException("Maximum Size must be at least 0");
+        this.cacheTime = TimeUnit.MILLISECONDS.convert(cacheTime, timeUnit);
+        this.errorCacheTime = TimeUnit.MILLISECONDS.convert(errorCacheTime, timeUnit);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return The time in milliseconds data is cached for
+     */
+    public long getCacheTime()
+    {
+        return cacheTime;
+    }
+
+    /**
+     * @return The time in milliseconds failed requests are cached for
+     */
+    public long getErrorCacheTime()
+    {
+        return errorCacheTime;
+    }
+
+    /**
+     * @return The maximum amount of responses to cache or <code>0</code> to share the cache of the API
+     */
+    public long getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BattlefieldsCachePolicy{" +
+                "cacheTime=" + this.cacheTime +
+                ", errorCacheTime=" + this.errorCacheTime +
+                ", maximumSize=" + this.maximumSize +
+                '}';
+    }
+}
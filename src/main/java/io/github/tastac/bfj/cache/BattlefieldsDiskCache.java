@@ -0,0 +1,428 @@
+package io.github.tastac.bfj.cache;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * <p>A persistent cache of serialized responses stored in append-only segment files.</p>
+ * <p>Every write is appended to the newest segment as a checksummed record, and an index of the newest record for every key is rebuilt by scanning the segments when the cache is opened.
+ * Segments are read through memory-mapped buffers. Once there are too many segments the oldest is deleted along with every entry in it.</p>
+ * <p>The directory is locked while the cache is open, so only a single cache can use it at a time, even across processes.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsDiskCache implements AutoCloseable
+{
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int HEADER_SIZE = 8;
+    private static final byte FLAG_ERROR = 1;
+    private static final byte FLAG_REMOVED = 2;
+    private static final String LOCK_FILE = "cache.lock";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maximumSegments;
+    private final Map<String, Location> index;
+    private final TreeMap<Integer, Segment> segments;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private Segment activeSegment;
+
+    /**
+     * Opens the cache in the specified directory, creating it if it does not exist.
+     *
+     * @param directory       The directory to store segments in
+     * @param segmentSize     The size in bytes after which a new segment is started. Segments are mapped as a single buffer so this can be at most {@link Integer#MAX_VALUE}
+     * @param maximumSegments The maximum amount of segments to keep
+     * @throws IOException If the directory is already in use by another cache or the existing segments could not be read
+     */
+    public BattlefieldsDiskCache(Path directory, long segmentSize, int maximumSegments) throws IOException
+    {
+        if (segmentSize < 1)
+            throw new IllegalArgumentException("Segment Size must be at least 1");
+        if (segmentSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Segment Size must be at most " + Integer.MAX_VALUE);
+        if (maximumSegments < 1)
+            throw new IllegalArgumentException("Maximum Segments must be at least 1");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maximumSegments = maximumSegments;
+        this.index = new HashMap<>();
+        this.segments = new TreeMap<>();
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try
+        {
+            lock = this.lockChannel.tryLock();
+        }
+        catch (OverlappingFileLockException e)
+        {
+            // Another cache in this process already holds the lock
+            lock = null;
+        }
+        catch (IOException e)
+        {
+            this.lockChannel.close();
+            throw e;
+        }
+        if (lock == null)
+        {
+            this.lockChannel.close();
+            throw new IOException("Disk cache directory '" + directory + "' is already in use");
+        }
+        this.lock = lock;
+
+        try
+        {
+            this.open();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            this.close();
+            throw e;
+        }
+    }
+
+    private void open() throws IOException
+    {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX))
+        {
+            for (Path path : stream)
+            {
+                String name = path.getFileName().toString();
+                try
+                {
+                    int id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    this.segments.put(id, new Segment(id, path));
+                }
+                catch (NumberFormatException ignored)
+                {
+                }
+            }
+        }
+
+        for (Segment segment : this.segments.values())
+            this.load(segment);
+        this.activeSegment = this.segments.isEmpty() ? this.createSegment(0) : this.segments.lastEntry().getValue();
+    }
+
+    private Segment createSegment(int id) throws IOException
+    {
+        Segment segment = new Segment(id, this.directory.resolve(String.format(SEGMENT_PREFIX + "%08d" + SEGMENT_SUFFIX, id)));
+        this.segments.put(id, segment);
+        return segment;
+    }
+
+    private void load(Segment segment) throws IOException
+    {
+        ByteBuffer buffer = segment.map(segment.size);
+        long offset = 0;
+        CRC32 crc = new CRC32();
+        while (offset + HEADER_SIZE <= segment.size)
+        {
+            int length = buffer.getInt((int) offset);
+            int checksum = buffer.getInt((int) offset + 4);
+            if (length <= 0 || offset + HEADER_SIZE + length > segment.size)
+                break;
+
+            ByteBuffer body = (ByteBuffer) buffer.duplicate().position((int) offset + HEADER_SIZE).limit((int) offset + HEADER_SIZE + length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum)
+                break;
+
+            byte[] key = new byte[body.getShort() & 0xFFFF];
+            body.get(key);
+            long timeStamp = body.getLong();
+            byte flags = body.get();
+            String field = new String(key, StandardCharsets.UTF_8);
+            if ((flags & FLAG_REMOVED) != 0)
+                this.index.remove(field);
+            else
+                this.index.put(field, new Location(segment, body.position(), body.remaining(), timeStamp, (flags & FLAG_ERROR) != 0));
+
+            offset += HEADER_SIZE + length;
+        }
+
+        // Anything after the last valid record was only partially written and is discarded
+        if (offset < segment.size)
+        {
+            segment.unmap();
+            segment.channel.truncate(offset);
+            segment.size = offset;
+        }
+    }
+
+    private void append(String key, long timeStamp, byte flags, byte[] payload) throws IOException
+    {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF)
+            throw new IOException("Key is too long to be cached: " + key);
+
+        long recordLength = HEADER_SIZE + 2L + keyBytes.length + 8 + 1 + payload.length;
+        if (recordLength > Integer.MAX_VALUE)
+            throw new IOException("Entry is too large to be cached: " + key);
+
+        int length = (int) recordLength - HEADER_SIZE;
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.putShort((short) keyBytes.length);
+        body.put(keyBytes);
+        body.putLong(timeStamp);
+        body.put(flags);
+        body.put(payload);
+        body.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length);
+        record.putInt(length);
+        record.putInt((int) crc.getValue());
+        record.put(body);
+        record.flip();
+
+        if (this.activeSegment.size > 0 && this.activeSegment.size + record.remaining() > this.segmentSize)
+            this.roll();
+
+        Segment segment = this.activeSegment;
+        long offset = segment.size;
+        while (record.hasRemaining())
+            segment.channel.write(record, offset + record.position());
+        segment.size += HEADER_SIZE + length;
+
+        if ((flags & FLAG_REMOVED) != 0)
+            this.index.remove(key);
+        else
+            this.index.put(key, new Location(segment, offset + HEADER_SIZE + 2 + keyBytes.length + 8 + 1, payload.length, timeStamp, (flags & FLAG_ERROR) != 0));
+    }
+
+    private void roll() throws IOException
+    {
+        this.activeSegment = this.createSegment(this.activeSegment.id + 1);
+        while (this.segments.size() > this.maximumSegments)
+        {
+            Segment oldest = this.segments.pollFirstEntry().getValue();
+            this.index.values().removeIf(location -> location.segment == oldest);
+            oldest.delete();
+        }
+    }
+
+    /**
+     * Retrieves the newest entry written for the specified key.
+     *
+     * @param key The key to get the entry of
+     * @return An entry with the serialized payload as a <code>byte[]</code> value or <code>null</code> if there is no entry for that key
+     * @throws IOException If the entry could not be read
+     */
+    public synchronized BattlefieldsCache.Entry get(String key) throws IOException
+    {
+        Location location = this.index.get(key);
+        if (location == null)
+            return null;
+
+        ByteBuffer buffer = location.segment.map(location.offset + location.length).duplicate();
+        buffer.position((int) location.offset);
+        byte[] payload = new byte[location.length];
+        buffer.get(payload);
+        return new BattlefieldsCache.Entry(payload, location.timeStamp, location.error);
+    }
+
+    /**
+     * Writes a new entry for the specified key.
+     *
+     * @param key       The key to store the entry under
+     * @param timeStamp The time in milliseconds the entry was written
+     * @param error     Whether or not the entry records a failed request
+     * @param payload   The serialized value
+     * @throws IOException If the entry could not be written
+     */
+    public synchronized void put(String key, long timeStamp, boolean error, byte[] payload) throws IOException
+    {
+        this.append(key, timeStamp, error ? FLAG_ERROR : 0, payload);
+    }
+
+    /**
+     * Removes the entry stored under the specified key.
+     *
+     * @param key The key to remove
+     * @throws IOException If the removal could not be written
+     */
+    public synchronized void remove(String key) throws IOException
+    {
+        if (this.index.containsKey(key))
+            this.append(key, System.currentTimeMillis(), FLAG_REMOVED, new byte[0]);
+    }
+
+    /**
+     * Deletes every segment and starts over with an empty cache.
+     *
+     * @throws IOException If the segments could not be deleted
+     */
+    public synchronized void clear() throws IOException
+    {
+        // A new segment is started first so the cache can still be written to even if an old segment cannot be deleted
+        Segment previous = this.activeSegment;
+        this.activeSegment = this.createSegment(previous.id + 1);
+        this.index.clear();
+
+        IOException exception = null;
+        while (this.segments.size() > 1)
+        {
+            try
+            {
+                this.segments.pollFirstEntry().getValue().delete();
+            }
+            catch (IOException e)
+            {
+                if (exception == null)
+                    exception = e;
+                else
+                    exception.addSuppressed(e);
+            }
+        }
+        if (exception != null)
+            throw exception;
+    }
+
+    /**
+     * @return The amount of entries currently stored
+     */
+    public synchronized int size()
+    {
+        return this.index.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        try
+        {
+            for (Segment segment : this.segments.values())
+            {
+                segment.unmap();
+                segment.channel.close();
+            }
+        }
+        finally
+        {
+            if (this.lock.isValid())
+                this.lock.release();
+            this.lockChannel.close();
+        }
+    }
+
+    /**
+     * Releases a mapped buffer immediately instead of waiting for it to be garbage collected. Some platforms, such as Windows, cannot delete or truncate a file while any part of it is mapped.
+     * Java 8 has no public way to do this, so it is done through the buffer's cleaner if the running version allows it.
+     */
+    private static void unmap(MappedByteBuffer buffer)
+    {
+        try
+        {
+            // Java 9 and newer
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            return;
+        }
+        catch (ReflectiveOperationException | RuntimeException ignored)
+        {
+        }
+        try
+        {
+            // Java 8
+            Method cleaner = buffer.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            Object bufferCleaner = cleaner.invoke(buffer);
+            if (bufferCleaner != null)
+                bufferCleaner.getClass().getMethod("clean").invoke(bufferCleaner);
+        }
+        catch (ReflectiveOperationException | RuntimeException ignored)
+        {
+            // The mapping is released once the buffer is garbage collected instead
+        }
+    }
+
+    private static class Segment
+    {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private MappedByteBuffer mapped;
+
+        private Segment(int id, Path path) throws IOException
+        {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = this.channel.size();
+            this.mapped = null;
+        }
+
+        private ByteBuffer map(long end) throws IOException
+        {
+            // Segments are remapped as they grow so recently appended records can be read
+            if (this.mapped == null || this.mapped.capacity() < end)
+            {
+                this.unmap();
+                this.mapped = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.size);
+            }
+            return this.mapped;
+        }
+
+        private void unmap()
+        {
+            // Every read copies out of the mapping while the cache is locked, so nothing can still be using it
+            if (this.mapped != null)
+            {
+                BattlefieldsDiskCache.unmap(this.mapped);
+                this.mapped = null;
+            }
+        }
+
+        private void delete() throws IOException
+        {
+            this.unmap();
+            this.channel.close();
+            Files.deleteIfExists(this.path);
+        }
+    }
+
+    private static class Location
+    {
+        private final Segment segment;
+        private final long offset;
+        private final int length;
+        private final long timeStamp;
+        private final boolean error;
+
+        private Location(Segment segment, long offset, int length, long timeStamp, boolean error)
+        {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.timeStamp = timeStamp;
+            this.error = error;
+        }
+    }
+}
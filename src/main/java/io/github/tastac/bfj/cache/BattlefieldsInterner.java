@@ -0,0 +1,73 @@
+package io.github.tastac.bfj.cache;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>Shares a single instance of values that are repeated across many responses, such as player UUIDs and usernames.</p>
+ * <p>Values are only weakly referenced, so an interned value disappears from the table once no cached response uses it anymore. The table is split into segments that are locked separately so responses parsed on several threads at once rarely wait on each other.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsInterner
+{
+    private static final int SEGMENTS = 16;
+
+    private final Map<Object, WeakReference<Object>>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public BattlefieldsInterner()
+    {
+        this.segments = (Map<Object, WeakReference<Object>>[]) new Map<?, ?>[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++)
+            this.segments[i] = new WeakHashMap<>();
+    }
+
+    private static int spread(int hash)
+    {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    /**
+     * Retrieves the shared instance of the specified value, making the value itself the shared instance if there is none yet.
+     *
+     * @param value The value to intern
+     * @param <T>   The type of value to intern
+     * @return The shared instance equal to value or <code>null</code> if value is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T value)
+    {
+        if (value == null)
+            return null;
+
+        Map<Object, WeakReference<Object>> segment = this.segments[spread(value.hashCode()) & (SEGMENTS - 1)];
+        synchronized (segment)
+        {
+            WeakReference<Object> reference = segment.get(value);
+            Object existing = reference != null ? reference.get() : null;
+            if (existing != null)
+                return (T) existing;
+            segment.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+    /**
+     * @return The amount of values currently interned, including values that have been collected but not yet removed
+     */
+    public int size()
+    {
+        int size = 0;
+        for (Map<Object, WeakReference<Object>> segment : this.segments)
+        {
+            synchronized (segment)
+            {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.tastac.bfj.cache;
+
+import com.google.gson.JsonArray;
+import io.github.tastac.bfj.components.BFKillInfoBatch;
+
+import java.lang.reflect.Array;
+
+/**
+ * <p>Calculates the weight of entries in a {@link BattlefieldsCache}.</p>
+ *
+ * @author Ocelot
+ */
+@FunctionalInterface
+public interface CacheWeigher
+{
+    /**
+     * Gives every entry a weight of <code>1</code>, which makes the maximum weight of a cache the maximum amount of entries.
+     */
+    CacheWeigher SINGLETON = (key, value) -> 1;
+
+    /**
+     * Gives every entry a rough estimate of the amount of bytes it occupies in memory.
+     */
+    CacheWeigher ESTIMATED_BYTES = (key, value) ->
+    {
+        long weight = 64 + 2L * key.length();
+        if (value instanceof String)
+            weight += 40 + 2L * ((String) value).length();
+        else if (value instanceof byte[])
+            weight += 16 + ((byte[]) value).length;
+        else if (value instanceof BFKillInfoBatch)
+            weight += 112 + 68L * ((BFKillInfoBatch) value).size();
+        else if (value instanceof JsonArray)
+            weight += 16 + 96L * ((JsonArray) value).size();
+        else if (value != null && value.getClass().isArray())
+            weight += 16 + 72L * Array.getLength(value);
+        else if (value != null)
+            weight += 96;
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    };
+
+    /**
+     * Calculates the weight of the specified entry.
+     *
+     * @param key   The key the value is stored under
+     * @param value The value being stored
+     * @return The weight of the entry. Must be at least <code>0</code>
+     */
+    int weigh(String key, Object value);
+}
@@ -0,0 +1,92 @@
+package io.github.tastac.bfj.cache;
+
+/**
+ * <p>A probabilistic count of how often keys have been accessed recently.</p>
+ * <p>Counts are kept as 4-bit counters in a count-min sketch of depth 4. Once enough accesses have been recorded every counter is halved so the sketch favors recent history.</p>
+ *
+ * @author Ocelot
+ */
+class FrequencySketch
+{
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long expectedEntries)
+    {
+        int capacity = (int) Math.max(16, Math.min(expectedEntries, 1 << 20));
+        int tableSize = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * capacity;
+        this.size = 0;
+    }
+
+    private static int spread(int hash)
+    {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private long slot(int hash, int depth)
+    {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * @param key The key to check
+     * @return The estimated amount of times the key has been accessed, up to <code>15</code>
+     */
+    int frequency(Object key)
+    {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++)
+        {
+            long slot = this.slot(hash, i);
+            int index = (int) (slot >>> 4) & this.tableMask;
+            int offset = ((int) slot & 15) << 2;
+            frequency = Math.min(frequency, (int) ((this.table[index] >>> offset) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the specified key.
+     *
+     * @param key The key that was accessed
+     */
+    void increment(Object key)
+    {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++)
+        {
+            long slot = this.slot(hash, i);
+            int index = (int) (slot >>> 4) & this.tableMask;
+            int offset = ((int) slot & 15) << 2;
+            if (((this.table[index] >>> offset) & MAX_COUNT) != MAX_COUNT)
+            {
+                this.table[index] += 1L << offset;
+                added = true;
+            }
+        }
+
+        if (added && ++this.size >= this.sampleSize)
+            this.reset();
+    }
+
+    private void reset()
+    {
+        for (int i = 0; i < this.table.length; i++)
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        this.size /= 2;
+    }
+}
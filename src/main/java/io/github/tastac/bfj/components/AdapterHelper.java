@@ -0,0 +1,237 @@
+package io.github.tastac.bfj.components;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
+
+import java.io.IOException;
+
+/**
+ * <p>Reads values the same way Gson does when reflectively deserializing components, without creating an intermediate tree.</p>
+ *
+ * @author Ocelot
+ */
+final class AdapterHelper
+{
+    private AdapterHelper()
+    {
+    }
+
+    static String nextString(JsonReader in) throws IOException
+    {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL)
+        {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN)
+            return Boolean.toString(in.nextBoolean());
+        return in.nextString();
+    }
+
+    static String nextString(JsonReader in, BattlefieldsInterner interner) throws IOException
+    {
+        String value = nextString(in);
+        return interner != null ? interner.intern(value) : value;
+    }
+
+    static BFUuid nextUuid(JsonReader in, BattlefieldsInterner interner) throws IOException
+    {
+        BFUuid uuid = BFUuid.fromString(nextString(in));
+        if (interner == null || uuid == null)
+            return uuid;
+        // A UUID received in a different form than the shared instance keeps its own instance so its text is not changed
+        BFUuid interned = interner.intern(uuid);
+        return interned.isSameText(uuid) ? interned : uuid;
+    }
+
+    static boolean nextBoolean(JsonReader in) throws IOException
+    {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL)
+        {
+            in.nextNull();
+            return false;
+        }
+        if (token == JsonToken.STRING)
+            return Boolean.parseBoolean(in.nextString());
+        return in.nextBoolean();
+    }
+
+    static int nextInt(JsonReader in) throws IOException
+    {
+        if (in.peek() == JsonToken.NULL)
+        {
+            in.nextNull();
+            return 0;
+        }
+        try
+        {
+            return in.nextInt();
+        }
+        catch (NumberFormatException e)
+        {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static long nextLong(JsonReader in) throws IOException
+    {
+        if (in.peek() == JsonToken.NULL)
+        {
+            in.nextNull();
+            return 0;
+        }
+        try
+        {
+            return in.nextLong();
+        }
+        catch (NumberFormatException e)
+        {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static double nextDouble(JsonReader in) throws IOException
+    {
+        if (in.peek() == JsonToken.NULL)
+        {
+            in.nextNull();
+            return 0;
+        }
+        try
+        {
+            return in.nextDouble();
+        }
+        catch (NumberFormatException e)
+        {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static int digits(String value, int start, int count)
+    {
+        if (start + count > value.length())
+            return -1;
+        int result = 0;
+        for (int i = start; i < start + count; i++)
+        {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isNumber(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+        return true;
+    }
+
+    private static int getDaysInMonth(int year, int month)
+    {
+        if (month == 2)
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static long daysFromCivil(int year, int month, int day)
+    {
+        // Counts days in 400 year eras starting on March 1st so leap days always fall at the end of a year
+        year -= month <= 2 ? 1 : 0;
+        int era = (year >= 0 ? year : year - 399) / 400;
+        int yearOfEra = year - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Parses a date from the API into milliseconds since the epoch without going through a formatter. Dates are expected as <code>yyyy-MM-dd</code>, optionally followed by a time as <code>HH:mm:ss</code> separated by a space or <code>T</code>, fractional seconds and a zone offset.
+     * Dates without an offset are read as UTC. Plain numbers are read as a timestamp in seconds or milliseconds. Dates that do not exist, such as <code>2021-02-29</code>, are not valid.
+     *
+     * @param value The date to parse
+     * @return The time in milliseconds since the epoch or <code>0</code> if the date is missing or could not be parsed
+     */
+    static long parseTimestamp(String value)
+    {
+        if (value == null || value.isEmpty())
+            return 0;
+
+        int length = value.length();
+        if (isNumber(value))
+        {
+            if (length > 18)
+                return 0;
+            long timestamp = Long.parseLong(value);
+            // Seconds this large would be thousands of years away, so anything smaller is not milliseconds
+            return timestamp < 100_000_000_000L ? timestamp * 1000 : timestamp;
+        }
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > getDaysInMonth(year, month) || value.charAt(4) != '-' || value.charAt(7) != '-')
+            return 0;
+        long millis = daysFromCivil(year, month, day) * 86_400_000L;
+        if (length == 10)
+            return millis;
+
+        char separator = value.charAt(10);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        if ((separator != ' ' && separator != 'T') || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || value.charAt(13) != ':' || value.charAt(16) != ':')
+            return 0;
+        millis += hour * 3_600_000L + minute * 60_000L + second * 1000L;
+
+        int index = 19;
+        if (index < length && value.charAt(index) == '.')
+        {
+            // Fractions are read down to nanoseconds, but only whole milliseconds are kept
+            int start = ++index;
+            int scale = 100;
+            for (; index < length && value.charAt(index) >= '0' && value.charAt(index) <= '9'; index++)
+            {
+                millis += (value.charAt(index) - '0') * scale;
+                scale /= 10;
+            }
+            if (index == start || index - start > 9)
+                return 0;
+        }
+        if (index == length)
+            return millis;
+
+        char sign = value.charAt(index);
+        if ((sign == 'Z' || sign == 'z') && index + 1 == length)
+            return millis;
+        if (sign != '+' && sign != '-')
+            return 0;
+        // Offsets can be written as +HH, +HHMM or +HH:MM
+        int offsetHours = digits(value, index + 1, 2);
+        int offsetMinutes = 0;
+        int end = index + 3;
+        if (end < length)
+        {
+            if (value.charAt(end) == ':')
+                end++;
+            offsetMinutes = digits(value, end, 2);
+            end += 2;
+        }
+        if (offsetHours < 0 || offsetMinutes < 0 || offsetMinutes > 59 || end != length)
+            return 0;
+        long offset = offsetHours * 3_600_000L + offsetMinutes * 60_000L;
+        if (offset > 18 * 3_600_000L)
+            return 0;
+        return sign == '+' ? millis - offset : millis + offset;
+    }
+}
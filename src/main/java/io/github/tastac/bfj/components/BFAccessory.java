@@ -1,9 +1,14 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import io.github.tastac.bfj.BFJ;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>Information about an accessory in-game that has been queried from the Battlefields API.</p>
@@ -113,4 +118,112 @@ public class BFAccessory
                 ", hidden=" + this.isHidden() +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#ACCESSORIES} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFAccessory>
+    {
+        ID("id", Integer.class, BFAccessory::getId),
+        TYPE_ID("accessory_type", Integer.class, BFAccessory::getTypeId),
+        NAME("name", String.class, BFAccessory::getName),
+        DATA("data", String.class, BFAccessory::getData),
+        ENABLED("enabled", Boolean.class, BFAccessory::isEnabled),
+        HIDDEN("hidden", Boolean.class, BFAccessory::isHidden);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFAccessory, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFAccessory, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFAccessory row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFAccessory} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFAccessory>
+    {
+        @Override
+        public void write(JsonWriter out, BFAccessory value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("accessory_type").value(value.typeId);
+            out.name("name").value(value.name);
+            out.name("data").value(value.data);
+            out.name("enabled").value(value.enabled);
+            out.name("hidden").value(value.hidden);
+            out.endObject();
+        }
+
+        @Override
+        public BFAccessory read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            int typeId = 0;
+            String name = null;
+            String data = null;
+            String enabled = null;
+            String hidden = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "accessory_type":
+                        typeId = AdapterHelper.nextInt(in);
+                        break;
+                    case "name":
+                        name = AdapterHelper.nextString(in);
+                        break;
+                    case "data":
+                        data = AdapterHelper.nextString(in);
+                        break;
+                    case "enabled":
+                        enabled = AdapterHelper.nextString(in);
+                        break;
+                    case "hidden":
+                        hidden = AdapterHelper.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFAccessory(id, typeId, name, data, "1".equals(enabled), "1".equals(hidden));
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.function.Function;
 /**
  * <p>A single type of accessory that has been queried from the Battlefields API.</p>
  *
@@ -55,4 +61,88 @@ public class BFAccessoryType
                 ", name='" + name + '\'' +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#ACCESSORY_TYPES} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFAccessoryType>
+    {
+        ID("id", Integer.class, BFAccessoryType::getId),
+        NAME("name", String.class, BFAccessoryType::getName);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFAccessoryType, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFAccessoryType, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFAccessoryType row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFAccessoryType} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFAccessoryType>
+    {
+        @Override
+        public void write(JsonWriter out, BFAccessoryType value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("name").value(value.name);
+            out.endObject();
+        }
+
+        @Override
+        public BFAccessoryType read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            String name = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "name":
+                        name = AdapterHelper.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFAccessoryType(id, name);
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package io.github.tastac.bfj.components;
+
+/**
+ * <p>A column of a table in the Battlefields API that a {@link BFQuery} can search by.</p>
+ *
+ * @param <T> The type of row the column is part of
+ * @author Ocelot
+ */
+public interface BFColumn<T>
+{
+    /**
+     * @return The name of this column when searching
+     */
+    String getName();
+
+    /**
+     * @return The type of value in this column. One of {@link Integer}, {@link Long}, {@link Double}, {@link Boolean}, {@link String} or {@link BFUuid}
+     */
+    Class<?> getType();
+
+    /**
+     * Retrieves the value of this column from a row.
+     *
+     * @param row The row to get the value from
+     * @return The value of this column in the row
+     */
+    Object getValue(T row);
+}
@@ -1,5 +1,11 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.function.Function;
 /**
  * <p>Information about an emote in-game that has been queried from the Battlefields API.</p>
  *
@@ -66,4 +72,94 @@ public class BFEmote
                 ", enabled=" + this.isEnabled() +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#EMOTES} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFEmote>
+    {
+        ID("id", Integer.class, BFEmote::getId),
+        NAME("name", String.class, BFEmote::getName),
+        ENABLED("enabled", Boolean.class, BFEmote::isEnabled);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFEmote, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFEmote, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFEmote row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFEmote} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFEmote>
+    {
+        @Override
+        public void write(JsonWriter out, BFEmote value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("name").value(value.name);
+            out.name("enabled").value(value.enabled);
+            out.endObject();
+        }
+
+        @Override
+        public BFEmote read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            String name = null;
+            String enabled = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "name":
+                        name = AdapterHelper.nextString(in);
+                        break;
+                    case "enabled":
+                        enabled = AdapterHelper.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFEmote(id, name, "1".equals(enabled));
+        }
+    }
 }
@@ -1,6 +1,13 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
+
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>A count of kills for a player that has been queried from the Battlefields API.</p>
@@ -9,10 +16,15 @@ import java.util.Objects;
  */
 public class BFKill
 {
-    private final String uuid;
+    private final BFUuid uuid;
     private final int kills;
 
     public BFKill(String uuid, int kills)
+    {
+        this(BFUuid.fromString(uuid), kills);
+    }
+
+    public BFKill(BFUuid uuid, int kills)
     {
         this.uuid = uuid;
         this.kills = kills;
@@ -22,6 +34,14 @@ public class BFKill
      * @return The id of the player with the kills
      */
     public String getUuid()
+    {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    /**
+     * @return The UUID of the player in its compact form
+     */
+    public BFUuid getCompactUuid()
     {
         return uuid;
     }
@@ -41,7 +61,7 @@ public class BFKill
         if (o == null || getClass() != o.getClass()) return false;
         BFKill bfKill = (BFKill) o;
         return this.kills == bfKill.kills &&
-                this.uuid.equals(bfKill.uuid);
+                Objects.equals(this.uuid, bfKill.uuid);
     }
 
     @Override
@@ -58,4 +78,103 @@ public class BFKill
                 ", kills=" + this.kills +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#KILLS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFKill>
+    {
+        UUID("uuid", BFUuid.class, BFKill::getCompactUuid),
+        KILLS("kills", Integer.class, BFKill::getKills);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFKill, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFKill, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFKill row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFKill} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFKill>
+    {
+        private final BattlefieldsInterner interner;
+
+        public Adapter()
+        {
+            this(null);
+        }
+
+        /**
+         * @param interner The table to share UUIDs through or <code>null</code> to not share them
+         */
+        public Adapter(BattlefieldsInterner interner)
+        {
+            this.interner = interner;
+        }
+
+        @Override
+        public void write(JsonWriter out, BFKill value) throws IOException
+        {
+            out.beginObject();
+            out.name("uuid").value(value.uuid != null ? value.uuid.toString() : null);
+            out.name("kills").value(value.kills);
+            out.endObject();
+        }
+
+        @Override
+        public BFKill read(JsonReader in) throws IOException
+        {
+            BFUuid uuid = null;
+            int kills = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "uuid":
+                        uuid = AdapterHelper.nextUuid(in, this.interner);
+                        break;
+                    case "kills":
+                        kills = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFKill(uuid, kills);
+        }
+    }
 }
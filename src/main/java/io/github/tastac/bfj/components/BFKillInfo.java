@@ -1,6 +1,12 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.function.Function;
 
 /**
  * <p>Information about an kill in-game that has been queried from the Battlefields API.</p>
@@ -162,4 +168,142 @@ public class BFKillInfo
                 ", targetPos=(" + this.targetPosX + ", " + this.targetPosY + ", " + this.targetPosZ + ")" +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#MATCH_KILLS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFKillInfo>
+    {
+        ID("id", Integer.class, BFKillInfo::getId),
+        MATCH_ID("match_id", Integer.class, BFKillInfo::getMatchId),
+        SOURCE_PLAYER("source_player", Integer.class, BFKillInfo::getSourcePlayerId),
+        TARGET_PLAYER("target_player", Integer.class, BFKillInfo::getTargetPlayerId),
+        WEAPON("weapon", Integer.class, BFKillInfo::getWeaponId),
+        SOURCE_X("source_x", Double.class, BFKillInfo::getSourcePosX),
+        SOURCE_Y("source_y", Double.class, BFKillInfo::getSourcePosY),
+        SOURCE_Z("source_z", Double.class, BFKillInfo::getSourcePosZ),
+        TARGET_X("target_x", Double.class, BFKillInfo::getTargetPosX),
+        TARGET_Y("target_y", Double.class, BFKillInfo::getTargetPosY),
+        TARGET_Z("target_z", Double.class, BFKillInfo::getTargetPosZ);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFKillInfo, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFKillInfo, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFKillInfo row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFKillInfo} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFKillInfo>
+    {
+        @Override
+        public void write(JsonWriter out, BFKillInfo value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("match_id").value(value.matchId);
+            out.name("source_player").value(value.sourcePlayerId);
+            out.name("target_player").value(value.targetPlayerId);
+            out.name("weapon").value(value.weaponId);
+            out.name("source_x").value(value.sourcePosX);
+            out.name("source_y").value(value.sourcePosY);
+            out.name("source_z").value(value.sourcePosZ);
+            out.name("target_x").value(value.targetPosX);
+            out.name("target_y").value(value.targetPosY);
+            out.name("target_z").value(value.targetPosZ);
+            out.endObject();
+        }
+
+        @Override
+        public BFKillInfo read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            int matchId = 0;
+            int sourcePlayerId = 0;
+            int targetPlayerId = 0;
+            int weaponId = 0;
+            double sourcePosX = 0;
+            double sourcePosY = 0;
+            double sourcePosZ = 0;
+            double targetPosX = 0;
+            double targetPosY = 0;
+            double targetPosZ = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "match_id":
+                        matchId = AdapterHelper.nextInt(in);
+                        break;
+                    case "source_player":
+                        sourcePlayerId = AdapterHelper.nextInt(in);
+                        break;
+                    case "target_player":
+                        targetPlayerId = AdapterHelper.nextInt(in);
+                        break;
+                    case "weapon":
+                        weaponId = AdapterHelper.nextInt(in);
+                        break;
+                    case "source_x":
+                        sourcePosX = AdapterHelper.nextDouble(in);
+                        break;
+                    case "source_y":
+                        sourcePosY = AdapterHelper.nextDouble(in);
+                        break;
+                    case "source_z":
+                        sourcePosZ = AdapterHelper.nextDouble(in);
+                        break;
+                    case "target_x":
+                        targetPosX = AdapterHelper.nextDouble(in);
+                        break;
+                    case "target_y":
+                        targetPosY = AdapterHelper.nextDouble(in);
+                        break;
+                    case "target_z":
+                        targetPosZ = AdapterHelper.nextDouble(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFKillInfo(id, matchId, sourcePlayerId, targetPlayerId, weaponId, sourcePosX, sourcePosY, sourcePosZ, targetPosX, targetPosY, targetPosZ);
+        }
+    }
 }
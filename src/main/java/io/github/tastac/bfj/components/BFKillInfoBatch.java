@@ -0,0 +1,491 @@
+package io.github.tastac.bfj.components;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>A batch of {@link BFKillInfo} that has been queried from the Battlefields API, stored as one primitive array per field instead of one object per kill.</p>
+ * <p>Kills can be read by index or through a reusable {@link Cursor} so large batches can be scanned without creating any objects.</p>
+ *
+ * @author Ocelot
+ */
+public class BFKillInfoBatch
+{
+    /**
+     * A batch that contains no kills.
+     */
+    public static final BFKillInfoBatch EMPTY = new BFKillInfoBatch(0);
+
+    private final int size;
+    private final int[] ids;
+    private final int[] matchIds;
+    private final int[] sourcePlayerIds;
+    private final int[] targetPlayerIds;
+    private final int[] weaponIds;
+    private final double[] sourcePosX;
+    private final double[] sourcePosY;
+    private final double[] sourcePosZ;
+    private final double[] targetPosX;
+    private final double[] targetPosY;
+    private final double[] targetPosZ;
+
+    private BFKillInfoBatch(int capacity)
+    {
+        this(capacity, new int[capacity], new int[capacity], new int[capacity], new int[capacity], new int[capacity], new double[capacity], new double[capacity], new double[capacity], new double[capacity], new double[capacity], new double[capacity]);
+    }
+
+    private BFKillInfoBatch(int size, int[] ids, int[] matchIds, int[] sourcePlayerIds, int[] targetPlayerIds, int[] weaponIds, double[] sourcePosX, double[] sourcePosY, double[] sourcePosZ, double[] targetPosX, double[] targetPosY, double[] targetPosZ)
+    {
+        this.size = size;
+        this.ids = ids;
+        this.matchIds = matchIds;
+        this.sourcePlayerIds = sourcePlayerIds;
+        this.targetPlayerIds = targetPlayerIds;
+        this.weaponIds = weaponIds;
+        this.sourcePosX = sourcePosX;
+        this.sourcePosY = sourcePosY;
+        this.sourcePosZ = sourcePosZ;
+        this.targetPosX = targetPosX;
+        this.targetPosY = targetPosY;
+        this.targetPosZ = targetPosZ;
+    }
+
+    /**
+     * Creates a new batch out of the specified kills.
+     *
+     * @param kills The kills to store
+     * @return A batch containing all kills in the same order
+     */
+    public static BFKillInfoBatch of(BFKillInfo... kills)
+    {
+        BFKillInfoBatch batch = new BFKillInfoBatch(kills.length);
+        for (int i = 0; i < kills.length; i++)
+        {
+            BFKillInfo kill = kills[i];
+            batch.ids[i] = kill.getId();
+            batch.matchIds[i] = kill.getMatchId();
+            batch.sourcePlayerIds[i] = kill.getSourcePlayerId();
+            batch.targetPlayerIds[i] = kill.getTargetPlayerId();
+            batch.weaponIds[i] = kill.getWeaponId();
+            batch.sourcePosX[i] = kill.getSourcePosX();
+            batch.sourcePosY[i] = kill.getSourcePosY();
+            batch.sourcePosZ[i] = kill.getSourcePosZ();
+            batch.targetPosX[i] = kill.getTargetPosX();
+            batch.targetPosY[i] = kill.getTargetPosY();
+            batch.targetPosZ[i] = kill.getTargetPosZ();
+        }
+        return batch;
+    }
+
+    private BFKillInfoBatch resize(int size)
+    {
+        if (size == this.size && size == this.ids.length)
+            return this;
+        return new BFKillInfoBatch(size, Arrays.copyOf(this.ids, size), Arrays.copyOf(this.matchIds, size), Arrays.copyOf(this.sourcePlayerIds, size), Arrays.copyOf(this.targetPlayerIds, size), Arrays.copyOf(this.weaponIds, size), Arrays.copyOf(this.sourcePosX, size), Arrays.copyOf(this.sourcePosY, size), Arrays.copyOf(this.sourcePosZ, size), Arrays.copyOf(this.targetPosX, size), Arrays.copyOf(this.targetPosY, size), Arrays.copyOf(this.targetPosZ, size));
+    }
+
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+
+    /**
+     * @return The amount of kills in this batch
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return Whether or not this batch contains no kills
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The id of the kill at the specified index
+     */
+    public int getId(int index)
+    {
+        this.checkIndex(index);
+        return this.ids[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The id of the match the kill at the specified index took place in
+     */
+    public int getMatchId(int index)
+    {
+        this.checkIndex(index);
+        return this.matchIds[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The id of the player that killed the target player
+     */
+    public int getSourcePlayerId(int index)
+    {
+        this.checkIndex(index);
+        return this.sourcePlayerIds[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The id of the player that was killed by the source player
+     */
+    public int getTargetPlayerId(int index)
+    {
+        this.checkIndex(index);
+        return this.targetPlayerIds[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The id of the weapon used to kill the target player
+     */
+    public int getWeaponId(int index)
+    {
+        this.checkIndex(index);
+        return this.weaponIds[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The exact x position where the source player was when the kill took place
+     */
+    public double getSourcePosX(int index)
+    {
+        this.checkIndex(index);
+        return this.sourcePosX[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The exact y position where the source player was when the kill took place
+     */
+    public double getSourcePosY(int index)
+    {
+        this.checkIndex(index);
+        return this.sourcePosY[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The exact z position where the source player was when the kill took place
+     */
+    public double getSourcePosZ(int index)
+    {
+        this.checkIndex(index);
+        return this.sourcePosZ[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The exact x position where the target player was when the kill took place
+     */
+    public double getTargetPosX(int index)
+    {
+        this.checkIndex(index);
+        return this.targetPosX[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The exact y position where the target player was when the kill took place
+     */
+    public double getTargetPosY(int index)
+    {
+        this.checkIndex(index);
+        return this.targetPosY[index];
+    }
+
+    /**
+     * @param index The index of the kill
+     * @return The exact z position where the target player was when the kill took place
+     */
+    public double getTargetPosZ(int index)
+    {
+        this.checkIndex(index);
+        return this.targetPosZ[index];
+    }
+
+    /**
+     * Creates a new object for the kill at the specified index.
+     *
+     * @param index The index of the kill
+     * @return The kill at that index
+     */
+    public BFKillInfo get(int index)
+    {
+        this.checkIndex(index);
+        return new BFKillInfo(this.ids[index], this.matchIds[index], this.sourcePlayerIds[index], this.targetPlayerIds[index], this.weaponIds[index], this.sourcePosX[index], this.sourcePosY[index], this.sourcePosZ[index], this.targetPosX[index], this.targetPosY[index], this.targetPosZ[index]);
+    }
+
+    /**
+     * @return A new array containing an object for every kill in this batch
+     */
+    public BFKillInfo[] toArray()
+    {
+        BFKillInfo[] kills = new BFKillInfo[this.size];
+        for (int i = 0; i < kills.length; i++)
+            kills[i] = this.get(i);
+        return kills;
+    }
+
+    /**
+     * @return A new cursor positioned before the first kill in this batch
+     */
+    public Cursor cursor()
+    {
+        return new Cursor();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BFKillInfoBatch{" +
+                "size=" + this.size +
+                '}';
+    }
+
+    /**
+     * <p>A reusable view of a single kill in a {@link BFKillInfoBatch}.</p>
+     *
+     * @author Ocelot
+     */
+    public class Cursor
+    {
+        private int index;
+
+        private Cursor()
+        {
+            this.index = -1;
+        }
+
+        /**
+         * Moves this cursor to the next kill.
+         *
+         * @return Whether or not there was another kill to move to
+         */
+        public boolean next()
+        {
+            if (this.index >= size)
+                return false;
+            return ++this.index < size;
+        }
+
+        /**
+         * Moves this cursor to the specified kill.
+         *
+         * @param index The index of the kill to move to
+         * @return This cursor
+         */
+        public Cursor moveTo(int index)
+        {
+            checkIndex(index);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * @return The index of the kill this cursor is at
+         */
+        public int getIndex()
+        {
+            return index;
+        }
+
+        /**
+         * @return The id id this specific kill
+         */
+        public int getId()
+        {
+            return ids[this.index];
+        }
+
+        /**
+         * @return The id of the match this kill took place in
+         */
+        public int getMatchId()
+        {
+            return matchIds[this.index];
+        }
+
+        /**
+         * @return The id of the player that killed the target player
+         */
+        public int getSourcePlayerId()
+        {
+            return sourcePlayerIds[this.index];
+        }
+
+        /**
+         * @return The id of the player that was killed by the source player
+         */
+        public int getTargetPlayerId()
+        {
+            return targetPlayerIds[this.index];
+        }
+
+        /**
+         * @return The id of the weapon used to kill the target player
+         */
+        public int getWeaponId()
+        {
+            return weaponIds[this.index];
+        }
+
+        /**
+         * @return The exact x position where the source player was when the kill took place
+         */
+        public double getSourcePosX()
+        {
+            return sourcePosX[this.index];
+        }
+
+        /**
+         * @return The exact y position where the source player was when the kill took place
+         */
+        public double getSourcePosY()
+        {
+            return sourcePosY[this.index];
+        }
+
+        /**
+         * @return The exact z position where the source player was when the kill took place
+         */
+        public double getSourcePosZ()
+        {
+            return sourcePosZ[this.index];
+        }
+
+        /**
+         * @return The exact x position where the target player was when the kill took place
+         */
+        public double getTargetPosX()
+        {
+            return targetPosX[this.index];
+        }
+
+        /**
+         * @return The exact y position where the target player was when the kill took place
+         */
+        public double getTargetPosY()
+        {
+            return targetPosY[this.index];
+        }
+
+        /**
+         * @return The exact z position where the target player was when the kill took place
+         */
+        public double getTargetPosZ()
+        {
+            return targetPosZ[this.index];
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFKillInfoBatch} directly from a JSON array of kills.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFKillInfoBatch>
+    {
+        @Override
+        public void write(JsonWriter out, BFKillInfoBatch value) throws IOException
+        {
+            out.beginArray();
+            for (int i = 0; i < value.size; i++)
+            {
+                out.beginObject();
+                out.name("id").value(value.ids[i]);
+                out.name("match_id").value(value.matchIds[i]);
+                out.name("source_player").value(value.sourcePlayerIds[i]);
+                out.name("target_player").value(value.targetPlayerIds[i]);
+                out.name("weapon").value(value.weaponIds[i]);
+                out.name("source_x").value(value.sourcePosX[i]);
+                out.name("source_y").value(value.sourcePosY[i]);
+                out.name("source_z").value(value.sourcePosZ[i]);
+                out.name("target_x").value(value.targetPosX[i]);
+                out.name("target_y").value(value.targetPosY[i]);
+                out.name("target_z").value(value.targetPosZ[i]);
+                out.endObject();
+            }
+            out.endArray();
+        }
+
+        @Override
+        public BFKillInfoBatch read(JsonReader in) throws IOException
+        {
+            BFKillInfoBatch batch = new BFKillInfoBatch(64);
+            int size = 0;
+
+            in.beginArray();
+            while (in.hasNext())
+            {
+                if (size == batch.ids.length)
+                    batch = batch.resize(size * 2);
+
+                in.beginObject();
+                while (in.hasNext())
+                {
+                    switch (in.nextName())
+                    {
+                        case "id":
+                            batch.ids[size] = AdapterHelper.nextInt(in);
+                            break;
+                        case "match_id":
+                            batch.matchIds[size] = AdapterHelper.nextInt(in);
+                            break;
+                        case "source_player":
+                            batch.sourcePlayerIds[size] = AdapterHelper.nextInt(in);
+                            break;
+                        case "target_player":
+                            batch.targetPlayerIds[size] = AdapterHelper.nextInt(in);
+                            break;
+                        case "weapon":
+                            batch.weaponIds[size] = AdapterHelper.nextInt(in);
+                            break;
+                        case "source_x":
+                            batch.sourcePosX[size] = AdapterHelper.nextDouble(in);
+                            break;
+                        case "source_y":
+                            batch.sourcePosY[size] = AdapterHelper.nextDouble(in);
+                            break;
+                        case "source_z":
+                            batch.sourcePosZ[size] = AdapterHelper.nextDouble(in);
+                            break;
+                        case "target_x":
+                            batch.targetPosX[size] = AdapterHelper.nextDouble(in);
+                            break;
+                        case "target_y":
+                            batch.targetPosY[size] = AdapterHelper.nextDouble(in);
+                            break;
+                        case "target_z":
+                            batch.targetPosZ[size] = AdapterHelper.nextDouble(in);
+                            break;
+                        default:
+                            in.skipValue();
+                            break;
+                    }
+                }
+                in.endObject();
+                size++;
+            }
+            in.endArray();
+
+            return batch.resize(size);
+        }
+    }
+}
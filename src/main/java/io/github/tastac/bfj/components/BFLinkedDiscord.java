@@ -1,8 +1,14 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>A linked minecraft and discord that has been queried from the Battlefields API.</p>
@@ -11,17 +17,30 @@ import java.util.Objects;
  */
 public class BFLinkedDiscord
 {
-    private final String uuid;
+    private final BFUuid uuid;
     @SerializedName("discord_id")
     private final long discordId;
 
     public BFLinkedDiscord(String uuid, long discordId)
+    {
+        this(BFUuid.fromString(uuid), discordId);
+    }
+
+    public BFLinkedDiscord(BFUuid uuid, long discordId)
     {
         this.uuid = uuid;
         this.discordId = discordId;
     }
 
     public String getUUID()
+    {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    /**
+     * @return The UUID of the player in its compact form
+     */
+    public BFUuid getCompactUuid()
     {
         return uuid;
     }
@@ -38,7 +57,7 @@ public class BFLinkedDiscord
         if (o == null || getClass() != o.getClass()) return false;
         BFLinkedDiscord that = (BFLinkedDiscord) o;
         return this.discordId == that.discordId &&
-                this.uuid.equals(that.uuid);
+                Objects.equals(this.uuid, that.uuid);
     }
 
     @Override
@@ -55,4 +74,103 @@ public class BFLinkedDiscord
                 ", discordId=" + this.discordId +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#LINKED_DISCORD} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFLinkedDiscord>
+    {
+        UUID("uuid", BFUuid.class, BFLinkedDiscord::getCompactUuid),
+        DISCORD_ID("discord_id", Long.class, BFLinkedDiscord::getDiscordId);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFLinkedDiscord, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFLinkedDiscord, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFLinkedDiscord row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFLinkedDiscord} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFLinkedDiscord>
+    {
+        private final BattlefieldsInterner interner;
+
+        public Adapter()
+        {
+            this(null);
+        }
+
+        /**
+         * @param interner The table to share UUIDs through or <code>null</code> to not share them
+         */
+        public Adapter(BattlefieldsInterner interner)
+        {
+            this.interner = interner;
+        }
+
+        @Override
+        public void write(JsonWriter out, BFLinkedDiscord value) throws IOException
+        {
+            out.beginObject();
+            out.name("uuid").value(value.uuid != null ? value.uuid.toString() : null);
+            out.name("discord_id").value(value.discordId);
+            out.endObject();
+        }
+
+        @Override
+        public BFLinkedDiscord read(JsonReader in) throws IOException
+        {
+            BFUuid uuid = null;
+            long discordId = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "uuid":
+                        uuid = AdapterHelper.nextUuid(in, this.interner);
+                        break;
+                    case "discord_id":
+                        discordId = AdapterHelper.nextLong(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFLinkedDiscord(uuid, discordId);
+        }
+    }
 }
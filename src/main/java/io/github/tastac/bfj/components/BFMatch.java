@@ -1,5 +1,11 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.function.Function;
 /**
  * <p>Information about a match in-game that has been queried from the Battlefields API.</p>
  *
@@ -12,6 +18,9 @@ public class BFMatch
     private final String startDate;
     private final String endDate;
     private final int winningPlayerId;
+    private final long startTime;
+    private final long endTime;
+    private final long duration;
 
     public BFMatch(int id, int number, String startDate, String endDate, int winningPlayerId)
     {
@@ -20,6 +29,9 @@ public class BFMatch
         this.startDate = startDate;
         this.endDate = endDate;
         this.winningPlayerId = winningPlayerId;
+        this.startTime = AdapterHelper.parseTimestamp(startDate);
+        this.endTime = AdapterHelper.parseTimestamp(endDate);
+        this.duration = this.startTime != 0 && this.endTime >= this.startTime ? this.endTime - this.startTime : 0;
     }
 
     /**
@@ -54,6 +66,34 @@ public class BFMatch
         return endDate;
     }
 
+    /**
+     * The start date is read as UTC unless it specifies an offset.
+     *
+     * @return The time this match started in milliseconds since the epoch or <code>0</code> if the start date is unknown
+     */
+    public long getStartTime()
+    {
+        return startTime;
+    }
+
+    /**
+     * The end date is read as UTC unless it specifies an offset.
+     *
+     * @return The time this match ended in milliseconds since the epoch or <code>0</code> if the match has not ended or the end date is unknown
+     */
+    public long getEndTime()
+    {
+        return endTime;
+    }
+
+    /**
+     * @return The length of this match in milliseconds or <code>0</code> if the match has not ended or either date is unknown
+     */
+    public long getDuration()
+    {
+        return duration;
+    }
+
     /**
      * @return The id of the player that won
      */
@@ -88,4 +128,106 @@ public class BFMatch
                 ", winningPlayer=" + this.winningPlayerId +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#MATCHES} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFMatch>
+    {
+        ID("id", Integer.class, BFMatch::getId),
+        NUMBER("number", Integer.class, BFMatch::getNumber),
+        START_DATE("startDate", String.class, BFMatch::getStartDate),
+        END_DATE("endDate", String.class, BFMatch::getEndDate),
+        WINNING_PLAYER_ID("winningPlayerId", Integer.class, BFMatch::getWinningPlayerId);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFMatch, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFMatch, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFMatch row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFMatch} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFMatch>
+    {
+        @Override
+        public void write(JsonWriter out, BFMatch value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("number").value(value.number);
+            out.name("startDate").value(value.startDate);
+            out.name("endDate").value(value.endDate);
+            out.name("winningPlayerId").value(value.winningPlayerId);
+            out.endObject();
+        }
+
+        @Override
+        public BFMatch read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            int number = 0;
+            String startDate = null;
+            String endDate = null;
+            int winningPlayerId = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "number":
+                        number = AdapterHelper.nextInt(in);
+                        break;
+                    case "startDate":
+                        startDate = AdapterHelper.nextString(in);
+                        break;
+                    case "endDate":
+                        endDate = AdapterHelper.nextString(in);
+                        break;
+                    case "winningPlayerId":
+                        winningPlayerId = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFMatch(id, number, startDate, endDate, winningPlayerId);
+        }
+    }
 }
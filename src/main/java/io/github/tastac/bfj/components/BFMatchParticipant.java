@@ -1,8 +1,13 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>A player in a single match that has been queried from the Battlefields API.</p>
@@ -62,4 +67,88 @@ public class BFMatchParticipant
                 ", playerId=" + this.playerId +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#MATCH_PARTICIPANTS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFMatchParticipant>
+    {
+        MATCH_ID("match_id", Integer.class, BFMatchParticipant::getMatchId),
+        PLAYER_ID("player_id", Integer.class, BFMatchParticipant::getPlayerId);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFMatchParticipant, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFMatchParticipant, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFMatchParticipant row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFMatchParticipant} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFMatchParticipant>
+    {
+        @Override
+        public void write(JsonWriter out, BFMatchParticipant value) throws IOException
+        {
+            out.beginObject();
+            out.name("match_id").value(value.matchId);
+            out.name("player_id").value(value.playerId);
+            out.endObject();
+        }
+
+        @Override
+        public BFMatchParticipant read(JsonReader in) throws IOException
+        {
+            int matchId = 0;
+            int playerId = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "match_id":
+                        matchId = AdapterHelper.nextInt(in);
+                        break;
+                    case "player_id":
+                        playerId = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFMatchParticipant(matchId, playerId);
+        }
+    }
 }
@@ -1,8 +1,14 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>A single owned accessory for a player that has been queried from the Battlefields API.</p>
@@ -11,11 +17,16 @@ import java.util.Objects;
  */
 public class BFOwnedAccessory
 {
-    private final String uuid;
+    private final BFUuid uuid;
     @SerializedName("accessory_id")
     private final int accessoryId;
 
     public BFOwnedAccessory(String uuid, int accessoryId)
+    {
+        this(BFUuid.fromString(uuid), accessoryId);
+    }
+
+    public BFOwnedAccessory(BFUuid uuid, int accessoryId)
     {
         this.uuid = uuid;
         this.accessoryId = accessoryId;
@@ -25,6 +36,14 @@ public class BFOwnedAccessory
      * @return The id of the player with the accessory
      */
     public String getUuid()
+    {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    /**
+     * @return The UUID of the player in its compact form
+     */
+    public BFUuid getCompactUuid()
     {
         return uuid;
     }
@@ -44,7 +63,7 @@ public class BFOwnedAccessory
         if (o == null || getClass() != o.getClass()) return false;
         BFOwnedAccessory bfKill = (BFOwnedAccessory) o;
         return this.accessoryId == bfKill.accessoryId &&
-                this.uuid.equals(bfKill.uuid);
+                Objects.equals(this.uuid, bfKill.uuid);
     }
 
     @Override
@@ -61,4 +80,103 @@ public class BFOwnedAccessory
                 ", accessoryId=" + this.accessoryId +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#OWNED_ACCESSORIES} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFOwnedAccessory>
+    {
+        UUID("uuid", BFUuid.class, BFOwnedAccessory::getCompactUuid),
+        ACCESSORY_ID("accessory_id", Integer.class, BFOwnedAccessory::getAccessoryId);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFOwnedAccessory, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFOwnedAccessory, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFOwnedAccessory row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFOwnedAccessory} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFOwnedAccessory>
+    {
+        private final BattlefieldsInterner interner;
+
+        public Adapter()
+        {
+            this(null);
+        }
+
+        /**
+         * @param interner The table to share UUIDs through or <code>null</code> to not share them
+         */
+        public Adapter(BattlefieldsInterner interner)
+        {
+            this.interner = interner;
+        }
+
+        @Override
+        public void write(JsonWriter out, BFOwnedAccessory value) throws IOException
+        {
+            out.beginObject();
+            out.name("uuid").value(value.uuid != null ? value.uuid.toString() : null);
+            out.name("accessory_id").value(value.accessoryId);
+            out.endObject();
+        }
+
+        @Override
+        public BFOwnedAccessory read(JsonReader in) throws IOException
+        {
+            BFUuid uuid = null;
+            int accessoryId = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "uuid":
+                        uuid = AdapterHelper.nextUuid(in, this.interner);
+                        break;
+                    case "accessory_id":
+                        accessoryId = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFOwnedAccessory(uuid, accessoryId);
+        }
+    }
 }
@@ -1,8 +1,14 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>A single owned emote for a player that has been queried from the Battlefields API.</p>
@@ -11,11 +17,16 @@ import java.util.Objects;
  */
 public class BFOwnedEmote
 {
-    private final String uuid;
+    private final BFUuid uuid;
     @SerializedName("emote_id")
     private final int emoteId;
 
     public BFOwnedEmote(String uuid, int emoteId)
+    {
+        this(BFUuid.fromString(uuid), emoteId);
+    }
+
+    public BFOwnedEmote(BFUuid uuid, int emoteId)
     {
         this.uuid = uuid;
         this.emoteId = emoteId;
@@ -25,6 +36,14 @@ public class BFOwnedEmote
      * @return The id of the player with the emote
      */
     public String getUuid()
+    {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    /**
+     * @return The UUID of the player in its compact form
+     */
+    public BFUuid getCompactUuid()
     {
         return uuid;
     }
@@ -44,7 +63,7 @@ public class BFOwnedEmote
         if (o == null || getClass() != o.getClass()) return false;
         BFOwnedEmote bfKill = (BFOwnedEmote) o;
         return this.emoteId == bfKill.emoteId &&
-                this.uuid.equals(bfKill.uuid);
+                Objects.equals(this.uuid, bfKill.uuid);
     }
 
     @Override
@@ -61,4 +80,103 @@ public class BFOwnedEmote
                 ", emoteId=" + this.emoteId +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#OWNED_EMOTES} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFOwnedEmote>
+    {
+        UUID("uuid", BFUuid.class, BFOwnedEmote::getCompactUuid),
+        EMOTE_ID("emote_id", Integer.class, BFOwnedEmote::getEmoteId);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFOwnedEmote, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFOwnedEmote, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFOwnedEmote row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFOwnedEmote} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFOwnedEmote>
+    {
+        private final BattlefieldsInterner interner;
+
+        public Adapter()
+        {
+            this(null);
+        }
+
+        /**
+         * @param interner The table to share UUIDs through or <code>null</code> to not share them
+         */
+        public Adapter(BattlefieldsInterner interner)
+        {
+            this.interner = interner;
+        }
+
+        @Override
+        public void write(JsonWriter out, BFOwnedEmote value) throws IOException
+        {
+            out.beginObject();
+            out.name("uuid").value(value.uuid != null ? value.uuid.toString() : null);
+            out.name("emote_id").value(value.emoteId);
+            out.endObject();
+        }
+
+        @Override
+        public BFOwnedEmote read(JsonReader in) throws IOException
+        {
+            BFUuid uuid = null;
+            int emoteId = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "uuid":
+                        uuid = AdapterHelper.nextUuid(in, this.interner);
+                        break;
+                    case "emote_id":
+                        emoteId = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFOwnedEmote(uuid, emoteId);
+        }
+    }
 }
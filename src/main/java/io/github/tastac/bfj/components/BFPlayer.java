@@ -1,8 +1,14 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>Information about a player in-game that has been queried from the Battlefields API.</p>
@@ -12,17 +18,24 @@ import java.util.Objects;
 public class BFPlayer
 {
     private final int id;
-    private final String uuid;
+    private final BFUuid uuid;
     private final String username;
     @SerializedName("last_seen")
     private final String lastSeen;
+    private final long lastSeenTime;
 
     public BFPlayer(int id, String uuid, String username, String lastSeen)
+    {
+        this(id, BFUuid.fromString(uuid), username, lastSeen);
+    }
+
+    public BFPlayer(int id, BFUuid uuid, String username, String lastSeen)
     {
         this.id = id;
         this.uuid = uuid;
         this.username = username;
         this.lastSeen = lastSeen;
+        this.lastSeenTime = AdapterHelper.parseTimestamp(lastSeen);
     }
 
     /**
@@ -37,6 +50,14 @@ public class BFPlayer
      * @return The universally unique identifier of this player
      */
     public String getUUID()
+    {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    /**
+     * @return The UUID of the player in its compact form
+     */
+    public BFUuid getCompactUuid()
     {
         return uuid;
     }
@@ -57,13 +78,23 @@ public class BFPlayer
         return lastSeen;
     }
 
+    /**
+     * The last seen date is read as UTC unless it specifies an offset.
+     *
+     * @return The last time this player was seen on the server in milliseconds since the epoch or <code>0</code> if it is unknown
+     */
+    public long getLastSeenTime()
+    {
+        return lastSeenTime;
+    }
+
     @Override
     public boolean equals(Object o)
     {
         if (this == o) return true;
         if (!(o instanceof BFPlayer)) return false;
         BFPlayer bfPlayer = (BFPlayer) o;
-        return this.id == bfPlayer.id && this.uuid.equals(bfPlayer.uuid);
+        return this.id == bfPlayer.id && Objects.equals(this.uuid, bfPlayer.uuid);
     }
 
     @Override
@@ -82,4 +113,115 @@ public class BFPlayer
                 ", lastSeen='" + this.lastSeen + '\'' +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#PLAYERS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFPlayer>
+    {
+        ID("id", Integer.class, BFPlayer::getId),
+        UUID("uuid", BFUuid.class, BFPlayer::getCompactUuid),
+        USERNAME("username", String.class, BFPlayer::getUsername),
+        LAST_SEEN("last_seen", String.class, BFPlayer::getLastSeen);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFPlayer, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFPlayer, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFPlayer row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFPlayer} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFPlayer>
+    {
+        private final BattlefieldsInterner interner;
+
+        public Adapter()
+        {
+            this(null);
+        }
+
+        /**
+         * @param interner The table to share UUIDs and usernames through or <code>null</code> to not share them
+         */
+        public Adapter(BattlefieldsInterner interner)
+        {
+            this.interner = interner;
+        }
+
+        @Override
+        public void write(JsonWriter out, BFPlayer value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("uuid").value(value.uuid != null ? value.uuid.toString() : null);
+            out.name("username").value(value.username);
+            out.name("last_seen").value(value.lastSeen);
+            out.endObject();
+        }
+
+        @Override
+        public BFPlayer read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            BFUuid uuid = null;
+            String username = null;
+            String lastSeen = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "uuid":
+                        uuid = AdapterHelper.nextUuid(in, this.interner);
+                        break;
+                    case "username":
+                        username = AdapterHelper.nextString(in, this.interner);
+                        break;
+                    case "last_seen":
+                        lastSeen = AdapterHelper.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFPlayer(id, uuid, username, lastSeen);
+        }
+    }
 }
@@ -0,0 +1,618 @@
+package io.github.tastac.bfj.components;
+
+import io.github.tastac.bfj.BattlefieldsApiTable;
+
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Array;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * <p>An immutable search of a single table in the Battlefields API.</p>
+ * <p>Conditions are kept in a canonical order, so two queries with the same conditions are equal and share a cache entry no matter what order the conditions were added in.
+ * The URL fragment sent to the API is encoded once when the query is built.</p>
+ * <p>The API can only search for rows where a column equals a value. Every other condition is checked against the rows the API returns, so queries that only differ by those conditions share the same request.</p>
+ *
+ * @param <T> The type of row the query returns
+ * @author Ocelot
+ */
+public final class BFQuery<T>
+{
+    private static final int MAXIMUM_BROADER_CONDITIONS = 8;
+
+    private final BattlefieldsApiTable table;
+    private final Class<T[]> type;
+    private final List<Condition<T>> conditions;
+    private final List<Condition<T>> localConditions;
+    private final List<Condition<T>> plannedConditions;
+    private final String remoteQuery;
+    private final String[] broaderQueries;
+    private final String key;
+
+    private BFQuery(BattlefieldsApiTable table, Class<T[]> type, List<Condition<T>> conditions)
+    {
+        this.table = table;
+        this.type = type;
+        this.conditions = Collections.unmodifiableList(conditions);
+
+        List<Condition<T>> remoteConditions = new ArrayList<>();
+        List<Condition<T>> localConditions = new ArrayList<>();
+        StringBuilder key = new StringBuilder();
+        for (Condition<T> condition : conditions)
+        {
+            if (condition.operator == Operator.EQUALS)
+            {
+                remoteConditions.add(condition);
+                continue;
+            }
+            localConditions.add(condition);
+            key.append('&').append(condition.encodedName).append(condition.operator.getSymbol()).append(condition.encodedValue);
+        }
+        this.localConditions = localConditions;
+        // Equality is usually the most selective, so it is checked first when filtering locally. Inexact equalities are part of every broader query, so the API has already checked them
+        this.plannedConditions = new ArrayList<>();
+        for (Condition<T> condition : remoteConditions)
+            if (condition.isExact())
+                this.plannedConditions.add(condition);
+        this.plannedConditions.addAll(localConditions);
+        this.remoteQuery = encode(remoteConditions, null);
+        this.broaderQueries = getBroaderQueries(remoteConditions);
+        this.key = this.remoteQuery + key;
+    }
+
+    private static String encode(List<? extends Condition<?>> conditions, boolean[] included)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < conditions.size(); i++)
+        {
+            if (included != null && !included[i])
+                continue;
+            Condition<?> condition = conditions.get(i);
+            builder.append('&').append(condition.encodedName).append('=').append(condition.encodedValue);
+        }
+        return builder.toString();
+    }
+
+    private static String[] getBroaderQueries(List<? extends Condition<?>> conditions)
+    {
+        // Only exact conditions can be left out, since the rows a broader query returns are checked against them locally
+        List<Integer> optional = new ArrayList<>();
+        for (int i = 0; i < conditions.size(); i++)
+            if (conditions.get(i).isExact())
+                optional.add(i);
+        if (optional.isEmpty())
+            return new String[0];
+
+        boolean[] included = new boolean[conditions.size()];
+        Arrays.fill(included, true);
+        if (optional.size() > MAXIMUM_BROADER_CONDITIONS)
+        {
+            for (int i : optional)
+                included[i] = false;
+            return new String[]{encode(conditions, included)};
+        }
+
+        // Every subset of the optional conditions leaves out at least one, so the full set is skipped
+        int subsets = (1 << optional.size()) - 1;
+        String[] queries = new String[subsets];
+        for (int mask = 0; mask < subsets; mask++)
+        {
+            for (int i = 0; i < optional.size(); i++)
+                included[optional.get(i)] = (mask & (1 << i)) != 0;
+            queries[mask] = encode(conditions, included);
+        }
+        return queries;
+    }
+
+    private static String encode(String value)
+    {
+        try
+        {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.toString());
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#KILLS}
+     */
+    public static Builder<BFKill> kills()
+    {
+        return new Builder<>(BattlefieldsApiTable.KILLS, BFKill[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#WINS}
+     */
+    public static Builder<BFWin> wins()
+    {
+        return new Builder<>(BattlefieldsApiTable.WINS, BFWin[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#PLAYERS}
+     */
+    public static Builder<BFPlayer> players()
+    {
+        return new Builder<>(BattlefieldsApiTable.PLAYERS, BFPlayer[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#MATCHES}
+     */
+    public static Builder<BFMatch> matches()
+    {
+        return new Builder<>(BattlefieldsApiTable.MATCHES, BFMatch[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#OWNED_ACCESSORIES}
+     */
+    public static Builder<BFOwnedAccessory> ownedAccessories()
+    {
+        return new Builder<>(BattlefieldsApiTable.OWNED_ACCESSORIES, BFOwnedAccessory[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#ACCESSORIES}
+     */
+    public static Builder<BFAccessory> accessories()
+    {
+        return new Builder<>(BattlefieldsApiTable.ACCESSORIES, BFAccessory[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#ACCESSORY_TYPES}
+     */
+    public static Builder<BFAccessoryType> accessoryTypes()
+    {
+        return new Builder<>(BattlefieldsApiTable.ACCESSORY_TYPES, BFAccessoryType[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#WEAPONS}
+     */
+    public static Builder<BFWeapon> weapons()
+    {
+        return new Builder<>(BattlefieldsApiTable.WEAPONS, BFWeapon[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#WEAPON_STATS}
+     */
+    public static Builder<BFWeaponStats> weaponStats()
+    {
+        return new Builder<>(BattlefieldsApiTable.WEAPON_STATS, BFWeaponStats[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#MATCH_PARTICIPANTS}
+     */
+    public static Builder<BFMatchParticipant> matchParticipants()
+    {
+        return new Builder<>(BattlefieldsApiTable.MATCH_PARTICIPANTS, BFMatchParticipant[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#MATCH_KILLS}
+     */
+    public static Builder<BFKillInfo> matchKills()
+    {
+        return new Builder<>(BattlefieldsApiTable.MATCH_KILLS, BFKillInfo[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#OWNED_EMOTES}
+     */
+    public static Builder<BFOwnedEmote> ownedEmotes()
+    {
+        return new Builder<>(BattlefieldsApiTable.OWNED_EMOTES, BFOwnedEmote[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#EMOTES}
+     */
+    public static Builder<BFEmote> emotes()
+    {
+        return new Builder<>(BattlefieldsApiTable.EMOTES, BFEmote[].class);
+    }
+
+    /**
+     * @return A new builder for a search of {@link BattlefieldsApiTable#LINKED_DISCORD}
+     */
+    public static Builder<BFLinkedDiscord> linkedDiscord()
+    {
+        return new Builder<>(BattlefieldsApiTable.LINKED_DISCORD, BFLinkedDiscord[].class);
+    }
+
+    /**
+     * Checks whether or not a row matches every condition of this query.
+     *
+     * @param row The row to check
+     * @return Whether or not the row matches
+     */
+    public boolean test(T row)
+    {
+        for (Condition<T> condition : this.conditions)
+            if (!condition.test(row))
+                return false;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] select(T[] rows, List<Condition<T>> conditions)
+    {
+        if (conditions.isEmpty() || rows == null)
+            return rows;
+
+        int[] selection = new int[rows.length];
+        for (int i = 0; i < selection.length; i++)
+            selection[i] = i;
+
+        // Each condition is checked against every remaining row before moving on, so every pass is a tight loop over a single column
+        int size = rows.length;
+        for (Condition<T> condition : conditions)
+        {
+            int kept = 0;
+            for (int i = 0; i < size; i++)
+            {
+                int index = selection[i];
+                if (condition.test(rows[index]))
+                    selection[kept++] = index;
+            }
+            size = kept;
+            if (size == 0)
+                break;
+        }
+
+        if (size == rows.length)
+            return rows;
+        T[] result = (T[]) Array.newInstance(this.type.getComponentType(), size);
+        for (int i = 0; i < size; i++)
+            result[i] = rows[selection[i]];
+        return result;
+    }
+
+    /**
+     * Removes the rows that do not match the conditions the API cannot check.
+     *
+     * @param rows The rows returned by the API for {@link #getRemoteQuery()}
+     * @return The rows that match this query. If every row matches, the same array is returned
+     */
+    public T[] filter(T[] rows)
+    {
+        return this.select(rows, this.localConditions);
+    }
+
+    /**
+     * Removes the rows that do not match this query from the complete result of one of {@link #getBroaderQueries()}. Every exact condition is checked, while inexact conditions are left to the API since every broader query includes them.
+     *
+     * @param rows The rows returned by the API for one of {@link #getBroaderQueries()}
+     * @return The rows that match this query. If every row matches, the same array is returned
+     */
+    public T[] filterAll(T[] rows)
+    {
+        return this.select(rows, this.plannedConditions);
+    }
+
+    /**
+     * @return The table this query searches
+     */
+    public BattlefieldsApiTable getTable()
+    {
+        return table;
+    }
+
+    /**
+     * @return The type of array rows are returned in
+     */
+    public Class<T[]> getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return Every condition of this query in canonical order
+     */
+    public List<Condition<T>> getConditions()
+    {
+        return conditions;
+    }
+
+    /**
+     * @return Whether or not every condition can be checked by the API
+     */
+    public boolean isRemote()
+    {
+        return this.localConditions.isEmpty();
+    }
+
+    /**
+     * @return The encoded URL fragment for the conditions the API can check, starting with <code>&amp;</code> or empty if there are none
+     */
+    public String getRemoteQuery()
+    {
+        return remoteQuery;
+    }
+
+    /**
+     * @return The encoded URL fragments of every query that leaves out at least one of the exact conditions the API can check. Each returns every row this query returns, so their complete results can be filtered with {@link #filterAll(Object[])} instead of making a new request
+     */
+    public String[] getBroaderQueries()
+    {
+        return this.broaderQueries.clone();
+    }
+
+    /**
+     * @return A key that is the same for every query with the same conditions
+     */
+    public String getKey()
+    {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BFQuery<?> bfQuery = (BFQuery<?>) o;
+        return this.table == bfQuery.table && this.key.equals(bfQuery.key);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(this.table, this.key);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.table.getTable() + "-" + this.key;
+    }
+
+    /**
+     * <p>The ways a column can be compared to a value.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Operator
+    {
+        EQUALS("="),
+        NOT_EQUALS("!="),
+        LESS_THAN("<"),
+        LESS_THAN_OR_EQUAL("<="),
+        GREATER_THAN(">"),
+        GREATER_THAN_OR_EQUAL(">=");
+
+        private final String symbol;
+
+        Operator(String symbol)
+        {
+            this.symbol = symbol;
+        }
+
+        /**
+         * @return Whether or not this operator needs the values it compares to be ordered
+         */
+        public boolean isOrdered()
+        {
+            return this != EQUALS && this != NOT_EQUALS;
+        }
+
+        /**
+         * @return The symbol of this operator
+         */
+        public String getSymbol()
+        {
+            return symbol;
+        }
+    }
+
+    /**
+     * <p>A single comparison of a column to a value.</p>
+     *
+     * @param <T> The type of row the column is part of
+     * @author Ocelot
+     */
+    public static final class Condition<T> implements Comparable<Condition<T>>
+    {
+        private final BFColumn<T> column;
+        private final Operator operator;
+        private final Object value;
+        private final String encodedName;
+        private final String encodedValue;
+
+        private Condition(BFColumn<T> column, Operator operator, Object value)
+        {
+            this.column = column;
+            this.operator = operator;
+            this.value = value;
+            this.encodedName = encode(column.getName());
+            this.encodedValue = encode(value instanceof Boolean ? (Boolean) value ? "1" : "0" : String.valueOf(value));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private boolean test(T row)
+        {
+            Object rowValue = this.column.getValue(row);
+            if (!this.operator.isOrdered())
+                return Objects.equals(rowValue, this.value) == (this.operator == Operator.EQUALS);
+            if (rowValue == null)
+                return false;
+
+            int comparison = ((Comparable) rowValue).compareTo(this.value);
+            switch (this.operator)
+            {
+                case LESS_THAN:
+                    return comparison < 0;
+                case LESS_THAN_OR_EQUAL:
+                    return comparison <= 0;
+                case GREATER_THAN:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        /**
+         * @return The column compared
+         */
+        public BFColumn<T> getColumn()
+        {
+            return column;
+        }
+
+        /**
+         * @return The way the column is compared
+         */
+        public Operator getOperator()
+        {
+            return operator;
+        }
+
+        /**
+         * @return Whether or not the API and this library always agree on this comparison. The API may compare strings and UUIDs differently, such as ignoring case, so only numbers and booleans are exact
+         */
+        public boolean isExact()
+        {
+            return this.value instanceof Integer || this.value instanceof Long || this.value instanceof Boolean;
+        }
+
+        /**
+         * @return The value the column is compared to, converted to the type of the column
+         */
+        public Object getValue()
+        {
+            return value;
+        }
+
+        @Override
+        public int compareTo(Condition<T> o)
+        {
+            int comparison = this.encodedName.compareTo(o.encodedName);
+            if (comparison == 0)
+                comparison = this.operator.compareTo(o.operator);
+            if (comparison == 0)
+                comparison = this.encodedValue.compareTo(o.encodedValue);
+            return comparison;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Condition<?> condition = (Condition<?>) o;
+            return this.operator == condition.operator && this.encodedName.equals(condition.encodedName) && this.encodedValue.equals(condition.encodedValue);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(this.encodedName, this.operator, this.encodedValue);
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.column.getName() + this.operator.getSymbol() + this.value;
+        }
+    }
+
+    /**
+     * <p>Builds a {@link BFQuery} one condition at a time.</p>
+     *
+     * @param <T> The type of row the query returns
+     * @author Ocelot
+     */
+    public static final class Builder<T>
+    {
+        private final BattlefieldsApiTable table;
+        private final Class<T[]> type;
+        private final List<Condition<T>> conditions;
+
+        private Builder(BattlefieldsApiTable table, Class<T[]> type)
+        {
+            this.table = table;
+            this.type = type;
+            this.conditions = new ArrayList<>();
+        }
+
+        private static Object convert(BFColumn<?> column, Object value)
+        {
+            Class<?> type = column.getType();
+            if (type == BFUuid.class)
+            {
+                if (value instanceof String)
+                    return BFUuid.fromString((String) value);
+                if (value instanceof UUID)
+                    return BFUuid.fromUUID((UUID) value);
+            }
+            if (value instanceof Number && Number.class.isAssignableFrom(type))
+            {
+                Number number = (Number) value;
+                if (type == Integer.class)
+                    return number.intValue();
+                if (type == Long.class)
+                    return number.longValue();
+                return number.doubleValue();
+            }
+            if (!type.isInstance(value))
+                throw new IllegalArgumentException("Column '" + column.getName() + "' must be compared to a " + type.getSimpleName());
+            return value;
+        }
+
+        /**
+         * Adds a condition that a column must equal a value.
+         *
+         * @param column The column to compare
+         * @param value  The value the column must equal
+         */
+        public Builder<T> where(BFColumn<T> column, Object value)
+        {
+            return this.where(column, Operator.EQUALS, value);
+        }
+
+        /**
+         * Adds a condition that a column must compare to a value in the specified way.
+         *
+         * @param column   The column to compare
+         * @param operator The way to compare the column
+         * @param value    The value to compare the column to
+         */
+        public Builder<T> where(BFColumn<T> column, Operator operator, Object value)
+        {
+            if (value == null)
+                throw new IllegalArgumentException("Column '" + column.getName() + "' cannot be compared to null");
+            Object converted = convert(column, value);
+            if (operator.isOrdered() && !(converted instanceof Comparable))
+                throw new IllegalArgumentException("Column '" + column.getName() + "' can only be compared for equality");
+            this.conditions.add(new Condition<>(column, operator, converted));
+            return this;
+        }
+
+        /**
+         * @return A new query with every condition added so far
+         */
+        public BFQuery<T> build()
+        {
+            List<Condition<T>> conditions = new ArrayList<>(this.conditions);
+            Collections.sort(conditions);
+            for (int i = conditions.size() - 1; i > 0; i--)
+                if (conditions.get(i).equals(conditions.get(i - 1)))
+                    conditions.remove(i);
+            return new BFQuery<>(this.table, this.type, conditions);
+        }
+    }
+}
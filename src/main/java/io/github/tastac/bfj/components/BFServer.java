@@ -1,5 +1,12 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * <p>An official server that can be connected to.</p>
  *
@@ -71,4 +78,34 @@ public class BFServer
                 ", status='" + this.status + '\'' +
                 '}';
     }
+
+    /**
+     * <p>Reads and writes {@link BFServer} directly from a JSON stream. Servers are written as a single <code>{"ip": "status"}</code> entry.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFServer>
+    {
+        @Override
+        public void write(JsonWriter out, BFServer value) throws IOException
+        {
+            out.beginObject();
+            out.name(value.ip).value(value.status);
+            out.endObject();
+        }
+
+        @Override
+        public BFServer read(JsonReader in) throws IOException
+        {
+            in.beginObject();
+            if (!in.hasNext())
+                throw new JsonParseException("Expected a single entry at " + in.getPath());
+            String ip = in.nextName();
+            String status = AdapterHelper.nextString(in);
+            if (in.hasNext())
+                throw new JsonParseException("Expected a single entry at " + in.getPath());
+            in.endObject();
+            return new BFServer(ip, status);
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package io.github.tastac.bfj.components;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,7 +30,7 @@ public class BFServerInfo
     private final String hostname;
     private final String icon;
 
-    private BFServerInfo(String ip, int port, String motd, int onlinePlayers, int maxPlayers, String[] onlinePlayerNames, String version, boolean online, int protocol, String hostname, String icon)
+    public BFServerInfo(String ip, int port, String motd, int onlinePlayers, int maxPlayers, String[] onlinePlayerNames, String version, boolean online, int protocol, String hostname, String icon)
     {
         this.ip = ip;
         this.port = port;
@@ -191,4 +194,137 @@ public class BFServerInfo
             return new BFServerInfo(ip, port, motd.toString(), onlinePlayers, maxPlayers, onlinePlayerNames.toArray(new String[0]), version, online, protocol, hostname, icon);
         }
     }
+
+    /**
+     * <p>Reads and writes {@link BFServerInfo} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFServerInfo>
+    {
+        @Override
+        public void write(JsonWriter out, BFServerInfo value) throws IOException
+        {
+            out.beginObject();
+            out.name("ip").value(value.ip);
+            out.name("port").value(value.port);
+            if (!value.motd.isEmpty())
+            {
+                out.name("motd").beginObject().name("raw").beginArray();
+                for (String line : value.motd.split("\n"))
+                    out.value(line);
+                out.endArray().endObject();
+            }
+            out.name("players").beginObject();
+            out.name("online").value(value.onlinePlayers);
+            out.name("max").value(value.maxPlayers);
+            out.name("list").beginArray();
+            for (String name : value.onlinePlayerNames)
+                out.value(name);
+            out.endArray();
+            out.endObject();
+            out.name("online").value(value.online);
+            if (value.online)
+            {
+                out.name("version").value(value.version);
+                out.name("protocol").value(value.protocol);
+            }
+            out.name("hostname").value(value.hostname);
+            if (value.icon != null)
+                out.name("icon").value(value.icon);
+            out.endObject();
+        }
+
+        @Override
+        public BFServerInfo read(JsonReader in) throws IOException
+        {
+            String ip = null;
+            int port = 0;
+            StringBuilder motd = new StringBuilder();
+            int onlinePlayers = 0;
+            int maxPlayers = 0;
+            List<String> onlinePlayerNames = new ArrayList<>();
+            String version = null;
+            boolean online = false;
+            int protocol = 0;
+            String hostname = null;
+            String icon = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "ip":
+                        ip = AdapterHelper.nextString(in);
+                        break;
+                    case "port":
+                        port = AdapterHelper.nextInt(in);
+                        break;
+                    case "motd":
+                        in.beginObject();
+                        while (in.hasNext())
+                        {
+                            if (!"raw".equals(in.nextName()))
+                            {
+                                in.skipValue();
+                                continue;
+                            }
+                            in.beginArray();
+                            while (in.hasNext())
+                                motd.append(AdapterHelper.nextString(in)).append('\n');
+                            in.endArray();
+                        }
+                        in.endObject();
+                        break;
+                    case "players":
+                        in.beginObject();
+                        while (in.hasNext())
+                        {
+                            switch (in.nextName())
+                            {
+                                case "online":
+                                    onlinePlayers = AdapterHelper.nextInt(in);
+                                    break;
+                                case "max":
+                                    maxPlayers = AdapterHelper.nextInt(in);
+                                    break;
+                                case "list":
+                                    in.beginArray();
+                                    while (in.hasNext())
+                                        onlinePlayerNames.add(AdapterHelper.nextString(in));
+                                    in.endArray();
+                                    break;
+                                default:
+                                    in.skipValue();
+                                    break;
+                            }
+                        }
+                        in.endObject();
+                        break;
+                    case "online":
+                        online = AdapterHelper.nextBoolean(in);
+                        break;
+                    case "version":
+                        version = AdapterHelper.nextString(in);
+                        break;
+                    case "protocol":
+                        protocol = AdapterHelper.nextInt(in);
+                        break;
+                    case "hostname":
+                        hostname = AdapterHelper.nextString(in);
+                        break;
+                    case "icon":
+                        icon = AdapterHelper.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFServerInfo(ip, port, motd.toString(), onlinePlayers, maxPlayers, onlinePlayerNames.toArray(new String[0]), online ? version : null, online, online ? protocol : 0, hostname, icon);
+        }
+    }
 }
@@ -0,0 +1,193 @@
+package io.github.tastac.bfj.components;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * <p>A player UUID that has been queried from the Battlefields API, stored as two longs instead of a 36 character string.</p>
+ * <p>UUIDs are compared by value, so the dashed and undashed forms of the same UUID are equal. {@link #toString()} always gives back exactly the text the UUID was created from.
+ * Lower case text is rebuilt from the two longs, and only text with upper case digits is kept as it was received. Values that are not valid UUIDs are kept as they were received and are only equal to the exact same text.</p>
+ *
+ * @author Ocelot
+ */
+public final class BFUuid
+{
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private final boolean dashed;
+    private final String text;
+    private final String original;
+
+    private BFUuid(long mostSignificantBits, long leastSignificantBits, boolean dashed, String text, String original)
+    {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+        this.dashed = dashed;
+        this.text = text;
+        this.original = original;
+    }
+
+    private static int hexDigit(char c)
+    {
+        // Character.digit also accepts digits from other scripts, which would turn text that is not a UUID into one
+        if (c >= '0' && c <= '9')
+            return c - '0';
+        if (c >= 'a' && c <= 'f')
+            return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F')
+            return c - 'A' + 10;
+        return -1;
+    }
+
+    /**
+     * Creates a UUID from its dashed or undashed text form. Only the ASCII digits <code>0-9</code>, <code>a-f</code> and <code>A-F</code> are accepted.
+     *
+     * @param value The text to parse
+     * @return The parsed UUID or <code>null</code> if value is <code>null</code>
+     */
+    public static BFUuid fromString(String value)
+    {
+        if (value == null)
+            return null;
+
+        boolean dashed = value.length() == 36;
+        if (!dashed && value.length() != 32)
+            return new BFUuid(0, 0, false, value, null);
+
+        boolean lowerCase = true;
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if (dashed && (i == 8 || i == 13 || i == 18 || i == 23))
+            {
+                if (c != '-')
+                    return new BFUuid(0, 0, false, value, null);
+                continue;
+            }
+
+            int digit = hexDigit(c);
+            if (digit < 0)
+                return new BFUuid(0, 0, false, value, null);
+            if (c >= 'A' && c <= 'F')
+                lowerCase = false;
+            if (digits++ < 16)
+                mostSignificantBits = mostSignificantBits << 4 | digit;
+            else
+                leastSignificantBits = leastSignificantBits << 4 | digit;
+        }
+        return new BFUuid(mostSignificantBits, leastSignificantBits, dashed, null, lowerCase ? null : value);
+    }
+
+    /**
+     * Creates a UUID from a {@link UUID}.
+     *
+     * @param uuid The UUID to convert
+     * @return The converted UUID or <code>null</code> if uuid is <code>null</code>
+     */
+    public static BFUuid fromUUID(UUID uuid)
+    {
+        return uuid != null ? new BFUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), true, null, null) : null;
+    }
+
+    /**
+     * @return This UUID as a {@link UUID}
+     * @throws IllegalStateException If this is not a valid UUID
+     */
+    public UUID toUUID()
+    {
+        if (this.text != null)
+            throw new IllegalStateException("'" + this.text + "' is not a valid UUID");
+        return new UUID(this.mostSignificantBits, this.leastSignificantBits);
+    }
+
+    /**
+     * @return Whether or not the value received was a valid UUID
+     */
+    public boolean isValid()
+    {
+        return text == null;
+    }
+
+    /**
+     * @return The most significant 64 bits of this UUID or <code>0</code> if it is not valid
+     */
+    public long getMostSignificantBits()
+    {
+        return mostSignificantBits;
+    }
+
+    /**
+     * @return The least significant 64 bits of this UUID or <code>0</code> if it is not valid
+     */
+    public long getLeastSignificantBits()
+    {
+        return leastSignificantBits;
+    }
+
+    /**
+     * Checks whether this UUID would give back the same text as another.
+     *
+     * @param other The UUID to compare to
+     * @return Whether or not {@link #toString()} is the same for both UUIDs
+     */
+    boolean isSameText(BFUuid other)
+    {
+        return this.equals(other) && this.dashed == other.dashed && Objects.equals(this.original, other.original);
+    }
+
+    private static void appendHex(StringBuilder builder, long value, int digits)
+    {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4)
+            builder.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BFUuid bfUuid = (BFUuid) o;
+        return this.mostSignificantBits == bfUuid.mostSignificantBits &&
+                this.leastSignificantBits == bfUuid.leastSignificantBits &&
+                Objects.equals(this.text, bfUuid.text);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        if (this.text != null)
+            return this.text.hashCode();
+        long hash = this.mostSignificantBits ^ this.leastSignificantBits;
+        return (int) (hash >> 32) ^ (int) hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        if (this.text != null)
+            return this.text;
+        if (this.original != null)
+            return this.original;
+
+        StringBuilder builder = new StringBuilder(this.dashed ? 36 : 32);
+        appendHex(builder, this.mostSignificantBits >>> 32, 8);
+        if (this.dashed)
+            builder.append('-');
+        appendHex(builder, this.mostSignificantBits >>> 16, 4);
+        if (this.dashed)
+            builder.append('-');
+        appendHex(builder, this.mostSignificantBits, 4);
+        if (this.dashed)
+            builder.append('-');
+        appendHex(builder, this.leastSignificantBits >>> 48, 4);
+        if (this.dashed)
+            builder.append('-');
+        appendHex(builder, this.leastSignificantBits, 12);
+        return builder.toString();
+    }
+}
@@ -1,8 +1,13 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>Information about a weapon in-game that has been queried from the Battlefields API.</p>
@@ -72,4 +77,94 @@ public class BFWeapon
                 ", item_name='" + this.itemName + '\'' +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#WEAPONS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFWeapon>
+    {
+        ID("id", Integer.class, BFWeapon::getId),
+        ITEM_ID("item_id", Integer.class, BFWeapon::getItemId),
+        ITEM_NAME("item_name", String.class, BFWeapon::getItemName);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFWeapon, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFWeapon, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFWeapon row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFWeapon} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFWeapon>
+    {
+        @Override
+        public void write(JsonWriter out, BFWeapon value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("item_id").value(value.itemId);
+            out.name("item_name").value(value.itemName);
+            out.endObject();
+        }
+
+        @Override
+        public BFWeapon read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            int itemId = 0;
+            String itemName = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "item_id":
+                        itemId = AdapterHelper.nextInt(in);
+                        break;
+                    case "item_name":
+                        itemName = AdapterHelper.nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFWeapon(id, itemId, itemName);
+        }
+    }
 }
@@ -1,6 +1,12 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.function.Function;
 
 /**
  * <p>Information about firing a gun in-game that has been queried from the Battlefields API.</p>
@@ -115,4 +121,112 @@ public class BFWeaponStats
                 ", accuracy=" + this.getAccuracy() +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#WEAPON_STATS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFWeaponStats>
+    {
+        ID("id", Integer.class, BFWeaponStats::getId),
+        MATCH_ID("match_id", Integer.class, BFWeaponStats::getMatchId),
+        PLAYER_ID("player_id", Integer.class, BFWeaponStats::getPlayerId),
+        WEAPON_ID("weapon_id", Integer.class, BFWeaponStats::getWeaponId),
+        SHOTS_FIRED("shots_fired", Integer.class, BFWeaponStats::getShotsFired),
+        SHOTS_HIT("shots_hit", Integer.class, BFWeaponStats::getShotsHit);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFWeaponStats, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFWeaponStats, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFWeaponStats row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFWeaponStats} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFWeaponStats>
+    {
+        @Override
+        public void write(JsonWriter out, BFWeaponStats value) throws IOException
+        {
+            out.beginObject();
+            out.name("id").value(value.id);
+            out.name("match_id").value(value.matchId);
+            out.name("player_id").value(value.playerId);
+            out.name("weapon_id").value(value.weaponId);
+            out.name("shots_fired").value(value.shotsFired);
+            out.name("shots_hit").value(value.shotsHit);
+            out.endObject();
+        }
+
+        @Override
+        public BFWeaponStats read(JsonReader in) throws IOException
+        {
+            int id = 0;
+            int matchId = 0;
+            int playerId = 0;
+            int weaponId = 0;
+            int shotsFired = 0;
+            int shotsHit = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "id":
+                        id = AdapterHelper.nextInt(in);
+                        break;
+                    case "match_id":
+                        matchId = AdapterHelper.nextInt(in);
+                        break;
+                    case "player_id":
+                        playerId = AdapterHelper.nextInt(in);
+                        break;
+                    case "weapon_id":
+                        weaponId = AdapterHelper.nextInt(in);
+                        break;
+                    case "shots_fired":
+                        shotsFired = AdapterHelper.nextInt(in);
+                        break;
+                    case "shots_hit":
+                        shotsHit = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFWeaponStats(id, matchId, playerId, weaponId, shotsFired, shotsHit);
+        }
+    }
 }
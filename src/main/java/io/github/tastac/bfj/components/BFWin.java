@@ -1,6 +1,13 @@
 package io.github.tastac.bfj.components;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
+
+import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * <p>A count of wins for a player that has been queried from the Battlefields API.</p>
@@ -9,10 +16,15 @@ import java.util.Objects;
  */
 public class BFWin
 {
-    private final String uuid;
+    private final BFUuid uuid;
     private final int wins;
 
     public BFWin(String uuid, int wins)
+    {
+        this(BFUuid.fromString(uuid), wins);
+    }
+
+    public BFWin(BFUuid uuid, int wins)
     {
         this.uuid = uuid;
         this.wins = wins;
@@ -22,6 +34,14 @@ public class BFWin
      * @return The id of the player with the wins
      */
     public String getUuid()
+    {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    /**
+     * @return The UUID of the player in its compact form
+     */
+    public BFUuid getCompactUuid()
     {
         return uuid;
     }
@@ -41,7 +61,7 @@ public class BFWin
         if (o == null || getClass() != o.getClass()) return false;
         BFWin bfKill = (BFWin) o;
         return this.wins == bfKill.wins &&
-                this.uuid.equals(bfKill.uuid);
+                Objects.equals(this.uuid, bfKill.uuid);
     }
 
     @Override
@@ -58,4 +78,103 @@ public class BFWin
                 ", wins=" + this.wins +
                 '}';
     }
+
+    /**
+     * <p>The columns of the {@link io.github.tastac.bfj.BattlefieldsApiTable#WINS} table that can be searched by.</p>
+     *
+     * @author Ocelot
+     */
+    public enum Column implements BFColumn<BFWin>
+    {
+        UUID("uuid", BFUuid.class, BFWin::getCompactUuid),
+        WINS("wins", Integer.class, BFWin::getWins);
+
+        private final String name;
+        private final Class<?> type;
+        private final Function<BFWin, Object> getter;
+
+        Column(String name, Class<?> type, Function<BFWin, Object> getter)
+        {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType()
+        {
+            return type;
+        }
+
+        @Override
+        public Object getValue(BFWin row)
+        {
+            return this.getter.apply(row);
+        }
+    }
+
+    /**
+     * <p>Reads and writes {@link BFWin} directly from a JSON stream.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Adapter extends TypeAdapter<BFWin>
+    {
+        private final BattlefieldsInterner interner;
+
+        public Adapter()
+        {
+            this(null);
+        }
+
+        /**
+         * @param interner The table to share UUIDs through or <code>null</code> to not share them
+         */
+        public Adapter(BattlefieldsInterner interner)
+        {
+            this.interner = interner;
+        }
+
+        @Override
+        public void write(JsonWriter out, BFWin value) throws IOException
+        {
+            out.beginObject();
+            out.name("uuid").value(value.uuid != null ? value.uuid.toString() : null);
+            out.name("wins").value(value.wins);
+            out.endObject();
+        }
+
+        @Override
+        public BFWin read(JsonReader in) throws IOException
+        {
+            BFUuid uuid = null;
+            int wins = 0;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "uuid":
+                        uuid = AdapterHelper.nextUuid(in, this.interner);
+                        break;
+                    case "wins":
+                        wins = AdapterHelper.nextInt(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            return new BFWin(uuid, wins);
+        }
+    }
 }
@@ -0,0 +1,208 @@
+package io.github.tastac.bfj.flow;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Objects;
+
+/**
+ * <p>Interfaces for publishing rows with backpressure, matching <code>java.util.concurrent.Flow</code> which is not available on Java 8.</p>
+ * <p>Publishers can be passed to anything that expects a real <code>Flow.Publisher</code> on Java 9 and newer through {@link #toFlowPublisher(Publisher)}.</p>
+ *
+ * @author Ocelot
+ */
+public final class BattlefieldsFlow
+{
+    private BattlefieldsFlow()
+    {
+    }
+
+    /**
+     * <p>Adapts the specified publisher to a <code>java.util.concurrent.Flow.Publisher</code>.</p>
+     * <p>The result is typed by the caller, for example <code>Flow.Publisher&lt;BFKillInfo&gt; publisher = BattlefieldsFlow.toFlowPublisher(api.publishMatchKills());</code></p>
+     *
+     * @param publisher The publisher to adapt
+     * @param <P>       The type of <code>Flow.Publisher</code> to return
+     * @return A <code>Flow.Publisher</code> that subscribes to the specified publisher
+     * @throws UnsupportedOperationException If this version of Java does not have <code>java.util.concurrent.Flow</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <P> P toFlowPublisher(Publisher<?> publisher)
+    {
+        Objects.requireNonNull(publisher, "publisher");
+        try
+        {
+            ClassLoader classLoader = BattlefieldsFlow.class.getClassLoader();
+            Class<?> publisherClass = Class.forName("java.util.concurrent.Flow$Publisher");
+            Class<?> subscriberClass = Class.forName("java.util.concurrent.Flow$Subscriber");
+            Class<?> subscriptionClass = Class.forName("java.util.concurrent.Flow$Subscription");
+            Method onSubscribe = subscriberClass.getMethod("onSubscribe", subscriptionClass);
+            Method onNext = subscriberClass.getMethod("onNext", Object.class);
+            Method onError = subscriberClass.getMethod("onError", Throwable.class);
+            Method onComplete = subscriberClass.getMethod("onComplete");
+
+            return (P) Proxy.newProxyInstance(classLoader, new Class<?>[]{publisherClass}, (proxy, method, args) ->
+            {
+                switch (method.getName())
+                {
+                    case "subscribe":
+                        Object subscriber = Objects.requireNonNull(args[0], "subscriber");
+                        ((Publisher<Object>) publisher).subscribe(new Subscriber<Object>()
+                        {
+                            @Override
+                            public void onSubscribe(Subscription subscription)
+                            {
+                                invoke(onSubscribe, subscriber, Proxy.newProxyInstance(classLoader, new Class<?>[]{subscriptionClass}, (subscriptionProxy, subscriptionMethod, subscriptionArgs) ->
+                                {
+                                    switch (subscriptionMethod.getName())
+                                    {
+                                        case "request":
+                                            subscription.request((Long) subscriptionArgs[0]);
+                                            return null;
+                                        case "cancel":
+                                            subscription.cancel();
+                                            return null;
+                                        default:
+                                            return handleObjectMethod(subscriptionProxy, subscriptionMethod, subscriptionArgs, subscription);
+                                    }
+                                }));
+                            }
+
+                            @Override
+                            public void onNext(Object item)
+                            {
+                                invoke(onNext, subscriber, item);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable)
+                            {
+                                invoke(onError, subscriber, throwable);
+                            }
+
+                            @Override
+                            public void onComplete()
+                            {
+                                invoke(onComplete, subscriber);
+                            }
+                        });
+                        return null;
+                    default:
+                        return handleObjectMethod(proxy, method, args, publisher);
+                }
+            });
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new UnsupportedOperationException("java.util.concurrent.Flow requires Java 9 or newer", e);
+        }
+    }
+
+    private static Object handleObjectMethod(Object proxy, Method method, Object[] args, Object delegate)
+    {
+        switch (method.getName())
+        {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Flow(" + delegate + ")";
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private static void invoke(Method method, Object target, Object... args)
+    {
+        try
+        {
+            method.invoke(target, args);
+        }
+        catch (InvocationTargetException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * <p>Produces items that are received by subscribers as they request them.</p>
+     *
+     * @param <T> The type of item published
+     * @author Ocelot
+     */
+    @FunctionalInterface
+    public interface Publisher<T>
+    {
+        /**
+         * Adds the specified subscriber. {@link Subscriber#onSubscribe(Subscription)} is always called first, and no items are sent until they are requested.
+         *
+         * @param subscriber The subscriber to receive items
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * <p>Receives items from a {@link Publisher}.</p>
+     *
+     * @param <T> The type of item received
+     * @author Ocelot
+     */
+    public interface Subscriber<T>
+    {
+        /**
+         * Called before any other method with the subscription used to request items.
+         *
+         * @param subscription The new subscription
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called with the next item once it has been requested.
+         *
+         * @param item The next item
+         */
+        void onNext(T item);
+
+        /**
+         * Called once if the publisher fails. No other methods are called afterwards.
+         *
+         * @param throwable The reason the publisher failed
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called once every item has been sent. No other methods are called afterwards.
+         */
+        void onComplete();
+    }
+
+    /**
+     * <p>Links a {@link Subscriber} to a {@link Publisher}.</p>
+     *
+     * @author Ocelot
+     */
+    public interface Subscription
+    {
+        /**
+         * Requests more items. Demand adds up until it is fulfilled.
+         *
+         * @param n The amount of additional items to receive. Must be greater than <code>0</code>
+         */
+        void request(long n);
+
+        /**
+         * Stops receiving items. Items may still be received for a short time after.
+         */
+        void cancel();
+    }
+}
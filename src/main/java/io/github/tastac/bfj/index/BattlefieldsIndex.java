@@ -0,0 +1,206 @@
+package io.github.tastac.bfj.index;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>An immutable index of rows by an integer column, such as the match or player a row belongs to.</p>
+ * <p>Rows are grouped by key in ascending order, and a primitive open addressing hash table maps each key to its group. Looking up a key is a hash probe and an array copy, and a range of keys is a contiguous run of groups found by binary search.
+ * Rows with the same key keep the order they were provided in.</p>
+ *
+ * @param <T> The type of row in the index
+ * @author Ocelot
+ */
+public class BattlefieldsIndex<T>
+{
+    private final T[] rows;
+    private final int[] keys;
+    private final int[] offsets;
+    private final int[] table;
+    private final int shift;
+
+    private BattlefieldsIndex(T[] rows, int[] keys, int[] offsets, int[] table, int shift)
+    {
+        this.rows = rows;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.table = table;
+        this.shift = shift;
+    }
+
+    private static int hash(int key, int shift)
+    {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    private static int find(int[] table, int[] keys, int shift, int key)
+    {
+        int mask = table.length - 1;
+        for (int slot = hash(key, shift); ; slot = (slot + 1) & mask)
+        {
+            int group = table[slot] - 1;
+            if (group < 0 || keys[group] == key)
+                return group;
+        }
+    }
+
+    /**
+     * Builds an index over the specified rows.
+     *
+     * @param rows        The rows to index
+     * @param keyFunction The function to retrieve the key of each row
+     * @param <T>         The type of row to index
+     * @return A new index over the rows
+     */
+    public static <T> BattlefieldsIndex<T> build(T[] rows, ToIntFunction<? super T> keyFunction)
+    {
+        int[] rowKeys = new int[rows.length];
+        for (int i = 0; i < rows.length; i++)
+            rowKeys[i] = keyFunction.applyAsInt(rows[i]);
+
+        int[] keys = rowKeys.clone();
+        Arrays.sort(keys);
+        int keyCount = 0;
+        for (int i = 0; i < keys.length; i++)
+            if (i == 0 || keys[i] != keys[keyCount - 1])
+                keys[keyCount++] = keys[i];
+        keys = Arrays.copyOf(keys, keyCount);
+
+        // The table is kept at most half full so probes stay short
+        int capacity = Integer.highestOneBit(Math.max(1, keyCount) * 2 - 1) << 1;
+        int shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        int[] table = new int[capacity];
+        for (int group = 0; group < keyCount; group++)
+        {
+            int slot = hash(keys[group], shift);
+            while (table[slot] != 0)
+                slot = (slot + 1) & (capacity - 1);
+            table[slot] = group + 1;
+        }
+
+        int[] rowGroups = new int[rows.length];
+        int[] offsets = new int[keyCount + 1];
+        for (int i = 0; i < rows.length; i++)
+        {
+            int group = find(table, keys, shift, rowKeys[i]);
+            rowGroups[i] = group;
+            offsets[group + 1]++;
+        }
+        for (int group = 0; group < keyCount; group++)
+            offsets[group + 1] += offsets[group];
+
+        int[] positions = Arrays.copyOf(offsets, keyCount);
+        T[] grouped = Arrays.copyOf(rows, rows.length);
+        for (int i = 0; i < rows.length; i++)
+            grouped[positions[rowGroups[i]]++] = rows[i];
+
+        return new BattlefieldsIndex<>(grouped, keys, offsets, table, shift);
+    }
+
+    private int lowerBound(int key)
+    {
+        int low = 0;
+        int high = this.keys.length;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (this.keys[mid] < key)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * @param key The key to look up
+     * @return Every row with the specified key or an empty array if there are none
+     */
+    public T[] get(int key)
+    {
+        int group = find(this.table, this.keys, this.shift, key);
+        return group >= 0 ? Arrays.copyOfRange(this.rows, this.offsets[group], this.offsets[group + 1]) : Arrays.copyOf(this.rows, 0);
+    }
+
+    /**
+     * @param from The lowest key to look up, inclusive
+     * @param to   The highest key to look up, inclusive
+     * @return Every row with a key between from and to, sorted by key, or an empty array if there are none
+     */
+    public T[] getRange(int from, int to)
+    {
+        if (from > to)
+            return Arrays.copyOf(this.rows, 0);
+        int start = this.lowerBound(from);
+        int end = to == Integer.MAX_VALUE ? this.keys.length : this.lowerBound(to + 1);
+        return Arrays.copyOfRange(this.rows, this.offsets[start], this.offsets[end]);
+    }
+
+    /**
+     * Passes every row with the specified key to the consumer without copying them into a new array.
+     *
+     * @param key      The key to look up
+     * @param consumer The consumer to pass rows to
+     */
+    public void forEach(int key, Consumer<? super T> consumer)
+    {
+        int group = find(this.table, this.keys, this.shift, key);
+        if (group < 0)
+            return;
+        for (int i = this.offsets[group]; i < this.offsets[group + 1]; i++)
+            consumer.accept(this.rows[i]);
+    }
+
+    /**
+     * @param key The key to check
+     * @return The amount of rows with the specified key
+     */
+    public int count(int key)
+    {
+        int group = find(this.table, this.keys, this.shift, key);
+        return group >= 0 ? this.offsets[group + 1] - this.offsets[group] : 0;
+    }
+
+    /**
+     * @param key The key to check
+     * @return Whether or not any row has the specified key
+     */
+    public boolean contains(int key)
+    {
+        return find(this.table, this.keys, this.shift, key) >= 0;
+    }
+
+    /**
+     * @return Every distinct key in this index in ascending order
+     */
+    public int[] getKeys()
+    {
+        return this.keys.clone();
+    }
+
+    /**
+     * @return The amount of distinct keys in this index
+     */
+    public int getKeyCount()
+    {
+        return this.keys.length;
+    }
+
+    /**
+     * @return The amount of rows in this index
+     */
+    public int size()
+    {
+        return this.rows.length;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BattlefieldsIndex{" +
+                "size=" + this.rows.length +
+                ", keys=" + this.keys.length +
+                '}';
+    }
+}
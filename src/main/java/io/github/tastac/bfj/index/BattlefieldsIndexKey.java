@@ -0,0 +1,108 @@
+package io.github.tastac.bfj.index;
+
+import io.github.tastac.bfj.BattlefieldsApi;
+import io.github.tastac.bfj.BattlefieldsApiTable;
+import io.github.tastac.bfj.components.BFKillInfo;
+import io.github.tastac.bfj.components.BFMatchParticipant;
+import io.github.tastac.bfj.components.BFWeaponStats;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>A foreign key column that the rows of a table can be indexed by with {@link BattlefieldsApi#getIndex(BattlefieldsIndexKey)}.</p>
+ *
+ * @param <T> The type of row in the table
+ * @author Ocelot
+ */
+public final class BattlefieldsIndexKey<T>
+{
+    public static final BattlefieldsIndexKey<BFKillInfo> MATCH_KILLS_BY_MATCH = new BattlefieldsIndexKey<>(BattlefieldsApiTable.MATCH_KILLS, "match_id", BFKillInfo::getMatchId, api -> api.getMatchKills(), api -> api.requestMatchKills());
+    public static final BattlefieldsIndexKey<BFKillInfo> MATCH_KILLS_BY_SOURCE_PLAYER = new BattlefieldsIndexKey<>(BattlefieldsApiTable.MATCH_KILLS, "source_player", BFKillInfo::getSourcePlayerId, api -> api.getMatchKills(), api -> api.requestMatchKills());
+    public static final BattlefieldsIndexKey<BFKillInfo> MATCH_KILLS_BY_TARGET_PLAYER = new BattlefieldsIndexKey<>(BattlefieldsApiTable.MATCH_KILLS, "target_player", BFKillInfo::getTargetPlayerId, api -> api.getMatchKills(), api -> api.requestMatchKills());
+    public static final BattlefieldsIndexKey<BFKillInfo> MATCH_KILLS_BY_WEAPON = new BattlefieldsIndexKey<>(BattlefieldsApiTable.MATCH_KILLS, "weapon", BFKillInfo::getWeaponId, api -> api.getMatchKills(), api -> api.requestMatchKills());
+    public static final BattlefieldsIndexKey<BFWeaponStats> WEAPON_STATS_BY_MATCH = new BattlefieldsIndexKey<>(BattlefieldsApiTable.WEAPON_STATS, "match_id", BFWeaponStats::getMatchId, api -> api.getWeaponStats(), api -> api.requestWeaponStats());
+    public static final BattlefieldsIndexKey<BFWeaponStats> WEAPON_STATS_BY_PLAYER = new BattlefieldsIndexKey<>(BattlefieldsApiTable.WEAPON_STATS, "player_id", BFWeaponStats::getPlayerId, api -> api.getWeaponStats(), api -> api.requestWeaponStats());
+    public static final BattlefieldsIndexKey<BFWeaponStats> WEAPON_STATS_BY_WEAPON = new BattlefieldsIndexKey<>(BattlefieldsApiTable.WEAPON_STATS, "weapon_id", BFWeaponStats::getWeaponId, api -> api.getWeaponStats(), api -> api.requestWeaponStats());
+    public static final BattlefieldsIndexKey<BFMatchParticipant> MATCH_PARTICIPANTS_BY_MATCH = new BattlefieldsIndexKey<>(BattlefieldsApiTable.MATCH_PARTICIPANTS, "match_id", BFMatchParticipant::getMatchId, api -> api.getMatchParticipants(), api -> api.requestMatchParticipants());
+    public static final BattlefieldsIndexKey<BFMatchParticipant> MATCH_PARTICIPANTS_BY_PLAYER = new BattlefieldsIndexKey<>(BattlefieldsApiTable.MATCH_PARTICIPANTS, "player_id", BFMatchParticipant::getPlayerId, api -> api.getMatchParticipants(), api -> api.requestMatchParticipants());
+
+    private final BattlefieldsApiTable table;
+    private final String column;
+    private final ToIntFunction<T> keyFunction;
+    private final Function<BattlefieldsApi, T[]> fetcher;
+    private final Function<BattlefieldsApi, CompletableFuture<T[]>> asyncFetcher;
+
+    private BattlefieldsIndexKey(BattlefieldsApiTable table, String column, ToIntFunction<T> keyFunction, Function<BattlefieldsApi, T[]> fetcher, Function<BattlefieldsApi, CompletableFuture<T[]>> asyncFetcher)
+    {
+        this.table = table;
+        this.column = column;
+        this.keyFunction = keyFunction;
+        this.fetcher = fetcher;
+        this.asyncFetcher = asyncFetcher;
+    }
+
+    /**
+     * Fetches every row of the indexed table.
+     *
+     * @param api The API to fetch rows from
+     * @return Every row in the table
+     */
+    public T[] fetch(BattlefieldsApi api)
+    {
+        return this.fetcher.apply(api);
+    }
+
+    /**
+     * Fetches every row of the indexed table.
+     *
+     * @param api The API to fetch rows from
+     * @return A future for every row in the table
+     */
+    public CompletableFuture<T[]> fetchAsync(BattlefieldsApi api)
+    {
+        return this.asyncFetcher.apply(api);
+    }
+
+    /**
+     * Builds an index by this column over the specified rows.
+     *
+     * @param rows The rows to index
+     * @return A new index over the rows
+     */
+    public BattlefieldsIndex<T> build(T[] rows)
+    {
+        return BattlefieldsIndex.build(rows, this.keyFunction);
+    }
+
+    /**
+     * @return The table this column is part of
+     */
+    public BattlefieldsApiTable getTable()
+    {
+        return table;
+    }
+
+    /**
+     * @return The name of this column when searching
+     */
+    public String getColumn()
+    {
+        return column;
+    }
+
+    /**
+     * @return The function to retrieve the value of this column from a row
+     */
+    public ToIntFunction<T> getKeyFunction()
+    {
+        return keyFunction;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.table.getTable() + "." + this.column;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.tastac.bfj.monitor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>Delivers {@link BattlefieldsServerEvent}s to the listeners registered for their type.</p>
+ * <p>Listeners registered for a type also receive every subclass of it, so listening to {@link BattlefieldsServerEvent} receives everything.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsEventBus
+{
+    private final Consumer<Exception> exceptionConsumer;
+    private final List<Listener<?>> listeners;
+
+    public BattlefieldsEventBus(Consumer<Exception> exceptionConsumer)
+    {
+        this.exceptionConsumer = exceptionConsumer;
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Adds a listener for the specified type of event.
+     *
+     * @param type     The type of event to listen to
+     * @param listener The listener to notify
+     * @param <E>      The type of event
+     */
+    public <E extends BattlefieldsServerEvent> void register(Class<E> type, Consumer<? super E> listener)
+    {
+        this.listeners.add(new Listener<>(Objects.requireNonNull(type, "type"), Objects.requireNonNull(listener, "listener")));
+    }
+
+    /**
+     * Removes every registration of the specified listener.
+     *
+     * @param listener The listener to remove
+     * @return Whether or not the listener was registered
+     */
+    public boolean unregister(Consumer<?> listener)
+    {
+        return this.listeners.removeIf(registration -> registration.listener == listener);
+    }
+
+    /**
+     * Notifies every listener registered for the type of the specified event. Exceptions thrown by listeners are reported and do not stop the others from being notified.
+     *
+     * @param event The event to post
+     */
+    public void post(BattlefieldsServerEvent event)
+    {
+        for (Listener<?> listener : this.listeners)
+        {
+            try
+            {
+                listener.accept(event);
+            }
+            catch (Exception e)
+            {
+                this.exceptionConsumer.accept(e);
+            }
+        }
+    }
+
+    private static class Listener<E extends BattlefieldsServerEvent>
+    {
+        private final Class<E> type;
+        private final Consumer<? super E> listener;
+
+        private Listener(Class<E> type, Consumer<? super E> listener)
+        {
+            this.type = type;
+            this.listener = listener;
+        }
+
+        private void accept(BattlefieldsServerEvent event)
+        {
+            if (this.type.isInstance(event))
+                this.listener.accept(this.type.cast(event));
+        }
+    }
+}
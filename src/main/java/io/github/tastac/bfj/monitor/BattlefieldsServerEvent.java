@@ -0,0 +1,223 @@
+package io.github.tastac.bfj.monitor;
+
+import io.github.tastac.bfj.components.BFServer;
+import io.github.tastac.bfj.components.BFServerInfo;
+
+/**
+ * <p>A change in an official server that has been noticed by a {@link BattlefieldsServerMonitor}.</p>
+ *
+ * @author Ocelot
+ */
+public abstract class BattlefieldsServerEvent
+{
+    private final String ip;
+    private final long timeStamp;
+
+    protected BattlefieldsServerEvent(String ip, long timeStamp)
+    {
+        this.ip = ip;
+        this.timeStamp = timeStamp;
+    }
+
+    /**
+     * @return The ip address of the server that changed
+     */
+    public String getIp()
+    {
+        return ip;
+    }
+
+    /**
+     * @return The time in milliseconds the change was noticed
+     */
+    public long getTimeStamp()
+    {
+        return timeStamp;
+    }
+
+    /**
+     * <p>Fired when a server starts responding.</p>
+     *
+     * @author Ocelot
+     */
+    public static class ServerUp extends BattlefieldsServerEvent
+    {
+        private final BFServer server;
+
+        public ServerUp(BFServer server, long timeStamp)
+        {
+            super(server.getIp(), timeStamp);
+            this.server = server;
+        }
+
+        /**
+         * @return The new status of the server
+         */
+        public BFServer getServer()
+        {
+            return server;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ServerUp{" +
+                    "server=" + this.server +
+                    '}';
+        }
+    }
+
+    /**
+     * <p>Fired when a server stops responding or is removed from the server list.</p>
+     *
+     * @author Ocelot
+     */
+    public static class ServerDown extends BattlefieldsServerEvent
+    {
+        private final BFServer server;
+
+        public ServerDown(String ip, BFServer server, long timeStamp)
+        {
+            super(ip, timeStamp);
+            this.server = server;
+        }
+
+        /**
+         * @return The new status of the server or <code>null</code> if it is no longer listed
+         */
+        public BFServer getServer()
+        {
+            return server;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ServerDown{" +
+                    "ip='" + this.getIp() + '\'' +
+                    ", server=" + this.server +
+                    '}';
+        }
+    }
+
+    /**
+     * <p>Fired when a player appears in {@link BFServerInfo#getOnlinePlayerNames()}.</p>
+     *
+     * @author Ocelot
+     */
+    public static class PlayerJoined extends BattlefieldsServerEvent
+    {
+        private final String playerName;
+
+        public PlayerJoined(String ip, String playerName, long timeStamp)
+        {
+            super(ip, timeStamp);
+            this.playerName = playerName;
+        }
+
+        /**
+         * @return The username of the player that joined
+         */
+        public String getPlayerName()
+        {
+            return playerName;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "PlayerJoined{" +
+                    "ip='" + this.getIp() + '\'' +
+                    ", playerName='" + this.playerName + '\'' +
+                    '}';
+        }
+    }
+
+    /**
+     * <p>Fired when a player disappears from {@link BFServerInfo#getOnlinePlayerNames()}.</p>
+     *
+     * @author Ocelot
+     */
+    public static class PlayerLeft extends BattlefieldsServerEvent
+    {
+        private final String playerName;
+
+        public PlayerLeft(String ip, String playerName, long timeStamp)
+        {
+            super(ip, timeStamp);
+            this.playerName = playerName;
+        }
+
+        /**
+         * @return The username of the player that left
+         */
+        public String getPlayerName()
+        {
+            return playerName;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "PlayerLeft{" +
+                    "ip='" + this.getIp() + '\'' +
+                    ", playerName='" + this.playerName + '\'' +
+                    '}';
+        }
+    }
+
+    /**
+     * <p>Fired when {@link BFServerInfo#getOnlinePlayers()} changes.</p>
+     *
+     * @author Ocelot
+     */
+    public static class PlayerCountChanged extends BattlefieldsServerEvent
+    {
+        private final int previousCount;
+        private final int count;
+        private final int maxPlayers;
+
+        public PlayerCountChanged(String ip, int previousCount, int count, int maxPlayers, long timeStamp)
+        {
+            super(ip, timeStamp);
+            this.previousCount = previousCount;
+            this.count = count;
+            this.maxPlayers = maxPlayers;
+        }
+
+        /**
+         * @return The amount of players online before the change
+         */
+        public int getPreviousCount()
+        {
+            return previousCount;
+        }
+
+        /**
+         * @return The amount of players online now
+         */
+        public int getCount()
+        {
+            return count;
+        }
+
+        /**
+         * @return The maximum amount of players that can be online at any time
+         */
+        public int getMaxPlayers()
+        {
+            return maxPlayers;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "PlayerCountChanged{" +
+                    "ip='" + this.getIp() + '\'' +
+                    ", previousCount=" + this.previousCount +
+                    ", count=" + this.count +
+                    ", maxPlayers=" + this.maxPlayers +
+                    '}';
+        }
+    }
+}
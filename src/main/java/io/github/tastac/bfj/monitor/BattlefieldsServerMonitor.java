@@ -0,0 +1,244 @@
+package io.github.tastac.bfj.monitor;
+
+import io.github.tastac.bfj.components.BFServer;
+import io.github.tastac.bfj.components.BFServerInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>Polls the status of every official server and the information of every server that is up, posting an event to {@link #getEventBus()} for each change.</p>
+ * <p>The delay between polls starts at the minimum interval and doubles every time nothing changes, up to the maximum interval.
+ * As soon as something changes, or a server reports a status that is neither up nor down, polling drops back to the minimum interval.
+ * Responses that are younger than the minimum interval are reused instead of making new requests.</p>
+ * <p>The first poll only records the current state, so listeners are only notified of changes that happen after the monitor is started.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsServerMonitor implements AutoCloseable
+{
+    private final Source source;
+    private final Consumer<Exception> exceptionConsumer;
+    private final BattlefieldsEventBus eventBus;
+    private final long minimumInterval;
+    private final long maximumInterval;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, BFServerInfo> infos;
+    private Map<String, BFServer> servers;
+    private volatile long interval;
+    private boolean started;
+
+    /**
+     * Creates a monitor that has not been started yet.
+     *
+     * @param source            The source of server status and information
+     * @param exceptionConsumer The consumer of exceptions thrown by listeners
+     * @param minimumInterval   The shortest time to wait between polls
+     * @param maximumInterval   The longest time to wait between polls
+     * @param unit              The unit of both intervals
+     */
+    public BattlefieldsServerMonitor(Source source, Consumer<Exception> exceptionConsumer, long minimumInterval, long maximumInterval, TimeUnit unit)
+    {
+        if (minimumInterval < 1)
+            throw new IllegalArgumentException("Minimum Interval must be at least 1");
+        if (maximumInterval < minimumInterval)
+            throw new IllegalArgumentException("Maximum Interval must be at least " + minimumInterval);
+        this.source = source;
+        this.exceptionConsumer = exceptionConsumer;
+        this.eventBus = new BattlefieldsEventBus(exceptionConsumer);
+        this.minimumInterval = Math.max(1, unit.toMillis(minimumInterval));
+        this.maximumInterval = Math.max(this.minimumInterval, unit.toMillis(maximumInterval));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "Battlefields API Monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.infos = new HashMap<>();
+        this.servers = null;
+        this.interval = this.minimumInterval;
+        this.started = false;
+    }
+
+    private static Set<String> getPlayerNames(BFServerInfo info)
+    {
+        String[] names = info.getOnlinePlayerNames();
+        return names != null ? new LinkedHashSet<>(Arrays.asList(names)) : Collections.emptySet();
+    }
+
+    private void schedule(long delay)
+    {
+        try
+        {
+            this.scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException ignored)
+        {
+            // The monitor has been closed
+        }
+    }
+
+    private void poll()
+    {
+        long maxAge = this.minimumInterval;
+        this.source.requestServerStatus(maxAge).thenCompose(status ->
+        {
+            if (status == null)
+                return CompletableFuture.completedFuture(null);
+
+            Map<String, CompletableFuture<BFServerInfo>> requests = new LinkedHashMap<>();
+            for (BFServer server : status)
+                if (server.isUp())
+                    requests.put(server.getIp(), this.source.requestServerInfo(server.getIp(), maxAge));
+            return CompletableFuture.allOf(requests.values().toArray(new CompletableFuture<?>[0])).thenApply(unused ->
+            {
+                Map<String, BFServerInfo> infos = new HashMap<>();
+                requests.forEach((ip, request) -> infos.put(ip, request.join()));
+                return this.update(status, infos);
+            });
+        }).whenComplete((changed, t) ->
+        {
+            if (t != null)
+                this.exceptionConsumer.accept(t instanceof CompletionException && t.getCause() instanceof Exception ? (Exception) t.getCause() : new CompletionException(t));
+            this.interval = changed != null && changed ? this.minimumInterval : Math.min(this.maximumInterval, this.interval * 2);
+            this.schedule(this.interval);
+        });
+    }
+
+    private boolean update(BFServer[] status, Map<String, BFServerInfo> infos)
+    {
+        long now = System.currentTimeMillis();
+        List<BattlefieldsServerEvent> events = new ArrayList<>();
+        boolean transitioning = false;
+
+        Map<String, BFServer> servers = new LinkedHashMap<>();
+        for (BFServer server : status)
+        {
+            servers.put(server.getIp(), server);
+            if (!server.isUp() && !server.isDown())
+                transitioning = true;
+        }
+
+        if (this.servers != null)
+        {
+            for (BFServer server : servers.values())
+            {
+                BFServer previous = this.servers.get(server.getIp());
+                boolean wasUp = previous != null && previous.isUp();
+                if (server.isUp() && !wasUp)
+                    events.add(new BattlefieldsServerEvent.ServerUp(server, now));
+                if (!server.isUp() && wasUp)
+                    events.add(new BattlefieldsServerEvent.ServerDown(server.getIp(), server, now));
+            }
+            for (BFServer previous : this.servers.values())
+                if (previous.isUp() && !servers.containsKey(previous.getIp()))
+                    events.add(new BattlefieldsServerEvent.ServerDown(previous.getIp(), null, now));
+        }
+        this.servers = servers;
+
+        // Servers that stop responding are forgotten so they start over once they are back up
+        this.infos.keySet().retainAll(infos.keySet());
+        infos.forEach((ip, info) ->
+        {
+            if (info == null)
+                return;
+            BFServerInfo previous = this.infos.put(ip, info);
+            if (previous == null)
+                return;
+
+            Set<String> previousNames = getPlayerNames(previous);
+            Set<String> names = getPlayerNames(info);
+            for (String name : previousNames)
+                if (!names.contains(name))
+                    events.add(new BattlefieldsServerEvent.PlayerLeft(ip, name, now));
+            for (String name : names)
+                if (!previousNames.contains(name))
+                    events.add(new BattlefieldsServerEvent.PlayerJoined(ip, name, now));
+            if (previous.getOnlinePlayers() != info.getOnlinePlayers())
+                events.add(new BattlefieldsServerEvent.PlayerCountChanged(ip, previous.getOnlinePlayers(), info.getOnlinePlayers(), info.getMaxPlayers(), now));
+        });
+
+        events.forEach(this.eventBus::post);
+        return transitioning || !events.isEmpty();
+    }
+
+    /**
+     * Starts polling if the monitor has not already been started.
+     *
+     * @return This monitor
+     */
+    public synchronized BattlefieldsServerMonitor start()
+    {
+        if (!this.started)
+        {
+            this.started = true;
+            this.schedule(0);
+        }
+        return this;
+    }
+
+    /**
+     * @return The bus events are posted to
+     */
+    public BattlefieldsEventBus getEventBus()
+    {
+        return eventBus;
+    }
+
+    /**
+     * @param unit The unit to get the interval in
+     * @return The time that will be waited before the next poll
+     */
+    public long getInterval(TimeUnit unit)
+    {
+        return unit.convert(this.interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling. Polls that have already been sent may still post events.
+     */
+    @Override
+    public void close()
+    {
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * <p>Provides the status and information the monitor compares between polls.</p>
+     *
+     * @author Ocelot
+     */
+    public interface Source
+    {
+        /**
+         * Requests the status of every official server.
+         *
+         * @param maxAge The age in milliseconds after which a previous response can no longer be reused
+         * @return The status of each server or <code>null</code> if the request failed
+         */
+        CompletableFuture<BFServer[]> requestServerStatus(long maxAge);
+
+        /**
+         * Requests the information of the specified server.
+         *
+         * @param ip     The ip of the server
+         * @param maxAge The age in milliseconds after which a previous response can no longer be reused
+         * @return The information of the server or <code>null</code> if the request failed
+         */
+        CompletableFuture<BFServerInfo> requestServerInfo(String ip, long maxAge);
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.tastac.bfj.resilience;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>Limits the amount of requests that can be in flight to a single endpoint at once.</p>
+ * <p>Requests over the limit wait in a queue without occupying a thread, and are rejected once the queue is full. This keeps a slow endpoint from tying up every thread and connection used by the others.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsBulkhead
+{
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Queue<CompletableFuture<Void>> waiting;
+    private int active;
+
+    /**
+     * Creates a new empty bulkhead.
+     *
+     * @param name          The name of the endpoint to use in error messages
+     * @param maxConcurrent The maximum amount of requests in flight at once
+     * @param maxQueued     The maximum amount of requests waiting for a permit
+     */
+    public BattlefieldsBulkhead(String name, int maxConcurrent, int maxQueued)
+    {
+        if (maxConcurrent < 1)
+            throw new IllegalArgumentException("Max Concurrent must be at least 1");
+        if (maxQueued < 0)
+            throw new IllegalArgumentException("Max Queued must be at least 0");
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.waiting = new ArrayDeque<>();
+        this.active = 0;
+    }
+
+    /**
+     * Asks for a permit to send a request. Every granted permit must be given back with {@link #release()}.
+     *
+     * @return A future that completes once the permit has been granted or completes exceptionally with a {@link BattlefieldsRejectedException} if the queue is full
+     */
+    public synchronized CompletableFuture<Void> acquire()
+    {
+        if (this.active < this.maxConcurrent)
+        {
+            this.active++;
+            return ACQUIRED;
+        }
+        if (this.waiting.size() >= this.maxQueued)
+        {
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new BattlefieldsRejectedException("Bulkhead for '" + this.name + "' is full"));
+            return rejected;
+        }
+
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        this.waiting.add(permit);
+        return permit;
+    }
+
+    /**
+     * Gives back a permit, handing it straight to the next waiting request if there is one.
+     */
+    public void release()
+    {
+        while (true)
+        {
+            CompletableFuture<Void> next;
+            synchronized (this)
+            {
+                next = this.waiting.poll();
+                if (next == null)
+                {
+                    this.active--;
+                    return;
+                }
+            }
+
+            // Waiters that gave up no longer need the permit, so it moves on to the one after
+            if (next.complete(null))
+                return;
+        }
+    }
+
+    /**
+     * @return The amount of requests currently in flight
+     */
+    public synchronized int getActive()
+    {
+        return active;
+    }
+
+    /**
+     * @return The amount of requests currently waiting for a permit
+     */
+    public synchronized int getQueued()
+    {
+        return this.waiting.size();
+    }
+
+    /**
+     * @return The name of the endpoint this bulkhead guards
+     */
+    public String getName()
+    {
+        return name;
+    }
+}
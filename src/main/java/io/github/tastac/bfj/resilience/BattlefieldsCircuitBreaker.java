@@ -0,0 +1,147 @@
+package io.github.tastac.bfj.resilience;
+
+import io.github.tastac.bfj.transport.BattlefieldsHttpException;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Stops sending requests to an endpoint after it fails too many times in a row.</p>
+ * <p>Once open, every request is rejected until the open time has passed. A single trial request is then let through, which closes the breaker if it succeeds or opens it again if it fails.
+ * Only failures that suggest the server is unavailable are counted, so a <code>404</code> or an unparsable response still counts as the server being reachable.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsCircuitBreaker
+{
+    private final String name;
+    private final int failureThreshold;
+    private final long openTime;
+    private State state;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Creates a new closed circuit breaker.
+     *
+     * @param name             The name of the endpoint to use in error messages
+     * @param failureThreshold The amount of failures in a row that open the breaker
+     * @param openTime         The time to reject requests for once open
+     * @param timeUnit         The unit openTime is provided in
+     */
+    public BattlefieldsCircuitBreaker(String name, int failureThreshold, long openTime, TimeUnit timeUnit)
+    {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("Failure Threshold must be at least 1");
+        if (openTime < 0)
+            throw new IllegalArgumentException("Open Time must be at least 0");
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openTime = timeUnit.toMillis(openTime);
+        this.state = State.CLOSED;
+        this.failures = 0;
+        this.openedAt = 0;
+        this.trialInFlight = false;
+    }
+
+    /**
+     * Checks whether the specified failure suggests the server is unavailable.
+     *
+     * @param cause The reason a request failed
+     * @return Whether or not the failure counts towards opening the breaker
+     */
+    public static boolean isFailure(Throwable cause)
+    {
+        if (cause instanceof BattlefieldsHttpException)
+        {
+            int statusCode = ((BattlefieldsHttpException) cause).getStatusCode();
+            return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+        }
+        return cause instanceof IOException;
+    }
+
+    private void open()
+    {
+        this.state = State.OPEN;
+        this.openedAt = System.currentTimeMillis();
+        this.trialInFlight = false;
+    }
+
+    /**
+     * Asks to send a request. Every permitted request must be followed by {@link #onResult(Throwable)}.
+     *
+     * @throws BattlefieldsRejectedException If the breaker is open or a trial request is already in flight
+     */
+    public synchronized void acquire()
+    {
+        if (this.state == State.OPEN && System.currentTimeMillis() - this.openedAt >= this.openTime)
+            this.state = State.HALF_OPEN;
+
+        switch (this.state)
+        {
+            case CLOSED:
+                return;
+            case HALF_OPEN:
+                if (!this.trialInFlight)
+                {
+                    this.trialInFlight = true;
+                    return;
+                }
+                throw new BattlefieldsRejectedException("Circuit breaker for '" + this.name + "' is waiting on a trial request");
+            default:
+                throw new BattlefieldsRejectedException("Circuit breaker for '" + this.name + "' is open");
+        }
+    }
+
+    /**
+     * Records the result of a permitted request. A cancelled request says nothing about the server, so it only frees up the trial.
+     *
+     * @param cause The reason the request failed or <code>null</code> if it succeeded
+     */
+    public synchronized void onResult(Throwable cause)
+    {
+        if (cause instanceof CancellationException)
+        {
+            this.trialInFlight = false;
+            return;
+        }
+        if (!isFailure(cause))
+        {
+            this.state = State.CLOSED;
+            this.failures = 0;
+            this.trialInFlight = false;
+            return;
+        }
+
+        if (this.state == State.HALF_OPEN || ++this.failures >= this.failureThreshold)
+            this.open();
+    }
+
+    /**
+     * @return The current state of this breaker
+     */
+    public synchronized State getState()
+    {
+        return state;
+    }
+
+    /**
+     * @return The name of the endpoint this breaker guards
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * <p>The states a circuit breaker can be in.</p>
+     *
+     * @author Ocelot
+     */
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.tastac.bfj.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Decides when a second copy of a slow request is sent to an endpoint.</p>
+ * <p>The latency of recent successful requests is tracked, and a request that has not been answered by the configured percentile of those latencies is hedged with an identical one. Whichever answers first is used and the other is cancelled.
+ * Every request made to the API is a GET, so sending one twice can never change anything on the server.</p>
+ * <p>Hedges are paid for from a budget that every request adds a fraction of a hedge to, so hedging can never add more than that fraction of extra load, even while the endpoint is slow across the board.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsHedger
+{
+    private static final int WINDOW_SIZE = 256;
+    private static final int MINIMUM_SAMPLES = 20;
+    private static final int UPDATE_INTERVAL = 16;
+    private static final double MAXIMUM_BALANCE = 10;
+
+    private final String name;
+    private final double percentile;
+    private final long minimumDelay;
+    private final double budget;
+    private final long[] samples;
+    private int sampleCount;
+    private int nextSample;
+    private int samplesSinceUpdate;
+    private long delay;
+    private double balance;
+
+    /**
+     * Creates a new hedger with no latency samples.
+     *
+     * @param name         The name of the endpoint this hedger sends requests to
+     * @param percentile   The percentile of recent latencies after which a request is hedged, for example <code>0.95</code>
+     * @param minimumDelay The shortest time to wait before hedging a request
+     * @param timeUnit     The unit minimumDelay is provided in
+     * @param budget       The largest fraction of requests that can be hedged, for example <code>0.05</code>
+     */
+    public BattlefieldsHedger(String name, double percentile, long minimumDelay, TimeUnit timeUnit, double budget)
+    {
+        if (!(percentile > 0 && percentile < 1))
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        if (minimumDelay < 0)
+            throw new IllegalArgumentException("Minimum Delay must be at least 0");
+        if (!(budget > 0 && budget <= 1))
+            throw new IllegalArgumentException("Budget must be greater than 0 and at most 1");
+        this.name = name;
+        this.percentile = percentile;
+        this.minimumDelay = timeUnit.toMillis(minimumDelay);
+        this.budget = budget;
+        this.samples = new long[WINDOW_SIZE];
+        this.sampleCount = 0;
+        this.nextSample = 0;
+        this.samplesSinceUpdate = 0;
+        this.delay = -1;
+        this.balance = 0;
+    }
+
+    private void updateDelay()
+    {
+        long[] sorted = Arrays.copyOf(this.samples, this.sampleCount);
+        Arrays.sort(sorted);
+        int index = Math.min(this.sampleCount - 1, Math.max(0, (int) Math.ceil(this.percentile * this.sampleCount) - 1));
+        this.delay = Math.max(this.minimumDelay, sorted[index]);
+        this.samplesSinceUpdate = 0;
+    }
+
+    /**
+     * Records how long a successful request took to be answered.
+     *
+     * @param latency  The time between sending the request and receiving the response
+     * @param timeUnit The unit latency is provided in
+     */
+    public synchronized void recordLatency(long latency, TimeUnit timeUnit)
+    {
+        this.samples[this.nextSample] = timeUnit.toMillis(latency);
+        this.nextSample = (this.nextSample + 1) % WINDOW_SIZE;
+        if (this.sampleCount < WINDOW_SIZE)
+            this.sampleCount++;
+
+        // Sorting the window is cheap, but there is no need to do it for every response
+        if (this.sampleCount >= MINIMUM_SAMPLES && (this.delay < 0 || ++this.samplesSinceUpdate >= UPDATE_INTERVAL))
+            this.updateDelay();
+    }
+
+    /**
+     * Records that a new request is being sent and adds its share to the hedging budget.
+     *
+     * @return The time in milliseconds to wait before hedging the request or <code>-1</code> if there are not yet enough samples to tell what a slow request is
+     */
+    public synchronized long onRequest()
+    {
+        this.balance = Math.min(MAXIMUM_BALANCE, this.balance + this.budget);
+        return delay;
+    }
+
+    /**
+     * Takes a hedge out of the budget if there is enough left.
+     *
+     * @return Whether or not a request can be hedged
+     */
+    public synchronized boolean tryHedge()
+    {
+        if (this.balance < 1)
+            return false;
+        this.balance--;
+        return true;
+    }
+
+    /**
+     * @return The time in milliseconds to wait before hedging a request or <code>-1</code> if there are not yet enough samples
+     */
+    public synchronized long getDelay()
+    {
+        return delay;
+    }
+
+    /**
+     * @return The percentile of recent latencies after which a request is hedged
+     */
+    public double getPercentile()
+    {
+        return percentile;
+    }
+
+    /**
+     * @return The largest fraction of requests that can be hedged
+     */
+    public double getBudget()
+    {
+        return budget;
+    }
+
+    /**
+     * @return The name of the endpoint this hedger sends requests to
+     */
+    public String getName()
+    {
+        return name;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.tastac.bfj.resilience;
+
+/**
+ * <p>The classes requests can be tagged with when they wait for a {@link BattlefieldsRateLimiter}.</p>
+ * <p>While requests of several classes are waiting, each class is given a share of the rate limit proportional to its weight, so lower classes are slowed down without ever being starved.</p>
+ *
+ * @author Ocelot
+ */
+public enum BattlefieldsPriority
+{
+    /**
+     * Requests a user is actively waiting on, such as commands. This is the priority requests have unless specified otherwise.
+     */
+    INTERACTIVE(8),
+    /**
+     * Requests nobody is waiting on, such as backfills and periodic refreshes.
+     */
+    BACKGROUND(1);
+
+    private final int weight;
+
+    BattlefieldsPriority(int weight)
+    {
+        this.weight = weight;
+    }
+
+    /**
+     * @return The share of the rate limit given to this class while other classes are waiting as well
+     */
+    public int getWeight()
+    {
+        return weight;
+    }
+}
@@ -0,0 +1,242 @@
+package io.github.tastac.bfj.resilience;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Limits the rate requests are sent at with a token bucket shared by every endpoint.</p>
+ * <p>The bucket refills at a steady rate up to the burst size, and each request takes one token. Requests that find the bucket empty wait in a queue for their {@link BattlefieldsPriority} without occupying a thread.
+ * Whenever tokens become available they are handed out across the waiting priorities by weighted round robin, so a large backlog of background requests cannot hold up interactive ones.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsRateLimiter
+{
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    private final double permitsPerSecond;
+    private final double permitsPerNano;
+    private final int burst;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final Lane[] lanes;
+    private double tokens;
+    private long lastRefill;
+    private int queued;
+    private boolean drainScheduled;
+
+    /**
+     * Creates a new rate limiter with a full bucket.
+     *
+     * @param permitsPerSecond The amount of requests that can be sent each second
+     * @param burst            The maximum amount of requests that can be sent at once after being idle
+     * @param scheduler        The scheduler used to hand out tokens to waiting requests as the bucket refills
+     */
+    public BattlefieldsRateLimiter(double permitsPerSecond, int burst, ScheduledExecutorService scheduler)
+    {
+        this(permitsPerSecond, burst, scheduler, System::nanoTime);
+    }
+
+    BattlefieldsRateLimiter(double permitsPerSecond, int burst, ScheduledExecutorService scheduler, LongSupplier clock)
+    {
+        if (!(permitsPerSecond > 0))
+            throw new IllegalArgumentException("Permits Per Second must be greater than 0");
+        if (burst < 1)
+            throw new IllegalArgumentException("Burst must be at least 1");
+        this.permitsPerSecond = permitsPerSecond;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.lanes = new Lane[BattlefieldsPriority.values().length];
+        for (BattlefieldsPriority priority : BattlefieldsPriority.values())
+            this.lanes[priority.ordinal()] = new Lane(priority.getWeight());
+        this.tokens = burst;
+        this.lastRefill = clock.getAsLong();
+        this.queued = 0;
+        this.drainScheduled = false;
+    }
+
+    private void refill()
+    {
+        long now = this.clock.getAsLong();
+        this.tokens = Math.min(this.burst, this.tokens + (now - this.lastRefill) * this.permitsPerNano);
+        this.lastRefill = now;
+    }
+
+    private long getRefillDelay()
+    {
+        return Math.max(1, (long) Math.ceil((1 - this.tokens) / this.permitsPerNano));
+    }
+
+    private CompletableFuture<Void> poll()
+    {
+        // Smooth weighted round robin: every waiting lane earns its weight and the richest lane pays for the token with the total
+        int total = 0;
+        Lane next = null;
+        for (Lane lane : this.lanes)
+        {
+            if (lane.waiting.isEmpty())
+                continue;
+            lane.credit += lane.weight;
+            total += lane.weight;
+            if (next == null || lane.credit > next.credit)
+                next = lane;
+        }
+        if (next == null)
+            return null;
+
+        next.credit -= total;
+        this.queued--;
+        CompletableFuture<Void> permit = next.waiting.poll();
+        if (next.waiting.isEmpty())
+            next.credit = 0;
+        return permit;
+    }
+
+    private List<CompletableFuture<Void>> pollAll()
+    {
+        List<CompletableFuture<Void>> permits = new ArrayList<>(this.queued);
+        for (Lane lane : this.lanes)
+        {
+            permits.addAll(lane.waiting);
+            lane.waiting.clear();
+            lane.credit = 0;
+        }
+        this.queued = 0;
+        return permits;
+    }
+
+    private List<CompletableFuture<Void>> scheduleDrain()
+    {
+        try
+        {
+            this.scheduler.schedule(this::drain, this.getRefillDelay(), TimeUnit.NANOSECONDS);
+            this.drainScheduled = true;
+            return null;
+        }
+        catch (RejectedExecutionException e)
+        {
+            // The scheduler has been shut down, so nothing will ever hand out tokens to the requests still waiting
+            this.drainScheduled = false;
+            return this.pollAll();
+        }
+    }
+
+    private static void reject(List<CompletableFuture<Void>> permits)
+    {
+        if (permits == null)
+            return;
+        for (CompletableFuture<Void> permit : permits)
+            permit.completeExceptionally(new BattlefieldsRejectedException("Rate limiter has been shut down"));
+    }
+
+    private void drain()
+    {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        List<CompletableFuture<Void>> rejected = null;
+        synchronized (this)
+        {
+            this.refill();
+            while (this.queued > 0 && this.tokens >= 1)
+            {
+                CompletableFuture<Void> permit = this.poll();
+                // Waiters that gave up do not need a token, so it moves on to the one after
+                if (permit.isDone())
+                    continue;
+                this.tokens--;
+                granted.add(permit);
+            }
+
+            if (this.queued > 0)
+                rejected = this.scheduleDrain();
+            else
+                this.drainScheduled = false;
+        }
+
+        for (CompletableFuture<Void> permit : granted)
+            permit.complete(null);
+        reject(rejected);
+    }
+
+    /**
+     * Asks for a token to send a request with the specified priority.
+     *
+     * @param priority The priority of the request
+     * @return A future that completes once the request can be sent or completes exceptionally with a {@link BattlefieldsRejectedException} if the scheduler has been shut down
+     */
+    public CompletableFuture<Void> acquire(BattlefieldsPriority priority)
+    {
+        CompletableFuture<Void> permit;
+        List<CompletableFuture<Void>> rejected = null;
+        synchronized (this)
+        {
+            this.refill();
+            // Requests only skip the queue if nobody is waiting, otherwise a steady stream of new requests could starve the queue
+            if (this.queued == 0 && this.tokens >= 1)
+            {
+                this.tokens--;
+                return ACQUIRED;
+            }
+
+            permit = new CompletableFuture<>();
+            this.lanes[priority.ordinal()].waiting.add(permit);
+            this.queued++;
+            if (!this.drainScheduled)
+                rejected = this.scheduleDrain();
+        }
+        reject(rejected);
+        return permit;
+    }
+
+    /**
+     * @param priority The priority to check
+     * @return The amount of requests with the specified priority currently waiting for a token
+     */
+    public synchronized int getQueued(BattlefieldsPriority priority)
+    {
+        return this.lanes[priority.ordinal()].waiting.size();
+    }
+
+    /**
+     * @return The amount of requests that can be sent each second
+     */
+    public double getPermitsPerSecond()
+    {
+        return permitsPerSecond;
+    }
+
+    /**
+     * @return The maximum amount of requests that can be sent at once after being idle
+     */
+    public int getBurst()
+    {
+        return burst;
+    }
+
+    /**
+     * <p>The requests waiting with a single priority.</p>
+     *
+     * @author Ocelot
+     */
+    private static class Lane
+    {
+        private final int weight;
+        private final Queue<CompletableFuture<Void>> waiting;
+        private int credit;
+
+        private Lane(int weight)
+        {
+            this.weight = weight;
+            this.waiting = new ArrayDeque<>();
+            this.credit = 0;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.tastac.bfj.resilience;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Thrown when a request is not sent at all because a {@link BattlefieldsCircuitBreaker} is open, a {@link BattlefieldsBulkhead} is full or a {@link BattlefieldsRateLimiter} has been shut down.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsRejectedException extends RejectedExecutionException
+{
+    private static final long serialVersionUID = 1L;
+
+    public BattlefieldsRejectedException(String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.tastac.bfj.resilience;
+
+import io.github.tastac.bfj.transport.BattlefieldsHttpException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Determines whether a failed request is tried again and how long to wait before doing so.</p>
+ * <p>Every request made to the API is a GET, so replaying one can never change anything on the server. The delay before each retry grows exponentially and is randomly shortened by up to the jitter fraction so clients that failed at the same time do not all retry at the same time.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsRetryPolicy
+{
+    /**
+     * A policy that never retries.
+     */
+    public static final BattlefieldsRetryPolicy NONE = new Builder().setMaxAttempts(1).create();
+
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+    private final long deadline;
+    private final Set<Integer> retryableStatusCodes;
+    private final List<Class<? extends Exception>> retryableExceptions;
+
+    private BattlefieldsRetryPolicy(int maxAttempts, long initialDelay, long maxDelay, double multiplier, double jitter, long deadline, Set<Integer> retryableStatusCodes, List<Class<? extends Exception>> retryableExceptions)
+    {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.deadline = deadline;
+        this.retryableStatusCodes = Collections.unmodifiableSet(retryableStatusCodes);
+        this.retryableExceptions = Collections.unmodifiableList(retryableExceptions);
+    }
+
+    /**
+     * Checks whether the specified failure can be retried. HTTP errors are only retried for the retryable status codes, while anything else is retried if it is one of the retryable exceptions.
+     *
+     * @param cause The reason the request failed
+     * @return Whether or not the request can be tried again
+     */
+    public boolean isRetryable(Throwable cause)
+    {
+        if (cause instanceof BattlefieldsHttpException)
+            return this.retryableStatusCodes.contains(((BattlefieldsHttpException) cause).getStatusCode());
+        for (Class<? extends Exception> type : this.retryableExceptions)
+            if (type.isInstance(cause))
+                return true;
+        return false;
+    }
+
+    /**
+     * Calculates how long to wait before trying a failed request again.
+     *
+     * @param attempt The number of the attempt that just failed, starting at <code>1</code>
+     * @param cause   The reason the attempt failed
+     * @param elapsed The time in milliseconds since the first attempt was started
+     * @return The time in milliseconds to wait before the next attempt or <code>-1</code> if the request should not be tried again
+     */
+    public long getRetryDelay(int attempt, Throwable cause, long elapsed)
+    {
+        if (attempt >= this.maxAttempts || !this.isRetryable(cause))
+            return -1;
+
+        double delay = Math.min(this.maxDelay, this.initialDelay * Math.pow(this.multiplier, attempt - 1));
+        delay -= delay * this.jitter * ThreadLocalRandom.current().nextDouble();
+        long retryDelay = Math.max(0, Math.round(delay));
+        if (this.deadline > 0 && elapsed + retryDelay >= this.deadline)
+            return -1;
+        return retryDelay;
+    }
+
+    /**
+     * @return The maximum amount of times a request is attempted, including the first
+     */
+    public int getMaxAttempts()
+    {
+        return maxAttempts;
+    }
+
+    /**
+     * @return The time in milliseconds to wait before the first retry
+     */
+    public long getInitialDelay()
+    {
+        return initialDelay;
+    }
+
+    /**
+     * @return The longest time in milliseconds to wait before a retry
+     */
+    public long getMaxDelay()
+    {
+        return maxDelay;
+    }
+
+    /**
+     * @return The amount the delay is multiplied by after each retry
+     */
+    public double getMultiplier()
+    {
+        return multiplier;
+    }
+
+    /**
+     * @return The largest fraction of each delay that is randomly removed
+     */
+    public double getJitter()
+    {
+        return jitter;
+    }
+
+    /**
+     * @return The time in milliseconds after the first attempt at which no more retries are made or <code>0</code> for no limit
+     */
+    public long getDeadline()
+    {
+        return deadline;
+    }
+
+    /**
+     * @return The HTTP status codes that can be retried
+     */
+    public Set<Integer> getRetryableStatusCodes()
+    {
+        return retryableStatusCodes;
+    }
+
+    /**
+     * @return The types of exceptions that can be retried
+     */
+    public List<Class<? extends Exception>> getRetryableExceptions()
+    {
+        return retryableExceptions;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BattlefieldsRetryPolicy{" +
+                "maxAttempts=" + this.maxAttempts +
+                ", initialDelay=" + this.initialDelay +
+                ", maxDelay=" + this.maxDelay +
+                ", multiplier=" + this.multiplier +
+                ", jitter=" + this.jitter +
+                ", deadline=" + this.deadline +
+                ", retryableStatusCodes=" + this.retryableStatusCodes +
+                ", retryableExceptions=" + this.retryableExceptions +
+                '}';
+    }
+
+    /**
+     * <p>Creates new instances of {@link BattlefieldsRetryPolicy} through a builder format.</p>
+     *
+     * @author Ocelot
+     */
+    public static class Builder
+    {
+        private int maxAttempts;
+        private long initialDelay;
+        private long maxDelay;
+        private double multiplier;
+        private double jitter;
+        private long deadline;
+        private final Set<Integer> retryableStatusCodes;
+        private final List<Class<? extends Exception>> retryableExceptions;
+
+        public Builder()
+        {
+            this.maxAttempts = 3;
+            this.initialDelay = 200;
+            this.maxDelay = 5000;
+            this.multiplier = 2;
+            this.jitter = 0.5;
+            this.deadline = 10000;
+            this.retryableStatusCodes = new HashSet<>(Arrays.asList(408, 429, 500, 502, 503, 504));
+            this.retryableExceptions = new ArrayList<>(Collections.singletonList(IOException.class));
+        }
+
+        /**
+         * Sets the maximum amount of times a request is attempted, including the first. <code>1</code> will disable retries.
+         *
+         * @param maxAttempts The new maximum amount of attempts
+         */
+        public Builder setMaxAttempts(int maxAttempts)
+        {
+            if (maxAttempts < 1)
+                throw new IllegalArgumentException("Max Attempts must be at least 1");
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delays between retries. The first retry waits for the initial delay, and each one after waits for the previous delay multiplied by the multiplier up to the max delay.
+         *
+         * @param initialDelay The time to wait before the first retry
+         * @param maxDelay     The longest time to wait before a retry
+         * @param multiplier   The amount the delay is multiplied by after each retry
+         * @param timeUnit     The unit initialDelay and maxDelay are provided in
+         */
+        public Builder setBackoff(long initialDelay, long maxDelay, double multiplier, TimeUnit timeUnit)
+        {
+            if (initialDelay < 0)
+                throw new IllegalArgumentException("Initial Delay must be at least 0");
+            if (maxDelay < initialDelay)
+                throw new IllegalArgumentException("Max Delay must be at least " + initialDelay);
+            if (multiplier < 1)
+                throw new IllegalArgumentException("Multiplier must be at least 1");
+            this.initialDelay = timeUnit.toMillis(initialDelay);
+            this.maxDelay = timeUnit.toMillis(maxDelay);
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets the largest fraction of each delay that is randomly removed. <code>0</code> will disable jitter.
+         *
+         * @param jitter The new jitter between <code>0</code> and <code>1</code>
+         */
+        public Builder setJitter(double jitter)
+        {
+            if (jitter < 0 || jitter > 1)
+                throw new IllegalArgumentException("Jitter must be between 0 and 1");
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Sets the time after the first attempt at which no more retries are made. <code>0</code> will allow retries until the maximum amount of attempts is reached.
+         *
+         * @param deadline The new deadline
+         * @param timeUnit The unit deadline is provided in
+         */
+        public Builder setDeadline(long deadline, TimeUnit timeUnit)
+        {
+            if (deadline < 0)
+                throw new IllegalArgumentException("Deadline must be at least 0");
+            this.deadline = timeUnit.toMillis(deadline);
+            return this;
+        }
+
+        /**
+         * Sets the HTTP status codes that can be retried. Defaults to <code>408</code>, <code>429</code>, <code>500</code>, <code>502</code>, <code>503</code> and <code>504</code>.
+         *
+         * @param statusCodes The new status codes to retry
+         */
+        public Builder setRetryableStatusCodes(int... statusCodes)
+        {
+            this.retryableStatusCodes.clear();
+            for (int statusCode : statusCodes)
+                this.retryableStatusCodes.add(statusCode);
+            return this;
+        }
+
+        /**
+         * Sets the types of exceptions that can be retried. Defaults to {@link IOException}. HTTP errors are only retried for the retryable status codes.
+         *
+         * @param exceptions The new types of exceptions to retry
+         */
+        public Builder setRetryableExceptions(Collection<? extends Class<? extends Exception>> exceptions)
+        {
+            this.retryableExceptions.clear();
+            this.retryableExceptions.addAll(exceptions);
+            return this;
+        }
+
+        /**
+         * @return Builds a new {@link BattlefieldsRetryPolicy} with the provided parameters
+         */
+        public BattlefieldsRetryPolicy create()
+        {
+            return new BattlefieldsRetryPolicy(this.maxAttempts, this.initialDelay, this.maxDelay, this.multiplier, this.jitter, this.deadline, new HashSet<>(this.retryableStatusCodes), new ArrayList<>(this.retryableExceptions));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.github.tastac.bfj.sync;
+
+import io.github.tastac.bfj.BattlefieldsApiTable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>A local copy of every row in a single {@link BattlefieldsApiTable}, kept sorted by row id.</p>
+ * <p>New rows are merged into the replica as they are added to the table. Rows that change or are removed afterwards are only picked up when the whole table is downloaded again and {@link #replace(Object[]) replaces} the replica.</p>
+ *
+ * @param <T> The type of row in the table
+ * @author Ocelot
+ */
+public class BattlefieldsReplica<T>
+{
+    private final BattlefieldsApiTable table;
+    private final ToIntFunction<T> idFunction;
+    private final IntFunction<T[]> arrayFactory;
+    private T[] rows;
+    private int size;
+    private T[] snapshot;
+    private long replaceTime;
+
+    public BattlefieldsReplica(BattlefieldsApiTable table, ToIntFunction<T> idFunction, IntFunction<T[]> arrayFactory)
+    {
+        this.table = table;
+        this.idFunction = idFunction;
+        this.arrayFactory = arrayFactory;
+        this.rows = arrayFactory.apply(16);
+        this.size = 0;
+        this.snapshot = arrayFactory.apply(0);
+        this.replaceTime = 0;
+    }
+
+    private int indexOf(int id)
+    {
+        int low = 0;
+        int high = this.size - 1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            int midId = this.idFunction.applyAsInt(this.rows[mid]);
+            if (midId < id)
+                low = mid + 1;
+            else if (midId > id)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Merges the specified rows into this replica. Rows with an id that already exists replace the previous row.
+     *
+     * @param newRows The rows to merge
+     * @return The amount of rows that were not in this replica before
+     */
+    public synchronized int merge(T[] newRows)
+    {
+        if (newRows.length == 0)
+            return 0;
+
+        T[] sorted = newRows.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(this.idFunction));
+
+        int added = 0;
+        for (T row : sorted)
+        {
+            int id = this.idFunction.applyAsInt(row);
+            int lastId = this.size > 0 ? this.idFunction.applyAsInt(this.rows[this.size - 1]) : Integer.MIN_VALUE;
+
+            // New rows almost always come after every existing row so they can simply be appended
+            int index = id > lastId ? -(this.size + 1) : this.indexOf(id);
+            if (index >= 0)
+            {
+                this.rows[index] = row;
+                continue;
+            }
+
+            index = -(index + 1);
+            if (this.size == this.rows.length)
+                this.rows = Arrays.copyOf(this.rows, this.rows.length * 2);
+            System.arraycopy(this.rows, index, this.rows, index + 1, this.size - index);
+            this.rows[index] = row;
+            this.size++;
+            added++;
+        }
+
+        this.snapshot = null;
+        return added;
+    }
+
+    /**
+     * Replaces every row in this replica with the specified rows, which should be every row in the table.
+     *
+     * @param newRows The new rows of this replica
+     */
+    public synchronized void replace(T[] newRows)
+    {
+        this.rows = this.arrayFactory.apply(Math.max(16, newRows.length));
+        this.size = 0;
+        this.merge(newRows);
+        this.snapshot = null;
+        this.replaceTime = System.currentTimeMillis();
+    }
+
+    /**
+     * @return The table this is a replica of
+     */
+    public BattlefieldsApiTable getTable()
+    {
+        return table;
+    }
+
+    /**
+     * @return The amount of rows in this replica
+     */
+    public synchronized int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * @return The highest row id in this replica or {@link Integer#MIN_VALUE} if this replica is empty
+     */
+    public synchronized int getLastId()
+    {
+        return this.size > 0 ? this.idFunction.applyAsInt(this.rows[this.size - 1]) : Integer.MIN_VALUE;
+    }
+
+    /**
+     * @return The time in milliseconds this replica was last {@link #replace(Object[]) replaced} or <code>0</code> if it never has been
+     */
+    public synchronized long getReplaceTime()
+    {
+        return this.replaceTime;
+    }
+
+    /**
+     * @param id The id of the row to get
+     * @return The row with the specified id or <code>null</code> if this replica does not contain it
+     */
+    public synchronized T get(int id)
+    {
+        int index = this.indexOf(id);
+        return index >= 0 ? this.rows[index] : null;
+    }
+
+    /**
+     * @return Every row in this replica sorted by id. The returned array is shared until the replica next changes and must not be modified
+     */
+    public synchronized T[] getRows()
+    {
+        if (this.snapshot == null)
+        {
+            this.snapshot = this.arrayFactory.apply(this.size);
+            System.arraycopy(this.rows, 0, this.snapshot, 0, this.size);
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * Removes all rows from this replica.
+     */
+    public synchronized void clear()
+    {
+        this.rows = this.arrayFactory.apply(16);
+        this.size = 0;
+        this.snapshot = this.arrayFactory.apply(0);
+        this.replaceTime = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BattlefieldsReplica{" +
+                "table=" + this.table +
+                ", size=" + this.size() +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.tastac.bfj.transport;
+
+import java.io.IOException;
+
+/**
+ * <p>Thrown by a {@link BattlefieldsTransport} when a server responds with a status other than <code>200 OK</code>.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsHttpException extends IOException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public BattlefieldsHttpException(String message, int statusCode)
+    {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @return The HTTP status code the server responded with
+     */
+    public int getStatusCode()
+    {
+        return statusCode;
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.tastac.bfj.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>A blocking {@link BattlefieldsTransport} built on top of {@link HttpURLConnection}.</p>
+ * <p>Persistent connections are kept alive per host by the JVM keep-alive cache, which evicts them once they have been idle for too long.
+ * This transport makes sure every response body is fully consumed so the connection can be returned to that pool instead of being discarded,
+ * and bounds the amount of requests that can be in-flight to a single host at once.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsHttpTransport implements BattlefieldsTransport
+{
+    public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11";
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+
+    private final String userAgent;
+    private final int maxRequestsPerHost;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final Map<String, Semaphore> hosts;
+
+    public BattlefieldsHttpTransport()
+    {
+        this(USER_AGENT, Integer.getInteger("http.maxConnections", 5));
+    }
+
+    public BattlefieldsHttpTransport(String userAgent, int maxRequestsPerHost)
+    {
+        this(userAgent, maxRequestsPerHost, 10, 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a new transport.
+     *
+     * @param userAgent          The user agent to send with every request
+     * @param maxRequestsPerHost The maximum amount of requests that can be in flight to a single host at once
+     * @param connectTimeout     The time to wait for a connection to be established. <code>0</code> will wait forever
+     * @param readTimeout        The time to wait for data from the server. <code>0</code> will wait forever
+     * @param timeUnit           The unit connectTimeout and readTimeout are provided in
+     */
+    public BattlefieldsHttpTransport(String userAgent, int maxRequestsPerHost, long connectTimeout, long readTimeout, TimeUnit timeUnit)
+    {
+        if (maxRequestsPerHost < 1)
+            throw new IllegalArgumentException("Max requests per host must be at least 1");
+        if (connectTimeout < 0)
+            throw new IllegalArgumentException("Connect Timeout must be at least 0");
+        if (readTimeout < 0)
+            throw new IllegalArgumentException("Read Timeout must be at least 0");
+        this.userAgent = userAgent;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.connectTimeout = (int) Math.min(Integer.MAX_VALUE, timeUnit.toMillis(connectTimeout));
+        this.readTimeout = (int) Math.min(Integer.MAX_VALUE, timeUnit.toMillis(readTimeout));
+        this.hosts = new ConcurrentHashMap<>();
+    }
+
+    private static void drain(InputStream stream)
+    {
+        if (stream == null)
+            return;
+        try
+        {
+            byte[] buffer = new byte[4096];
+            int total = 0;
+            int count;
+            while (total < MAX_DRAIN_BYTES && (count = stream.read(buffer)) != -1)
+                total += count;
+            stream.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
+    @Override
+    public InputStream open(String url) throws IOException
+    {
+        URL requestUrl;
+        try
+        {
+            requestUrl = new URI(url).toURL();
+        }
+        catch (URISyntaxException e)
+        {
+            throw new IOException("Invalid url: " + url, e);
+        }
+
+        Semaphore permits = this.hosts.computeIfAbsent(requestUrl.getAuthority(), key -> new Semaphore(this.maxRequestsPerHost, true));
+        try
+        {
+            permits.acquire();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to connect to '" + url + "'");
+        }
+
+        try
+        {
+            HttpURLConnection connection = (HttpURLConnection) requestUrl.openConnection();
+            connection.setConnectTimeout(this.connectTimeout);
+            connection.setReadTimeout(this.readTimeout);
+            connection.addRequestProperty("User-Agent", this.userAgent);
+            connection.addRequestProperty("Accept-Encoding", "gzip");
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode != 200)
+            {
+                drain(connection.getErrorStream());
+                throw new BattlefieldsHttpException("Failed to connect to '" + url + "'. " + responseCode + " " + connection.getResponseMessage(), responseCode);
+            }
+
+            InputStream stream = new ConnectionStream(connection, connection.getInputStream(), permits);
+            return "gzip".equalsIgnoreCase(connection.getContentEncoding()) ? new GZIPInputStream(stream) : stream;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * <p>Releases the host permit and hands the connection back to the keep-alive cache once the body has been closed.</p>
+     *
+     * @author Ocelot
+     */
+    private static class ConnectionStream extends FilterInputStream
+    {
+        private final HttpURLConnection connection;
+        private final Semaphore permits;
+        private final AtomicBoolean closed;
+
+        private ConnectionStream(HttpURLConnection connection, InputStream stream, Semaphore permits)
+        {
+            super(stream);
+            this.connection = connection;
+            this.permits = permits;
+            this.closed = new AtomicBoolean();
+        }
+
+        @Override
+        public void close()
+        {
+            if (!this.closed.compareAndSet(false, true))
+                return;
+            try
+            {
+                byte[] buffer = new byte[4096];
+                int total = 0;
+                int count;
+                while ((count = this.in.read(buffer)) != -1)
+                {
+                    total += count;
+                    if (total >= MAX_DRAIN_BYTES)
+                    {
+                        // Too much left over to be worth reading, so give up on reusing the connection
+                        this.connection.disconnect();
+                        break;
+                    }
+                }
+                this.in.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+            finally
+            {
+                this.permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,1142 @@
+package io.github.tastac.bfj.transport;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * <p>A non-blocking {@link BattlefieldsTransport} that multiplexes every request over a single selector thread.</p>
+ * <p>Response bodies are read into memory as they arrive and are only handed over once they have been fully received, so thousands of requests can be in flight without a thread waiting on each of them.
+ * Connections are kept alive and reused per host. The amount of connections to a single host is bounded and any extra requests are queued until a connection frees up.
+ * Cancelling the future of a request aborts it, closing its connection if the response is still being received.</p>
+ * <p>Bodies larger than the maximum response size are refused instead of being buffered, and redirects from <code>https</code> to <code>http</code> are never followed.
+ * An unexpected error while handling one connection only fails the request on that connection and is reported to the exception consumer, the selector thread keeps serving every other request.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsNioTransport implements BattlefieldsTransport
+{
+    public static final int DEFAULT_MAX_RESPONSE_SIZE = 256 * 1024 * 1024;
+    private static final int MAX_REDIRECTS = 5;
+    private static final int MAX_HEADER_LINE = 64 * 1024;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final long KEEP_ALIVE_TIME = 30000;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final String userAgent;
+    private final int maxConnectionsPerHost;
+    private final long connectTimeout;
+    private final long timeout;
+    private final int maxResponseSize;
+    private final Consumer<Exception> exceptionConsumer;
+    private final SSLContext sslContext;
+    private final Selector selector;
+    private final Queue<Exchange> submitted;
+    private final Map<String, Host> hosts;
+    private volatile boolean running;
+    private volatile boolean cancelled;
+
+    public BattlefieldsNioTransport() throws IOException
+    {
+        this(BattlefieldsHttpTransport.USER_AGENT, Integer.getInteger("http.maxConnections", 5), 30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a new transport and starts its selector thread.
+     *
+     * @param userAgent             The user agent to send with every request
+     * @param maxConnectionsPerHost The maximum amount of connections to open to a single host
+     * @param timeout               The time a request can go without any progress before it fails
+     * @param timeUnit              The unit timeout is provided in
+     * @throws IOException If the selector could not be opened
+     */
+    public BattlefieldsNioTransport(String userAgent, int maxConnectionsPerHost, long timeout, TimeUnit timeUnit) throws IOException
+    {
+        this(userAgent, maxConnectionsPerHost, timeout, timeout, timeUnit);
+    }
+
+    /**
+     * Creates a new transport and starts its selector thread.
+     *
+     * @param userAgent             The user agent to send with every request
+     * @param maxConnectionsPerHost The maximum amount of connections to open to a single host
+     * @param connectTimeout        The time to wait for a new connection to be established
+     * @param readTimeout           The time a request can go without any progress before it fails
+     * @param timeUnit              The unit connectTimeout and readTimeout are provided in
+     * @throws IOException If the selector could not be opened
+     */
+    public BattlefieldsNioTransport(String userAgent, int maxConnectionsPerHost, long connectTimeout, long readTimeout, TimeUnit timeUnit) throws IOException
+    {
+        this(userAgent, maxConnectionsPerHost, connectTimeout, readTimeout, timeUnit, DEFAULT_MAX_RESPONSE_SIZE, Exception::printStackTrace);
+    }
+
+    /**
+     * Creates a new transport and starts its selector thread.
+     *
+     * @param userAgent             The user agent to send with every request
+     * @param maxConnectionsPerHost The maximum amount of connections to open to a single host
+     * @param connectTimeout        The time to wait for a new connection to be established
+     * @param readTimeout           The time a request can go without any progress before it fails
+     * @param timeUnit              The unit connectTimeout and readTimeout are provided in
+     * @param maxResponseSize       The largest body in bytes that will be received before the request fails
+     * @param exceptionConsumer     The handler for unexpected errors on the selector thread
+     * @throws IOException If the selector could not be opened
+     */
+    public BattlefieldsNioTransport(String userAgent, int maxConnectionsPerHost, long connectTimeout, long readTimeout, TimeUnit timeUnit, int maxResponseSize, Consumer<Exception> exceptionConsumer) throws IOException
+    {
+        this(userAgent, maxConnectionsPerHost, connectTimeout, readTimeout, timeUnit, maxResponseSize, exceptionConsumer, getDefaultSslContext());
+    }
+
+    /**
+     * Creates a new transport and starts its selector thread.
+     *
+     * @param userAgent             The user agent to send with every request
+     * @param maxConnectionsPerHost The maximum amount of connections to open to a single host
+     * @param connectTimeout        The time to wait for a new connection to be established
+     * @param readTimeout           The time a request can go without any progress before it fails
+     * @param timeUnit              The unit connectTimeout and readTimeout are provided in
+     * @param maxResponseSize       The largest body in bytes that will be received before the request fails
+     * @param exceptionConsumer     The handler for unexpected errors on the selector thread
+     * @param sslContext            The context to create TLS connections with, such as one that trusts a private certificate authority
+     * @throws IOException If the selector could not be opened
+     */
+    public BattlefieldsNioTransport(String userAgent, int maxConnectionsPerHost, long connectTimeout, long readTimeout, TimeUnit timeUnit, int maxResponseSize, Consumer<Exception> exceptionConsumer, SSLContext sslContext) throws IOException
+    {
+        if (maxConnectionsPerHost < 1)
+            throw new IllegalArgumentException("Max connections per host must be at least 1");
+        if (connectTimeout < 1)
+            throw new IllegalArgumentException("Connect Timeout must be at least 1");
+        if (readTimeout < 1)
+            throw new IllegalArgumentException("Read Timeout must be at least 1");
+        if (maxResponseSize < 0)
+            throw new IllegalArgumentException("Max Response Size must be at least 0");
+        this.userAgent = userAgent;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.connectTimeout = timeUnit.toMillis(connectTimeout);
+        this.timeout = timeUnit.toMillis(readTimeout);
+        this.maxResponseSize = maxResponseSize;
+        this.exceptionConsumer = exceptionConsumer;
+        this.sslContext = sslContext;
+        this.selector = Selector.open();
+        this.submitted = new ConcurrentLinkedQueue<>();
+        this.hosts = new HashMap<>();
+        this.running = true;
+        this.cancelled = false;
+
+        Thread thread = new Thread(this::run, "Battlefields API Selector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static SSLContext getDefaultSslContext() throws IOException
+    {
+        try
+        {
+            return SSLContext.getDefault();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IOException("Failed to create SSL context", e);
+        }
+    }
+
+    @Override
+    public InputStream open(String url) throws IOException
+    {
+        // Nothing is done with the result on the selector thread, so it can be handed over directly
+        CompletableFuture<InputStream> future = this.openAsync(url, Runnable::run);
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for '" + url + "'");
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            throw new IOException("Failed to connect to '" + url + "'", cause);
+        }
+    }
+
+    @Override
+    public CompletableFuture<InputStream> openAsync(String url, Executor executor)
+    {
+        CompletableFuture<InputStream> future = new CompletableFuture<>();
+        try
+        {
+            URI uri = new URI(url);
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme()))
+                throw new IOException("Unsupported protocol: " + uri.getScheme());
+            if (uri.getHost() == null)
+                throw new IOException("Invalid url: " + url);
+            this.submit(new Exchange(url, uri, executor, future, 0));
+            future.whenComplete((stream, t) ->
+            {
+                if (future.isCancelled())
+                {
+                    this.cancelled = true;
+                    this.selector.wakeup();
+                }
+            });
+        }
+        catch (URISyntaxException e)
+        {
+            future.completeExceptionally(new IOException("Invalid url: " + url, e));
+        }
+        catch (IOException e)
+        {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void submit(Exchange exchange)
+    {
+        if (!this.running)
+        {
+            exchange.fail(new IOException("Transport is closed"));
+            return;
+        }
+        this.submitted.add(exchange);
+        this.selector.wakeup();
+    }
+
+    private void run()
+    {
+        try
+        {
+            while (this.running)
+            {
+                try
+                {
+                    this.selector.select(1000);
+                }
+                catch (IOException e)
+                {
+                    this.exceptionConsumer.accept(e);
+                    continue;
+                }
+
+                Exchange exchange;
+                while ((exchange = this.submitted.poll()) != null)
+                {
+                    try
+                    {
+                        this.dispatch(exchange);
+                    }
+                    catch (RuntimeException e)
+                    {
+                        exchange.fail(e);
+                        this.exceptionConsumer.accept(e);
+                    }
+                }
+
+                if (this.cancelled)
+                {
+                    this.cancelled = false;
+                    this.abortCancelled();
+                }
+
+                for (SelectionKey key : this.selector.selectedKeys())
+                    ((Connection) key.attachment()).ready();
+                this.selector.selectedKeys().clear();
+
+                this.expire();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // Only reached if the selector itself stops working, every connection handles its own errors
+            this.exceptionConsumer.accept(e);
+        }
+        finally
+        {
+            this.running = false;
+            IOException closed = new IOException("Transport is closed");
+            List<Connection> connections = new ArrayList<>();
+            for (SelectionKey key : this.selector.keys())
+                connections.add((Connection) key.attachment());
+            for (Connection connection : connections)
+                connection.fail(closed, false);
+            for (Host host : this.hosts.values())
+                host.pending.forEach(exchange -> exchange.fail(closed));
+            Exchange exchange;
+            while ((exchange = this.submitted.poll()) != null)
+                exchange.fail(closed);
+            try
+            {
+                this.selector.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+        }
+    }
+
+    private void dispatch(Exchange exchange)
+    {
+        if (!this.running)
+        {
+            exchange.fail(new IOException("Transport is closed"));
+            return;
+        }
+        if (exchange.future.isDone())
+            return;
+
+        URI uri = exchange.uri;
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        Host host = this.hosts.computeIfAbsent((secure ? "https://" : "http://") + uri.getHost() + ":" + port, key -> new Host(uri.getHost(), port, secure));
+
+        // The most recently used connection is the least likely to have been closed by the server
+        Connection connection = host.idle.pollLast();
+        if (connection != null)
+        {
+            connection.start(exchange, true);
+            return;
+        }
+
+        if (host.open >= this.maxConnectionsPerHost)
+        {
+            host.pending.add(exchange);
+            return;
+        }
+
+        try
+        {
+            host.open++;
+            new Connection(host).start(exchange, false);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            host.open--;
+            exchange.fail(e);
+        }
+    }
+
+    private void abortCancelled()
+    {
+        // The response to a cancelled request is never read, so the connection is closed instead of finishing the download
+        List<Connection> aborted = new ArrayList<>();
+        for (SelectionKey key : this.selector.keys())
+        {
+            Connection connection = (Connection) key.attachment();
+            if (connection.exchange != null && connection.exchange.future.isCancelled())
+                aborted.add(connection);
+        }
+        for (Connection connection : aborted)
+        {
+            connection.exchange = null;
+            connection.close();
+        }
+    }
+
+    private void expire()
+    {
+        long now = System.currentTimeMillis();
+        List<Connection> expired = new ArrayList<>();
+        for (SelectionKey key : this.selector.keys())
+        {
+            Connection connection = (Connection) key.attachment();
+            if (connection.deadline < now)
+                expired.add(connection);
+        }
+        for (Connection connection : expired)
+        {
+            if (connection.exchange != null)
+                connection.fail(new SocketTimeoutException("Timed out waiting for '" + connection.exchange.url + "'"), false);
+            else
+                connection.close();
+        }
+    }
+
+    private byte[] createRequest(URI uri)
+    {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null)
+            path += "?" + uri.getRawQuery();
+        String host = uri.getPort() != -1 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+        return ("GET " + path + " HTTP/1.1\r\n" +
+                "Host: " + host + "\r\n" +
+                "User-Agent: " + this.userAgent + "\r\n" +
+                "Accept: */*\r\n" +
+                "Accept-Encoding: gzip\r\n" +
+                "Connection: keep-alive\r\n" +
+                "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private void complete(Exchange exchange, Response response)
+    {
+        int code = response.statusCode;
+        if (code == 200)
+        {
+            InputStream stream = response.body.toInputStream();
+            if ("gzip".equalsIgnoreCase(response.headers.get("content-encoding")))
+            {
+                try
+                {
+                    stream = new GZIPInputStream(stream);
+                }
+                catch (IOException e)
+                {
+                    exchange.fail(e);
+                    return;
+                }
+            }
+            exchange.complete(stream);
+            return;
+        }
+
+        String location = response.headers.get("location");
+        if ((code == 301 || code == 302 || code == 303 || code == 307 || code == 308) && location != null && exchange.redirects < MAX_REDIRECTS)
+        {
+            try
+            {
+                URI target = exchange.uri.resolve(location);
+                if (!"http".equalsIgnoreCase(target.getScheme()) && !"https".equalsIgnoreCase(target.getScheme()))
+                {
+                    exchange.fail(new IOException("Refusing to follow redirect from '" + exchange.url + "' to unsupported protocol: " + location));
+                    return;
+                }
+                if ("https".equalsIgnoreCase(exchange.uri.getScheme()) && !"https".equalsIgnoreCase(target.getScheme()))
+                {
+                    exchange.fail(new IOException("Refusing to follow redirect from '" + exchange.url + "' to insecure location: " + location));
+                    return;
+                }
+                if (target.getHost() == null)
+                {
+                    exchange.fail(new IOException("Invalid redirect from '" + exchange.url + "' to '" + location + "'"));
+                    return;
+                }
+                this.dispatch(new Exchange(exchange.url, target, exchange.executor, exchange.future, exchange.redirects + 1));
+            }
+            catch (IllegalArgumentException e)
+            {
+                exchange.fail(new IOException("Invalid redirect from '" + exchange.url + "' to '" + location + "'", e));
+            }
+            return;
+        }
+
+        exchange.fail(new BattlefieldsHttpException("Failed to connect to '" + exchange.url + "'. " + code + " " + response.reason, code));
+    }
+
+    @Override
+    public void close()
+    {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    /**
+     * <p>A single request and the future it completes.</p>
+     *
+     * @author Ocelot
+     */
+    private static class Exchange
+    {
+        private final String url;
+        private final URI uri;
+        private final Executor executor;
+        private final CompletableFuture<InputStream> future;
+        private final int redirects;
+        private boolean retried;
+
+        private Exchange(String url, URI uri, Executor executor, CompletableFuture<InputStream> future, int redirects)
+        {
+            this.url = url;
+            this.uri = uri;
+            this.executor = executor;
+            this.future = future;
+            this.redirects = redirects;
+            this.retried = false;
+        }
+
+        private void deliver(Runnable action)
+        {
+            // Completing on the executor keeps callbacks from ever running on the selector thread
+            try
+            {
+                this.executor.execute(action);
+            }
+            catch (RejectedExecutionException e)
+            {
+                action.run();
+            }
+        }
+
+        private void complete(InputStream stream)
+        {
+            this.deliver(() -> this.future.complete(stream));
+        }
+
+        private void fail(Throwable t)
+        {
+            this.deliver(() -> this.future.completeExceptionally(t));
+        }
+    }
+
+    /**
+     * <p>The connections and queued requests for a single scheme, host and port.</p>
+     *
+     * @author Ocelot
+     */
+    private static class Host
+    {
+        private final String hostName;
+        private final int port;
+        private final boolean secure;
+        private final ArrayDeque<Connection> idle;
+        private final ArrayDeque<Exchange> pending;
+        private int open;
+
+        private Host(String hostName, int port, boolean secure)
+        {
+            this.hostName = hostName;
+            this.port = port;
+            this.secure = secure;
+            this.idle = new ArrayDeque<>();
+            this.pending = new ArrayDeque<>();
+            this.open = 0;
+        }
+
+        private Exchange pollPending()
+        {
+            // Requests that were cancelled while queued are dropped without ever being sent
+            Exchange next = this.pending.poll();
+            while (next != null && next.future.isDone())
+                next = this.pending.poll();
+            return next;
+        }
+    }
+
+    /**
+     * <p>A single keep-alive connection that performs one request at a time.</p>
+     *
+     * @author Ocelot
+     */
+    private class Connection
+    {
+        private final Host host;
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final SSLEngine engine;
+        private ByteBuffer netIn;
+        private ByteBuffer netOut;
+        private ByteBuffer appIn;
+        private Exchange exchange;
+        private Response response;
+        private ByteBuffer request;
+        private boolean reused;
+        private boolean closed;
+        private long deadline;
+
+        private Connection(Host host) throws IOException
+        {
+            this.host = host;
+            if (host.secure)
+            {
+                this.engine = sslContext.createSSLEngine(host.hostName, host.port);
+                this.engine.setUseClientMode(true);
+                SSLParameters parameters = this.engine.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                this.engine.setSSLParameters(parameters);
+                this.netIn = ByteBuffer.allocate(this.engine.getSession().getPacketBufferSize());
+                this.netOut = ByteBuffer.allocate(this.engine.getSession().getPacketBufferSize());
+                this.appIn = ByteBuffer.allocate(this.engine.getSession().getApplicationBufferSize());
+            }
+            else
+            {
+                this.engine = null;
+                this.netIn = ByteBuffer.allocate(BUFFER_SIZE);
+                this.netOut = ByteBuffer.allocate(0);
+                this.appIn = null;
+            }
+            this.netOut.flip();
+
+            this.channel = SocketChannel.open();
+            try
+            {
+                this.channel.configureBlocking(false);
+                this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                this.key = this.channel.register(selector, 0, this);
+                if (this.channel.connect(new InetSocketAddress(host.hostName, host.port)))
+                    this.connected();
+                else
+                    this.key.interestOps(SelectionKey.OP_CONNECT);
+            }
+            catch (IOException | RuntimeException e)
+            {
+                this.channel.close();
+                throw e;
+            }
+        }
+
+        private void connected() throws IOException
+        {
+            if (this.engine != null)
+                this.engine.beginHandshake();
+            this.key.interestOps(SelectionKey.OP_WRITE);
+        }
+
+        private void start(Exchange exchange, boolean reused)
+        {
+            this.exchange = exchange;
+            this.response = new Response(maxResponseSize);
+            this.request = ByteBuffer.wrap(createRequest(exchange.uri));
+            this.reused = reused;
+            this.deadline = System.currentTimeMillis() + (this.channel.isConnected() ? timeout : connectTimeout);
+            if (this.channel.isConnected())
+                this.key.interestOps(SelectionKey.OP_WRITE);
+        }
+
+        private void ready()
+        {
+            try
+            {
+                if (!this.key.isValid())
+                    return;
+                if (this.key.isConnectable())
+                {
+                    if (!this.channel.finishConnect())
+                        return;
+                    this.connected();
+                    return;
+                }
+
+                // An idle connection only becomes readable when the server closes it
+                if (this.exchange == null)
+                {
+                    this.close();
+                    return;
+                }
+
+                if (this.engine != null)
+                    this.pumpSecure();
+                else
+                    this.pumpPlain();
+            }
+            catch (IOException e)
+            {
+                this.fail(e, true);
+            }
+            catch (RuntimeException e)
+            {
+                // A bug or an unexpected state only takes down this connection and its request
+                this.fail(e, false);
+                exceptionConsumer.accept(e);
+            }
+        }
+
+        private void pumpPlain() throws IOException
+        {
+            if (this.request.hasRemaining())
+            {
+                this.channel.write(this.request);
+                this.deadline = System.currentTimeMillis() + timeout;
+                if (this.request.hasRemaining())
+                {
+                    this.key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+
+            while (true)
+            {
+                int read = this.channel.read(this.netIn);
+                if (read < 0)
+                {
+                    this.endOfStream();
+                    return;
+                }
+                if (read == 0)
+                {
+                    this.key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+
+                this.netIn.flip();
+                boolean done = this.receive(this.netIn);
+                this.netIn.compact();
+                if (done)
+                    return;
+            }
+        }
+
+        private void pumpSecure() throws IOException
+        {
+            while (true)
+            {
+                if (this.netOut.hasRemaining())
+                {
+                    this.channel.write(this.netOut);
+                    this.deadline = System.currentTimeMillis() + timeout;
+                    if (this.netOut.hasRemaining())
+                    {
+                        this.key.interestOps(SelectionKey.OP_WRITE);
+                        return;
+                    }
+                }
+
+                SSLEngineResult.HandshakeStatus status = this.engine.getHandshakeStatus();
+                if (status == SSLEngineResult.HandshakeStatus.NEED_TASK)
+                {
+                    Runnable task;
+                    while ((task = this.engine.getDelegatedTask()) != null)
+                        task.run();
+                    continue;
+                }
+
+                boolean handshaking = status != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING && status != SSLEngineResult.HandshakeStatus.FINISHED;
+                if (status == SSLEngineResult.HandshakeStatus.NEED_WRAP || (!handshaking && this.request.hasRemaining()))
+                {
+                    this.netOut.compact();
+                    SSLEngineResult result = this.engine.wrap(handshaking ? EMPTY : this.request, this.netOut);
+                    this.netOut.flip();
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW)
+                        this.netOut = grow(this.netOut, this.engine.getSession().getPacketBufferSize(), true);
+                    else if (result.getStatus() == SSLEngineResult.Status.CLOSED)
+                        throw new SSLException("Connection to '" + this.exchange.url + "' was closed during the handshake");
+                    continue;
+                }
+
+                this.netIn.flip();
+                SSLEngineResult result = this.engine.unwrap(this.netIn, this.appIn);
+                this.netIn.compact();
+
+                if (this.appIn.position() > 0)
+                {
+                    this.appIn.flip();
+                    boolean done = this.receive(this.appIn);
+                    this.appIn.compact();
+                    if (done)
+                        return;
+                }
+
+                switch (result.getStatus())
+                {
+                    case BUFFER_OVERFLOW:
+                        this.appIn = grow(this.appIn, this.engine.getSession().getApplicationBufferSize(), false);
+                        continue;
+                    case CLOSED:
+                        this.endOfStream();
+                        return;
+                    case OK:
+                        if (result.bytesConsumed() > 0 || result.bytesProduced() > 0)
+                            continue;
+                        break;
+                    default:
+                        break;
+                }
+
+                // More data is needed from the server before anything else can be unwrapped
+                if (!this.netIn.hasRemaining())
+                    this.netIn = grow(this.netIn, this.engine.getSession().getPacketBufferSize(), false);
+                int read = this.channel.read(this.netIn);
+                if (read < 0)
+                {
+                    this.endOfStream();
+                    return;
+                }
+                if (read == 0)
+                {
+                    this.key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+            }
+        }
+
+        private boolean receive(ByteBuffer data) throws IOException
+        {
+            this.deadline = System.currentTimeMillis() + timeout;
+            if (!this.response.feed(data))
+                return false;
+
+            Exchange exchange = this.exchange;
+            Response response = this.response;
+            this.exchange = null;
+            this.response = null;
+            this.request = null;
+            data.position(data.limit());
+
+            if (response.keepAlive)
+                this.release();
+            else
+                this.close();
+            complete(exchange, response);
+            return true;
+        }
+
+        private void endOfStream() throws IOException
+        {
+            if (this.response.finish())
+            {
+                Exchange exchange = this.exchange;
+                Response response = this.response;
+                this.exchange = null;
+                this.close();
+                complete(exchange, response);
+                return;
+            }
+            throw new EOFException("Connection closed before the response from '" + this.exchange.url + "' was complete");
+        }
+
+        private void release()
+        {
+            Exchange next = this.host.pollPending();
+            if (next != null)
+            {
+                this.start(next, true);
+                return;
+            }
+            this.host.idle.add(this);
+            this.deadline = System.currentTimeMillis() + KEEP_ALIVE_TIME;
+            this.key.interestOps(SelectionKey.OP_READ);
+        }
+
+        private void fail(Exception e, boolean retry)
+        {
+            Exchange exchange = this.exchange;
+            boolean stale = retry && exchange != null && this.reused && !this.response.started && !exchange.retried;
+            this.exchange = null;
+            this.close();
+            if (exchange == null)
+                return;
+
+            // A reused connection may have been closed by the server right before the request was sent, which is safe to try again
+            if (stale)
+            {
+                exchange.retried = true;
+                dispatch(exchange);
+            }
+            else
+            {
+                exchange.fail(e);
+            }
+        }
+
+        private void close()
+        {
+            if (this.closed)
+                return;
+            this.closed = true;
+            this.key.cancel();
+            try
+            {
+                this.channel.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+            this.host.idle.remove(this);
+            this.host.open--;
+
+            Exchange next = this.host.pollPending();
+            if (next != null)
+                dispatch(next);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int minimumSize, boolean readMode)
+    {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, minimumSize));
+        if (readMode)
+        {
+            grown.put(buffer);
+            grown.flip();
+        }
+        else
+        {
+            buffer.flip();
+            grown.put(buffer);
+        }
+        return grown;
+    }
+
+    /**
+     * <p>Incrementally parses a single HTTP/1.1 response as its bytes arrive.</p>
+     *
+     * @author Ocelot
+     */
+    private static class Response
+    {
+        private static final int HEAD = 0;
+        private static final int FIXED = 1;
+        private static final int CHUNK_SIZE = 2;
+        private static final int CHUNK_DATA = 3;
+        private static final int CHUNK_END = 4;
+        private static final int TRAILER = 5;
+        private static final int UNTIL_CLOSE = 6;
+        private static final int DONE = 7;
+
+        private final int maxSize;
+        private final Map<String, String> headers;
+        private final ByteArrayOutputStream line;
+        private Body body;
+        private int state;
+        private String version;
+        private int statusCode;
+        private String reason;
+        private long remaining;
+        private boolean keepAlive;
+        private boolean started;
+
+        private Response(int maxSize)
+        {
+            this.maxSize = maxSize;
+            this.headers = new HashMap<>();
+            this.line = new ByteArrayOutputStream();
+            this.body = null;
+            this.state = HEAD;
+            this.statusCode = 0;
+            this.started = false;
+        }
+
+        private boolean readLine(ByteBuffer data) throws IOException
+        {
+            while (data.hasRemaining())
+            {
+                byte b = data.get();
+                if (b == '\n')
+                    return true;
+                if (b != '\r')
+                    this.line.write(b);
+                if (this.line.size() > MAX_HEADER_LINE)
+                    throw new IOException("Response header line is too long");
+            }
+            return false;
+        }
+
+        private String takeLine()
+        {
+            String value = new String(this.line.toByteArray(), StandardCharsets.ISO_8859_1);
+            this.line.reset();
+            return value;
+        }
+
+        private void copy(ByteBuffer data, long limit) throws IOException
+        {
+            int count = (int) Math.min(limit, data.remaining());
+            if (this.body.size() + (long) count > this.maxSize)
+                throw new IOException("Response body is larger than " + this.maxSize + " bytes");
+            this.body.write(data.array(), data.arrayOffset() + data.position(), count);
+            data.position(data.position() + count);
+            this.remaining -= count;
+        }
+
+        private void parseStatus(String line) throws IOException
+        {
+            String[] parts = line.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/"))
+                throw new IOException("Invalid response status: " + line);
+            try
+            {
+                this.version = parts[0];
+                this.statusCode = Integer.parseInt(parts[1]);
+                this.reason = parts.length > 2 ? parts[2] : "";
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IOException("Invalid response status: " + line, e);
+            }
+        }
+
+        private void beginBody() throws IOException
+        {
+            // Informational responses are followed by the real response
+            if (this.statusCode >= 100 && this.statusCode < 200)
+            {
+                this.statusCode = 0;
+                this.headers.clear();
+                return;
+            }
+
+            String connection = this.headers.getOrDefault("connection", "");
+            this.keepAlive = "HTTP/1.1".equals(this.version) ? !"close".equalsIgnoreCase(connection) : "keep-alive".equalsIgnoreCase(connection);
+
+            String transferEncoding = this.headers.get("transfer-encoding");
+            String contentLength = this.headers.get("content-length");
+            if (this.statusCode == 204 || this.statusCode == 304)
+            {
+                this.body = new Body(0);
+                this.state = DONE;
+            }
+            else if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked"))
+            {
+                this.body = new Body(BUFFER_SIZE);
+                this.state = CHUNK_SIZE;
+            }
+            else if (contentLength != null)
+            {
+                try
+                {
+                    this.remaining = Long.parseLong(contentLength.trim());
+                }
+                catch (NumberFormatException e)
+                {
+                    throw new IOException("Invalid content length: " + contentLength, e);
+                }
+                if (this.remaining < 0)
+                    throw new IOException("Invalid content length: " + contentLength);
+                if (this.remaining > this.maxSize)
+                    throw new IOException("Response body is larger than " + this.maxSize + " bytes");
+                // The buffer grows as data actually arrives instead of trusting the declared length up front
+                this.body = new Body((int) Math.min(this.remaining, BUFFER_SIZE));
+                this.state = this.remaining == 0 ? DONE : FIXED;
+            }
+            else
+            {
+                this.body = new Body(BUFFER_SIZE);
+                this.keepAlive = false;
+                this.state = UNTIL_CLOSE;
+            }
+        }
+
+        /**
+         * Reads as much of the response as possible from the specified data.
+         *
+         * @param data The data received from the server
+         * @return Whether or not the response is complete
+         * @throws IOException If the response is malformed
+         */
+        private boolean feed(ByteBuffer data) throws IOException
+        {
+            this.started |= data.hasRemaining();
+            while (data.hasRemaining() && this.state != DONE)
+            {
+                switch (this.state)
+                {
+                    case HEAD:
+                        if (!this.readLine(data))
+                            break;
+                        String line = this.takeLine();
+                        if (this.statusCode == 0)
+                        {
+                            if (!line.isEmpty())
+                                this.parseStatus(line);
+                        }
+                        else if (line.isEmpty())
+                        {
+                            this.beginBody();
+                        }
+                        else
+                        {
+                            int split = line.indexOf(':');
+                            if (split > 0)
+                                this.headers.put(line.substring(0, split).trim().toLowerCase(Locale.ROOT), line.substring(split + 1).trim());
+                        }
+                        break;
+                    case FIXED:
+                        this.copy(data, this.remaining);
+                        if (this.remaining == 0)
+                            this.state = DONE;
+                        break;
+                    case CHUNK_SIZE:
+                        if (!this.readLine(data))
+                            break;
+                        String size = this.takeLine();
+                        int extension = size.indexOf(';');
+                        try
+                        {
+                            this.remaining = Long.parseLong((extension != -1 ? size.substring(0, extension) : size).trim(), 16);
+                        }
+                        catch (NumberFormatException e)
+                        {
+                            throw new IOException("Invalid chunk size: " + size, e);
+                        }
+                        this.state = this.remaining == 0 ? TRAILER : CHUNK_DATA;
+                        break;
+                    case CHUNK_DATA:
+                        this.copy(data, this.remaining);
+                        if (this.remaining == 0)
+                            this.state = CHUNK_END;
+                        break;
+                    case CHUNK_END:
+                        if (this.readLine(data))
+                        {
+                            this.takeLine();
+                            this.state = CHUNK_SIZE;
+                        }
+                        break;
+                    case TRAILER:
+                        if (this.readLine(data) && this.takeLine().isEmpty())
+                            this.state = DONE;
+                        break;
+                    case UNTIL_CLOSE:
+                        this.copy(data, data.remaining());
+                        break;
+                }
+            }
+            return this.state == DONE;
+        }
+
+        /**
+         * Called once the server closes the connection.
+         *
+         * @return Whether or not the response is complete
+         */
+        private boolean finish()
+        {
+            if (this.state == UNTIL_CLOSE)
+                this.state = DONE;
+            return this.state == DONE;
+        }
+    }
+
+    /**
+     * <p>A response body that can be read back without copying it.</p>
+     *
+     * @author Ocelot
+     */
+    private static class Body extends ByteArrayOutputStream
+    {
+        private Body(int size)
+        {
+            super(size);
+        }
+
+        private InputStream toInputStream()
+        {
+            return new ByteArrayInputStream(this.buf, 0, this.count);
+        }
+    }
+}
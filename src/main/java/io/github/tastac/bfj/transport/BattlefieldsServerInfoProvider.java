@@ -0,0 +1,32 @@
+package io.github.tastac.bfj.transport;
+
+import io.github.tastac.bfj.components.BFServerInfo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Looks up the {@link BFServerInfo} of a Minecraft server.</p>
+ * <p>Implementations can be provided through {@link io.github.tastac.bfj.BattlefieldsApiBuilder#setServerInfoProvider(BattlefieldsServerInfoProvider)} to replace the lookup through {@link io.github.tastac.bfj.BFJ#BF_SERVER_INFO_URL}.</p>
+ *
+ * @author Ocelot
+ */
+public interface BattlefieldsServerInfoProvider extends AutoCloseable
+{
+    /**
+     * <p>Requests the information of the server at the specified address.</p>
+     *
+     * @param address  The address of the server, optionally followed by <code>:port</code>
+     * @param executor The executor to complete the returned future on
+     * @return A future that completes with the information of the server or completes exceptionally if the server could not be reached
+     */
+    CompletableFuture<BFServerInfo> requestServerInfo(String address, Executor executor);
+
+    /**
+     * Releases any resources held by this provider.
+     */
+    @Override
+    default void close()
+    {
+    }
+}
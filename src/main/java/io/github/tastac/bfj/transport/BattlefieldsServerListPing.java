@@ -0,0 +1,583 @@
+package io.github.tastac.bfj.transport;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.tastac.bfj.components.BFServerInfo;
+
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.InitialDirContext;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>A {@link BattlefieldsServerInfoProvider} that asks each server for its status directly with the Minecraft Server List Ping protocol.</p>
+ * <p>Every ping is multiplexed over a single selector thread, so the whole server list can be pinged at once without a thread waiting on each server.
+ * Addresses without a port are looked up through their <code>_minecraft._tcp</code> SRV record first, the same way the game does.
+ * An unexpected error while handling one ping only fails that ping and is reported to the exception consumer, the selector thread keeps serving every other ping.</p>
+ *
+ * @author Ocelot
+ */
+public class BattlefieldsServerListPing implements BattlefieldsServerInfoProvider
+{
+    public static final int DEFAULT_PORT = 25565;
+    private static final int PROTOCOL_VERSION = -1;
+    private static final int MAX_PACKET_SIZE = 2 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final char FORMATTING_CODE = '\u00A7';
+    private static final Map<String, Character> COLOR_CODES = new HashMap<>();
+    private static final String[][] FORMAT_CODES = {{"obfuscated", "k"}, {"bold", "l"}, {"strikethrough", "m"}, {"underlined", "n"}, {"italic", "o"}};
+
+    static
+    {
+        String[] colors = {"black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray", "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow", "white"};
+        for (int i = 0; i < colors.length; i++)
+            COLOR_CODES.put(colors[i], Character.forDigit(i, 16));
+    }
+
+    private final long timeout;
+    private final boolean resolveSrv;
+    private final Consumer<Exception> exceptionConsumer;
+    private final Selector selector;
+    private final Queue<Ping> submitted;
+    private volatile boolean running;
+
+    public BattlefieldsServerListPing() throws IOException
+    {
+        this(5, TimeUnit.SECONDS, true);
+    }
+
+    /**
+     * Creates a new client and starts its selector thread.
+     *
+     * @param timeout    The time a ping can go without any progress before it fails
+     * @param timeUnit   The unit timeout is provided in
+     * @param resolveSrv Whether or not to look up SRV records for addresses without a port
+     * @throws IOException If the selector could not be opened
+     */
+    public BattlefieldsServerListPing(long timeout, TimeUnit timeUnit, boolean resolveSrv) throws IOException
+    {
+        this(timeout, timeUnit, resolveSrv, Exception::printStackTrace);
+    }
+
+    /**
+     * Creates a new client and starts its selector thread.
+     *
+     * @param timeout           The time a ping can go without any progress before it fails
+     * @param timeUnit          The unit timeout is provided in
+     * @param resolveSrv        Whether or not to look up SRV records for addresses without a port
+     * @param exceptionConsumer The handler for unexpected errors on the selector thread
+     * @throws IOException If the selector could not be opened
+     */
+    public BattlefieldsServerListPing(long timeout, TimeUnit timeUnit, boolean resolveSrv, Consumer<Exception> exceptionConsumer) throws IOException
+    {
+        if (timeout < 1)
+            throw new IllegalArgumentException("Timeout must be at least 1");
+        this.timeout = timeUnit.toMillis(timeout);
+        this.resolveSrv = resolveSrv;
+        this.exceptionConsumer = exceptionConsumer;
+        this.selector = Selector.open();
+        this.submitted = new ConcurrentLinkedQueue<>();
+        this.running = true;
+
+        Thread thread = new Thread(this::run, "Battlefields API Pinger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public CompletableFuture<BFServerInfo> requestServerInfo(String address, Executor executor)
+    {
+        // Name lookups block, so they are done on the executor before the ping is handed to the selector
+        CompletableFuture<BFServerInfo> future = new CompletableFuture<>();
+        CompletableFuture.runAsync(() ->
+        {
+            try
+            {
+                this.submit(new Ping(address, this.resolve(address), executor, future));
+            }
+            catch (IOException | RuntimeException e)
+            {
+                future.completeExceptionally(e);
+            }
+        }, executor).exceptionally(t ->
+        {
+            future.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+            return null;
+        });
+        return future;
+    }
+
+    private InetSocketAddress resolve(String address) throws IOException
+    {
+        String host = address;
+        int port = DEFAULT_PORT;
+        int separator = address.lastIndexOf(':');
+        if (separator != -1 && address.indexOf(':') == separator)
+        {
+            host = address.substring(0, separator);
+            try
+            {
+                port = Integer.parseInt(address.substring(separator + 1));
+            }
+            catch (NumberFormatException e)
+            {
+                throw new IOException("Invalid address: " + address, e);
+            }
+        }
+        else if (this.resolveSrv)
+        {
+            InetSocketAddress srv = lookupSrv(host);
+            if (srv != null)
+                return srv;
+        }
+
+        InetSocketAddress resolved = new InetSocketAddress(host, port);
+        if (resolved.isUnresolved())
+            throw new IOException("Unknown host: " + host);
+        return resolved;
+    }
+
+    private static InetSocketAddress lookupSrv(String host)
+    {
+        InitialDirContext context = null;
+        try
+        {
+            Hashtable<String, String> environment = new Hashtable<>();
+            environment.put("java.naming.factory.initial", "com.sun.jndi.dns.DnsContextFactory");
+            context = new InitialDirContext(environment);
+            Attribute attribute = context.getAttributes("_minecraft._tcp." + host, new String[]{"SRV"}).get("SRV");
+            if (attribute == null || attribute.size() == 0)
+                return null;
+
+            // Records are in the form "priority weight port target."
+            String[] record = attribute.get(0).toString().split(" ");
+            String target = record[3].endsWith(".") ? record[3].substring(0, record[3].length() - 1) : record[3];
+            InetSocketAddress resolved = new InetSocketAddress(target, Integer.parseInt(record[2]));
+            return resolved.isUnresolved() ? null : resolved;
+        }
+        catch (NamingException | RuntimeException e)
+        {
+            return null;
+        }
+        finally
+        {
+            if (context != null)
+            {
+                try
+                {
+                    context.close();
+                }
+                catch (NamingException ignored)
+                {
+                }
+            }
+        }
+    }
+
+    private void submit(Ping ping)
+    {
+        if (!this.running)
+        {
+            ping.fail(new IOException("Server List Ping is closed"));
+            return;
+        }
+        this.submitted.add(ping);
+        this.selector.wakeup();
+    }
+
+    private void run()
+    {
+        try
+        {
+            while (this.running)
+            {
+                try
+                {
+                    this.selector.select(1000);
+                }
+                catch (IOException e)
+                {
+                    this.exceptionConsumer.accept(e);
+                    continue;
+                }
+
+                Ping ping;
+                while ((ping = this.submitted.poll()) != null)
+                    ping.start();
+
+                for (SelectionKey key : this.selector.selectedKeys())
+                    ((Ping) key.attachment()).ready();
+                this.selector.selectedKeys().clear();
+
+                this.expire();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // Only reached if the selector itself stops working, every ping handles its own errors
+            this.exceptionConsumer.accept(e);
+        }
+        finally
+        {
+            this.running = false;
+            IOException closed = new IOException("Server List Ping is closed");
+            List<Ping> pings = new ArrayList<>();
+            for (SelectionKey key : this.selector.keys())
+                pings.add((Ping) key.attachment());
+            for (Ping ping : pings)
+                ping.fail(closed);
+            Ping ping;
+            while ((ping = this.submitted.poll()) != null)
+                ping.fail(closed);
+            try
+            {
+                this.selector.close();
+            }
+            catch (IOException ignored)
+            {
+            }
+        }
+    }
+
+    private void expire()
+    {
+        long now = System.currentTimeMillis();
+        List<Ping> expired = new ArrayList<>();
+        for (SelectionKey key : this.selector.keys())
+        {
+            Ping ping = (Ping) key.attachment();
+            if (ping.deadline < now)
+                expired.add(ping);
+        }
+        for (Ping ping : expired)
+            ping.fail(new SocketTimeoutException("Timed out waiting for '" + ping.address + "'"));
+    }
+
+    private static void writeVarInt(ByteBuffer buffer, int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException
+    {
+        int value = 0;
+        for (int i = 0; i < 5; i++)
+        {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("VarInt is too big");
+    }
+
+    private static ByteBuffer createRequest(String host, int port)
+    {
+        byte[] hostBytes = host.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer handshake = ByteBuffer.allocate(5 + 5 + 5 + hostBytes.length + 2 + 5);
+        writeVarInt(handshake, 0x00);
+        writeVarInt(handshake, PROTOCOL_VERSION);
+        writeVarInt(handshake, hostBytes.length);
+        handshake.put(hostBytes);
+        handshake.putShort((short) port);
+        writeVarInt(handshake, 1);
+        handshake.flip();
+
+        ByteBuffer request = ByteBuffer.allocate(5 + handshake.remaining() + 2);
+        writeVarInt(request, handshake.remaining());
+        request.put(handshake);
+        writeVarInt(request, 1);
+        writeVarInt(request, 0x00);
+        request.flip();
+        return request;
+    }
+
+    private static void appendText(StringBuilder builder, JsonElement component)
+    {
+        if (component == null || component.isJsonNull())
+            return;
+        if (component.isJsonPrimitive())
+        {
+            builder.append(component.getAsString());
+            return;
+        }
+        if (component.isJsonArray())
+        {
+            for (JsonElement element : component.getAsJsonArray())
+                appendText(builder, element);
+            return;
+        }
+
+        // Styles are written as legacy formatting codes to match the raw MOTD reported by mcsrvstat.us
+        JsonObject object = component.getAsJsonObject();
+        if (object.has("color") && COLOR_CODES.containsKey(object.get("color").getAsString()))
+            builder.append(FORMATTING_CODE).append(COLOR_CODES.get(object.get("color").getAsString()));
+        for (String[] format : FORMAT_CODES)
+            if (object.has(format[0]) && object.get(format[0]).getAsBoolean())
+                builder.append(FORMATTING_CODE).append(format[1]);
+        if (object.has("text"))
+            builder.append(object.get("text").getAsString());
+        if (object.has("extra"))
+            appendText(builder, object.get("extra"));
+    }
+
+    private static BFServerInfo parse(String host, InetSocketAddress address, String json)
+    {
+        JsonObject response = new JsonParser().parse(json).getAsJsonObject();
+
+        StringBuilder description = new StringBuilder();
+        appendText(description, response.get("description"));
+        StringBuilder motd = new StringBuilder();
+        if (description.length() > 0)
+            for (String line : description.toString().split("\n"))
+                motd.append(line).append('\n');
+
+        int onlinePlayers = 0;
+        int maxPlayers = 0;
+        List<String> onlinePlayerNames = new ArrayList<>();
+        if (response.has("players"))
+        {
+            JsonObject players = response.getAsJsonObject("players");
+            onlinePlayers = players.has("online") ? players.get("online").getAsInt() : 0;
+            maxPlayers = players.has("max") ? players.get("max").getAsInt() : 0;
+            if (players.has("sample"))
+            {
+                JsonArray sample = players.getAsJsonArray("sample");
+                for (JsonElement player : sample)
+                    if (player.isJsonObject() && player.getAsJsonObject().has("name"))
+                        onlinePlayerNames.add(player.getAsJsonObject().get("name").getAsString());
+            }
+        }
+
+        String version = null;
+        int protocol = 0;
+        if (response.has("version"))
+        {
+            JsonObject versionObject = response.getAsJsonObject("version");
+            version = versionObject.has("name") ? versionObject.get("name").getAsString() : null;
+            protocol = versionObject.has("protocol") ? versionObject.get("protocol").getAsInt() : 0;
+        }
+
+        String icon = response.has("favicon") ? response.get("favicon").getAsString() : null;
+        return new BFServerInfo(address.getAddress().getHostAddress(), address.getPort(), motd.toString(), onlinePlayers, maxPlayers, onlinePlayerNames.toArray(new String[0]), version, true, protocol, host, icon);
+    }
+
+    @Override
+    public void close()
+    {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    /**
+     * <p>A single status request to one server over its own connection.</p>
+     *
+     * @author Ocelot
+     */
+    private class Ping
+    {
+        private final String address;
+        private final InetSocketAddress resolved;
+        private final Executor executor;
+        private final CompletableFuture<BFServerInfo> future;
+        private final ByteBuffer request;
+        private ByteBuffer response;
+        private SocketChannel channel;
+        private SelectionKey key;
+        private long deadline;
+
+        private Ping(String address, InetSocketAddress resolved, Executor executor, CompletableFuture<BFServerInfo> future)
+        {
+            this.address = address;
+            this.resolved = resolved;
+            this.executor = executor;
+            this.future = future;
+            this.request = createRequest(resolved.getHostString(), resolved.getPort());
+            this.response = ByteBuffer.allocate(BUFFER_SIZE);
+            this.channel = null;
+            this.key = null;
+            this.deadline = Long.MAX_VALUE;
+        }
+
+        private void deliver(Runnable action)
+        {
+            // Completing on the executor keeps callbacks from ever running on the selector thread
+            try
+            {
+                this.executor.execute(action);
+            }
+            catch (RejectedExecutionException e)
+            {
+                action.run();
+            }
+        }
+
+        private void start()
+        {
+            if (this.future.isDone())
+                return;
+            try
+            {
+                this.channel = SocketChannel.open();
+                this.channel.configureBlocking(false);
+                this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                boolean connected = this.channel.connect(this.resolved);
+                this.key = this.channel.register(selector, connected ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT, this);
+                this.deadline = System.currentTimeMillis() + timeout;
+            }
+            catch (IOException e)
+            {
+                this.fail(e);
+            }
+            catch (RuntimeException e)
+            {
+                this.fail(e);
+                exceptionConsumer.accept(e);
+            }
+        }
+
+        private void ready()
+        {
+            try
+            {
+                if (!this.key.isValid())
+                    return;
+                if (this.key.isConnectable() && this.channel.finishConnect())
+                    this.key.interestOps(SelectionKey.OP_WRITE);
+                if (this.key.isValid() && this.key.isWritable())
+                {
+                    this.channel.write(this.request);
+                    if (!this.request.hasRemaining())
+                        this.key.interestOps(SelectionKey.OP_READ);
+                }
+                if (this.key.isValid() && this.key.isReadable())
+                {
+                    if (!this.response.hasRemaining())
+                    {
+                        ByteBuffer grown = ByteBuffer.allocate(Math.min(MAX_PACKET_SIZE + 5, this.response.capacity() * 2));
+                        this.response.flip();
+                        grown.put(this.response);
+                        this.response = grown;
+                    }
+                    if (this.channel.read(this.response) == -1)
+                        throw new EOFException("Connection closed by '" + this.address + "'");
+                    this.read();
+                }
+                this.deadline = System.currentTimeMillis() + timeout;
+            }
+            catch (IOException e)
+            {
+                this.fail(e);
+            }
+            catch (RuntimeException e)
+            {
+                // A bug or an unexpected state only takes down this ping
+                this.fail(e);
+                exceptionConsumer.accept(e);
+            }
+        }
+
+        private void read() throws IOException
+        {
+            ByteBuffer buffer = (ByteBuffer) this.response.duplicate().flip();
+            int length;
+            try
+            {
+                length = readVarInt(buffer);
+            }
+            catch (BufferUnderflowException e)
+            {
+                // The length of the packet has not arrived yet
+                return;
+            }
+            if (length < 0 || length > MAX_PACKET_SIZE)
+                throw new IOException("Invalid packet length from '" + this.address + "': " + length);
+            if (buffer.remaining() < length)
+                return;
+
+            // The whole packet has arrived, so anything it is missing is never going to arrive
+            String json;
+            try
+            {
+                buffer.limit(buffer.position() + length);
+                int packetId = readVarInt(buffer);
+                if (packetId != 0x00)
+                    throw new IOException("Unexpected packet from '" + this.address + "': " + packetId);
+                int dataLength = readVarInt(buffer);
+                if (dataLength < 0 || dataLength > buffer.remaining())
+                    throw new IOException("Malformed response from '" + this.address + "'");
+                byte[] data = new byte[dataLength];
+                buffer.get(data);
+                json = new String(data, StandardCharsets.UTF_8);
+            }
+            catch (BufferUnderflowException e)
+            {
+                throw new IOException("Malformed response from '" + this.address + "'", e);
+            }
+
+            this.close();
+            try
+            {
+                BFServerInfo info = parse(this.resolved.getHostString(), this.resolved, json);
+                this.deliver(() -> this.future.complete(info));
+            }
+            catch (JsonParseException | IllegalStateException | ClassCastException | UnsupportedOperationException e)
+            {
+                this.fail(new IOException("Invalid status from '" + this.address + "'", e));
+            }
+        }
+
+        private void fail(Throwable t)
+        {
+            this.close();
+            this.deliver(() -> this.future.completeExceptionally(t));
+        }
+
+        private void close()
+        {
+            if (this.key != null)
+                this.key.cancel();
+            if (this.channel != null)
+            {
+                try
+                {
+                    this.channel.close();
+                }
+                catch (IOException ignored)
+                {
+                }
+            }
+        }
+    }
+}
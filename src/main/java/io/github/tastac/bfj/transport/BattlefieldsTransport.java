@@ -0,0 +1,64 @@
+package io.github.tastac.bfj.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Performs the raw HTTP requests made by a {@link io.github.tastac.bfj.BattlefieldsApi}.</p>
+ * <p>Implementations can be provided through {@link io.github.tastac.bfj.BattlefieldsApiBuilder#setTransport(BattlefieldsTransport)} to replace how data is fetched, for example with an in-process stub for tests and benchmarks.</p>
+ *
+ * @author Ocelot
+ */
+public interface BattlefieldsTransport extends AutoCloseable
+{
+    /**
+     * <p>Opens a GET request to the specified url.</p>
+     * <p>The returned stream must be closed once the body has been read so the underlying connection can be released.</p>
+     *
+     * @param url The url to request
+     * @return A stream of the response body
+     * @throws IOException If the request could not be made or the server did not respond with <code>200 OK</code>
+     */
+    InputStream open(String url) throws IOException;
+
+    /**
+     * <p>Opens a GET request to the specified url without blocking the calling thread.</p>
+     * <p>By default this calls {@link #open(String)} on the executor, so the request still occupies a thread of that executor until the response arrives.
+     * Non-blocking implementations should override this. Cancelling the returned future should abort the request, or at least release the response once it arrives.</p>
+     *
+     * @param url      The url to request
+     * @param executor The executor to complete the returned future on
+     * @return A future that completes with a stream of the response body or completes exceptionally if the request failed
+     */
+    default CompletableFuture<InputStream> openAsync(String url, Executor executor)
+    {
+        CompletableFuture<InputStream> future = new CompletableFuture<>();
+        executor.execute(() ->
+        {
+            // A request cancelled before it started is never sent
+            if (future.isDone())
+                return;
+            try
+            {
+                InputStream stream = this.open(url);
+                if (!future.complete(stream))
+                    stream.close();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Releases any resources held by this transport.
+     */
+    @Override
+    default void close()
+    {
+    }
+}
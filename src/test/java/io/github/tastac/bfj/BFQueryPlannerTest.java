@@ -0,0 +1,192 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import io.github.tastac.bfj.components.BFPlayer;
+import io.github.tastac.bfj.components.BFQuery;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BFQueryPlannerTest
+{
+    private static final int KILLS = 3000;
+
+    private FakeApiTransport transport;
+    private List<int[]> kills;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        this.kills = new ArrayList<>();
+        Random random = new Random(2);
+        for (int i = 0; i < KILLS; i++)
+        {
+            int[] kill = {i + 1, random.nextInt(200), random.nextInt(100), random.nextInt(100), random.nextInt(10)};
+            this.kills.add(kill);
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", kill[0]);
+            row.put("match_id", kill[1]);
+            row.put("source_player", kill[2]);
+            row.put("target_player", kill[3]);
+            row.put("weapon", kill[4]);
+            this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+        }
+        this.addPlayer(1, "Steve");
+        this.addPlayer(2, "Alex");
+    }
+
+    private void addPlayer(int id, String username)
+    {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("uuid", "0000000000000000000000000000000" + id);
+        row.put("username", username);
+        row.put("last_seen", "2020-01-01 00:00:00");
+        this.transport.addRow(BattlefieldsApiTable.PLAYERS, row);
+    }
+
+    private static List<Integer> getIds(BFKillInfo[] kills)
+    {
+        List<Integer> ids = new ArrayList<>();
+        for (BFKillInfo kill : kills)
+            ids.add(kill.getId());
+        return ids;
+    }
+
+    private List<Integer> getExpectedIds(int matchId, int sourcePlayer, int maxWeapon)
+    {
+        List<Integer> ids = new ArrayList<>();
+        for (int[] kill : this.kills)
+            if (kill[1] == matchId && kill[2] == sourcePlayer && kill[4] < maxWeapon)
+                ids.add(kill[0]);
+        return ids;
+    }
+
+    private long countRequests(String fragment)
+    {
+        return this.transport.getRequests().stream().filter(url -> url.contains(fragment)).count();
+    }
+
+    @Test
+    public void testLocalPlanMatchesServer() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).create();
+        try
+        {
+            assertEquals(KILLS, api.get(BFQuery.matchKills().build()).length);
+            int requests = this.transport.getRequests().size();
+
+            int queries = 0;
+            for (int match = 0; match < 200; match += 13)
+            {
+                for (int player = 0; player < 100; player += 7)
+                {
+                    BFQuery<BFKillInfo> query = BFQuery.matchKills().where(BFKillInfo.Column.MATCH_ID, match).where(BFKillInfo.Column.SOURCE_PLAYER, player).where(BFKillInfo.Column.WEAPON, BFQuery.Operator.LESS_THAN, 5).build();
+                    List<Integer> expected = this.getExpectedIds(match, player, 5);
+                    assertEquals(query.toString(), expected, getIds(api.get(query)));
+                    assertEquals(query.toString(), expected, getIds(api.request(query).get()));
+                    queries++;
+                }
+            }
+
+            assertEquals(240, queries);
+            assertEquals("Every query should be answered from the cached table", requests, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueryFetchesEveryPage() throws Exception
+    {
+        this.transport.setRowLimit(100);
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setPageSize(1000).create();
+        try
+        {
+            assertEquals(KILLS, api.get(BFQuery.matchKills().build()).length);
+            assertEquals(4, countRequests("limit=1000"));
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testCappedResultIsNotTreatedAsComplete() throws Exception
+    {
+        this.transport.setRowLimit(100);
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).create();
+        try
+        {
+            assertEquals(100, api.getMatchKills().length);
+
+            int[] kill = this.kills.get(KILLS - 1);
+            BFQuery<BFKillInfo> query = BFQuery.matchKills().where(BFKillInfo.Column.MATCH_ID, kill[1]).where(BFKillInfo.Column.SOURCE_PLAYER, kill[2]).where(BFKillInfo.Column.WEAPON, BFQuery.Operator.LESS_THAN, 10).build();
+            assertEquals(this.getExpectedIds(kill[1], kill[2], 10), getIds(api.get(query)));
+            assertTrue(getIds(api.get(query)).contains(kill[0]));
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testStringEqualityIsLeftToServer() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).create();
+        try
+        {
+            assertEquals(2, api.get(BFQuery.players().build()).length);
+            this.transport.clearRequests();
+
+            BFPlayer[] players = api.get(BFQuery.players().where(BFPlayer.Column.USERNAME, "steve").build());
+            assertEquals(1, players.length);
+            assertEquals("Steve", players[0].getUsername());
+            assertEquals(1, countRequests("username=steve"));
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testReplicatedPointQueryIsPushedDown() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setReplicatedTables(BattlefieldsApiTable.MATCH_KILLS).create();
+        try
+        {
+            BFQuery<BFKillInfo> query = BFQuery.matchKills().where(BFKillInfo.Column.MATCH_ID, 7).where(BFKillInfo.Column.WEAPON, BFQuery.Operator.LESS_THAN, 10).build();
+            int expected = 0;
+            for (int[] kill : this.kills)
+                if (kill[1] == 7)
+                    expected++;
+
+            assertEquals(expected, api.get(query).length);
+            assertEquals("A point query should not sync the whole table", this.transport.getRequests().size(), countRequests("match_id=7"));
+
+            // Once the replica is synced it answers point queries itself
+            assertEquals(KILLS, api.get(BFQuery.matchKills().build()).length);
+            this.transport.clearRequests();
+            assertEquals(expected, api.get(BFQuery.matchKills().where(BFKillInfo.Column.MATCH_ID, 7).where(BFKillInfo.Column.WEAPON, BFQuery.Operator.LESS_THAN, 5).build()).length + api.get(BFQuery.matchKills().where(BFKillInfo.Column.MATCH_ID, 7).where(BFKillInfo.Column.WEAPON, BFQuery.Operator.GREATER_THAN_OR_EQUAL, 5).build()).length);
+            assertTrue(this.transport.getRequests().isEmpty());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+}
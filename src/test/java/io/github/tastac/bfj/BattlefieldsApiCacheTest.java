@@ -0,0 +1,192 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsApiCacheTest
+{
+    private FakeApiTransport transport;
+    private int rows;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        this.rows = 0;
+        for (int i = 0; i < 10; i++)
+            this.addRow();
+    }
+
+    private void addRow()
+    {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", ++this.rows);
+        row.put("match_id", 1);
+        this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException
+    {
+        long end = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean())
+        {
+            assertTrue("Timed out waiting for condition", System.currentTimeMillis() < end);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneFetch() throws Exception
+    {
+        this.transport.setLatency(200);
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).create();
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            int[] lengths = new int[16];
+            for (int i = 0; i < lengths.length; i++)
+            {
+                int index = i;
+                Thread thread = new Thread(() ->
+                {
+                    try
+                    {
+                        start.await();
+                        lengths[index] = api.getMatchKills().length;
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            List<CompletableFuture<BFKillInfo[]>> futures = new ArrayList<>();
+            start.countDown();
+            for (int i = 0; i < 16; i++)
+                futures.add(api.requestMatchKills());
+            for (Thread thread : threads)
+                thread.join();
+
+            for (int length : lengths)
+                assertEquals(10, length);
+            for (CompletableFuture<BFKillInfo[]> future : futures)
+                assertEquals(10, future.get(5, TimeUnit.SECONDS).length);
+            assertEquals(1, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testSharedFailureIsNotCached() throws Exception
+    {
+        this.transport.setLatency(100).setFailures(1);
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setCacheErrors(false).setExceptionConsumer(exceptions::add).create();
+        try
+        {
+            List<CompletableFuture<BFKillInfo[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                futures.add(api.requestMatchKills());
+            for (CompletableFuture<BFKillInfo[]> future : futures)
+                assertEquals(0, future.get(5, TimeUnit.SECONDS).length);
+            assertEquals(1, this.transport.getRequests().size());
+            assertEquals(1, exceptions.size());
+
+            assertEquals(10, api.getMatchKills().length);
+            assertEquals(2, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testExpiredDataIsFetchedAgain() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setCacheTime(100, TimeUnit.MILLISECONDS).create();
+        try
+        {
+            assertEquals(10, api.getMatchKills().length);
+            this.addRow();
+            assertEquals(10, api.getMatchKills().length);
+
+            Thread.sleep(150);
+            assertEquals(11, api.getMatchKills().length);
+            assertEquals(2, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setCacheTime(100, TimeUnit.MILLISECONDS).setStaleWhileRevalidate(true).create();
+        try
+        {
+            assertEquals(10, api.getMatchKills().length);
+            this.addRow();
+            this.transport.setLatency(200);
+            Thread.sleep(150);
+
+            // The expired rows are returned straight away while the new ones are fetched in the background
+            long start = System.currentTimeMillis();
+            assertEquals(10, api.getMatchKills().length);
+            assertEquals(10, api.requestMatchKills().get(5, TimeUnit.SECONDS).length);
+            assertTrue(System.currentTimeMillis() - start < 150);
+
+            await(() -> api.getMatchKills().length == 11);
+            assertEquals(2, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setCacheTime(500, TimeUnit.MILLISECONDS).setRefreshAhead(0.5).create();
+        try
+        {
+            assertEquals(10, api.getMatchKills().length);
+            this.addRow();
+            assertEquals(10, api.getMatchKills().length);
+            assertEquals(1, this.transport.getRequests().size());
+
+            // Past half of the cache time a request still returns the cached rows but refreshes them before they expire
+            Thread.sleep(300);
+            assertEquals(10, api.getMatchKills().length);
+            await(() -> this.transport.getRequests().size() == 2);
+            await(() -> api.getMatchKills().length == 11);
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+}
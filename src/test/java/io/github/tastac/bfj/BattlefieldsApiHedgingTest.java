@@ -0,0 +1,110 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsApiHedgingTest
+{
+    private static final long SLOW_LATENCY = 2000;
+
+    private FakeApiTransport transport;
+    private BattlefieldsApi api;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        for (int i = 1; i <= 100; i++)
+        {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("match_id", i);
+            this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+        }
+    }
+
+    @After
+    public void tearDown() throws InterruptedException
+    {
+        if (this.api != null)
+            this.api.shutdown();
+    }
+
+    private void createApi(ExecutorService executor) throws Exception
+    {
+        this.api = new BattlefieldsApiBuilder().setExecutor(executor).setTransport(this.transport).setHedging(0.5, 10, TimeUnit.MILLISECONDS, 1.0).create();
+
+        // Every query is a different cache key, so each warm up request reaches the transport and is timed
+        for (int i = 1; i <= 40; i++)
+            assertEquals(1, this.api.getMatchKills("match_id=" + i).length);
+        this.transport.clearRequests();
+    }
+
+    private long countRequests(String fragment)
+    {
+        return this.transport.getRequests().stream().filter(url -> url.endsWith(fragment)).count();
+    }
+
+    @Test
+    public void testBlockingRequestIsHedged() throws Exception
+    {
+        this.createApi(Executors.newFixedThreadPool(4));
+        this.transport.setSlowRequests(1, SLOW_LATENCY);
+
+        long start = System.currentTimeMillis();
+        BFKillInfo[] kills = this.api.getMatchKills("match_id=50");
+        long time = System.currentTimeMillis() - start;
+
+        assertEquals(1, kills.length);
+        assertEquals(2, this.countRequests("match_id=50"));
+        assertTrue("The hedge should have answered long before the slow request, took " + time + "ms", time < SLOW_LATENCY / 2);
+    }
+
+    @Test
+    public void testAsyncRequestIsHedged() throws Exception
+    {
+        this.createApi(Executors.newFixedThreadPool(4));
+        this.transport.setSlowRequests(1, SLOW_LATENCY);
+
+        long start = System.currentTimeMillis();
+        BFKillInfo[] kills = this.api.requestMatchKills("match_id=50").get(5, TimeUnit.SECONDS);
+        long time = System.currentTimeMillis() - start;
+
+        assertEquals(1, kills.length);
+        assertEquals(2, this.countRequests("match_id=50"));
+        assertTrue("The hedge should have answered long before the slow request, took " + time + "ms", time < SLOW_LATENCY / 2);
+    }
+
+    @Test
+    public void testFastRequestIsNotHedged() throws Exception
+    {
+        this.createApi(Executors.newFixedThreadPool(4));
+        assertEquals(1, this.api.getMatchKills("match_id=50").length);
+        assertEquals(1, this.api.requestMatchKills("match_id=51").get(5, TimeUnit.SECONDS).length);
+        assertEquals(2, this.transport.getRequests().size());
+    }
+
+    @Test
+    public void testBlockingRequestOnBusyPool() throws Exception
+    {
+        // The only thread of the pool is the one waiting, so it has to send the request itself
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        this.createApi(executor);
+        this.transport.setSlowRequests(1, 200);
+
+        Future<BFKillInfo[]> kills = executor.submit(() -> this.api.getMatchKills("match_id=50"));
+        assertEquals(1, kills.get(5, TimeUnit.SECONDS).length);
+    }
+}
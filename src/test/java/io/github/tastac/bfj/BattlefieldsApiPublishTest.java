@@ -0,0 +1,207 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import io.github.tastac.bfj.flow.BattlefieldsFlow;
+import io.github.tastac.bfj.resilience.BattlefieldsRetryPolicy;
+import io.github.tastac.bfj.transport.BattlefieldsTransport;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsApiPublishTest
+{
+    private FakeApiTransport transport;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        for (int i = 1; i <= 25; i++)
+        {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("match_id", i % 2);
+            this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+        }
+    }
+
+    private static void awaitRows(CollectingSubscriber<?> subscriber, int rows) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (subscriber.rows.size() < rows && System.currentTimeMillis() < deadline)
+            Thread.sleep(5);
+        assertEquals(rows, subscriber.rows.size());
+    }
+
+    @Test
+    public void testPublisherFollowsDemand() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setPageSize(10).create();
+        try
+        {
+            CollectingSubscriber<BFKillInfo> subscriber = new CollectingSubscriber<>();
+            api.publishMatchKills().subscribe(subscriber);
+            assertTrue("Nothing should be requested before the subscriber asks for rows", this.transport.getRequests().isEmpty());
+
+            subscriber.subscription.request(5);
+            awaitRows(subscriber, 5);
+            Thread.sleep(50);
+            assertEquals(5, subscriber.rows.size());
+            assertEquals(1, this.transport.getRequests().size());
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertNotNull(subscriber.result.get(5, TimeUnit.SECONDS));
+            assertEquals(25, subscriber.rows.size());
+            assertEquals(3, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testPausedSubscriberDoesNotHoldConnection() throws Exception
+    {
+        // Like the HTTP transport, only one response can be open at a time and its permit is given back when the response is closed
+        Semaphore connections = new Semaphore(1);
+        BattlefieldsTransport limited = url ->
+        {
+            try
+            {
+                if (!connections.tryAcquire(2, TimeUnit.SECONDS))
+                    throw new IOException("No connection available for '" + url + "'");
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+
+            AtomicBoolean closed = new AtomicBoolean();
+            return new FilterInputStream(this.transport.open(url))
+            {
+                @Override
+                public void close() throws IOException
+                {
+                    super.close();
+                    if (closed.compareAndSet(false, true))
+                        connections.release();
+                }
+            };
+        };
+
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(limited).setPageSize(10).create();
+        try
+        {
+            CollectingSubscriber<BFKillInfo> subscriber = new CollectingSubscriber<>();
+            api.publishMatchKills().subscribe(subscriber);
+            subscriber.subscription.request(1);
+            awaitRows(subscriber, 1);
+
+            // The subscriber never asks for more, but the page it is part way through must not block other requests
+            BFKillInfo[] kills = api.requestMatchKills("match_id=1").get(5, TimeUnit.SECONDS);
+            assertEquals(13, kills.length);
+            assertFalse(subscriber.result.isDone());
+            subscriber.subscription.cancel();
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testPagesAreRetried() throws Exception
+    {
+        BattlefieldsRetryPolicy retryPolicy = new BattlefieldsRetryPolicy.Builder().setMaxAttempts(3).setBackoff(0, 0, 1, TimeUnit.MILLISECONDS).create();
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setPageSize(10).setRetryPolicy(retryPolicy).create();
+        try
+        {
+            this.transport.setFailures(2);
+            CollectingSubscriber<BFKillInfo> subscriber = new CollectingSubscriber<>();
+            api.publishMatchKills().subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+            assertEquals(25, subscriber.result.get(5, TimeUnit.SECONDS).size());
+            assertEquals(5, this.transport.getRequests().size());
+
+            this.transport.setFailures(3);
+            CollectingSubscriber<BFKillInfo> failing = new CollectingSubscriber<>();
+            api.publishMatchKills().subscribe(failing);
+            failing.subscription.request(Long.MAX_VALUE);
+            try
+            {
+                failing.result.get(5, TimeUnit.SECONDS);
+            }
+            catch (Exception e)
+            {
+                assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IOException);
+            }
+            assertTrue(failing.result.isCompletedExceptionally());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    /**
+     * <p>Collects every row it receives and completes once the publisher has finished.</p>
+     *
+     * @param <T> The type of row received
+     * @author Ocelot
+     */
+    private static class CollectingSubscriber<T> implements BattlefieldsFlow.Subscriber<T>
+    {
+        private final List<T> rows;
+        private final CompletableFuture<List<T>> result;
+        private volatile BattlefieldsFlow.Subscription subscription;
+
+        private CollectingSubscriber()
+        {
+            this.rows = new CopyOnWriteArrayList<>();
+            this.result = new CompletableFuture<>();
+            this.subscription = null;
+        }
+
+        @Override
+        public void onSubscribe(BattlefieldsFlow.Subscription subscription)
+        {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item)
+        {
+            this.rows.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            this.result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete()
+        {
+            this.result.complete(this.rows);
+        }
+    }
+}
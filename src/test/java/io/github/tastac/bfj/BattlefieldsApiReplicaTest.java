@@ -0,0 +1,130 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsApiReplicaTest
+{
+    private FakeApiTransport transport;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        for (int i = 1; i <= 25; i++)
+            this.addKill(i);
+    }
+
+    private void addKill(int id)
+    {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("match_id", 1);
+        this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+    }
+
+    private BattlefieldsApiBuilder createBuilder()
+    {
+        return new BattlefieldsApiBuilder().setTransport(this.transport).setCacheTime(0, TimeUnit.SECONDS).setPageSize(10).setReplicatedTables(BattlefieldsApiTable.MATCH_KILLS);
+    }
+
+    private static BFKillInfo find(BFKillInfo[] kills, int id)
+    {
+        for (BFKillInfo kill : kills)
+            if (kill.getId() == id)
+                return kill;
+        return null;
+    }
+
+    private long countRequests(String fragment)
+    {
+        return this.transport.getRequests().stream().filter(url -> url.endsWith(fragment)).count();
+    }
+
+    @Test
+    public void testSyncOnlyFetchesNewRows() throws Exception
+    {
+        BattlefieldsApi api = this.createBuilder().create();
+        try
+        {
+            assertEquals(25, api.getMatchKills().length);
+            this.transport.clearRequests();
+
+            for (int i = 26; i <= 28; i++)
+                this.addKill(i);
+            assertEquals(28, api.getMatchKills().length);
+            assertEquals(1, this.transport.getRequests().size());
+            assertEquals(1, this.countRequests("&offset=25"));
+
+            // Rows changed after they were replicated are not fetched again until the next resync
+            this.transport.setValue(BattlefieldsApiTable.MATCH_KILLS, 5, "match_id", 2);
+            assertEquals(1, find(api.getMatchKills(), 5).getMatchId());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testResyncReplacesChangedRows() throws Exception
+    {
+        BattlefieldsApi api = this.createBuilder().setReplicaResyncTime(0, TimeUnit.SECONDS).create();
+        try
+        {
+            assertEquals(25, api.getMatchKills().length);
+            this.transport.clearRequests();
+
+            this.transport.setValue(BattlefieldsApiTable.MATCH_KILLS, 5, "match_id", 2);
+            this.transport.removeRow(BattlefieldsApiTable.MATCH_KILLS, 7);
+            BFKillInfo[] kills = api.getMatchKills();
+            assertEquals(24, kills.length);
+            assertEquals(2, find(kills, 5).getMatchId());
+            assertNull(find(kills, 7));
+            assertEquals(1, this.countRequests("&offset=0"));
+
+            this.transport.setValue(BattlefieldsApiTable.MATCH_KILLS, 6, "match_id", 3);
+            kills = api.requestMatchKills().get(5, TimeUnit.SECONDS);
+            assertEquals(24, kills.length);
+            assertEquals(3, find(kills, 6).getMatchId());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedResyncKeepsReplica() throws Exception
+    {
+        List<Exception> exceptions = new CopyOnWriteArrayList<>();
+        BattlefieldsApi api = this.createBuilder().setReplicaResyncTime(0, TimeUnit.SECONDS).setCacheErrors(false).setExceptionConsumer(exceptions::add).create();
+        try
+        {
+            assertEquals(25, api.getMatchKills().length);
+
+            // The resync fails, so the rows replicated before are still returned
+            this.transport.removeRow(BattlefieldsApiTable.MATCH_KILLS, 1);
+            this.transport.setFailures(1);
+            BFKillInfo[] kills = api.getMatchKills();
+            assertEquals(25, kills.length);
+            assertTrue(find(kills, 1) != null);
+            assertEquals(1, exceptions.size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import io.github.tastac.bfj.resilience.BattlefieldsPriority;
+import io.github.tastac.bfj.resilience.BattlefieldsRejectedException;
+import io.github.tastac.bfj.resilience.BattlefieldsRetryPolicy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsApiResilienceTest
+{
+    private FakeApiTransport transport;
+    private List<Exception> exceptions;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        this.exceptions = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 10; i++)
+        {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("match_id", 1);
+            this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+        }
+    }
+
+    private BattlefieldsApiBuilder createBuilder()
+    {
+        return new BattlefieldsApiBuilder().setTransport(this.transport).setCacheErrors(false).setExceptionConsumer(this.exceptions::add);
+    }
+
+    private static BattlefieldsRetryPolicy createRetryPolicy(int maxAttempts)
+    {
+        return new BattlefieldsRetryPolicy.Builder().setMaxAttempts(maxAttempts).setBackoff(0, 0, 1, TimeUnit.MILLISECONDS).create();
+    }
+
+    @Test
+    public void testNoRetriesByDefault() throws Exception
+    {
+        this.transport.setFailures(1);
+        BattlefieldsApi api = this.createBuilder().create();
+        try
+        {
+            assertEquals(0, api.getMatchKills().length);
+            assertEquals(1, this.transport.getRequests().size());
+            assertEquals(1, this.exceptions.size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailuresAreRetried() throws Exception
+    {
+        this.transport.setFailures(2);
+        BattlefieldsApi api = this.createBuilder().setRetryPolicy(createRetryPolicy(3)).create();
+        try
+        {
+            assertEquals(10, api.getMatchKills().length);
+            assertEquals(3, this.transport.getRequests().size());
+            assertEquals(0, this.exceptions.size());
+
+            this.transport.setFailures(2);
+            assertEquals(10, api.requestMatchKills("match_id=1").get(5, TimeUnit.SECONDS).length);
+            assertEquals(6, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetriesStopAtMaxAttempts() throws Exception
+    {
+        this.transport.setFailures(6);
+        BattlefieldsApi api = this.createBuilder().setRetryPolicy(createRetryPolicy(3)).create();
+        try
+        {
+            assertEquals(0, api.getMatchKills().length);
+            assertEquals(3, this.transport.getRequests().size());
+            assertEquals(1, this.exceptions.size());
+
+            assertEquals(0, api.requestMatchKills("match_id=1").get(5, TimeUnit.SECONDS).length);
+            assertEquals(6, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreamPagesAreRetried() throws Exception
+    {
+        BattlefieldsApi api = this.createBuilder().setRetryPolicy(createRetryPolicy(3)).setPageSize(4).create();
+        try
+        {
+            this.transport.setFailures(2);
+            try (Stream<BFKillInfo> stream = api.streamMatchKills())
+            {
+                assertEquals(10, stream.count());
+            }
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testSyncPagesAreRetried() throws Exception
+    {
+        BattlefieldsApi api = this.createBuilder().setRetryPolicy(createRetryPolicy(3)).setPageSize(4).setReplicatedTables(BattlefieldsApiTable.MATCH_KILLS).create();
+        try
+        {
+            this.transport.setFailures(2);
+            assertEquals(10, api.getMatchKills().length);
+            assertEquals(0, this.exceptions.size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoCircuitBreakerByDefault() throws Exception
+    {
+        this.transport.setFailures(10);
+        BattlefieldsApi api = this.createBuilder().create();
+        try
+        {
+            for (int i = 0; i < 10; i++)
+                api.getMatchKills();
+            assertEquals(10, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testOpenCircuitBreakerSkipsRequests() throws Exception
+    {
+        this.transport.setFailures(10);
+        BattlefieldsApi api = this.createBuilder().setCircuitBreaker(2, 1, TimeUnit.HOURS).create();
+        try
+        {
+            for (int i = 0; i < 5; i++)
+                assertEquals(0, api.getMatchKills().length);
+            assertEquals(0, api.requestMatchKills().get(5, TimeUnit.SECONDS).length);
+            assertEquals(2, this.transport.getRequests().size());
+            assertTrue(this.exceptions.get(this.exceptions.size() - 1) instanceof BattlefieldsRejectedException);
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testOpenCircuitBreakerServesLastValue() throws Exception
+    {
+        BattlefieldsApi api = this.createBuilder().setCacheTime(50, TimeUnit.MILLISECONDS).setCircuitBreaker(1, 1, TimeUnit.HOURS).create();
+        try
+        {
+            assertEquals(10, api.getMatchKills().length);
+            Thread.sleep(60);
+
+            this.transport.setFailures(10);
+            api.getMatchKills();
+            assertEquals(10, api.getMatchKills().length);
+            assertEquals(10, api.requestMatchKills().get(5, TimeUnit.SECONDS).length);
+            assertEquals(2, this.transport.getRequests().size());
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testPriorityTagReachesRateLimiter() throws Exception
+    {
+        BattlefieldsApi api = this.createBuilder().setRateLimit(50, 1).create();
+        try
+        {
+            // Every background request is queued before the interactive one, but only the first has been sent when it arrives
+            BattlefieldsApi background = api.withPriority(BattlefieldsPriority.BACKGROUND);
+            List<CompletableFuture<BFKillInfo[]>> requests = new ArrayList<>();
+            for (int i = 0; i < 10; i++)
+                requests.add(background.requestMatchKills("match_id=" + (100 + i)));
+            Thread.sleep(10);
+            requests.add(api.requestMatchKills("match_id=1"));
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+            List<String> urls = this.transport.getRequests();
+            assertEquals(11, urls.size());
+            int interactive = 0;
+            while (!urls.get(interactive).endsWith("match_id=1"))
+                interactive++;
+            assertTrue("The interactive request should overtake the background backlog but was sent " + interactive + "th", interactive <= 3);
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.tastac.bfj;
+
+import io.github.tastac.bfj.components.BFKillInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsApiStreamTest
+{
+    private FakeApiTransport transport;
+
+    @Before
+    public void setUp()
+    {
+        this.transport = new FakeApiTransport();
+        for (int i = 1; i <= 25; i++)
+        {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("match_id", i % 2);
+            this.transport.addRow(BattlefieldsApiTable.MATCH_KILLS, row);
+        }
+    }
+
+    @Test
+    public void testStreamReadsEveryPage() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setPageSize(10).create();
+        try
+        {
+            try (Stream<BFKillInfo> stream = api.streamMatchKills())
+            {
+                List<Integer> ids = stream.map(BFKillInfo::getId).collect(Collectors.toList());
+                assertEquals(IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toList()), ids);
+            }
+            assertEquals(3, this.transport.getRequests().size());
+
+            try (Stream<BFKillInfo> stream = api.streamMatchKills("match_id=1"))
+            {
+                assertEquals(13, stream.count());
+            }
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedPageEndsStreamWithError() throws Exception
+    {
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setTransport(this.transport).setPageSize(10).create();
+        try (Stream<BFKillInfo> stream = api.streamMatchKills())
+        {
+            // The first page is read before the failures start, so the stream fails part way through instead of ending early
+            int[] read = {0};
+            this.transport.setLatency(50);
+            try
+            {
+                stream.forEach(row ->
+                {
+                    if (read[0]++ == 0)
+                        this.transport.setFailures(100);
+                });
+                fail("Expected the stream to fail after " + read[0] + " rows");
+            }
+            catch (CompletionException expected)
+            {
+            }
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+
+    @Test
+    public void testStreamConsumedOnRequestPool() throws Exception
+    {
+        // The pool only has one thread, so the stream running on it has to fetch every page itself
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BattlefieldsApi api = new BattlefieldsApiBuilder().setExecutor(executor).setTransport(this.transport).setPageSize(10).create();
+        try
+        {
+            Future<Long> count = executor.submit(() ->
+            {
+                try (Stream<BFKillInfo> stream = api.streamMatchKills())
+                {
+                    return stream.count();
+                }
+            });
+            assertEquals(25L, (long) count.get(10, TimeUnit.SECONDS));
+
+            long callbackCount = api.requestMatchKills().thenApply(kills ->
+            {
+                try (Stream<BFKillInfo> stream = api.streamMatchKills("match_id=1"))
+                {
+                    return stream.count();
+                }
+            }).get(10, TimeUnit.SECONDS);
+            assertEquals(13L, callbackCount);
+        }
+        finally
+        {
+            api.shutdown();
+        }
+    }
+}
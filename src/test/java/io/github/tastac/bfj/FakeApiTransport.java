@@ -0,0 +1,234 @@
+package io.github.tastac.bfj;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import io.github.tastac.bfj.transport.BattlefieldsTransport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Answers table requests the way the Battlefields API does, filtering rows on the server side.</p>
+ * <p>Values are compared as text ignoring case, like the database behind the API, and requests without a limit return at most the row limit.</p>
+ *
+ * @author Ocelot
+ */
+public class FakeApiTransport implements BattlefieldsTransport
+{
+    private static final Gson GSON = new Gson();
+
+    private final Map<String, List<Map<String, Object>>> tables;
+    private final List<String> requests;
+    private final AtomicInteger failures;
+    private final AtomicInteger slowRequests;
+    private volatile int rowLimit;
+    private volatile long latency;
+    private volatile long slowLatency;
+
+    public FakeApiTransport()
+    {
+        this.tables = new ConcurrentHashMap<>();
+        this.requests = new CopyOnWriteArrayList<>();
+        this.failures = new AtomicInteger();
+        this.slowRequests = new AtomicInteger();
+        this.rowLimit = Integer.MAX_VALUE;
+        this.latency = 0;
+        this.slowLatency = 0;
+    }
+
+    private static Map<String, String> parseQuery(String url) throws UnsupportedEncodingException
+    {
+        Map<String, String> query = new LinkedHashMap<>();
+        int start = url.indexOf('?');
+        if (start < 0)
+            return query;
+        for (String parameter : url.substring(start + 1).split("&"))
+        {
+            int split = parameter.indexOf('=');
+            if (split < 0)
+                continue;
+            query.put(URLDecoder.decode(parameter.substring(0, split), StandardCharsets.UTF_8.toString()), URLDecoder.decode(parameter.substring(split + 1), StandardCharsets.UTF_8.toString()));
+        }
+        return query;
+    }
+
+    private static boolean matches(Map<String, Object> row, Map<String, String> query)
+    {
+        for (Map.Entry<String, String> entry : query.entrySet())
+        {
+            String name = entry.getKey();
+            if ("type".equals(name) || "limit".equals(name) || "offset".equals(name))
+                continue;
+            Object value = row.get(name);
+            if (value instanceof Boolean)
+                value = (Boolean) value ? 1 : 0;
+            if (value == null || !String.valueOf(value).equalsIgnoreCase(entry.getValue()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds a row to a table.
+     *
+     * @param table The table to add to
+     * @param row   The names and values of every column in the row
+     */
+    public FakeApiTransport addRow(BattlefieldsApiTable table, Map<String, Object> row)
+    {
+        this.tables.computeIfAbsent(table.getTable(), key -> new CopyOnWriteArrayList<>()).add(new HashMap<>(row));
+        return this;
+    }
+
+    /**
+     * Changes a column of the row with the specified id.
+     *
+     * @param table  The table the row is in
+     * @param id     The id of the row to change
+     * @param column The name of the column to change
+     * @param value  The new value of the column
+     */
+    public FakeApiTransport setValue(BattlefieldsApiTable table, int id, String column, Object value)
+    {
+        List<Map<String, Object>> rows = this.tables.getOrDefault(table.getTable(), Collections.emptyList());
+        for (int i = 0; i < rows.size(); i++)
+        {
+            if (!String.valueOf(id).equals(String.valueOf(rows.get(i).get("id"))))
+                continue;
+            Map<String, Object> row = new HashMap<>(rows.get(i));
+            row.put(column, value);
+            rows.set(i, row);
+        }
+        return this;
+    }
+
+    /**
+     * Removes the row with the specified id.
+     *
+     * @param table The table the row is in
+     * @param id    The id of the row to remove
+     */
+    public FakeApiTransport removeRow(BattlefieldsApiTable table, int id)
+    {
+        this.tables.getOrDefault(table.getTable(), Collections.emptyList()).removeIf(row -> String.valueOf(id).equals(String.valueOf(row.get("id"))));
+        return this;
+    }
+
+    /**
+     * Sets the most rows returned by a request without a limit.
+     *
+     * @param rowLimit The new row limit
+     */
+    public FakeApiTransport setRowLimit(int rowLimit)
+    {
+        this.rowLimit = rowLimit;
+        return this;
+    }
+
+    /**
+     * Sets how long every request takes before it is answered.
+     *
+     * @param latency The new latency in milliseconds
+     */
+    public FakeApiTransport setLatency(long latency)
+    {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Makes the next requests take longer than the others before they are answered.
+     *
+     * @param count   The amount of requests to slow down
+     * @param latency The latency of those requests in milliseconds
+     */
+    public FakeApiTransport setSlowRequests(int count, long latency)
+    {
+        this.slowLatency = latency;
+        this.slowRequests.set(count);
+        return this;
+    }
+
+    /**
+     * Makes the next requests fail with an {@link IOException}.
+     *
+     * @param failures The amount of requests to fail
+     */
+    public FakeApiTransport setFailures(int failures)
+    {
+        this.failures.set(failures);
+        return this;
+    }
+
+    /**
+     * @return Every url requested so far in the order they were requested
+     */
+    public List<String> getRequests()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(this.requests));
+    }
+
+    /**
+     * Forgets every url requested so far.
+     */
+    public void clearRequests()
+    {
+        this.requests.clear();
+    }
+
+    @Override
+    public InputStream open(String url) throws IOException
+    {
+        this.requests.add(url);
+        long latency = this.slowRequests.getAndUpdate(slowRequests -> Math.max(0, slowRequests - 1)) > 0 ? this.slowLatency : this.latency;
+        if (latency > 0)
+        {
+            try
+            {
+                Thread.sleep(latency);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+        if (this.failures.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0)
+            throw new IOException("Injected failure for '" + url + "'");
+
+        Map<String, String> query = parseQuery(url);
+        int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : this.rowLimit;
+        int offset = query.containsKey("offset") ? Integer.parseInt(query.get("offset")) : 0;
+
+        List<Map<String, Object>> detail = new ArrayList<>();
+        int skipped = 0;
+        for (Map<String, Object> row : this.tables.getOrDefault(query.get("type"), Collections.emptyList()))
+        {
+            if (!matches(row, query))
+                continue;
+            if (skipped++ < offset)
+                continue;
+            if (detail.size() >= limit)
+                break;
+            detail.add(row);
+        }
+
+        JsonObject response = new JsonObject();
+        response.addProperty("status", true);
+        response.add("detail", GSON.toJsonTree(detail));
+        return new ByteArrayInputStream(GSON.toJson(response).getBytes(StandardCharsets.UTF_8));
+    }
+}
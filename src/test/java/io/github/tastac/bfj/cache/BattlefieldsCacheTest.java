@@ -0,0 +1,114 @@
+package io.github.tastac.bfj.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsCacheTest
+{
+    private static BattlefieldsCache.Entry entry(Object value)
+    {
+        return new BattlefieldsCache.Entry(value, System.currentTimeMillis(), false);
+    }
+
+    @Test
+    public void testUnboundedNeverEvicts()
+    {
+        BattlefieldsCache cache = new BattlefieldsCache(BattlefieldsCache.UNBOUNDED, CacheWeigher.SINGLETON);
+        for (int i = 0; i < 10000; i++)
+            cache.put("key-" + i, entry(i));
+
+        assertEquals(10000, cache.size());
+        for (int i = 0; i < 10000; i++)
+            assertEquals(i, cache.get("key-" + i).getValue());
+    }
+
+    @Test
+    public void testSizeStaysWithinMaximum()
+    {
+        BattlefieldsCache cache = new BattlefieldsCache(100, CacheWeigher.SINGLETON);
+        for (int i = 0; i < 1000; i++)
+        {
+            cache.put("key-" + i, entry(i));
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(100, cache.weight());
+    }
+
+    @Test
+    public void testWeightStaysWithinMaximum()
+    {
+        BattlefieldsCache cache = new BattlefieldsCache(1000, (key, value) -> ((String) value).length());
+        for (int i = 0; i < 500; i++)
+        {
+            cache.put("key-" + i, entry(new String(new char[1 + i % 50])));
+            assertTrue(cache.weight() <= 1000);
+        }
+
+        cache.put("too-large", entry(new String(new char[2000])));
+        assertNull(cache.get("too-large"));
+        assertTrue(cache.weight() <= 1000);
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan()
+    {
+        BattlefieldsCache cache = new BattlefieldsCache(100, CacheWeigher.SINGLETON);
+        for (int i = 0; i < 50; i++)
+            cache.put("hot-" + i, entry(i));
+        for (int round = 0; round < 5; round++)
+            for (int i = 0; i < 50; i++)
+                assertNotNull(cache.get("hot-" + i));
+
+        // A scan of keys that are only used once should not push out entries that are used all the time
+        for (int i = 0; i < 10000; i++)
+            cache.put("scan-" + i, entry(i));
+
+        int kept = 0;
+        for (int i = 0; i < 50; i++)
+            if (cache.get("hot-" + i) != null)
+                kept++;
+        assertTrue("Only " + kept + " hot entries survived", kept >= 45);
+    }
+
+    @Test
+    public void testReplaceUpdatesWeight()
+    {
+        BattlefieldsCache cache = new BattlefieldsCache(1000, (key, value) -> (Integer) value);
+        cache.put("key", entry(10));
+        cache.put("key", entry(20));
+
+        assertEquals(1, cache.size());
+        assertEquals(20, cache.weight());
+        assertEquals(20, cache.get("key").getValue());
+    }
+
+    @Test
+    public void testRemoveAndClear()
+    {
+        BattlefieldsCache cache = new BattlefieldsCache(100, CacheWeigher.SINGLETON);
+        for (int i = 0; i < 10; i++)
+            cache.put("key-" + i, entry(i));
+
+        cache.remove("key-3");
+        assertNull(cache.get("key-3"));
+        assertEquals(9, cache.size());
+        assertEquals(9, cache.weight());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        cache.put("key", entry(1));
+        assertEquals(1, cache.get("key").getValue());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNegativeWeight()
+    {
+        new BattlefieldsCache(100, (key, value) -> -1).put("key", entry(1));
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.tastac.bfj.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsDiskCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<Path> getSegments(Path directory) throws IOException
+    {
+        try (Stream<Path> stream = Files.list(directory))
+        {
+            return stream.filter(path -> path.getFileName().toString().endsWith(".dat")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] payload(int value, int length)
+    {
+        byte[] payload = new byte[length];
+        for (int i = 0; i < length; i++)
+            payload[i] = (byte) (value + i);
+        return payload;
+    }
+
+    private static void assertPayload(BattlefieldsDiskCache cache, String key, byte[] expected) throws IOException
+    {
+        BattlefieldsCache.Entry entry = cache.get(key);
+        assertNotNull("Missing entry for " + key, entry);
+        assertArrayEquals(expected, (byte[]) entry.getValue());
+    }
+
+    @Test
+    public void testEntriesSurviveReopen() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            cache.put("value", 1234, false, payload(1, 100));
+            cache.put("error", 5678, true, new byte[0]);
+            cache.put("replaced", 1, false, payload(2, 10));
+            cache.put("replaced", 2, false, payload(3, 20));
+            cache.put("removed", 1, false, payload(4, 10));
+            cache.remove("removed");
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            assertEquals(3, cache.size());
+            BattlefieldsCache.Entry value = cache.get("value");
+            assertArrayEquals(payload(1, 100), (byte[]) value.getValue());
+            assertEquals(1234, value.getTimeStamp());
+            assertFalse(value.isError());
+            assertTrue(cache.get("error").isError());
+            assertPayload(cache, "replaced", payload(3, 20));
+            assertNull(cache.get("removed"));
+        }
+    }
+
+    @Test
+    public void testPartialRecordIsDiscarded() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        long validSize;
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            cache.put("first", 1, false, payload(1, 50));
+            validSize = Files.size(getSegments(directory).get(0));
+            cache.put("second", 2, false, payload(2, 50));
+        }
+
+        // A crash part way through a write leaves only the start of the last record
+        Path segment = getSegments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE))
+        {
+            channel.truncate(Files.size(segment) - 20);
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            assertEquals(1, cache.size());
+            assertPayload(cache, "first", payload(1, 50));
+            assertNull(cache.get("second"));
+            assertEquals(validSize, Files.size(segment));
+
+            cache.put("third", 3, false, payload(3, 50));
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            assertEquals(2, cache.size());
+            assertPayload(cache, "first", payload(1, 50));
+            assertPayload(cache, "third", payload(3, 50));
+        }
+    }
+
+    @Test
+    public void testCorruptRecordIsDiscarded() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            cache.put("first", 1, false, payload(1, 50));
+            cache.put("second", 2, false, payload(2, 50));
+        }
+
+        Path segment = getSegments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            long position = channel.size() - 10;
+            channel.read(buffer, position);
+            buffer.put(0, (byte) ~buffer.get(0));
+            buffer.rewind();
+            channel.write(buffer, position);
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            assertEquals(1, cache.size());
+            assertPayload(cache, "first", payload(1, 50));
+            assertNull(cache.get("second"));
+        }
+    }
+
+    @Test
+    public void testGarbageTailIsDiscarded() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            cache.put("first", 1, false, payload(1, 50));
+        }
+
+        Path segment = getSegments(directory).get(0);
+        long size = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 50, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            assertPayload(cache, "first", payload(1, 50));
+            assertEquals(size, Files.size(segment));
+        }
+    }
+
+    @Test
+    public void testOldSegmentsAreDeleted() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 100, 3))
+        {
+            for (int i = 0; i < 50; i++)
+                cache.put("key-" + i, i, false, payload(i, 30));
+
+            assertEquals(3, getSegments(directory).size());
+            assertPayload(cache, "key-49", payload(49, 30));
+            assertNull(cache.get("key-0"));
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 100, 3))
+        {
+            assertPayload(cache, "key-49", payload(49, 30));
+            assertNull(cache.get("key-0"));
+        }
+    }
+
+    @Test
+    public void testDirectoryIsLocked() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            cache.put("key", 1, false, payload(1, 10));
+            try
+            {
+                new BattlefieldsDiskCache(directory, 1 << 20, 4).close();
+                fail("Expected the directory to be locked");
+            }
+            catch (IOException expected)
+            {
+            }
+            assertPayload(cache, "key", payload(1, 10));
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 1 << 20, 4))
+        {
+            assertPayload(cache, "key", payload(1, 10));
+        }
+    }
+
+    @Test
+    public void testClearKeepsCacheUsable() throws IOException
+    {
+        Path directory = this.folder.getRoot().toPath();
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 100, 4))
+        {
+            for (int i = 0; i < 10; i++)
+                cache.put("key-" + i, i, false, payload(i, 30));
+            cache.clear();
+
+            assertEquals(0, cache.size());
+            assertEquals(1, getSegments(directory).size());
+            cache.put("after", 1, false, payload(1, 10));
+            assertPayload(cache, "after", payload(1, 10));
+        }
+
+        try (BattlefieldsDiskCache cache = new BattlefieldsDiskCache(directory, 100, 4))
+        {
+            assertEquals(1, cache.size());
+            assertPayload(cache, "after", payload(1, 10));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSegmentSizeLimit() throws IOException
+    {
+        new BattlefieldsDiskCache(this.folder.getRoot().toPath(), Integer.MAX_VALUE + 1L, 4).close();
+    }
+}
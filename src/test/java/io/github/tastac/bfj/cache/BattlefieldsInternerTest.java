@@ -0,0 +1,47 @@
+package io.github.tastac.bfj.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class BattlefieldsInternerTest
+{
+    @Test
+    public void testEqualValuesShareInstance()
+    {
+        BattlefieldsInterner interner = new BattlefieldsInterner();
+        String first = new String("Steve");
+        String second = new String("Steve");
+        assertNotSame(first, second);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.intern("Steve"));
+        assertNull(interner.intern(null));
+    }
+
+    @Test
+    public void testValuesAreKeptApart()
+    {
+        BattlefieldsInterner interner = new BattlefieldsInterner();
+        for (int i = 0; i < 1000; i++)
+            interner.intern("player" + i);
+        assertEquals(1000, interner.size());
+
+        for (int i = 0; i < 1000; i++)
+            assertEquals("player" + i, interner.intern("player" + i));
+        assertEquals(1000, interner.size());
+    }
+
+    @Test
+    public void testSeparateInternersDoNotShare()
+    {
+        String first = new String("Alex");
+        String second = new String("Alex");
+        assertSame(first, new BattlefieldsInterner().intern(first));
+        assertSame(second, new BattlefieldsInterner().intern(second));
+    }
+}
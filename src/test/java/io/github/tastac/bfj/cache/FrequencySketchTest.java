@@ -0,0 +1,55 @@
+package io.github.tastac.bfj.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrequencySketchTest
+{
+    @Test
+    public void testFrequencyIsCappedAtFifteen()
+    {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 1; i <= 20; i++)
+        {
+            sketch.increment("key");
+            assertEquals(Math.min(i, 15), sketch.frequency("key"));
+        }
+    }
+
+    @Test
+    public void testFrequencyIsNeverUnderestimated()
+    {
+        FrequencySketch sketch = new FrequencySketch(4096);
+        for (int i = 0; i < 1000; i++)
+            for (int j = 0; j < i % 8; j++)
+                sketch.increment("key-" + i);
+
+        int exact = 0;
+        for (int i = 0; i < 1000; i++)
+        {
+            int frequency = sketch.frequency("key-" + i);
+            assertTrue(frequency >= i % 8);
+            if (frequency == i % 8)
+                exact++;
+        }
+        assertTrue("Only " + exact + " estimates were exact", exact > 900);
+    }
+
+    @Test
+    public void testResetHalvesCounts()
+    {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 12; i++)
+            sketch.increment("hot");
+        assertEquals(12, sketch.frequency("hot"));
+
+        // The sample size of a sketch for 16 entries is 160 increments
+        for (int i = 0; i < 148; i++)
+            sketch.increment(i);
+
+        int frequency = sketch.frequency("hot");
+        assertTrue("Frequency was " + frequency + " after a reset", frequency >= 6 && frequency < 12);
+    }
+}
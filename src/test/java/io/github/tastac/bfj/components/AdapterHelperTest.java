@@ -0,0 +1,168 @@
+package io.github.tastac.bfj.components;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class AdapterHelperTest
+{
+    /**
+     * Parses a date in one of the documented formats with java.time, reading dates without an offset as UTC.
+     */
+    private static long parseReference(String value)
+    {
+        try
+        {
+            if (value.length() == 10)
+                return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            String iso = value.substring(0, 10) + "T" + value.substring(11);
+            try
+            {
+                return OffsetDateTime.parse(iso).toInstant().toEpochMilli();
+            }
+            catch (DateTimeParseException e)
+            {
+                return LocalDateTime.parse(iso).toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+        }
+        catch (DateTimeParseException | StringIndexOutOfBoundsException e)
+        {
+            return 0;
+        }
+    }
+
+    private static void assertMatchesReference(String value)
+    {
+        long expected = parseReference(value);
+        assertEquals(value, expected, AdapterHelper.parseTimestamp(value));
+    }
+
+    @Test
+    public void testDocumentedFormats()
+    {
+        String[] values = {
+                "2020-01-01",
+                "1970-01-02",
+                "1969-12-31",
+                "1900-03-01",
+                "0001-01-01",
+                "2000-02-29",
+                "2024-02-29",
+                "9999-12-31",
+                "2020-06-15 12:34:56",
+                "2020-06-15T12:34:56",
+                "2020-06-15 00:00:00",
+                "2020-06-15 23:59:59",
+                "2020-06-15 12:34:56.7",
+                "2020-06-15 12:34:56.78",
+                "2020-06-15 12:34:56.789",
+                "2020-06-15T12:34:56.123456789",
+                "1969-12-31T23:59:59.9995",
+                "2020-06-15T12:34:56Z",
+                "2020-06-15 12:34:56.5Z",
+                "2020-06-15T12:34:56+00:00",
+                "2020-06-15T12:34:56+05:30",
+                "2020-06-15T12:34:56-08:00",
+                "2020-06-15T12:34:56.250+14:00",
+                "2020-01-01T00:30:00+18:00",
+                "1970-01-01T00:00:00-18:00"
+        };
+        for (String value : values)
+        {
+            assertNotEquals(value, 0, parseReference(value));
+            assertMatchesReference(value);
+        }
+    }
+
+    @Test
+    public void testRandomDates()
+    {
+        Random random = new Random(22);
+        DateTimeFormatter[] formatters = {
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+                DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS"),
+                DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX"),
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ssXXX")
+        };
+        for (int i = 0; i < 10000; i++)
+        {
+            // Every day from 1600 to 2400, so leap years and dates before the epoch are covered
+            long seconds = -11_676_096_000L + (long) (random.nextDouble() * 25_246_080_000L);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(73) - 36) * 15 * 60);
+            OffsetDateTime date = Instant.ofEpochSecond(seconds, random.nextInt(1_000_000_000)).atOffset(offset);
+            String value = date.format(formatters[i % formatters.length]);
+            assertMatchesReference(value);
+            assertMatchesReference(value.substring(0, 10));
+        }
+    }
+
+    @Test
+    public void testOtherOffsetForms()
+    {
+        long expected = parseReference("2020-06-15T12:34:56+05:30");
+        assertEquals(expected, AdapterHelper.parseTimestamp("2020-06-15T12:34:56+0530"));
+        assertEquals(parseReference("2020-06-15T12:34:56+05:00"), AdapterHelper.parseTimestamp("2020-06-15T12:34:56+05"));
+        assertEquals(parseReference("2020-06-15T12:34:56Z"), AdapterHelper.parseTimestamp("2020-06-15T12:34:56z"));
+    }
+
+    @Test
+    public void testNumbers()
+    {
+        assertEquals(1_600_000_000_000L, AdapterHelper.parseTimestamp("1600000000"));
+        assertEquals(1_600_000_000_123L, AdapterHelper.parseTimestamp("1600000000123"));
+        assertEquals(0, AdapterHelper.parseTimestamp("0"));
+        assertEquals(0, AdapterHelper.parseTimestamp("1234567890123456789012"));
+    }
+
+    @Test
+    public void testMalformedDates()
+    {
+        String[] values = {
+                "",
+                "not a date",
+                "2020-1-01",
+                "2020/01/01",
+                "20-01-2020",
+                "2020-00-01",
+                "2020-13-01",
+                "2020-01-00",
+                "2020-01-32",
+                "2021-02-29",
+                "1900-02-29",
+                "2020-04-31",
+                "2020-06-15X12:34:56",
+                "2020-06-15 24:00:00",
+                "2020-06-15 12:60:00",
+                "2020-06-15 12:34:60",
+                "2020-06-15 12-34-56",
+                "2020-06-15 12:34",
+                "2020-06-15 12:34:5",
+                "2020-06-15 12:34:56.",
+                "2020-06-15 12:34:56.1234567890",
+                "2020-06-15 12:34:56 ",
+                "2020-06-15 12:34:56UTC",
+                "2020-06-15 12:34:56Z ",
+                "2020-06-15 12:34:56+",
+                "2020-06-15 12:34:56+5",
+                "2020-06-15 12:34:56+05:3",
+                "2020-06-15 12:34:56+05:60",
+                "2020-06-15 12:34:56+18:01",
+                "2020-06-15 12:34:56+19:00",
+                "2020-06-15 12:34:56+05:30:00",
+                "-2020-06-15"
+        };
+        for (String value : values)
+            assertEquals(value, 0, AdapterHelper.parseTimestamp(value));
+        assertEquals(0, AdapterHelper.parseTimestamp(null));
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.tastac.bfj.components;
+
+import com.google.gson.stream.JsonReader;
+import io.github.tastac.bfj.cache.BattlefieldsInterner;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BFUuidTest
+{
+    private static final String DASHED = "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0";
+    private static final String UNDASHED = "0f1e2d3c4b5a69788796a5b4c3d2e1f0";
+    private static final String UPPER_CASE = "0F1E2D3C-4B5A-6978-8796-A5B4C3D2E1F0";
+    private static final String MIXED_CASE = "0f1E2d3C4b5A69788796a5B4c3D2e1F0";
+
+    private static BFUuid read(String value, BattlefieldsInterner interner) throws IOException
+    {
+        try (JsonReader reader = new JsonReader(new StringReader("\"" + value + "\"")))
+        {
+            return AdapterHelper.nextUuid(reader, interner);
+        }
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        for (String value : new String[]{DASHED, UNDASHED, UPPER_CASE, MIXED_CASE, "00000000-0000-0000-0000-000000000000", "ffffffffffffffffffffffffffffffff"})
+        {
+            BFUuid uuid = BFUuid.fromString(value);
+            assertTrue(value, uuid.isValid());
+            assertEquals(value, uuid.toString());
+            assertEquals(value.replace("-", "").toLowerCase(), uuid.toUUID().toString().replace("-", ""));
+        }
+        assertNull(BFUuid.fromString(null));
+    }
+
+    @Test
+    public void testMatchesUUID()
+    {
+        UUID uuid = UUID.fromString(DASHED);
+        BFUuid parsed = BFUuid.fromString(DASHED);
+        assertEquals(uuid.getMostSignificantBits(), parsed.getMostSignificantBits());
+        assertEquals(uuid.getLeastSignificantBits(), parsed.getLeastSignificantBits());
+        assertEquals(uuid, parsed.toUUID());
+        assertEquals(DASHED, BFUuid.fromUUID(uuid).toString());
+        assertEquals(parsed, BFUuid.fromUUID(uuid));
+        assertNull(BFUuid.fromUUID(null));
+    }
+
+    @Test
+    public void testEqualityAcrossForms()
+    {
+        BFUuid dashed = BFUuid.fromString(DASHED);
+        for (String value : new String[]{UNDASHED, UPPER_CASE, MIXED_CASE})
+        {
+            BFUuid other = BFUuid.fromString(value);
+            assertEquals(value, dashed, other);
+            assertEquals(value, dashed.hashCode(), other.hashCode());
+            assertFalse(value, dashed.isSameText(other));
+        }
+        assertTrue(dashed.isSameText(BFUuid.fromString(DASHED)));
+        assertNotEquals(dashed, BFUuid.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f1"));
+    }
+
+    @Test
+    public void testInvalidText()
+    {
+        String[] invalid = {
+                "",
+                "not a uuid",
+                "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f",
+                "0f1e2d3c4b5a-6978-8796-a5b4c3d2e1f0-",
+                "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1g0",
+                "+f1e2d3c4b5a69788796a5b4c3d2e1f0",
+                // Digits and letters outside of ASCII that Character.digit would accept
+                "0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f\u0660",
+                "0f1e2d3c4b5a69788796a5b4c3d2e1f\u0966",
+                "0f1e2d3c4b5a69788796a5b4c3d2e1\uFF46\uFF10",
+                "\uFF10f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0"
+        };
+        for (String value : invalid)
+        {
+            BFUuid uuid = BFUuid.fromString(value);
+            assertFalse(value, uuid.isValid());
+            assertEquals(value, uuid.toString());
+            assertEquals(BFUuid.fromString(value), uuid);
+            assertNotEquals(BFUuid.fromString(DASHED), uuid);
+            try
+            {
+                uuid.toUUID();
+                fail("Expected '" + value + "' to not convert to a UUID");
+            }
+            catch (IllegalStateException expected)
+            {
+            }
+        }
+        assertNotEquals(BFUuid.fromString("0f1e2d3c4b5a69788796a5b4c3d2e1f\u0966"), BFUuid.fromString("0f1e2d3c4b5a69788796a5b4c3d2e1f0"));
+    }
+
+    @Test
+    public void testInternedInstances() throws IOException
+    {
+        BattlefieldsInterner interner = new BattlefieldsInterner();
+        BFUuid first = read(DASHED, interner);
+        assertSame(first, read(DASHED, interner));
+
+        // A different form is equal but keeps its own instance so it still gives back the text it was read from
+        BFUuid undashed = read(UNDASHED, interner);
+        assertEquals(first, undashed);
+        assertNotSame(first, undashed);
+        assertEquals(UNDASHED, undashed.toString());
+        BFUuid upperCase = read(UPPER_CASE, interner);
+        assertNotSame(first, upperCase);
+        assertEquals(UPPER_CASE, upperCase.toString());
+        assertSame(first, read(DASHED, interner));
+
+        BFUuid invalid = read("not a uuid", interner);
+        assertSame(invalid, read("not a uuid", interner));
+        assertNotSame(read(DASHED, null), read(DASHED, null));
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.tastac.bfj.index;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class BattlefieldsIndexTest
+{
+    private static int[][] createRows(int[] keys)
+    {
+        // Each row holds its key and its original position so order can be checked
+        int[][] rows = new int[keys.length][];
+        for (int i = 0; i < keys.length; i++)
+            rows[i] = new int[]{keys[i], i};
+        return rows;
+    }
+
+    private static int[][] select(int[][] rows, int from, int to)
+    {
+        List<int[]> selected = new ArrayList<>();
+        for (int key : new TreeSet<>(keysOf(rows)))
+            if (key >= from && key <= to)
+                for (int[] row : rows)
+                    if (row[0] == key)
+                        selected.add(row);
+        return selected.toArray(new int[0][]);
+    }
+
+    private static List<Integer> keysOf(int[][] rows)
+    {
+        List<Integer> keys = new ArrayList<>();
+        for (int[] row : rows)
+            keys.add(row[0]);
+        return keys;
+    }
+
+    private static void assertMatchesBruteForce(int[] keys, int[] lookups)
+    {
+        int[][] rows = createRows(keys);
+        BattlefieldsIndex<int[]> index = BattlefieldsIndex.build(rows, row -> row[0]);
+
+        TreeSet<Integer> distinct = new TreeSet<>(keysOf(rows));
+        assertEquals(rows.length, index.size());
+        assertEquals(distinct.size(), index.getKeyCount());
+        assertArrayEquals(distinct.stream().mapToInt(Integer::intValue).toArray(), index.getKeys());
+
+        for (int key : lookups)
+        {
+            int[][] expected = select(rows, key, key);
+            assertArrayEquals("Key " + key, expected, index.get(key));
+            assertEquals(expected.length, index.count(key));
+            assertEquals(expected.length > 0, index.contains(key));
+
+            List<int[]> visited = new ArrayList<>();
+            index.forEach(key, visited::add);
+            assertArrayEquals(expected, visited.toArray(new int[0][]));
+        }
+    }
+
+    @Test
+    public void testRandomKeys()
+    {
+        Random random = new Random(23);
+        int[] keys = new int[5000];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = random.nextInt(700) - 100;
+        int[] lookups = new int[1000];
+        for (int i = 0; i < lookups.length; i++)
+            lookups[i] = random.nextInt(1000) - 200;
+        assertMatchesBruteForce(keys, lookups);
+    }
+
+    @Test
+    public void testCollidingKeys()
+    {
+        // Keys that only differ in their high bits all land near the same slot before the hash spreads them
+        int[] keys = new int[2000];
+        int[] lookups = new int[1200];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = (i % 600) << 16;
+        for (int i = 0; i < lookups.length; i++)
+            lookups[i] = i << 16;
+        assertMatchesBruteForce(keys, lookups);
+    }
+
+    @Test
+    public void testExtremeKeys()
+    {
+        int[] keys = {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, 1, Integer.MIN_VALUE};
+        assertMatchesBruteForce(keys, new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, 2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE});
+    }
+
+    @Test
+    public void testEmptyIndex()
+    {
+        BattlefieldsIndex<int[]> index = BattlefieldsIndex.build(new int[0][], row -> row[0]);
+        assertEquals(0, index.size());
+        assertEquals(0, index.get(0).length);
+        assertEquals(0, index.getRange(Integer.MIN_VALUE, Integer.MAX_VALUE).length);
+        assertFalse(index.contains(0));
+    }
+
+    @Test
+    public void testRanges()
+    {
+        Random random = new Random(7);
+        int[] keys = new int[3000];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = random.nextInt(400) - 200;
+        keys[0] = Integer.MAX_VALUE;
+        keys[1] = Integer.MIN_VALUE;
+        int[][] rows = createRows(keys);
+        BattlefieldsIndex<int[]> index = BattlefieldsIndex.build(rows, row -> row[0]);
+
+        for (int i = 0; i < 200; i++)
+        {
+            int from = random.nextInt(500) - 250;
+            int to = from + random.nextInt(100) - 10;
+            assertArrayEquals(from + ".." + to, select(rows, from, to), index.getRange(from, to));
+        }
+        assertArrayEquals(select(rows, Integer.MIN_VALUE, Integer.MAX_VALUE), index.getRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertArrayEquals(select(rows, 100, Integer.MAX_VALUE), index.getRange(100, Integer.MAX_VALUE));
+        assertEquals(0, index.getRange(5, 4).length);
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.tastac.bfj.resilience;
+
+import io.github.tastac.bfj.transport.BattlefieldsHttpException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsCircuitBreakerTest
+{
+    private static final IOException FAILURE = new IOException("Connection refused");
+
+    private static void assertRejected(BattlefieldsCircuitBreaker breaker)
+    {
+        try
+        {
+            breaker.acquire();
+            fail("Expected the request to be rejected");
+        }
+        catch (BattlefieldsRejectedException expected)
+        {
+        }
+    }
+
+    private static void request(BattlefieldsCircuitBreaker breaker, Throwable cause)
+    {
+        breaker.acquire();
+        breaker.onResult(cause);
+    }
+
+    @Test
+    public void testOpensAfterThreshold()
+    {
+        BattlefieldsCircuitBreaker breaker = new BattlefieldsCircuitBreaker("test", 3, 1, TimeUnit.HOURS);
+        request(breaker, FAILURE);
+        request(breaker, FAILURE);
+        assertEquals(BattlefieldsCircuitBreaker.State.CLOSED, breaker.getState());
+        request(breaker, FAILURE);
+        assertEquals(BattlefieldsCircuitBreaker.State.OPEN, breaker.getState());
+        assertRejected(breaker);
+    }
+
+    @Test
+    public void testSuccessResetsFailures()
+    {
+        BattlefieldsCircuitBreaker breaker = new BattlefieldsCircuitBreaker("test", 3, 1, TimeUnit.HOURS);
+        request(breaker, FAILURE);
+        request(breaker, FAILURE);
+        request(breaker, null);
+        request(breaker, FAILURE);
+        request(breaker, FAILURE);
+        assertEquals(BattlefieldsCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testOnlyUnavailableCounts()
+    {
+        assertTrue(BattlefieldsCircuitBreaker.isFailure(FAILURE));
+        assertTrue(BattlefieldsCircuitBreaker.isFailure(new BattlefieldsHttpException("Bad Gateway", 502)));
+        assertTrue(BattlefieldsCircuitBreaker.isFailure(new BattlefieldsHttpException("Too Many Requests", 429)));
+        assertFalse(BattlefieldsCircuitBreaker.isFailure(new BattlefieldsHttpException("Not Found", 404)));
+        assertFalse(BattlefieldsCircuitBreaker.isFailure(new IllegalStateException()));
+
+        BattlefieldsCircuitBreaker breaker = new BattlefieldsCircuitBreaker("test", 1, 1, TimeUnit.HOURS);
+        request(breaker, new BattlefieldsHttpException("Not Found", 404));
+        assertEquals(BattlefieldsCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testTrialClosesBreaker() throws InterruptedException
+    {
+        BattlefieldsCircuitBreaker breaker = new BattlefieldsCircuitBreaker("test", 1, 50, TimeUnit.MILLISECONDS);
+        request(breaker, FAILURE);
+        assertRejected(breaker);
+        Thread.sleep(60);
+
+        // Only a single trial is let through while half open
+        breaker.acquire();
+        assertEquals(BattlefieldsCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertRejected(breaker);
+        breaker.onResult(null);
+
+        assertEquals(BattlefieldsCircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.acquire();
+        breaker.acquire();
+    }
+
+    @Test
+    public void testFailedTrialOpensBreaker() throws InterruptedException
+    {
+        BattlefieldsCircuitBreaker breaker = new BattlefieldsCircuitBreaker("test", 1, 50, TimeUnit.MILLISECONDS);
+        request(breaker, FAILURE);
+        Thread.sleep(60);
+
+        request(breaker, FAILURE);
+        assertEquals(BattlefieldsCircuitBreaker.State.OPEN, breaker.getState());
+        assertRejected(breaker);
+    }
+
+    @Test
+    public void testCancelledTrialFreesTrial() throws InterruptedException
+    {
+        BattlefieldsCircuitBreaker breaker = new BattlefieldsCircuitBreaker("test", 1, 50, TimeUnit.MILLISECONDS);
+        request(breaker, FAILURE);
+        Thread.sleep(60);
+
+        request(breaker, new CancellationException());
+        assertEquals(BattlefieldsCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquire();
+        breaker.onResult(null);
+        assertEquals(BattlefieldsCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testBulkheadQueuesAndRejects()
+    {
+        BattlefieldsBulkhead bulkhead = new BattlefieldsBulkhead("test", 1, 1);
+        assertTrue(bulkhead.acquire().isDone());
+        CompletableFuture<Void> queued = bulkhead.acquire();
+        assertFalse(queued.isDone());
+        assertTrue(bulkhead.acquire().isCompletedExceptionally());
+        assertEquals(1, bulkhead.getQueued());
+
+        // The permit is handed straight to the waiting request
+        bulkhead.release();
+        assertTrue(queued.isDone());
+        assertEquals(1, bulkhead.getActive());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActive());
+    }
+}
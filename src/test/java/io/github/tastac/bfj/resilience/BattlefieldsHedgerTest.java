@@ -0,0 +1,123 @@
+package io.github.tastac.bfj.resilience;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsHedgerTest
+{
+    private static void recordLatencies(BattlefieldsHedger hedger, long from, long to)
+    {
+        for (long latency = from; latency <= to; latency++)
+            hedger.recordLatency(latency, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testNoDelayUntilEnoughSamples()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.5, 0, TimeUnit.MILLISECONDS, 1);
+        recordLatencies(hedger, 1, 19);
+        assertEquals(-1, hedger.onRequest());
+        recordLatencies(hedger, 20, 20);
+        assertEquals(10, hedger.onRequest());
+    }
+
+    @Test
+    public void testDelayIsPercentileOfLatencies()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.95, 0, TimeUnit.MILLISECONDS, 1);
+        recordLatencies(hedger, 1, 100);
+        assertEquals(95, hedger.getDelay());
+
+        BattlefieldsHedger seconds = new BattlefieldsHedger("test", 0.95, 0, TimeUnit.MILLISECONDS, 1);
+        for (int i = 0; i < 20; i++)
+            seconds.recordLatency(2, TimeUnit.SECONDS);
+        assertEquals(2000, seconds.getDelay());
+    }
+
+    @Test
+    public void testMinimumDelay()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.5, 1, TimeUnit.SECONDS, 1);
+        recordLatencies(hedger, 1, 20);
+        assertEquals(1000, hedger.getDelay());
+    }
+
+    @Test
+    public void testDelayIsOnlyUpdatedEveryFewSamples()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.5, 0, TimeUnit.MILLISECONDS, 1);
+        recordLatencies(hedger, 1, 20);
+        assertEquals(10, hedger.getDelay());
+
+        // The window only moves the delay once enough new samples have arrived
+        for (int i = 0; i < 15; i++)
+            hedger.recordLatency(1000, TimeUnit.MILLISECONDS);
+        assertEquals(10, hedger.getDelay());
+        hedger.recordLatency(1000, TimeUnit.MILLISECONDS);
+        assertEquals(18, hedger.getDelay());
+    }
+
+    @Test
+    public void testOldSamplesLeaveTheWindow()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.5, 0, TimeUnit.MILLISECONDS, 1);
+        for (int i = 0; i < 256; i++)
+            hedger.recordLatency(1000, TimeUnit.MILLISECONDS);
+        assertEquals(1000, hedger.getDelay());
+        for (int i = 0; i < 256; i++)
+            hedger.recordLatency(5, TimeUnit.MILLISECONDS);
+        assertEquals(5, hedger.getDelay());
+    }
+
+    @Test
+    public void testBudget()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.5, 0, TimeUnit.MILLISECONDS, 0.25);
+        assertFalse(hedger.tryHedge());
+
+        // Every request pays a quarter of a hedge, so only every fourth request can be hedged
+        for (int i = 0; i < 3; i++)
+            hedger.onRequest();
+        assertFalse(hedger.tryHedge());
+        hedger.onRequest();
+        assertTrue(hedger.tryHedge());
+        assertFalse(hedger.tryHedge());
+    }
+
+    @Test
+    public void testBudgetIsCapped()
+    {
+        BattlefieldsHedger hedger = new BattlefieldsHedger("test", 0.5, 0, TimeUnit.MILLISECONDS, 1);
+        for (int i = 0; i < 1000; i++)
+            hedger.onRequest();
+
+        // A long quiet period cannot save up enough hedges to double a burst of slow requests
+        int hedges = 0;
+        while (hedger.tryHedge())
+            hedges++;
+        assertEquals(10, hedges);
+    }
+
+    @Test
+    public void testInvalidArguments()
+    {
+        double[][] arguments = {{0, 0, 0.5}, {1, 0, 0.5}, {0.5, -1, 0.5}, {0.5, 0, 0}, {0.5, 0, 1.5}};
+        for (double[] argument : arguments)
+        {
+            try
+            {
+                new BattlefieldsHedger("test", argument[0], (long) argument[1], TimeUnit.MILLISECONDS, argument[2]);
+                fail("Expected percentile " + argument[0] + ", minimum delay " + argument[1] + " and budget " + argument[2] + " to be rejected");
+            }
+            catch (IllegalArgumentException expected)
+            {
+            }
+        }
+    }
+}
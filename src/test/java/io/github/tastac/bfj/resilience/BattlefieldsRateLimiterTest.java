@@ -0,0 +1,220 @@
+package io.github.tastac.bfj.resilience;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsRateLimiterTest
+{
+    private ManualScheduler scheduler;
+
+    @Before
+    public void setUp()
+    {
+        this.scheduler = new ManualScheduler();
+    }
+
+    private BattlefieldsRateLimiter createRateLimiter(double permitsPerSecond, int burst)
+    {
+        return new BattlefieldsRateLimiter(permitsPerSecond, burst, this.scheduler, this.scheduler::nanoTime);
+    }
+
+    private static List<CompletableFuture<Void>> acquire(BattlefieldsRateLimiter rateLimiter, BattlefieldsPriority priority, int count)
+    {
+        List<CompletableFuture<Void>> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            permits.add(rateLimiter.acquire(priority));
+        return permits;
+    }
+
+    private static int countDone(List<CompletableFuture<Void>> permits)
+    {
+        int done = 0;
+        for (CompletableFuture<Void> permit : permits)
+            if (permit.isDone())
+                done++;
+        return done;
+    }
+
+    private static void assertRejected(CompletableFuture<Void> permit) throws InterruptedException
+    {
+        try
+        {
+            permit.get();
+            fail("Expected the permit to be rejected");
+        }
+        catch (ExecutionException e)
+        {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof BattlefieldsRejectedException);
+        }
+    }
+
+    @Test
+    public void testBurst()
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(10, 3);
+        assertEquals(3, countDone(acquire(rateLimiter, BattlefieldsPriority.INTERACTIVE, 3)));
+
+        CompletableFuture<Void> waiting = rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+        assertFalse(waiting.isDone());
+        assertEquals(1, rateLimiter.getQueued(BattlefieldsPriority.INTERACTIVE));
+
+        this.scheduler.advance(99, TimeUnit.MILLISECONDS);
+        assertFalse(waiting.isDone());
+        this.scheduler.advance(2, TimeUnit.MILLISECONDS);
+        assertTrue(waiting.isDone());
+        assertEquals(0, rateLimiter.getQueued(BattlefieldsPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testRefillIsCappedAtBurst()
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(10, 3);
+        acquire(rateLimiter, BattlefieldsPriority.INTERACTIVE, 3);
+
+        // Being idle for a long time only ever saves up a full burst
+        this.scheduler.advance(1, TimeUnit.HOURS);
+        List<CompletableFuture<Void>> permits = acquire(rateLimiter, BattlefieldsPriority.INTERACTIVE, 5);
+        assertEquals(3, countDone(permits));
+    }
+
+    @Test
+    public void testRefillRate()
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(10, 1);
+        List<CompletableFuture<Void>> permits = acquire(rateLimiter, BattlefieldsPriority.INTERACTIVE, 21);
+        assertEquals(1, countDone(permits));
+
+        this.scheduler.advance(550, TimeUnit.MILLISECONDS);
+        assertEquals(6, countDone(permits));
+        this.scheduler.advance(1500, TimeUnit.MILLISECONDS);
+        assertEquals(21, countDone(permits));
+        assertEquals(0, this.scheduler.getPending());
+
+        // Requests are handed out in the order they arrived
+        for (int i = 0; i < permits.size() - 1; i++)
+            assertTrue(permits.get(i).isDone() || !permits.get(i + 1).isDone());
+    }
+
+    @Test
+    public void testWeightedShareUnderBacklog()
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(1000, 1);
+        rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+
+        List<BattlefieldsPriority> order = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 50; i++)
+            rateLimiter.acquire(BattlefieldsPriority.BACKGROUND).thenRun(() -> order.add(BattlefieldsPriority.BACKGROUND));
+        for (int i = 0; i < 50; i++)
+            rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE).thenRun(() -> order.add(BattlefieldsPriority.INTERACTIVE));
+        assertEquals(50, rateLimiter.getQueued(BattlefieldsPriority.BACKGROUND));
+        assertEquals(50, rateLimiter.getQueued(BattlefieldsPriority.INTERACTIVE));
+
+        this.scheduler.advance(1, TimeUnit.SECONDS);
+        assertEquals(100, order.size());
+
+        // While both are waiting every nine tokens go to eight interactive requests and one background request, even though the background requests arrived first
+        for (int round = 0; round < 5; round++)
+        {
+            List<BattlefieldsPriority> share = order.subList(round * 9, round * 9 + 9);
+            assertEquals(share.toString(), 8, Collections.frequency(share, BattlefieldsPriority.INTERACTIVE));
+            assertEquals(share.toString(), 1, Collections.frequency(share, BattlefieldsPriority.BACKGROUND));
+        }
+
+        // Once the interactive requests are done the background requests get every token
+        int lastInteractive = order.lastIndexOf(BattlefieldsPriority.INTERACTIVE);
+        assertEquals(50 + 6, lastInteractive + 1);
+        assertFalse(order.subList(lastInteractive + 1, order.size()).contains(BattlefieldsPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testNewRequestsDoNotSkipTheQueue()
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(10, 2);
+        acquire(rateLimiter, BattlefieldsPriority.INTERACTIVE, 2);
+        CompletableFuture<Void> first = rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+
+        // A token is available again, but the request that has been waiting longer gets it
+        this.scheduler.skip(150, TimeUnit.MILLISECONDS);
+        CompletableFuture<Void> second = rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+        assertFalse(second.isDone());
+        assertEquals(2, rateLimiter.getQueued(BattlefieldsPriority.INTERACTIVE));
+
+        this.scheduler.runDue();
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        this.scheduler.advance(51, TimeUnit.MILLISECONDS);
+        assertTrue(second.isDone());
+    }
+
+    @Test
+    public void testCancelledWaitersDoNotUseTokens()
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(10, 1);
+        rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+        List<CompletableFuture<Void>> permits = acquire(rateLimiter, BattlefieldsPriority.INTERACTIVE, 4);
+        permits.get(0).cancel(false);
+        permits.get(1).cancel(false);
+        permits.get(2).cancel(false);
+
+        // The only token refilled goes to the last waiter instead of being spent on those that gave up
+        this.scheduler.advance(101, TimeUnit.MILLISECONDS);
+        assertTrue(permits.get(3).isDone());
+        assertFalse(permits.get(3).isCancelled());
+        assertEquals(0, rateLimiter.getQueued(BattlefieldsPriority.INTERACTIVE));
+        assertEquals(0, this.scheduler.getPending());
+    }
+
+    @Test
+    public void testRejectedOnShutdown() throws InterruptedException
+    {
+        BattlefieldsRateLimiter rateLimiter = this.createRateLimiter(10, 1);
+        rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+        CompletableFuture<Void> first = rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE);
+        CompletableFuture<Void> second = rateLimiter.acquire(BattlefieldsPriority.BACKGROUND);
+
+        // The drain that was already scheduled still hands out its token, but nothing can be scheduled for the rest
+        this.scheduler.shutdown();
+        this.scheduler.advance(101, TimeUnit.MILLISECONDS);
+        assertTrue(first.isDone());
+        assertFalse(first.isCompletedExceptionally());
+        assertRejected(second);
+        assertEquals(0, rateLimiter.getQueued(BattlefieldsPriority.BACKGROUND));
+
+        // New requests that would have to wait are rejected straight away
+        assertRejected(rateLimiter.acquire(BattlefieldsPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void testInvalidArguments()
+    {
+        try
+        {
+            this.createRateLimiter(0, 1);
+            fail("Expected a rate of 0 to be rejected");
+        }
+        catch (IllegalArgumentException expected)
+        {
+        }
+        try
+        {
+            this.createRateLimiter(1, 0);
+            fail("Expected a burst of 0 to be rejected");
+        }
+        catch (IllegalArgumentException expected)
+        {
+        }
+    }
+}
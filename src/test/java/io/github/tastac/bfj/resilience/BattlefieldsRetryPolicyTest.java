@@ -0,0 +1,90 @@
+package io.github.tastac.bfj.resilience;
+
+import io.github.tastac.bfj.transport.BattlefieldsHttpException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BattlefieldsRetryPolicyTest
+{
+    private static final IOException FAILURE = new IOException("Connection reset");
+
+    @Test
+    public void testNoneNeverRetries()
+    {
+        assertEquals(1, BattlefieldsRetryPolicy.NONE.getMaxAttempts());
+        assertEquals(-1, BattlefieldsRetryPolicy.NONE.getRetryDelay(1, FAILURE, 0));
+    }
+
+    @Test
+    public void testExponentialBackoff()
+    {
+        BattlefieldsRetryPolicy policy = new BattlefieldsRetryPolicy.Builder().setMaxAttempts(10).setBackoff(100, 1000, 2, TimeUnit.MILLISECONDS).setJitter(0).setDeadline(0, TimeUnit.MILLISECONDS).create();
+        long[] expected = {100, 200, 400, 800, 1000, 1000};
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], policy.getRetryDelay(i + 1, FAILURE, 0));
+    }
+
+    @Test
+    public void testJitterOnlyShortensDelay()
+    {
+        BattlefieldsRetryPolicy policy = new BattlefieldsRetryPolicy.Builder().setBackoff(100, 100, 1, TimeUnit.MILLISECONDS).setJitter(0.5).create();
+        for (int i = 0; i < 1000; i++)
+        {
+            long delay = policy.getRetryDelay(1, FAILURE, 0);
+            assertTrue("Delay was " + delay, delay >= 50 && delay <= 100);
+        }
+    }
+
+    @Test
+    public void testMaxAttempts()
+    {
+        BattlefieldsRetryPolicy policy = new BattlefieldsRetryPolicy.Builder().setMaxAttempts(3).setDeadline(0, TimeUnit.MILLISECONDS).create();
+        assertTrue(policy.getRetryDelay(1, FAILURE, 0) >= 0);
+        assertTrue(policy.getRetryDelay(2, FAILURE, 0) >= 0);
+        assertEquals(-1, policy.getRetryDelay(3, FAILURE, 0));
+    }
+
+    @Test
+    public void testDeadline()
+    {
+        BattlefieldsRetryPolicy policy = new BattlefieldsRetryPolicy.Builder().setBackoff(100, 100, 1, TimeUnit.MILLISECONDS).setJitter(0).setDeadline(1, TimeUnit.SECONDS).create();
+        assertEquals(100, policy.getRetryDelay(1, FAILURE, 800));
+        assertEquals(-1, policy.getRetryDelay(1, FAILURE, 900));
+    }
+
+    @Test
+    public void testRetryableFailures()
+    {
+        BattlefieldsRetryPolicy policy = new BattlefieldsRetryPolicy.Builder().create();
+        assertTrue(policy.isRetryable(FAILURE));
+        assertTrue(policy.isRetryable(new BattlefieldsHttpException("Unavailable", 503)));
+        assertTrue(policy.isRetryable(new BattlefieldsHttpException("Too Many Requests", 429)));
+        assertFalse(policy.isRetryable(new BattlefieldsHttpException("Not Found", 404)));
+        assertFalse(policy.isRetryable(new IllegalStateException()));
+
+        BattlefieldsRetryPolicy custom = new BattlefieldsRetryPolicy.Builder().setRetryableStatusCodes(404).setRetryableExceptions(Collections.singletonList(IllegalStateException.class)).create();
+        assertTrue(custom.isRetryable(new BattlefieldsHttpException("Not Found", 404)));
+        assertFalse(custom.isRetryable(new BattlefieldsHttpException("Unavailable", 503)));
+        assertTrue(custom.isRetryable(new IllegalStateException()));
+        assertFalse(custom.isRetryable(FAILURE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxAttempts()
+    {
+        new BattlefieldsRetryPolicy.Builder().setMaxAttempts(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBackoff()
+    {
+        new BattlefieldsRetryPolicy.Builder().setBackoff(100, 50, 2, TimeUnit.MILLISECONDS);
+    }
+}
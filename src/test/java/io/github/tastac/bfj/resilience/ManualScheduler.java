@@ -0,0 +1,206 @@
+package io.github.tastac.bfj.resilience;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A scheduler that only runs tasks when the test moves its clock forward, so timing can be tested without waiting.</p>
+ * <p>Tasks scheduled before a shutdown still run, like the default policy of {@link java.util.concurrent.ScheduledThreadPoolExecutor}, but new tasks are rejected.</p>
+ *
+ * @author Ocelot
+ */
+public class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService
+{
+    private final PriorityQueue<Task<?>> tasks;
+    private long now;
+    private long sequence;
+    private boolean shutdown;
+
+    public ManualScheduler()
+    {
+        this.tasks = new PriorityQueue<>();
+        this.now = 0;
+        this.sequence = 0;
+        this.shutdown = false;
+    }
+
+    /**
+     * @return The current time of this scheduler in nanoseconds
+     */
+    public synchronized long nanoTime()
+    {
+        return this.now;
+    }
+
+    /**
+     * Moves the clock forward without running any tasks.
+     *
+     * @param time     The time to move forward by
+     * @param timeUnit The unit time is provided in
+     */
+    public synchronized void skip(long time, TimeUnit timeUnit)
+    {
+        this.now += timeUnit.toNanos(time);
+    }
+
+    /**
+     * Moves the clock forward, running every task that becomes due in order. The clock is set to the time each task was due while it runs.
+     *
+     * @param time     The time to move forward by
+     * @param timeUnit The unit time is provided in
+     */
+    public void advance(long time, TimeUnit timeUnit)
+    {
+        long target;
+        synchronized (this)
+        {
+            target = this.now + timeUnit.toNanos(time);
+        }
+        while (true)
+        {
+            Task<?> task;
+            synchronized (this)
+            {
+                task = this.tasks.peek();
+                if (task == null || task.time > target)
+                {
+                    this.now = target;
+                    return;
+                }
+                this.tasks.poll();
+                this.now = Math.max(this.now, task.time);
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * Runs every task that is already due without moving the clock.
+     */
+    public void runDue()
+    {
+        this.advance(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return The amount of tasks waiting to run
+     */
+    public synchronized int getPending()
+    {
+        return this.tasks.size();
+    }
+
+    private synchronized <T> Task<T> add(Task<T> task)
+    {
+        if (this.shutdown)
+            throw new RejectedExecutionException("Scheduler has been shut down");
+        this.tasks.add(task);
+        return task;
+    }
+
+    @Override
+    public synchronized ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit)
+    {
+        return this.add(new Task<>(Executors.callable(command), unit.toNanos(delay)));
+    }
+
+    @Override
+    public synchronized <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit)
+    {
+        return this.add(new Task<>(callable, unit.toNanos(delay)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        this.schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void shutdown()
+    {
+        this.shutdown = true;
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow()
+    {
+        this.shutdown = true;
+        List<Runnable> pending = new ArrayList<>(this.tasks);
+        this.tasks.clear();
+        return pending;
+    }
+
+    @Override
+    public synchronized boolean isShutdown()
+    {
+        return this.shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated()
+    {
+        return this.shutdown && this.tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+    {
+        return this.isTerminated();
+    }
+
+    /**
+     * <p>A task waiting for the clock to reach the time it is due.</p>
+     *
+     * @param <V> The type of result of the task
+     * @author Ocelot
+     */
+    private class Task<V> extends FutureTask<V> implements ScheduledFuture<V>
+    {
+        private final long time;
+        private final long order;
+
+        private Task(Callable<V> callable, long delay)
+        {
+            super(callable);
+            this.time = ManualScheduler.this.now + Math.max(0, delay);
+            this.order = ManualScheduler.this.sequence++;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit)
+        {
+            return unit.convert(this.time - ManualScheduler.this.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o)
+        {
+            Task<?> other = (Task<?>) o;
+            int compare = Long.compare(this.time, other.time);
+            return compare != 0 ? compare : Long.compare(this.order, other.order);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package io.github.tastac.bfj.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsNioTransportTest
+{
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private static ExecutorService serverExecutor;
+    private static HttpServer http;
+    private static HttpsServer https;
+    private static SSLContext clientContext;
+    private static String httpBase;
+    private static String httpsBase;
+
+    private List<Exception> reported;
+    private BattlefieldsNioTransport transport;
+
+    @BeforeClass
+    public static void startServers() throws Exception
+    {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream stream = BattlefieldsNioTransportTest.class.getResourceAsStream("localhost.p12"))
+        {
+            keyStore.load(stream, PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+
+        KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry("localhost", keyStore.getCertificate("localhost"));
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trustStore);
+        clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, trustManagers.getTrustManagers(), null);
+
+        serverExecutor = Executors.newFixedThreadPool(8);
+        http = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        https = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+        https.setHttpsConfigurator(new HttpsConfigurator(serverContext));
+        httpBase = "http://localhost:" + http.getAddress().getPort();
+        httpsBase = "https://localhost:" + https.getAddress().getPort();
+        addHandlers(http);
+        addHandlers(https);
+        https.createContext("/downgrade", exchange ->
+        {
+            exchange.getResponseHeaders().add("Location", httpBase + "/fixed?downgraded");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        http.setExecutor(serverExecutor);
+        https.setExecutor(serverExecutor);
+        http.start();
+        https.start();
+    }
+
+    private static void addHandlers(HttpServer server)
+    {
+        server.createContext("/fixed", exchange ->
+        {
+            byte[] body = ("fixed " + exchange.getRequestURI().getQuery()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/chunked", exchange ->
+        {
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream stream = exchange.getResponseBody();
+            for (int i = 0; i < 1000; i++)
+                stream.write(("line" + i + "\n").getBytes(StandardCharsets.UTF_8));
+            exchange.close();
+        });
+        server.createContext("/gzip", exchange ->
+        {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (GZIPOutputStream stream = new GZIPOutputStream(body))
+            {
+                stream.write("zipped".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.size());
+            exchange.getResponseBody().write(body.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/redirect", exchange ->
+        {
+            exchange.getResponseHeaders().add("Location", "/fixed?redirected");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange ->
+        {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/huge", exchange ->
+        {
+            // Claims a body far larger than the limit without ever sending it
+            exchange.sendResponseHeaders(200, 2000000000L);
+            try
+            {
+                exchange.getResponseBody().write(new byte[10]);
+            }
+            catch (IOException ignored)
+            {
+            }
+            exchange.close();
+        });
+        server.createContext("/big", exchange ->
+        {
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write(new byte[5000]);
+            exchange.close();
+        });
+    }
+
+    @AfterClass
+    public static void stopServers()
+    {
+        http.stop(0);
+        https.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Before
+    public void setUp() throws IOException
+    {
+        this.reported = new CopyOnWriteArrayList<>();
+        this.transport = new BattlefieldsNioTransport(BattlefieldsHttpTransport.USER_AGENT, 4, 5, 5, TimeUnit.SECONDS, 1000, this.reported::add, clientContext);
+    }
+
+    @After
+    public void tearDown()
+    {
+        this.transport.close();
+        assertTrue("Unexpected errors were reported: " + this.reported, this.reported.isEmpty());
+    }
+
+    private static String read(InputStream stream) throws IOException
+    {
+        try (InputStream in = stream)
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1)
+                out.write(buffer, 0, read);
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void testResponses(String base) throws IOException
+    {
+        assertEquals("fixed a=1", read(this.transport.open(base + "/fixed?a=1")));
+        assertEquals("zipped", read(this.transport.open(base + "/gzip")));
+        assertEquals("fixed redirected", read(this.transport.open(base + "/redirect")));
+        try
+        {
+            this.transport.open(base + "/missing");
+            fail("Expected a 404");
+        }
+        catch (BattlefieldsHttpException e)
+        {
+            assertEquals(404, e.getStatusCode());
+        }
+    }
+
+    private void testConcurrentRequests(String base) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++)
+            {
+                futures.add(this.transport.openAsync(base + "/fixed?i=" + i, executor).thenApply(stream ->
+                {
+                    try
+                    {
+                        return read(stream);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new CompletionException(e);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++)
+                assertEquals("fixed i=" + i, futures.get(i).get(30, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testHttp() throws IOException
+    {
+        this.testResponses(httpBase);
+    }
+
+    @Test
+    public void testHttps() throws IOException
+    {
+        this.testResponses(httpsBase);
+    }
+
+    @Test
+    public void testChunkedBodyOverLimit() throws IOException
+    {
+        // The chunked body is larger than the 1000 byte limit of this transport
+        try
+        {
+            this.transport.open(httpBase + "/chunked");
+            fail("Expected the body to be rejected");
+        }
+        catch (IOException expected)
+        {
+        }
+        assertEquals("fixed after", read(this.transport.open(httpBase + "/fixed?after")));
+    }
+
+    @Test
+    public void testResponseSizeLimit() throws IOException
+    {
+        for (String path : new String[]{"/huge", "/big"})
+        {
+            try
+            {
+                this.transport.open(httpBase + path);
+                fail("Expected " + path + " to be rejected");
+            }
+            catch (IOException expected)
+            {
+            }
+        }
+        assertEquals("fixed after", read(this.transport.open(httpBase + "/fixed?after")));
+    }
+
+    @Test
+    public void testDowngradeRedirectIsRefused()
+    {
+        try
+        {
+            this.transport.open(httpsBase + "/downgrade");
+            fail("Expected the redirect to http to be refused");
+        }
+        catch (IOException expected)
+        {
+        }
+    }
+
+    @Test
+    public void testConcurrentHttp() throws Exception
+    {
+        this.testConcurrentRequests(httpBase);
+    }
+
+    @Test
+    public void testConcurrentHttps() throws Exception
+    {
+        this.testConcurrentRequests(httpsBase);
+    }
+
+    @Test
+    public void testClosedTransportFailsRequests()
+    {
+        this.transport.close();
+        try
+        {
+            this.transport.open(httpBase + "/fixed?closed");
+            fail("Expected the closed transport to fail");
+        }
+        catch (IOException expected)
+        {
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package io.github.tastac.bfj.transport;
+
+import io.github.tastac.bfj.components.BFServerInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BattlefieldsServerListPingTest
+{
+    private static final String STATUS = "{\"description\":{\"text\":\"Hello \",\"color\":\"gold\",\"extra\":[{\"text\":\"World\",\"bold\":true},\"\\nSecond line\"]},"
+            + "\"players\":{\"online\":2,\"max\":20,\"sample\":[{\"name\":\"Steve\",\"id\":\"00000000-0000-0000-0000-000000000001\"},{\"name\":\"Alex\",\"id\":\"00000000-0000-0000-0000-000000000002\"}]},"
+            + "\"version\":{\"name\":\"1.16.5\",\"protocol\":754},\"favicon\":\"data:image/png;base64,AAAA\"}";
+
+    private ExecutorService serverExecutor;
+    private ServerSocket server;
+    private CountDownLatch finished;
+    private List<Exception> reported;
+    private BattlefieldsServerListPing ping;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        this.serverExecutor = Executors.newCachedThreadPool();
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.finished = new CountDownLatch(1);
+        this.reported = new CopyOnWriteArrayList<>();
+        this.ping = new BattlefieldsServerListPing(500, TimeUnit.MILLISECONDS, false, this.reported::add);
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        this.finished.countDown();
+        this.ping.close();
+        this.server.close();
+        this.serverExecutor.shutdownNow();
+        assertTrue("Unexpected errors were reported: " + this.reported, this.reported.isEmpty());
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream stream, int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            stream.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        stream.write(value);
+    }
+
+    private static int readVarInt(InputStream stream) throws IOException
+    {
+        int value = 0;
+        for (int i = 0; i < 5; i++)
+        {
+            int b = stream.read();
+            if (b == -1)
+                throw new EOFException();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("VarInt is too big");
+    }
+
+    private static byte[] createPacket(int packetLength, int dataLength, byte[] data)
+    {
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        writeVarInt(packet, packetLength);
+        writeVarInt(packet, 0x00);
+        writeVarInt(packet, dataLength);
+        packet.write(data, 0, data.length);
+        return packet.toByteArray();
+    }
+
+    private static byte[] createResponse(String json)
+    {
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeVarInt(body, data.length);
+        int packetLength = 1 + body.size() + data.length;
+        return createPacket(packetLength, data.length, data);
+    }
+
+    /**
+     * Reads the handshake and status request sent by the client, checking they ask for the status of the server.
+     */
+    private void readRequest(Socket socket) throws IOException
+    {
+        InputStream stream = socket.getInputStream();
+        byte[] handshake = new byte[readVarInt(stream)];
+        int read = 0;
+        while (read < handshake.length)
+        {
+            int count = stream.read(handshake, read, handshake.length - read);
+            if (count == -1)
+                throw new EOFException();
+            read += count;
+        }
+        assertEquals(0x00, handshake[0]);
+        assertEquals("The next state should be status", 1, handshake[handshake.length - 1]);
+        assertEquals(this.server.getLocalPort(), ((handshake[handshake.length - 3] & 0xFF) << 8) | (handshake[handshake.length - 2] & 0xFF));
+        assertEquals(1, readVarInt(stream));
+        assertEquals(0x00, stream.read());
+    }
+
+    private String serve(ServerAction action)
+    {
+        this.serverExecutor.execute(() ->
+        {
+            try (Socket socket = this.server.accept())
+            {
+                this.readRequest(socket);
+                action.run(socket, socket.getOutputStream());
+            }
+            catch (Exception ignored)
+            {
+                // The client gives up on the connection in most of these tests
+            }
+        });
+        return this.server.getInetAddress().getHostAddress() + ":" + this.server.getLocalPort();
+    }
+
+    private BFServerInfo request(String address) throws Exception
+    {
+        return this.ping.requestServerInfo(address, this.serverExecutor).get(5, TimeUnit.SECONDS);
+    }
+
+    private Throwable requestFailure(String address) throws Exception
+    {
+        CompletableFuture<BFServerInfo> future = this.ping.requestServerInfo(address, this.serverExecutor);
+        try
+        {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected the ping to '" + address + "' to fail");
+            return null;
+        }
+        catch (ExecutionException e)
+        {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    public void testStatus() throws Exception
+    {
+        BFServerInfo info = this.request(this.serve((socket, stream) -> stream.write(createResponse(STATUS))));
+        assertEquals("127.0.0.1", info.getIp());
+        assertEquals(this.server.getLocalPort(), info.getPort());
+        assertEquals("\u00A76Hello \u00A7lWorld\nSecond line\n", info.getMotd());
+        assertEquals(2, info.getOnlinePlayers());
+        assertEquals(20, info.getMaxPlayers());
+        assertArrayEquals(new String[]{"Steve", "Alex"}, info.getOnlinePlayerNames());
+        assertEquals("1.16.5", info.getVersion());
+        assertEquals(754, info.getProtocol());
+        assertTrue(info.isOnline());
+        assertEquals("data:image/png;base64,AAAA", info.getIcon());
+    }
+
+    @Test
+    public void testMinimalStatus() throws Exception
+    {
+        BFServerInfo info = this.request(this.serve((socket, stream) -> stream.write(createResponse("{\"description\":\"Plain\"}"))));
+        assertEquals("Plain\n", info.getMotd());
+        assertEquals(0, info.getOnlinePlayers());
+        assertEquals(0, info.getOnlinePlayerNames().length);
+        assertNull(info.getVersion());
+        assertNull(info.getIcon());
+    }
+
+    @Test
+    public void testSplitResponse() throws Exception
+    {
+        // Larger than the initial read buffer, so the buffer has to grow while the packet arrives in pieces
+        char[] motd = new char[20000];
+        Arrays.fill(motd, 'a');
+        byte[] response = createResponse("{\"description\":\"" + new String(motd) + "\"}");
+        BFServerInfo info = this.request(this.serve((socket, stream) ->
+        {
+            int[] sizes = {1, 1, 1, 2, 100, 5000};
+            int offset = 0;
+            for (int size : sizes)
+            {
+                stream.write(response, offset, size);
+                stream.flush();
+                offset += size;
+                Thread.sleep(20);
+            }
+            stream.write(response, offset, response.length - offset);
+        }));
+        assertEquals(new String(motd) + "\n", info.getMotd());
+    }
+
+    @Test
+    public void testOversizedLength() throws Exception
+    {
+        Throwable t = this.requestFailure(this.serve((socket, stream) ->
+        {
+            ByteArrayOutputStream packet = new ByteArrayOutputStream();
+            writeVarInt(packet, 2 * 1024 * 1024 + 1);
+            stream.write(packet.toByteArray());
+            this.finished.await();
+        }));
+        assertTrue(String.valueOf(t), t instanceof IOException);
+        assertFalse("The length alone should fail the ping", t instanceof SocketTimeoutException);
+    }
+
+    @Test
+    public void testDataLongerThanPacket() throws Exception
+    {
+        // The whole packet has arrived but claims more data than it holds, so waiting for more would only time out
+        byte[] data = "{}".getBytes(StandardCharsets.UTF_8);
+        Throwable t = this.requestFailure(this.serve((socket, stream) ->
+        {
+            stream.write(createPacket(4, 100, data));
+            this.finished.await();
+        }));
+        assertTrue(String.valueOf(t), t instanceof IOException);
+        assertFalse("A malformed packet should fail before the timeout", t instanceof SocketTimeoutException);
+    }
+
+    @Test
+    public void testTruncatedPacket() throws Exception
+    {
+        // The packet is only the id, so the data length it needs is missing
+        Throwable t = this.requestFailure(this.serve((socket, stream) ->
+        {
+            stream.write(new byte[]{1, 0x00});
+            this.finished.await();
+        }));
+        assertTrue(String.valueOf(t), t instanceof IOException);
+        assertFalse("A malformed packet should fail before the timeout", t instanceof SocketTimeoutException);
+    }
+
+    @Test
+    public void testUnexpectedPacket() throws Exception
+    {
+        Throwable t = this.requestFailure(this.serve((socket, stream) ->
+        {
+            stream.write(new byte[]{2, 0x05, 0});
+            this.finished.await();
+        }));
+        assertTrue(String.valueOf(t), t instanceof IOException);
+        assertFalse(t instanceof SocketTimeoutException);
+    }
+
+    @Test
+    public void testInvalidStatus() throws Exception
+    {
+        Throwable t = this.requestFailure(this.serve((socket, stream) -> stream.write(createResponse("[\"not a status\"]"))));
+        assertTrue(String.valueOf(t), t instanceof IOException);
+    }
+
+    @Test
+    public void testEof() throws Exception
+    {
+        Throwable t = this.requestFailure(this.serve((socket, stream) -> stream.write(Arrays.copyOf(createResponse(STATUS), 10))));
+        assertTrue(String.valueOf(t), t instanceof EOFException);
+    }
+
+    @Test
+    public void testTimeout() throws Exception
+    {
+        Throwable t = this.requestFailure(this.serve((socket, stream) -> this.finished.await()));
+        assertTrue(String.valueOf(t), t instanceof SocketTimeoutException);
+    }
+
+    @Test
+    public void testClosedPing() throws Exception
+    {
+        this.ping.close();
+        Throwable t = this.requestFailure(this.server.getInetAddress().getHostAddress() + ":" + this.server.getLocalPort());
+        assertTrue(String.valueOf(t), t instanceof IOException);
+    }
+
+    /**
+     * Answers a single ping after its request has been read.
+     *
+     * @author Ocelot
+     */
+    private interface ServerAction
+    {
+        void run(Socket socket, OutputStream stream) throws Exception;
+    }
+}